@@ -1,6 +1,7 @@
 package com.campus.application.Implement.academic;
 
 import com.campus.application.service.academic.AssignmentService;
+import com.campus.application.service.communication.NotificationService;
 import com.campus.domain.entity.academic.Assignment;
 import com.campus.domain.entity.academic.AssignmentSubmission;
 import com.campus.domain.repository.academic.AssignmentRepository;
@@ -53,6 +54,9 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Autowired
     private AssignmentSubmissionRepository assignmentSubmissionRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
     // 可选的服务依赖，用于获取真实数据
     @Autowired(required = false)
     private com.campus.application.service.academic.CourseSelectionService courseSelectionService;
@@ -191,21 +195,38 @@ public class AssignmentServiceImpl implements AssignmentService {
     @Override
     public void publishAssignment(Long assignmentId) {
         assignmentRepository.updatePublishStatus(assignmentId, true);
+        assignmentRepository.findById(assignmentId)
+            .ifPresent(assignment -> scheduleDueReminders(assignment, assignment.getDueDate()));
     }
 
     @Override
     public void unpublishAssignment(Long assignmentId) {
         assignmentRepository.updatePublishStatus(assignmentId, false);
+        assignmentRepository.findById(assignmentId).ifPresent(assignment ->
+            notificationService.cancelCourseReminders("ASSIGNMENT", assignment.getCourseId(), assignment.getTitle()));
     }
 
     @Override
     public void publishAssignments(List<Long> assignmentIds) {
         assignmentRepository.batchUpdatePublishStatus(assignmentIds, true);
+        assignmentRepository.findAllById(assignmentIds)
+            .forEach(assignment -> scheduleDueReminders(assignment, assignment.getDueDate()));
     }
 
     @Override
     public void extendDueDate(Long assignmentId, LocalDateTime newDueDate) {
         assignmentRepository.updateDueDate(assignmentId, newDueDate);
+        // 已发布作业的提醒按新的截止时间改期
+        assignmentRepository.findById(assignmentId)
+            .filter(assignment -> Boolean.TRUE.equals(assignment.getIsPublished()))
+            .ifPresent(assignment -> scheduleDueReminders(assignment, newDueDate));
+    }
+
+    /**
+     * 为选课学生调度作业截止提醒
+     */
+    private void scheduleDueReminders(Assignment assignment, LocalDateTime dueDate) {
+        notificationService.scheduleCourseReminders("ASSIGNMENT", assignment.getCourseId(), assignment.getTitle(), dueDate);
     }
 
     @Override
@@ -21,6 +21,10 @@ import com.campus.domain.entity.academic.Course;
 import com.campus.domain.entity.academic.CourseSelection;
 import com.campus.domain.repository.academic.CourseRepository;
 import com.campus.domain.repository.academic.CourseSelectionRepository;
+import com.campus.infrastructure.cache.CacheTags;
+import com.campus.infrastructure.cache.KeyExistenceGuard;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
+import com.campus.infrastructure.config.CacheConfig;
 
 /**
  * 课程服务实现类
@@ -39,6 +43,12 @@ public class CourseServiceImpl implements CourseService {
 
     @Autowired
     private CourseSelectionRepository courseSelectionRepository;
+
+    @Autowired
+    private CacheConfig.CacheUtils cacheUtils;
+
+    @Autowired
+    private KeyExistenceGuard keyExistenceGuard;
     // ==================== 基础CRUD方法 ====================
 
     @Override
@@ -48,7 +58,7 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public Optional<Course> findById(Long id) {
-        return courseRepository.findById(id);
+        return keyExistenceGuard.find(KeySpace.COURSE_ID, id, () -> courseRepository.findById(id));
     }
 
     @Override
@@ -73,6 +83,7 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     @Cacheable(value = "course:count", unless = "#result == null")
+    @CacheTags("'course'")
     public long count() {
         return courseRepository.count();
     }
@@ -81,7 +92,8 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public Optional<Course> findByCourseCode(String courseCode) {
-        return courseRepository.findByCourseCodeAndDeleted(courseCode, 0);
+        return keyExistenceGuard.find(KeySpace.COURSE_CODE, courseCode,
+            () -> courseRepository.findByCourseCodeAndDeleted(courseCode, 0));
     }
 
     @Override
@@ -255,7 +267,9 @@ public class CourseServiceImpl implements CourseService {
             }
 
             log.info("创建课程: {}", course.getCourseName());
-            return courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            cacheUtils.clearCourseRelatedCaches(saved.getId());
+            return saved;
         } catch (Exception e) {
             log.error("创建课程失败: {}", course.getCourseCode(), e);
             throw new RuntimeException("创建课程失败：" + e.getMessage(), e);
@@ -300,6 +314,7 @@ public class CourseServiceImpl implements CourseService {
             }
 
             courseRepository.save(course);
+            cacheUtils.clearCourseRelatedCaches(course.getId());
             return true;
         } catch (Exception e) {
             throw new RuntimeException("更新课程失败：" + e.getMessage(), e);
@@ -320,6 +335,7 @@ public class CourseServiceImpl implements CourseService {
             Course courseEntity = course.get();
             courseEntity.setDeleted(1);
             courseRepository.save(courseEntity);
+            cacheUtils.clearCourseRelatedCaches(courseId);
             return true;
         } catch (Exception e) {
             throw new RuntimeException("删除课程失败：" + e.getMessage(), e);
@@ -21,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.campus.application.service.auth.PermissionService;
 import com.campus.domain.entity.auth.Permission;
 import com.campus.domain.repository.auth.PermissionRepository;
+import com.campus.shared.security.AuthorizationCaches;
 
 /**
  * 权限管理服务实现类
@@ -38,6 +39,9 @@ public class PermissionServiceImpl implements PermissionService {
     @Autowired
     private PermissionRepository permissionRepository;
 
+    @Autowired
+    private AuthorizationCaches authorizationCaches;
+
     @Override
     public Map<String, Object> getPermissionStats() {
         Map<String, Object> stats = new HashMap<>();
@@ -121,6 +125,7 @@ public class PermissionServiceImpl implements PermissionService {
             
             // 5. 保存权限
             Permission savedPermission = permissionRepository.save(permission);
+            authorizationCaches.refreshAll();
             
             // 6. 异步更新权限缓存
             updatePermissionCache(savedPermission);
@@ -260,7 +265,9 @@ public class PermissionServiceImpl implements PermissionService {
             existingPermission.setStatus(permission.getStatus());
             existingPermission.setUpdatedAt(LocalDateTime.now());
             
-            return permissionRepository.save(existingPermission);
+            Permission savedPermission = permissionRepository.save(existingPermission);
+            authorizationCaches.refreshAll();
+            return savedPermission;
         } catch (DataIntegrityViolationException e) {
             logger.error("更新权限失败 - 数据完整性违反: {}", id, e);
             throw new RuntimeException("更新权限失败: 权限代码已存在或数据不完整");
@@ -282,6 +289,7 @@ public class PermissionServiceImpl implements PermissionService {
             }
             
             permissionRepository.deleteById(id);
+            authorizationCaches.refreshAll();
             return true;
         } catch (Exception e) {
             logger.error("删除权限失败: {}", id, e);
@@ -533,6 +541,7 @@ public class PermissionServiceImpl implements PermissionService {
             permission.setStatus(1);
             permission.setUpdatedAt(LocalDateTime.now());
             permissionRepository.save(permission);
+            authorizationCaches.refreshAll();
             return true;
         } catch (Exception e) {
             logger.error("启用权限失败: {}", id, e);
@@ -550,6 +559,7 @@ public class PermissionServiceImpl implements PermissionService {
             permission.setStatus(0);
             permission.setUpdatedAt(LocalDateTime.now());
             permissionRepository.save(permission);
+            authorizationCaches.refreshAll();
             return true;
         } catch (Exception e) {
             logger.error("禁用权限失败: {}", id, e);
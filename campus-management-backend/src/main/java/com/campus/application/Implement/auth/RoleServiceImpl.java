@@ -19,6 +19,7 @@ import com.campus.application.service.auth.RoleService;
 import com.campus.domain.entity.auth.Role;
 import com.campus.domain.repository.auth.RoleRepository;
 import com.campus.domain.repository.auth.UserRoleRepository;
+import com.campus.shared.security.AuthorizationCaches;
 
 
 /**
@@ -35,10 +36,13 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
+    private final AuthorizationCaches authorizationCaches;
 
-    public RoleServiceImpl(RoleRepository roleRepository, UserRoleRepository userRoleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, UserRoleRepository userRoleRepository,
+                           AuthorizationCaches authorizationCaches) {
         this.roleRepository = roleRepository;
         this.userRoleRepository = userRoleRepository;
+        this.authorizationCaches = authorizationCaches;
     }
 
     @Override
@@ -335,7 +339,9 @@ public class RoleServiceImpl implements RoleService {
             role.setCreatedAt(LocalDateTime.now());
             role.setUpdatedAt(LocalDateTime.now());
 
-            return roleRepository.save(role);
+            Role savedRole = roleRepository.save(role);
+            authorizationCaches.refreshAll();
+            return savedRole;
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -382,7 +388,9 @@ public class RoleServiceImpl implements RoleService {
 
             role.setUpdatedAt(LocalDateTime.now());
 
-            return roleRepository.save(role);
+            Role savedRole = roleRepository.save(role);
+            authorizationCaches.refreshAll();
+            return savedRole;
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -408,6 +416,7 @@ public class RoleServiceImpl implements RoleService {
             role.setDeleted(1);
             role.setUpdatedAt(LocalDateTime.now());
             roleRepository.save(role);
+            authorizationCaches.refreshAll();
 
             return true;
         } catch (IllegalArgumentException e) {
@@ -430,6 +439,7 @@ public class RoleServiceImpl implements RoleService {
             role.setStatus(role.getStatus() == 1 ? 0 : 1);
             role.setUpdatedAt(LocalDateTime.now());
             roleRepository.save(role);
+            authorizationCaches.refreshAll();
 
             return true;
         } catch (Exception e) {
@@ -676,7 +686,9 @@ public class RoleServiceImpl implements RoleService {
     public Role updateRole(Role role) {
         try {
             role.setUpdatedAt(LocalDateTime.now());
-            return roleRepository.save(role);
+            Role savedRole = roleRepository.save(role);
+            authorizationCaches.refreshAll();
+            return savedRole;
         } catch (Exception e) {
             System.err.println("更新角色失败: " + e.getMessage());
             throw new RuntimeException("更新角色失败", e);
@@ -706,6 +718,7 @@ public class RoleServiceImpl implements RoleService {
                 role.setStatus(1);
                 role.setUpdatedAt(LocalDateTime.now());
                 roleRepository.save(role);
+                authorizationCaches.refreshAll();
                 return true;
             }
             return false;
@@ -724,6 +737,7 @@ public class RoleServiceImpl implements RoleService {
                 role.setStatus(0);
                 role.setUpdatedAt(LocalDateTime.now());
                 roleRepository.save(role);
+                authorizationCaches.refreshAll();
                 return true;
             }
             return false;
@@ -2,6 +2,7 @@ package com.campus.application.Implement.auth;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +18,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.campus.interfaces.rest.dto.UserDTO;
@@ -27,6 +29,12 @@ import com.campus.domain.entity.auth.UserRole;
 import com.campus.domain.repository.auth.RoleRepository;
 import com.campus.domain.repository.auth.UserRepository;
 import com.campus.domain.repository.auth.UserRoleRepository;
+import com.campus.infrastructure.cache.KeyExistenceGuard;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
+import com.campus.shared.security.PasswordVerificationExecutor;
+import com.campus.shared.security.PermissionMatrix;
+import com.campus.shared.security.TokenRevocationService;
+import com.campus.shared.security.UserDetailsCache;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -48,17 +56,52 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final PermissionMatrix permissionMatrix;
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+    private final TokenRevocationService tokenRevocationService;
+    private final KeyExistenceGuard keyExistenceGuard;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     
     public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                          RoleRepository roleRepository, UserRoleRepository userRoleRepository) {
+                          RoleRepository roleRepository, UserRoleRepository userRoleRepository,
+                          UserDetailsCache userDetailsCache, PermissionMatrix permissionMatrix,
+                          PasswordVerificationExecutor passwordVerificationExecutor,
+                          TokenRevocationService tokenRevocationService,
+                          KeyExistenceGuard keyExistenceGuard) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.roleRepository = roleRepository;
         this.userRoleRepository = userRoleRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.permissionMatrix = permissionMatrix;
+        this.passwordVerificationExecutor = passwordVerificationExecutor;
+        this.tokenRevocationService = tokenRevocationService;
+        this.keyExistenceGuard = keyExistenceGuard;
+    }
+
+    /**
+     * 用户角色、状态或密码变更后失效认证缓存和角色位图（事务提交后生效）
+     */
+    private void evictAuthCaches(User user) {
+        if (user != null) {
+            userDetailsCache.invalidate(user.getUsername());
+            permissionMatrix.invalidateUser(user.getId());
+        }
+    }
+
+    private void evictAuthCaches(Long userId) {
+        userRepository.findById(userId).ifPresent(this::evictAuthCaches);
+    }
+
+    /**
+     * 密码变更、禁用或删除后吊销该用户此前签发的全部token（事务提交后生效）
+     */
+    private void revokeSessions(User user) {
+        tokenRevocationService.revokeAllForUser(user.getUsername());
     }
 
 
@@ -85,22 +128,44 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return keyExistenceGuard.find(KeySpace.USERNAME, username, () -> userRepository.findByUsername(username));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User authenticate(String username, String password) {
         Optional<User> userOpt = findByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            // BCrypt校验在专用线程池中执行，繁忙时抛出RateLimitException
+            PasswordVerificationExecutor.Verification verification =
+                    passwordVerificationExecutor.verify(passwordEncoder, password, user.getPassword());
+            if (verification.matched()) {
+                if (verification.upgradedHash() != null) {
+                    upgradePasswordHash(user, verification.upgradedHash());
+                }
                 return user;
             }
         }
         return null;
     }
 
+    /**
+     * 登录成功后写回按目标强度重算的密码哈希，期间密码已被修改时放弃写回
+     */
+    private void upgradePasswordHash(User user, String upgradedHash) {
+        try {
+            int updated = userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), upgradedHash);
+            if (updated > 0) {
+                userDetailsCache.invalidate(user.getUsername());
+                log.debug("密码哈希已按目标强度重算: userId={}", user.getId());
+            }
+        } catch (Exception e) {
+            // 重算失败不影响登录
+            log.warn("写回密码哈希失败: userId={}, error={}", user.getId(), e.getMessage());
+        }
+    }
+
     @Override
     @Transactional
     public void updateLastLoginInfo(Long userId, String ipAddress) {
@@ -119,10 +184,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasRole(Long userId, String roleName) {
-        User user = findUserById(userId);
-        return user.getUserRoles().stream()
-                .map(UserRole::getRole)
-                .anyMatch(role -> role.getRoleKey().equals(roleName) || role.getRoleName().equals(roleName));
+        return permissionMatrix.hasRole(userId, roleName);
     }
 
     @Override
@@ -138,113 +200,8 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public boolean hasMenuPermission(Long userId, String menuPath) {
-        List<String> userRoles = getUserRoles(userId);
-
-        // 系统管理员拥有所有权限
-        if (userRoles.contains("ROLE_SUPER_ADMIN") || userRoles.contains("ROLE_ADMIN") ||
-            userRoles.contains("ROLE_PRINCIPAL") || userRoles.contains("ROLE_VICE_PRINCIPAL")) {
-            return true;
-        }
-
-        // 根据菜单路径和角色判断权限
-        return checkMenuPermissionByRole(userRoles, menuPath);
-    }
-
-    /**
-     * 根据角色检查菜单权限
-     */
-    private boolean checkMenuPermissionByRole(List<String> userRoles, String menuPath) {
-        // 所有角色都可以访问的页面
-        if (menuPath.equals("/admin/dashboard") ||
-            menuPath.equals("/admin/profile") ||
-            menuPath.equals("/admin/test-api")) {
-            return true;
-        }
-
-        // 系统管理页面 - 只有SUPER_ADMIN、ADMIN和SYSTEM_ADMIN可以访问
-        if (menuPath.startsWith("/admin/users") ||
-            menuPath.startsWith("/admin/roles") ||
-            menuPath.startsWith("/admin/permissions") ||
-            menuPath.startsWith("/admin/settings")) {
-            return userRoles.contains("ROLE_SUPER_ADMIN") || userRoles.contains("ROLE_ADMIN") || userRoles.contains("ROLE_SYSTEM_ADMIN");
-        }
-
-        // 教务管理页面 - 系统管理员、教务相关角色、教学人员可以访问
-        if (menuPath.startsWith("/admin/academic/") ||
-            menuPath.startsWith("/admin/students") ||
-            menuPath.startsWith("/admin/courses") ||
-            menuPath.startsWith("/admin/grades")) {
-            return userRoles.contains("ROLE_SUPER_ADMIN") ||
-                   userRoles.contains("ROLE_ADMIN") ||
-                   userRoles.contains("ROLE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_VICE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_ACADEMIC_DIRECTOR") ||
-                   userRoles.contains("ROLE_DEAN") ||
-                   userRoles.contains("ROLE_VICE_DEAN") ||
-                   userRoles.contains("ROLE_DEPARTMENT_HEAD") ||
-                   userRoles.contains("ROLE_TEACHING_GROUP_HEAD") ||
-                   userRoles.contains("ROLE_TEACHER") ||
-                   userRoles.contains("ROLE_PROFESSOR") ||
-                   userRoles.contains("ROLE_ASSOCIATE_PROFESSOR") ||
-                   userRoles.contains("ROLE_LECTURER") ||
-                   userRoles.contains("ROLE_CLASS_TEACHER") ||
-                   userRoles.contains("ROLE_COUNSELOR") ||
-                   userRoles.contains("ROLE_ACADEMIC_STAFF");
-        }
-
-        // 财务管理页面 - 系统管理员、财务相关角色可以访问
-        if (menuPath.startsWith("/admin/fee-items") ||
-            menuPath.startsWith("/admin/payments") ||
-            menuPath.startsWith("/admin/payment-records") ||
-            menuPath.startsWith("/admin/finance") ||
-            menuPath.startsWith("/admin/reports")) {
-            return userRoles.contains("ROLE_SUPER_ADMIN") ||
-                   userRoles.contains("ROLE_ADMIN") ||
-                   userRoles.contains("ROLE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_VICE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_FINANCE_DIRECTOR") ||
-                   userRoles.contains("ROLE_FINANCE_STAFF");
-        }
-
-        // 学生事务管理页面 - 学生工作相关角色可以访问
-        if (menuPath.startsWith("/admin/student-affairs") ||
-            menuPath.startsWith("/admin/classes") ||
-            menuPath.startsWith("/admin/attendance")) {
-            return userRoles.contains("ROLE_SUPER_ADMIN") ||
-                   userRoles.contains("ROLE_ADMIN") ||
-                   userRoles.contains("ROLE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_VICE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_STUDENT_AFFAIRS_DIRECTOR") ||
-                   userRoles.contains("ROLE_DEAN") ||
-                   userRoles.contains("ROLE_DEPARTMENT_HEAD") ||
-                   userRoles.contains("ROLE_CLASS_TEACHER") ||
-                   userRoles.contains("ROLE_COUNSELOR") ||
-                   userRoles.contains("ROLE_STUDENT_AFFAIRS_STAFF");
-        }
-
-        // 人事管理页面 - 人事相关角色可以访问
-        if (menuPath.startsWith("/admin/hr") ||
-            menuPath.startsWith("/admin/teachers") ||
-            menuPath.startsWith("/admin/staff")) {
-            return userRoles.contains("ROLE_SUPER_ADMIN") ||
-                   userRoles.contains("ROLE_ADMIN") ||
-                   userRoles.contains("ROLE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_VICE_PRINCIPAL") ||
-                   userRoles.contains("ROLE_HR_DIRECTOR") ||
-                   userRoles.contains("ROLE_HR_STAFF");
-        }
-
-        // 系统管理页面 - 仅系统管理员和IT相关角色可以访问
-        if (menuPath.startsWith("/admin/system") ||
-            menuPath.startsWith("/admin/config") ||
-            menuPath.startsWith("/admin/logs")) {
-            return userRoles.contains("ROLE_SUPER_ADMIN") ||
-                   userRoles.contains("ROLE_ADMIN") ||
-                   userRoles.contains("ROLE_IT_DIRECTOR");
-        }
-
-        // 默认拒绝访问
-        return false;
+        // 菜单规则已编译进权限矩阵：系统管理员拥有所有权限，其余按路径前缀所需角色判断
+        return permissionMatrix.hasMenuPermission(userId, menuPath);
     }
 
     @Override
@@ -292,6 +249,7 @@ public class UserServiceImpl implements UserService {
         }
         if (userDetails.getStatus() != null) {
             user.setStatus(userDetails.getStatus());
+            evictAuthCaches(user);
         }
 
         user.setUpdatedAt(LocalDateTime.now());
@@ -306,6 +264,8 @@ public class UserServiceImpl implements UserService {
             user.setStatus(-1);
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            evictAuthCaches(user);
+            revokeSessions(user);
             return true;
         } catch (Exception e) {
             return false;
@@ -318,6 +278,8 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        evictAuthCaches(user);
+        revokeSessions(user);
     }
 
     @Override
@@ -345,6 +307,8 @@ public class UserServiceImpl implements UserService {
             user.setPassword(passwordEncoder.encode(newPassword));
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            evictAuthCaches(user);
+            revokeSessions(user);
             return true;
         } catch (Exception e) {
             return false;
@@ -358,6 +322,10 @@ public class UserServiceImpl implements UserService {
             user.setStatus(user.getStatus() == 1 ? 0 : 1);
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            evictAuthCaches(user);
+            if (user.getStatus() != 1) {
+                revokeSessions(user);
+            }
             return true;
         } catch (Exception e) {
             return false;
@@ -694,13 +662,15 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        return keyExistenceGuard.exists(KeySpace.USERNAME, username,
+            () -> userRepository.findByUsername(username).isPresent());
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return keyExistenceGuard.exists(KeySpace.USER_EMAIL, email,
+            () -> userRepository.findByEmail(email).isPresent());
     }
 
     @Override
@@ -766,6 +736,8 @@ public class UserServiceImpl implements UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setUpdatedAt(LocalDateTime.now());
                 userRepository.save(user);
+                evictAuthCaches(user);
+                revokeSessions(user);
                 return true;
             }
             return false;
@@ -782,6 +754,10 @@ public class UserServiceImpl implements UserService {
         if (user != null) {
             user.setStatus(status);
             userRepository.save(user);
+            evictAuthCaches(user);
+            if (status != 1) {
+                revokeSessions(user);
+            }
         }
     }
 
@@ -903,6 +879,10 @@ public class UserServiceImpl implements UserService {
         }
         if (userData.containsKey("status")) {
             user.setStatus((Integer) userData.get("status"));
+            evictAuthCaches(user);
+            if (!Integer.valueOf(1).equals(user.getStatus())) {
+                revokeSessions(user);
+            }
         }
         if (userData.containsKey("remarks")) {
             user.setRemarks((String) userData.get("remarks"));
@@ -975,6 +955,7 @@ public class UserServiceImpl implements UserService {
                 }
             }
 
+            evictAuthCaches(userId);
             System.out.println("✅ 用户角色更新完成");
         } catch (Exception e) {
             System.err.println("❌ 更新用户角色失败: " + e.getMessage());
@@ -990,6 +971,7 @@ public class UserServiceImpl implements UserService {
         try {
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            evictAuthCaches(user);
             return true;
         } catch (Exception e) {
             System.err.println("更新用户信息失败: " + e.getMessage());
@@ -1040,6 +1022,7 @@ public class UserServiceImpl implements UserService {
                 user.setStatus(1); // 重置为启用状态
                 user.setUpdatedAt(LocalDateTime.now());
                 userRepository.save(user);
+                evictAuthCaches(user);
                 return true;
             }
             return false;
@@ -1073,6 +1056,7 @@ public class UserServiceImpl implements UserService {
             // 创建用户角色关联
             UserRole userRole = new UserRole(userId, roleId);
             userRoleRepository.save(userRole);
+            evictAuthCaches(user);
             return true;
         } catch (Exception e) {
             System.err.println("分配角色失败: " + e.getMessage());
@@ -1085,6 +1069,7 @@ public class UserServiceImpl implements UserService {
     public boolean removeRoleFromUser(Long userId, Long roleId) {
         try {
             userRoleRepository.deleteByUserIdAndRoleId(userId, roleId);
+            evictAuthCaches(userId);
             return true;
         } catch (Exception e) {
             System.err.println("移除用户角色失败: " + e.getMessage());
@@ -1095,7 +1080,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public Optional<User> findByIdOptional(Long userId) {
-        return userRepository.findById(userId);
+        return keyExistenceGuard.find(KeySpace.USER_ID, userId, () -> userRepository.findById(userId));
     }
 
     @Override
@@ -1122,11 +1107,27 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Object getUserPermissions(Long userId) {
-        // 实现获取用户权限逻辑
-        Map<String, Object> permissions = new HashMap<>();
-        permissions.put("userId", userId);
-        permissions.put("status", "permissions_loaded");
-        return permissions;
+        return getUserPermissions(List.of(userId)).get(userId);
+    }
+
+    @Override
+    public Map<Long, Object> getUserPermissions(Collection<Long> userIds) {
+        Map<Long, List<String>> keysByUser = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Object[] row : userRoleRepository.findPermissionKeysByUserIds(userIds)) {
+                keysByUser.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+
+        Map<Long, Object> result = new HashMap<>(userIds.size() * 2);
+        for (Long userId : userIds) {
+            Map<String, Object> permissions = new HashMap<>();
+            permissions.put("userId", userId);
+            permissions.put("status", "permissions_loaded");
+            permissions.put("permissions", keysByUser.getOrDefault(userId, List.of()));
+            result.put(userId, permissions);
+        }
+        return result;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.campus.application.Implement.communication;
 
 import com.campus.application.service.communication.EmailService;
+import com.campus.infrastructure.mail.MailDispatchEngine;
 import com.campus.domain.entity.academic.Grade;
 import com.campus.domain.entity.finance.FeeItem;
 import com.campus.domain.entity.organization.Student;
@@ -11,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 // Thymeleaf依赖已移除 - 使用简单HTML模板
 
@@ -34,6 +34,9 @@ public class EmailServiceImpl implements EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private MailDispatchEngine mailDispatchEngine;
+
     // TemplateEngine已移除 - 使用简单HTML模板
 
     @Value("${spring.mail.username}")
@@ -43,7 +46,6 @@ public class EmailServiceImpl implements EmailService {
     private String fromName;
 
     @Override
-    @Async
     public void sendGradeNotification(Student student, List<Grade> grades) {
         try {
             logger.info("开始发送成绩通知邮件: 学生={}, 成绩数量={}", student.getStudentNo(), grades.size());
@@ -62,10 +64,10 @@ public class EmailServiceImpl implements EmailService {
             String emailContent = generateGradeNotificationContent(student, grades);
             helper.setText(emailContent, true);
 
-            // 5. 发送邮件
-            mailSender.send(message);
+            // 5. 提交到分发队列
+            dispatch(message, "成绩通知");
 
-            // 6. 记录发送成功
+            // 6. 记录提交成功
             logEmailSuccess("成绩通知", student.getStudentNo(), student.getEmail());
 
         } catch (Exception e) {
@@ -242,10 +244,19 @@ public class EmailServiceImpl implements EmailService {
     }
 
     /**
-     * 记录邮件发送成功
+     * 提交邮件到分发引擎，队列满且等待超时时抛出异常由调用方统一处理
+     */
+    private void dispatch(MimeMessage message, String emailType) {
+        if (!mailDispatchEngine.submit(message, emailType)) {
+            throw new IllegalStateException(emailType + "邮件分发队列已满");
+        }
+    }
+
+    /**
+     * 记录邮件提交成功
      */
     private void logEmailSuccess(String emailType, String recipient, String email) {
-        logger.info("✅ {}邮件发送成功: 收件人={}, 邮箱={}", emailType, recipient, email);
+        logger.info("✅ {}邮件已提交发送: 收件人={}, 邮箱={}", emailType, recipient, email);
     }
 
     /**
@@ -259,8 +270,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
-    public void sendPaymentReminder(Student student, List<FeeItem> unpaidItems) {
+    public boolean sendPaymentReminder(Student student, List<FeeItem> unpaidItems) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -299,17 +309,18 @@ public class EmailServiceImpl implements EmailService {
 
             helper.setText(content.toString(), true);
 
-            mailSender.send(message);
+            dispatch(message, "缴费提醒");
 
-            logger.info("缴费提醒邮件发送成功: {} - {}", student.getStudentNo(), student.getEmail());
+            logger.info("缴费提醒邮件已提交发送: {} - {}", student.getStudentNo(), student.getEmail());
+            return true;
 
         } catch (Exception e) {
             logger.error("缴费提醒邮件发送失败: {} - {}", student.getStudentNo(), student.getEmail(), e);
+            return false;
         }
     }
 
     @Override
-    @Async
     public void sendSystemNotification(List<String> recipients, String subject, String content) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
@@ -329,9 +340,9 @@ public class EmailServiceImpl implements EmailService {
 
             helper.setText(htmlContent.toString(), true);
 
-            mailSender.send(message);
+            dispatch(message, "系统通知");
 
-            logger.info("系统通知邮件发送成功，收件人数量: {}", recipients.size());
+            logger.info("系统通知邮件已提交发送，收件人数量: {}", recipients.size());
 
         } catch (Exception e) {
             logger.error("系统通知邮件发送失败", e);
@@ -339,7 +350,6 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void sendStatisticsReport(String subject, String content, Map<String, Object> report) {
         try {
             // 智能获取管理员邮箱列表
@@ -372,9 +382,9 @@ public class EmailServiceImpl implements EmailService {
 
             helper.setText(htmlContent.toString(), true);
 
-            mailSender.send(message);
+            dispatch(message, "统计报告");
 
-            logger.info("统计报告邮件发送成功，收件人数量: {}", adminEmails.size());
+            logger.info("统计报告邮件已提交发送，收件人数量: {}", adminEmails.size());
 
         } catch (Exception e) {
             logger.error("统计报告邮件发送失败", e);
@@ -382,7 +392,6 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void sendAdminNotification(String subject, String content) {
         try {
             // 智能获取管理员邮箱列表
@@ -405,9 +414,9 @@ public class EmailServiceImpl implements EmailService {
 
             helper.setText(htmlContent.toString(), true);
 
-            mailSender.send(message);
+            dispatch(message, "管理员通知");
 
-            logger.info("管理员通知邮件发送成功，收件人数量: {}", adminEmails.size());
+            logger.info("管理员通知邮件已提交发送，收件人数量: {}", adminEmails.size());
 
         } catch (Exception e) {
             logger.error("管理员通知邮件发送失败", e);
@@ -415,7 +424,6 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void sendWelcomeEmail(Student student, String temporaryPassword) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
@@ -442,9 +450,9 @@ public class EmailServiceImpl implements EmailService {
 
             helper.setText(content.toString(), true);
 
-            mailSender.send(message);
+            dispatch(message, "欢迎");
 
-            logger.info("欢迎邮件发送成功: {} - {}", student.getStudentNo(), student.getEmail());
+            logger.info("欢迎邮件已提交发送: {} - {}", student.getStudentNo(), student.getEmail());
 
         } catch (Exception e) {
             logger.error("欢迎邮件发送失败: {} - {}", student.getStudentNo(), student.getEmail(), e);
@@ -452,7 +460,6 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
     public void sendPasswordResetEmail(String email, String resetToken) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
@@ -482,9 +489,9 @@ public class EmailServiceImpl implements EmailService {
 
             helper.setText(content.toString(), true);
 
-            mailSender.send(message);
+            dispatch(message, "密码重置");
 
-            logger.info("密码重置邮件发送成功: {}", email);
+            logger.info("密码重置邮件已提交发送: {}", email);
 
         } catch (Exception e) {
             logger.error("密码重置邮件发送失败: {}", email, e);
@@ -1,5 +1,6 @@
 package com.campus.application.Implement.communication;
 
+import com.campus.application.dto.CursorPage;
 import com.campus.application.service.communication.MessageService;
 import com.campus.domain.entity.communication.Message;
 import com.campus.domain.repository.communication.MessageRepository;
@@ -8,12 +9,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +35,8 @@ import java.util.Optional;
 public class MessageServiceImpl implements MessageService {
     
     private static final Logger logger = LoggerFactory.getLogger(MessageServiceImpl.class);
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     
     @Autowired
     private MessageRepository messageRepository;
@@ -45,7 +51,12 @@ public class MessageServiceImpl implements MessageService {
         message.setStatus(1);
         message.setDeleted(0);
         
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        Message parent = saved.getParentId() != null
+            ? messageRepository.findById(saved.getParentId()).orElse(null)
+            : null;
+        saved.assignThread(parent);
+        return saved;
     }
     
     @Override
@@ -124,6 +135,84 @@ public class MessageServiceImpl implements MessageService {
         return findMessagesBySender(userId, pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getInbox(Long userId, String cursor, int size) {
+        int limit = normalizeCursorPageSize(size);
+        Pageable probe = PageRequest.of(0, limit + 1);
+        MessageCursor position = decodeCursor(cursor);
+
+        List<Message> rows = position == null
+            ? messageRepository.findInboxFirstPage(userId, probe)
+            : messageRepository.findInboxAfter(userId, position.sendTime(), position.id(), probe);
+        return toCursorPage(rows, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Message> getOutbox(Long userId, String cursor, int size) {
+        int limit = normalizeCursorPageSize(size);
+        Pageable probe = PageRequest.of(0, limit + 1);
+        MessageCursor position = decodeCursor(cursor);
+
+        List<Message> rows = position == null
+            ? messageRepository.findOutboxFirstPage(userId, probe)
+            : messageRepository.findOutboxAfter(userId, position.sendTime(), position.id(), probe);
+        return toCursorPage(rows, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Message> getThread(Long messageId) {
+        Message message = findMessageById(messageId)
+            .orElseThrow(() -> new BusinessException("消息不存在"));
+
+        Long conversationId = message.getConversationId() != null ? message.getConversationId() : message.getId();
+        List<Message> thread = messageRepository.findThread(conversationId);
+        return thread.isEmpty() ? List.of(message) : thread;
+    }
+
+    /**
+     * 多查一条判断是否还有下一页，游标取本页最后一条的（发送时间, ID）
+     */
+    private CursorPage<Message> toCursorPage(List<Message> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<Message> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore, limit);
+    }
+
+    private int normalizeCursorPageSize(int size) {
+        if (size <= 0) {
+            return 20;
+        }
+        return Math.min(size, MAX_CURSOR_PAGE_SIZE);
+    }
+
+    private String encodeCursor(Message last) {
+        String raw = last.getSendTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private MessageCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new MessageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 消息分页游标
+     */
+    private record MessageCursor(LocalDateTime sendTime, Long id) {}
+
     @Override
     public void markAsRead(Long messageId) {
         logger.debug("标记消息为已读: {}", messageId);
@@ -213,6 +302,7 @@ public class MessageServiceImpl implements MessageService {
         reply.setTitle("回复: " + original.getTitle());
         reply.setContent(content);
         reply.setMessageType(original.getMessageType());
+        reply.setParentId(original.getId());
         
         return sendMessage(reply);
     }
@@ -11,6 +11,18 @@ import com.campus.domain.entity.academic.CourseSelection;
 import com.campus.domain.repository.academic.CourseRepository;
 import com.campus.domain.repository.academic.CourseScheduleRepository;
 import com.campus.domain.repository.academic.CourseSelectionRepository;
+import com.campus.domain.entity.organization.Student;
+import com.campus.domain.repository.organization.SchoolClassRepository;
+import com.campus.domain.repository.organization.StudentRepository;
+import com.campus.infrastructure.config.TimerWheelConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import com.campus.infrastructure.notification.NotificationTemplateRenderer;
+import com.campus.infrastructure.notification.NotificationTemplateRenderer.RenderedTemplate;
+import com.campus.infrastructure.push.SsePushService;
+import com.campus.infrastructure.scheduling.TimedEvent;
+import com.campus.infrastructure.scheduling.TimedEventScheduler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,7 +32,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,22 +56,59 @@ public class NotificationServiceImpl implements NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationServiceImpl.class);
 
+    // 内置提醒模板，数据库中存在同编码的可用模板时优先使用数据库模板
+    private static final NotificationTemplate DEFAULT_PAYMENT_REMINDER = builtInTemplate(
+        "PAYMENT_REMINDER", "payment", "缴费提醒",
+        "您有待缴费项目：${feeItemName}，截止时间：${deadline}，请及时缴费。");
+    private static final NotificationTemplate DEFAULT_EXAM_REMINDER = builtInTemplate(
+        "EXAM_REMINDER", "exam", "考试提醒",
+        "您有考试安排：${examName}，考试时间：${examTime}，请做好准备。");
+    private static final NotificationTemplate DEFAULT_ASSIGNMENT_REMINDER = builtInTemplate(
+        "ASSIGNMENT_REMINDER", "course", "作业提醒",
+        "您有作业待完成：${assignmentTitle}，截止时间：${dueDate}，请及时提交。");
+
+    // 可发送模板查找结果（含不存在/不可用）的短期缓存，模板变更时整体失效
+    private static final Duration TEMPLATE_LOOKUP_TTL = Duration.ofSeconds(60);
+
+    private final Cache<String, Optional<NotificationTemplate>> sendableTemplates = Caffeine.newBuilder()
+        .maximumSize(256)
+        .expireAfterWrite(TEMPLATE_LOOKUP_TTL)
+        .build();
+
     private final NotificationRepository notificationRepository;
     private final NotificationTemplateRepository notificationTemplateRepository;
     private final CourseRepository courseRepository;
     private final CourseScheduleRepository courseScheduleRepository;
     private final CourseSelectionRepository courseSelectionRepository;
+    private final StudentRepository studentRepository;
+    private final SchoolClassRepository schoolClassRepository;
+    private final NotificationTemplateRenderer templateRenderer;
+    private final TimedEventScheduler timedEventScheduler;
+    private final TimerWheelConfig timerWheelConfig;
+    private final SsePushService ssePushService;
 
     public NotificationServiceImpl(NotificationRepository notificationRepository,
                                  NotificationTemplateRepository notificationTemplateRepository,
                                  CourseRepository courseRepository,
                                  CourseScheduleRepository courseScheduleRepository,
-                                 CourseSelectionRepository courseSelectionRepository) {
+                                 CourseSelectionRepository courseSelectionRepository,
+                                 StudentRepository studentRepository,
+                                 SchoolClassRepository schoolClassRepository,
+                                 NotificationTemplateRenderer templateRenderer,
+                                 TimedEventScheduler timedEventScheduler,
+                                 TimerWheelConfig timerWheelConfig,
+                                 SsePushService ssePushService) {
         this.notificationRepository = notificationRepository;
         this.notificationTemplateRepository = notificationTemplateRepository;
         this.courseRepository = courseRepository;
         this.courseScheduleRepository = courseScheduleRepository;
         this.courseSelectionRepository = courseSelectionRepository;
+        this.studentRepository = studentRepository;
+        this.schoolClassRepository = schoolClassRepository;
+        this.templateRenderer = templateRenderer;
+        this.timedEventScheduler = timedEventScheduler;
+        this.timerWheelConfig = timerWheelConfig;
+        this.ssePushService = ssePushService;
     }
 
     // ==================== 基础CRUD方法 ====================
@@ -64,7 +117,9 @@ public class NotificationServiceImpl implements NotificationService {
     @Transactional
     public Notification save(Notification notification) {
         log.debug("保存通知: {}", notification.getTitle());
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        syncNotificationTimers(saved);
+        return saved;
     }
 
     @Override
@@ -90,6 +145,7 @@ public class NotificationServiceImpl implements NotificationService {
     public void deleteById(Long id) {
         log.debug("删除通知: {}", id);
         notificationRepository.deleteById(id);
+        cancelNotificationTimers(id);
     }
 
     @Override
@@ -97,6 +153,7 @@ public class NotificationServiceImpl implements NotificationService {
     public void deleteByIds(List<Long> ids) {
         log.debug("批量删除通知: {}", ids);
         notificationRepository.deleteAllById(ids);
+        ids.forEach(this::cancelNotificationTimers);
     }
 
     @Override
@@ -256,11 +313,7 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     public List<Notification> findExpiredNotifications() {
         log.debug("获取过期通知");
-        LocalDateTime now = LocalDateTime.now();
-        return notificationRepository.findAll().stream()
-            .filter(n -> n.getExpireTime() != null && n.getExpireTime().isBefore(now))
-            .filter(n -> n.getDeleted() == 0)
-            .toList();
+        return notificationRepository.findExpiredNotifications(LocalDateTime.now());
     }
 
     @Override
@@ -794,10 +847,9 @@ public class NotificationServiceImpl implements NotificationService {
         try {
             if (targetIds != null && !targetIds.isEmpty()) {
                 log.debug("开始分发通知到{}个目标", targetIds.size());
-                
-                // 这里可以实现实际的通知分发逻辑
-                // 例如：推送到移动端、发送邮件、短信等
-                
+
+                pushNotification(notification, targetIds);
+
                 // 异步处理分发统计
                 updateDistributionStatistics(notification.getId(), targetIds.size());
             }
@@ -806,6 +858,87 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    /**
+     * 事务提交后把通知推送给在线用户：按目标类型把目标ID解析为用户ID，全员通知广播给所有在线用户，
+     * 无法解析为用户的目标不推送
+     */
+    private void pushNotification(Notification notification, List<Long> targetIds) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("id", notification.getId());
+        payload.put("title", notification.getTitle());
+        payload.put("type", notification.getType());
+        payload.put("priority", notification.getPriority());
+        payload.put("publishTime", notification.getPublishTime() != null ? notification.getPublishTime().toString() : null);
+
+        String audience = notification.getTargetAudience();
+        if (audience == null || "ALL".equals(audience)) {
+            InvalidationChannel.afterCommit(() -> ssePushService.broadcast("notification", payload));
+            return;
+        }
+
+        List<Long> userIds = resolvePushUserIds(audience, targetIds);
+        if (userIds.isEmpty()) {
+            log.debug("通知目标无法解析为用户，跳过实时推送: notificationId={}, audience={}", notification.getId(), audience);
+            return;
+        }
+        InvalidationChannel.afterCommit(() -> ssePushService.push(userIds, "notification", payload));
+    }
+
+    /**
+     * 按目标类型把目标ID解析为用户ID：USER为用户ID，STUDENT为学生ID，CLASS为班级ID，DEPARTMENT为院系ID
+     */
+    private List<Long> resolvePushUserIds(String audience, List<Long> targetIds) {
+        if (targetIds == null || targetIds.isEmpty()) {
+            return List.of();
+        }
+        if ("USER".equals(audience)) {
+            return targetIds.stream().filter(Objects::nonNull).distinct().toList();
+        }
+        List<Student> students = switch (audience) {
+            case "STUDENT" -> studentRepository.findAllById(targetIds);
+            case "CLASS" -> targetIds.stream()
+                .flatMap(classId -> studentRepository.findByClassId(classId).stream())
+                .toList();
+            case "DEPARTMENT" -> targetIds.stream()
+                .flatMap(departmentId -> schoolClassRepository.findByDepartmentId(departmentId).stream())
+                .flatMap(schoolClass -> studentRepository.findByClassId(schoolClass.getId()).stream())
+                .toList();
+            default -> List.of();
+        };
+        return students.stream()
+            .filter(student -> !student.isDeleted())
+            .map(Student::getUserId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    }
+
+    /**
+     * 解析通知目标用户ID（格式如 [1, 2, 3]）
+     */
+    private List<Long> parseTargetIds(Notification notification) {
+        String targetIds = notification.getTargetIds();
+        if (targetIds == null || targetIds.isBlank()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String part : targetIds.replace("[", "").replace("]", "").split(",")) {
+            Long id = parseLongOrNull(part.trim());
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Long parseLongOrNull(String value) {
+        try {
+            return value.isEmpty() ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * 更新分发统计
      */
@@ -972,12 +1105,21 @@ public class NotificationServiceImpl implements NotificationService {
     public Notification sendTemplateNotification(String templateCode, Map<String, Object> variables, 
                                                 String targetType, List<Long> targetIds, Long senderId) {
         log.debug("使用模板发送通知: {}", templateCode);
-        
-        // 这里需要实现模板处理逻辑
-        // 暂时返回一个简单的通知
+
+        Optional<NotificationTemplate> template = findSendableTemplate(templateCode);
+        String title = "模板通知";
+        String content = "使用模板生成的通知内容";
+        if (template.isPresent()) {
+            RenderedTemplate rendered = templateRenderer.render(template.get(), variables);
+            title = rendered.title() != null ? rendered.title() : template.get().getTemplateName();
+            content = rendered.content();
+        } else {
+            log.warn("通知模板不存在或不可用: {}", templateCode);
+        }
+
         Notification notification = new Notification();
-        notification.setTitle("模板通知");
-        notification.setContent("使用模板生成的通知内容");
+        notification.setTitle(title);
+        notification.setContent(content);
         notification.setType("SYSTEM");
         notification.setSenderId(senderId);
         notification.setTargetAudience(targetType);
@@ -988,6 +1130,41 @@ public class NotificationServiceImpl implements NotificationService {
         return save(notification);
     }
 
+    @Override
+    @Transactional
+    public List<Notification> sendBatchTemplateNotification(String templateCode, List<Long> targetIds,
+                                                            List<Map<String, Object>> variablesList,
+                                                            String targetType, Long senderId) {
+        log.debug("使用模板批量发送通知: {}, 数量 {}", templateCode, targetIds != null ? targetIds.size() : 0);
+
+        if (targetIds == null || variablesList == null || targetIds.size() != variablesList.size()) {
+            throw new IllegalArgumentException("目标列表与变量列表数量不一致");
+        }
+        if (targetIds.isEmpty()) {
+            return List.of();
+        }
+
+        NotificationTemplate template = findSendableTemplate(templateCode)
+            .orElseThrow(() -> new IllegalArgumentException("通知模板不存在或不可用: " + templateCode));
+        List<RenderedTemplate> renderedList = templateRenderer.renderAll(template, variablesList);
+
+        List<Notification> notifications = new ArrayList<>(targetIds.size());
+        for (int i = 0; i < targetIds.size(); i++) {
+            RenderedTemplate rendered = renderedList.get(i);
+            String title = rendered.title() != null ? rendered.title() : template.getTemplateName();
+            Notification notification = createIntelligentNotification(title, rendered.content(), targetType,
+                    List.of(targetIds.get(i)));
+            notification.setSenderId(senderId);
+            notifications.add(notification);
+        }
+
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        for (int i = 0; i < saved.size(); i++) {
+            pushNotification(saved.get(i), List.of(targetIds.get(i)));
+        }
+        return saved;
+    }
+
     @Override
     @Transactional
     public void sendCourseSelectionReminder(Long studentId, LocalDateTime deadline) {
@@ -1004,10 +1181,10 @@ public class NotificationServiceImpl implements NotificationService {
     public void sendPaymentReminder(Long studentId, String feeItemName, LocalDateTime deadline) {
         log.debug("发送缴费提醒: 学生ID {}, 费用项目 {}", studentId, feeItemName);
         
-        String title = "缴费提醒";
-        String content = String.format("您有待缴费项目：%s，截止时间：%s，请及时缴费。", feeItemName, deadline);
-        
-        sendSystemNotification(title, content, "STUDENT", List.of(studentId));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("feeItemName", feeItemName);
+        variables.put("deadline", deadline);
+        sendReminder("PAYMENT_REMINDER", DEFAULT_PAYMENT_REMINDER, variables, studentId);
     }
 
     @Override
@@ -1015,10 +1192,10 @@ public class NotificationServiceImpl implements NotificationService {
     public void sendExamReminder(Long studentId, String examName, LocalDateTime examTime) {
         log.debug("发送考试提醒: 学生ID {}, 考试名称 {}", studentId, examName);
         
-        String title = "考试提醒";
-        String content = String.format("您有考试安排：%s，考试时间：%s，请做好准备。", examName, examTime);
-        
-        sendSystemNotification(title, content, "STUDENT", List.of(studentId));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("examName", examName);
+        variables.put("examTime", examTime);
+        sendReminder("EXAM_REMINDER", DEFAULT_EXAM_REMINDER, variables, studentId);
     }
 
     @Override
@@ -1026,10 +1203,62 @@ public class NotificationServiceImpl implements NotificationService {
     public void sendAssignmentReminder(Long studentId, String assignmentTitle, LocalDateTime dueDate) {
         log.debug("发送作业提醒: 学生ID {}, 作业标题 {}", studentId, assignmentTitle);
         
-        String title = "作业提醒";
-        String content = String.format("您有作业待完成：%s，截止时间：%s，请及时提交。", assignmentTitle, dueDate);
-        
-        sendSystemNotification(title, content, "STUDENT", List.of(studentId));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("assignmentTitle", assignmentTitle);
+        variables.put("dueDate", dueDate);
+        sendReminder("ASSIGNMENT_REMINDER", DEFAULT_ASSIGNMENT_REMINDER, variables, studentId);
+    }
+
+    /**
+     * 使用模板渲染提醒并发送给学生，数据库模板不可用时使用内置模板
+     */
+    private void sendReminder(String templateCode, NotificationTemplate defaultTemplate,
+                              Map<String, Object> variables, Long studentId) {
+        NotificationTemplate template = findSendableTemplate(templateCode).orElse(defaultTemplate);
+        RenderedTemplate rendered = templateRenderer.render(template, variables);
+        String title = rendered.title() != null ? rendered.title() : defaultTemplate.getTitle();
+
+        sendSystemNotification(title, rendered.content(), "STUDENT", List.of(studentId));
+    }
+
+    /**
+     * 按编码查找可发送的模板，查找结果短期缓存，查询失败时不缓存
+     */
+    private Optional<NotificationTemplate> findSendableTemplate(String templateCode) {
+        if (templateCode == null) {
+            return Optional.empty();
+        }
+        Optional<NotificationTemplate> cached = sendableTemplates.getIfPresent(templateCode);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Optional<NotificationTemplate> template = notificationTemplateRepository.findByTemplateCode(templateCode)
+                .filter(NotificationTemplate::canSend);
+            sendableTemplates.put(templateCode, template);
+            return template;
+        } catch (Exception e) {
+            log.warn("查找通知模板失败: code={}", templateCode, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 模板变更后清除查找缓存和渲染计划
+     */
+    private void onTemplateChanged(String templateCode) {
+        sendableTemplates.invalidateAll();
+        if (templateCode != null) {
+            templateRenderer.evict(templateCode);
+        } else {
+            templateRenderer.clear();
+        }
+    }
+
+    private static NotificationTemplate builtInTemplate(String code, String type, String title, String content) {
+        NotificationTemplate template = NotificationTemplate.createSystemTemplate(code, title, type, "system", content);
+        template.setTitle(title);
+        return template;
     }
 
     @Override
@@ -1055,6 +1284,7 @@ public class NotificationServiceImpl implements NotificationService {
             Notification notification = optionalNotification.get();
             notification.publish();
             save(notification);
+            pushNotification(notification, parseTargetIds(notification));
         }
     }
 
@@ -1257,7 +1487,9 @@ public class NotificationServiceImpl implements NotificationService {
     @Transactional
     public NotificationTemplate saveTemplate(NotificationTemplate template) {
         log.debug("保存通知模板: {}", template.getTitle());
-        return notificationTemplateRepository.save(template);
+        NotificationTemplate saved = notificationTemplateRepository.save(template);
+        onTemplateChanged(saved.getTemplateCode());
+        return saved;
     }
 
     @Override
@@ -1295,6 +1527,7 @@ public class NotificationServiceImpl implements NotificationService {
     public void deleteTemplate(Long id) {
         log.debug("删除通知模板: {}", id);
         notificationTemplateRepository.deleteById(id);
+        onTemplateChanged(null);
     }
 
     // ==================== 自动化通知 ====================
@@ -1325,6 +1558,123 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    @Override
+    @Transactional
+    public void sendScheduledNotification(Long notificationId) {
+        log.debug("发送到期定时通知: {}", notificationId);
+        // 事件触发时重新校验状态，已被取消、改期或已由扫描任务发送的通知直接跳过
+        notificationRepository.findById(notificationId)
+            .filter(n -> !n.isDeleted())
+            .filter(n -> "SCHEDULED".equals(n.getNotificationStatus()))
+            .filter(n -> n.getPublishTime() == null || !n.getPublishTime().isAfter(LocalDateTime.now()))
+            .ifPresent(this::dispatchScheduledNotification);
+    }
+
+    @Override
+    @Transactional
+    public void expireNotification(Long notificationId) {
+        log.debug("通知到期: {}", notificationId);
+        notificationRepository.findById(notificationId)
+            .filter(n -> !n.isDeleted())
+            .filter(Notification::isExpired)
+            .filter(n -> "PUBLISHED".equals(n.getNotificationStatus()) || "SENT".equals(n.getNotificationStatus()))
+            .ifPresent(n -> notificationRepository.updateNotificationStatus(n.getId(), "EXPIRED"));
+    }
+
+    @Override
+    public void scheduleReminder(String reminderType, Long studentId, String subject,
+                                 LocalDateTime eventTime, LocalDateTime remindAt) {
+        log.debug("调度提醒: 类型 {}, 学生ID {}, 事项 {}, 提醒时间 {}", reminderType, studentId, subject, remindAt);
+        if (reminderType == null || studentId == null || eventTime == null || remindAt == null) {
+            log.warn("提醒参数不完整，跳过调度: 类型 {}, 学生ID {}, 事项 {}", reminderType, studentId, subject);
+            return;
+        }
+
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("reminderType", reminderType);
+        attributes.put("studentId", String.valueOf(studentId));
+        attributes.put("subject", subject);
+        attributes.put("eventTime", eventTime.toString());
+        timedEventScheduler.schedule(new TimedEvent(TimedEvent.TYPE_REMINDER,
+            reminderTargetId(reminderType, studentId, subject), toEpochMilli(remindAt), attributes));
+    }
+
+    @Override
+    public void scheduleCourseReminders(String reminderType, Long courseId, String subject, LocalDateTime eventTime) {
+        LocalDateTime now = LocalDateTime.now();
+        if (courseId == null || eventTime == null || !eventTime.isAfter(now)) {
+            return;
+        }
+        LocalDateTime remindAt = eventTime.minusHours(timerWheelConfig.getReminderLeadHours());
+        LocalDateTime effectiveRemindAt = remindAt.isAfter(now) ? remindAt : now;
+        List<Long> studentIds = findSelectedStudentIds(courseId);
+        log.debug("调度课程提醒: 类型 {}, 课程ID {}, 事项 {}, 学生数 {}", reminderType, courseId, subject, studentIds.size());
+
+        InvalidationChannel.afterCommit(() -> studentIds.forEach(studentId ->
+            scheduleReminder(reminderType, studentId, subject, eventTime, effectiveRemindAt)));
+    }
+
+    @Override
+    public void cancelCourseReminders(String reminderType, Long courseId, String subject) {
+        if (courseId == null) {
+            return;
+        }
+        List<Long> studentIds = findSelectedStudentIds(courseId);
+        InvalidationChannel.afterCommit(() -> studentIds.forEach(studentId ->
+            timedEventScheduler.cancel(TimedEvent.TYPE_REMINDER, reminderTargetId(reminderType, studentId, subject))));
+    }
+
+    private List<Long> findSelectedStudentIds(Long courseId) {
+        return courseSelectionRepository.findByCourseIdAndDeleted(courseId, 0).stream()
+            .filter(selection -> "selected".equals(selection.getSelectionStatus()))
+            .map(CourseSelection::getStudentId)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    }
+
+    private static String reminderTargetId(String reminderType, Long studentId, String subject) {
+        return reminderType + ":" + studentId + ":" + subject;
+    }
+
+    /**
+     * 按通知当前状态登记或撤销发布、过期定时事件
+     */
+    private void syncNotificationTimers(Notification notification) {
+        if (notification.getId() == null) {
+            return;
+        }
+        String targetId = String.valueOf(notification.getId());
+        LocalDateTime now = LocalDateTime.now();
+        boolean active = !notification.isDeleted();
+        String status = notification.getNotificationStatus();
+
+        if (active && "SCHEDULED".equals(status)
+                && notification.getPublishTime() != null && notification.getPublishTime().isAfter(now)) {
+            timedEventScheduler.schedule(new TimedEvent(TimedEvent.TYPE_PUBLISH, targetId,
+                toEpochMilli(notification.getPublishTime()), null));
+        } else {
+            timedEventScheduler.cancel(TimedEvent.TYPE_PUBLISH, targetId);
+        }
+
+        if (active && ("PUBLISHED".equals(status) || "SCHEDULED".equals(status) || "SENT".equals(status))
+                && notification.getExpireTime() != null && notification.getExpireTime().isAfter(now)) {
+            timedEventScheduler.schedule(new TimedEvent(TimedEvent.TYPE_EXPIRE, targetId,
+                toEpochMilli(notification.getExpireTime()), null));
+        } else {
+            timedEventScheduler.cancel(TimedEvent.TYPE_EXPIRE, targetId);
+        }
+    }
+
+    private void cancelNotificationTimers(Long notificationId) {
+        timedEventScheduler.cancel(TimedEvent.TYPE_PUBLISH, String.valueOf(notificationId));
+        timedEventScheduler.cancel(TimedEvent.TYPE_EXPIRE, String.valueOf(notificationId));
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
     @Override
     @Transactional
     public void autoSendSystemReminders() {
@@ -1371,7 +1721,9 @@ public class NotificationServiceImpl implements NotificationService {
     @Transactional
     public NotificationTemplate updateTemplate(NotificationTemplate template) {
         log.debug("更新模板: {}", template.getId());
-        return notificationTemplateRepository.save(template);
+        NotificationTemplate saved = notificationTemplateRepository.save(template);
+        onTemplateChanged(saved.getTemplateCode());
+        return saved;
     }
 
     @Override
@@ -1398,7 +1750,9 @@ public class NotificationServiceImpl implements NotificationService {
         copy.setIsActive(true);
         copy.setPriority(original.getPriority());
 
-        return notificationTemplateRepository.save(copy);
+        NotificationTemplate saved = notificationTemplateRepository.save(copy);
+        onTemplateChanged(saved.getTemplateCode());
+        return saved;
     }
 
     @Override
@@ -1445,6 +1799,7 @@ public class NotificationServiceImpl implements NotificationService {
                 NotificationTemplate template = templateOpt.get();
                 template.setTemplateStatus(status);
                 notificationTemplateRepository.save(template);
+                onTemplateChanged(template.getTemplateCode());
                 updatedCount++;
             }
         }
@@ -1622,13 +1977,7 @@ public class NotificationServiceImpl implements NotificationService {
                 log.debug("发送{}优先级定时通知，数量: {}", priority, notifications.size());
 
                 for (Notification notification : notifications) {
-                    try {
-                        sendIntelligentNotification(notification);
-                        updateNotificationStatus(notification.getId(), "SENT");
-                    } catch (Exception e) {
-                        log.error("发送定时通知失败: notificationId={}", notification.getId(), e);
-                        updateNotificationStatus(notification.getId(), "FAILED");
-                    }
+                    dispatchScheduledNotification(notification);
                 }
             }
 
@@ -1668,9 +2017,7 @@ public class NotificationServiceImpl implements NotificationService {
      */
     private List<Notification> getScheduledNotifications(java.time.LocalDateTime now) {
         try {
-            return notificationRepository.findAll().stream()
-                .filter(n -> n.getDeleted() == 0)
-                .filter(n -> "SCHEDULED".equals(n.getNotificationStatus()))
+            return notificationRepository.findByNotificationStatus("SCHEDULED").stream()
                 .filter(n -> n.getPublishTime() != null && !n.getPublishTime().isAfter(now))
                 .collect(java.util.stream.Collectors.toList());
         } catch (Exception e) {
@@ -1679,6 +2026,19 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
+    /**
+     * 发送一条定时通知并更新状态
+     */
+    private void dispatchScheduledNotification(Notification notification) {
+        try {
+            sendIntelligentNotification(notification);
+            updateNotificationStatus(notification.getId(), "SENT");
+        } catch (Exception e) {
+            log.error("发送定时通知失败: notificationId={}", notification.getId(), e);
+            updateNotificationStatus(notification.getId(), "FAILED");
+        }
+    }
+
     /**
      * 按优先级分组通知
      */
@@ -1965,7 +2325,7 @@ public class NotificationServiceImpl implements NotificationService {
 
     private void sendSystemNotification(Notification notification) {
         log.debug("发送系统通知: {}", notification.getTitle());
-        // 实际系统通知逻辑
+        pushNotification(notification, parseTargetIds(notification));
     }
 
     private void sendWechatNotification(Notification notification) {
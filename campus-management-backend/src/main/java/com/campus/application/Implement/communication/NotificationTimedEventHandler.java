@@ -0,0 +1,103 @@
+package com.campus.application.Implement.communication;
+
+import com.campus.application.service.communication.NotificationService;
+import com.campus.domain.entity.communication.Notification;
+import com.campus.domain.repository.communication.NotificationRepository;
+import com.campus.infrastructure.scheduling.TimedEvent;
+import com.campus.infrastructure.scheduling.TimedEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通知定时事件处理器
+ * 处理定时通知发布、通知过期和提醒发送事件
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Component
+public class NotificationTimedEventHandler implements TimedEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationTimedEventHandler.class);
+
+    /**
+     * 单机模式恢复过期事件时的查询窗口
+     */
+    private static final int EXPIRE_RECOVERY_DAYS = 365;
+
+    private final NotificationService notificationService;
+    private final NotificationRepository notificationRepository;
+
+    public NotificationTimedEventHandler(NotificationService notificationService,
+                                         NotificationRepository notificationRepository) {
+        this.notificationService = notificationService;
+        this.notificationRepository = notificationRepository;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return TimedEvent.TYPE_PUBLISH.equals(eventType)
+            || TimedEvent.TYPE_EXPIRE.equals(eventType)
+            || TimedEvent.TYPE_REMINDER.equals(eventType);
+    }
+
+    @Override
+    public void handle(TimedEvent event) {
+        switch (event.type()) {
+            case TimedEvent.TYPE_PUBLISH -> notificationService.sendScheduledNotification(Long.valueOf(event.targetId()));
+            case TimedEvent.TYPE_EXPIRE -> notificationService.expireNotification(Long.valueOf(event.targetId()));
+            case TimedEvent.TYPE_REMINDER -> sendReminder(event.attributes());
+            default -> log.warn("未知的通知定时事件类型: {}", event.type());
+        }
+    }
+
+    /**
+     * 从通知表恢复待发布和待过期的事件，已错过发布时间的定时通知会在下一个刻度补发
+     */
+    @Override
+    public List<TimedEvent> recoverEvents() {
+        List<TimedEvent> events = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Notification notification : notificationRepository.findByNotificationStatus("SCHEDULED")) {
+            if (notification.getPublishTime() != null) {
+                events.add(new TimedEvent(TimedEvent.TYPE_PUBLISH, String.valueOf(notification.getId()),
+                    toEpochMilli(notification.getPublishTime()), null));
+            }
+        }
+
+        for (Notification notification : notificationRepository.findExpiringNotifications(now, now.plusDays(EXPIRE_RECOVERY_DAYS))) {
+            String status = notification.getNotificationStatus();
+            if ("PUBLISHED".equals(status) || "SCHEDULED".equals(status) || "SENT".equals(status)) {
+                events.add(new TimedEvent(TimedEvent.TYPE_EXPIRE, String.valueOf(notification.getId()),
+                    toEpochMilli(notification.getExpireTime()), null));
+            }
+        }
+        return events;
+    }
+
+    private void sendReminder(Map<String, String> attributes) {
+        String reminderType = attributes.get("reminderType");
+        Long studentId = Long.valueOf(attributes.get("studentId"));
+        String subject = attributes.get("subject");
+        LocalDateTime eventTime = LocalDateTime.parse(attributes.get("eventTime"));
+
+        switch (reminderType) {
+            case "PAYMENT" -> notificationService.sendPaymentReminder(studentId, subject, eventTime);
+            case "EXAM" -> notificationService.sendExamReminder(studentId, subject, eventTime);
+            case "ASSIGNMENT" -> notificationService.sendAssignmentReminder(studentId, subject, eventTime);
+            default -> log.warn("未知的提醒类型: {}", reminderType);
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,5 +1,6 @@
 package com.campus.application.Implement.exam;
 
+import com.campus.application.service.communication.NotificationService;
 import com.campus.application.service.exam.ExamService;
 import com.campus.domain.entity.exam.Exam;
 import com.campus.domain.entity.exam.ExamQuestion;
@@ -43,6 +44,9 @@ public class ExamServiceImpl implements ExamService {
     @Autowired
     private ExamRecordRepository examRecordRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
     // ==================== 基础CRUD方法 ====================
 
     @Override
@@ -215,16 +219,27 @@ public class ExamServiceImpl implements ExamService {
     @Override
     public void publishExam(Long examId) {
         examRepository.updateExamStatus(examId, "published");
+        examRepository.findById(examId).ifPresent(this::scheduleExamReminders);
     }
 
     @Override
     public void unpublishExam(Long examId) {
         examRepository.updateExamStatus(examId, "draft");
+        examRepository.findById(examId).ifPresent(exam ->
+            notificationService.cancelCourseReminders("EXAM", exam.getCourseId(), exam.getExamName()));
     }
 
     @Override
     public void publishExams(List<Long> examIds) {
         examRepository.batchUpdateExamStatus(examIds, "published");
+        examRepository.findAllById(examIds).forEach(this::scheduleExamReminders);
+    }
+
+    /**
+     * 考试发布后为选课学生调度考前提醒
+     */
+    private void scheduleExamReminders(Exam exam) {
+        notificationService.scheduleCourseReminders("EXAM", exam.getCourseId(), exam.getExamName(), exam.getStartTime());
     }
 
     @Override
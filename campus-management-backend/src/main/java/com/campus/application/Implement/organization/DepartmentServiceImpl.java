@@ -16,6 +16,8 @@ import org.springframework.util.StringUtils;
 import com.campus.application.service.organization.DepartmentService;
 import com.campus.domain.entity.organization.Department;
 import com.campus.domain.repository.organization.DepartmentRepository;
+import com.campus.infrastructure.cache.KeyExistenceGuard;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
 
 /**
  * 院系服务实现类
@@ -30,9 +32,11 @@ public class DepartmentServiceImpl implements DepartmentService {
     private static final Logger log = LoggerFactory.getLogger(DepartmentServiceImpl.class);
 
     private final DepartmentRepository departmentRepository;
+    private final KeyExistenceGuard keyExistenceGuard;
 
-    public DepartmentServiceImpl(DepartmentRepository departmentRepository) {
+    public DepartmentServiceImpl(DepartmentRepository departmentRepository, KeyExistenceGuard keyExistenceGuard) {
         this.departmentRepository = departmentRepository;
+        this.keyExistenceGuard = keyExistenceGuard;
     }
 
     @Override
@@ -146,14 +150,15 @@ public class DepartmentServiceImpl implements DepartmentService {
     @Override
     @Cacheable(value = "departments", key = "#id")
     public Optional<Department> getDepartmentById(Long id) {
-        return departmentRepository.findById(id)
-                .filter(dept -> dept.getDeleted() == 0);
+        return keyExistenceGuard.find(KeySpace.DEPARTMENT_ID, id, () -> departmentRepository.findById(id)
+                .filter(dept -> dept.getDeleted() == 0));
     }
 
     @Override
     @Cacheable(value = "departments", key = "'code:' + #deptCode")
     public Optional<Department> getDepartmentByCode(String deptCode) {
-        return departmentRepository.findByDeptCodeAndDeleted(deptCode, 0);
+        return keyExistenceGuard.find(KeySpace.DEPARTMENT_CODE, deptCode,
+                () -> departmentRepository.findByDeptCodeAndDeleted(deptCode, 0));
     }
 
     @Override
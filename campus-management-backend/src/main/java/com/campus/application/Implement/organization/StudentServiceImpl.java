@@ -16,6 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.campus.application.service.academic.StudentService;
 import com.campus.domain.entity.organization.Student;
 import com.campus.domain.repository.organization.StudentRepository;
+import com.campus.infrastructure.cache.CacheTags;
+import com.campus.infrastructure.cache.KeyExistenceGuard;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
+import com.campus.infrastructure.config.CacheConfig;
 
 /**
  * 学生服务实现类
@@ -30,6 +34,12 @@ public class StudentServiceImpl implements StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private CacheConfig.CacheUtils cacheUtils;
+
+    @Autowired
+    private KeyExistenceGuard keyExistenceGuard;
+
     // ==================== 基础CRUD方法 ====================
 
     @Override
@@ -39,7 +49,7 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public Optional<Student> findById(Long id) {
-        return studentRepository.findById(id);
+        return keyExistenceGuard.find(KeySpace.STUDENT_ID, id, () -> studentRepository.findById(id));
     }
 
     @Override
@@ -64,6 +74,7 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     @Cacheable(value = "student:count", unless = "#result == null")
+    @CacheTags("'student'")
     public long count() {
         return studentRepository.count();
     }
@@ -72,7 +83,8 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public Optional<Student> findByStudentNo(String studentNo) {
-        return studentRepository.findByStudentNoAndDeleted(studentNo, 0);
+        return keyExistenceGuard.find(KeySpace.STUDENT_NO, studentNo,
+            () -> studentRepository.findByStudentNoAndDeleted(studentNo, 0));
     }
 
     @Override
@@ -92,7 +104,8 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     public boolean existsByStudentNo(String studentNo) {
-        return studentRepository.existsByStudentNoAndDeleted(studentNo, 0);
+        return keyExistenceGuard.exists(KeySpace.STUDENT_NO, studentNo,
+            () -> studentRepository.existsByStudentNoAndDeleted(studentNo, 0));
     }
 
     @Override
@@ -107,6 +120,7 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     @Cacheable(value = "student:grade-stats", unless = "#result == null")
+    @CacheTags("'student'")
     public List<Object[]> countStudentsByGrade() {
         return studentRepository.countStudentsByGrade();
     }
@@ -173,6 +187,7 @@ public class StudentServiceImpl implements StudentService {
 
         // 保存学生信息
         save(student);
+        cacheUtils.clearStudentRelatedCaches(student.getId());
         return student;
     }
 
@@ -195,6 +210,7 @@ public class StudentServiceImpl implements StudentService {
 
         // 更新学生信息
         save(student);
+        cacheUtils.clearStudentRelatedCaches(student.getId());
         return true;
     }
 
@@ -202,6 +218,7 @@ public class StudentServiceImpl implements StudentService {
     @Transactional
     public boolean deleteStudent(Long id) {
         deleteById(id);
+        cacheUtils.clearStudentRelatedCaches(id);
         return true;
     }
 
@@ -209,6 +226,7 @@ public class StudentServiceImpl implements StudentService {
     @Transactional
     public boolean batchDeleteStudents(List<Long> ids) {
         deleteAllById(ids);
+        ids.forEach(cacheUtils::clearStudentRelatedCaches);
         return true;
     }
 
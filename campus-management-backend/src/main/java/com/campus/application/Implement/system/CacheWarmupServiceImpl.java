@@ -5,25 +5,45 @@ import com.campus.application.service.auth.PermissionService;
 import com.campus.application.service.auth.UserService;
 import com.campus.application.service.organization.DepartmentService;
 import com.campus.application.service.system.CacheWarmupService;
+import com.campus.domain.entity.academic.Course;
+import com.campus.domain.entity.auth.User;
+import com.campus.infrastructure.cache.DistributedCacheService;
+import com.campus.infrastructure.cache.ThrottledCacheWriter;
+import com.campus.infrastructure.cache.WarmupTaskGraph;
+import com.campus.infrastructure.config.CacheWarmupConfig;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存预热服务实现类
+ * 预热拆分为带优先级和依赖的任务图，在有界线程池上并行执行，最热的数据（活跃用户、本学期课程）最先开始；
+ * 用户权限按批一次查询，写入Redis经由限速的管道批量写入器，进度通过 {@link #getCacheStatistics()} 查看
  *
  * @author Campus Management Team
  * @version 1.0.0
@@ -40,6 +60,9 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private DistributedCacheService distributedCacheService;
     
     @Autowired
     private UserService userService;
@@ -55,63 +78,57 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
 
     @Autowired
     private Environment environment;
-    
+
+    @Autowired
+    private CacheWarmupConfig warmupConfig;
+
+    private ExecutorService warmupExecutor;
+
+    private ThrottledCacheWriter cacheWriter;
+
+    private WarmupTaskGraph currentRun;
+
+    private CompletableFuture<Void> currentFuture;
+
+    @PostConstruct
+    public void init() {
+        warmupExecutor = Executors.newFixedThreadPool(warmupConfig.getThreads(),
+            new CustomizableThreadFactory("cache-warmup-"));
+        cacheWriter = new ThrottledCacheWriter(distributedCacheService,
+            warmupConfig.getRedisOpsPerSecond(), warmupConfig.getBatchSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmupExecutor.shutdownNow();
+    }
+
+    /**
+     * 应用启动完成后在后台预热，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (warmupConfig.isOnStartup()) {
+            startWarmup(buildWarmupGraph("startup", true));
+        }
+    }
+
     @Override
     public void warmupCache() {
         logger.info("开始执行全量缓存预热");
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            // 并行执行各种缓存预热
-            CompletableFuture<Void> userCacheFuture = CompletableFuture.runAsync(this::warmupUserCache);
-            CompletableFuture<Void> courseCacheFuture = CompletableFuture.runAsync(this::warmupCourseCache);
-            CompletableFuture<Void> departmentCacheFuture = CompletableFuture.runAsync(this::warmupDepartmentCache);
-            CompletableFuture<Void> permissionCacheFuture = CompletableFuture.runAsync(this::warmupPermissionCache);
-            CompletableFuture<Void> configCacheFuture = CompletableFuture.runAsync(this::warmupConfigCache);
-            
-            // 等待所有缓存预热完成
-            CompletableFuture.allOf(
-                userCacheFuture,
-                courseCacheFuture,
-                departmentCacheFuture,
-                permissionCacheFuture,
-                configCacheFuture
-            ).join();
-            
-            long endTime = System.currentTimeMillis();
-            logger.info("全量缓存预热完成，耗时: {}ms", endTime - startTime);
-            
-        } catch (Exception e) {
-            logger.error("缓存预热失败", e);
-            throw new RuntimeException("缓存预热失败", e);
-        }
+        startWarmup(buildWarmupGraph("full", true)).join();
     }
     
     @Override
     public void warmupDashboardCache() {
         logger.info("开始预热仪表盘缓存");
-        try {
-            warmupUserCache();
-            warmupCourseCache();
-            warmupBasicStatsCache();
-            logger.info("仪表盘缓存预热完成");
-        } catch (Exception e) {
-            logger.error("仪表盘缓存预热失败", e);
-        }
+        startWarmup(buildWarmupGraph("dashboard", false)).join();
     }
 
     @Override
     public void warmupBasicStatsCache() {
         logger.info("开始预热基础统计缓存");
-        try {
-            warmupUserCache();
-            warmupCourseCache();
-            warmupDepartmentCache();
-            logger.info("基础统计缓存预热完成");
-        } catch (Exception e) {
-            logger.error("基础统计缓存预热失败", e);
-        }
+        startWarmup(buildWarmupGraph("basicStats", false)).join();
     }
 
     @Override
@@ -144,32 +161,51 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     }
 
     // ================================
-    // 辅助方法
+    // 预热任务
     // ================================
 
+    /**
+     * 构建预热任务图
+     * 优先级0为最热的数据（活跃用户、本学期课程），依赖关系用于复用上游任务已加载的数据
+     *
+     * @param full 是否包含权限、配置等仪表盘之外的缓存
+     */
+    private WarmupTaskGraph buildWarmupGraph(String name, boolean full) {
+        WarmupContext context = new WarmupContext();
+        WarmupTaskGraph graph = new WarmupTaskGraph(name)
+            .add("activeUsers", 0, () -> loadActiveUsers(context))
+            .add("currentSemesterCourses", 0, () -> loadCurrentSemesterCourses(context))
+            .add("userPermissions", 2, () -> loadUserPermissions(context), "activeUsers")
+            .add("activeCourses", 2, () -> loadActiveCourses(context), "currentSemesterCourses")
+            .add("courseStatistics", 3, this::loadCourseStatistics)
+            .add("departments", 3, this::loadDepartments);
+        if (full) {
+            graph.add("systemConfig", 1, this::loadConfig)
+                .add("permissions", 1, this::loadPermissions);
+        }
+        return graph;
+    }
+
+    /**
+     * 提交预热任务图，已有预热在执行时直接返回正在执行的那一次
+     */
+    private synchronized CompletableFuture<Void> startWarmup(WarmupTaskGraph graph) {
+        if (currentRun != null && currentRun.getState() == WarmupTaskGraph.State.RUNNING) {
+            logger.info("缓存预热 {} 正在执行，忽略新的预热请求", currentRun.getProgress().name());
+            return currentFuture;
+        }
+        currentRun = graph;
+        currentFuture = graph.execute(warmupExecutor);
+        return currentFuture;
+    }
+
     public void warmupUserCache() {
         logger.info("开始预热用户缓存");
-        
         try {
-            // 预热活跃用户数据
-            userService.findActiveUsers().forEach(user -> {
-                String cacheKey = "user:" + user.getId();
-                redisTemplate.opsForValue().set(cacheKey, user, 30, TimeUnit.MINUTES);
-            });
-            
-            // 预热用户权限数据
-            userService.findAllUsers().forEach(user -> {
-                try {
-                    String permissionKey = "user:permissions:" + user.getId();
-                    Object permissions = userService.getUserPermissions(user.getId());
-                    redisTemplate.opsForValue().set(permissionKey, permissions, 60, TimeUnit.MINUTES);
-                } catch (Exception e) {
-                    logger.warn("预热用户权限缓存失败: userId={}", user.getId(), e);
-                }
-            });
-            
+            WarmupContext context = new WarmupContext();
+            loadActiveUsers(context);
+            loadUserPermissions(context);
             logger.info("用户缓存预热完成");
-            
         } catch (Exception e) {
             logger.error("用户缓存预热失败", e);
         }
@@ -177,21 +213,12 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     
     public void warmupCourseCache() {
         logger.info("开始预热课程缓存");
-        
         try {
-            // 预热活跃课程数据
-            courseService.findActiveCourses().forEach(course -> {
-                String cacheKey = "course:" + course.getId();
-                redisTemplate.opsForValue().set(cacheKey, course, 60, TimeUnit.MINUTES);
-            });
-            
-            // 预热课程统计数据
-            String statsKey = "course:statistics";
-            Object courseStats = courseService.getCourseStatistics();
-            redisTemplate.opsForValue().set(statsKey, courseStats, 120, TimeUnit.MINUTES);
-            
+            WarmupContext context = new WarmupContext();
+            loadCurrentSemesterCourses(context);
+            loadActiveCourses(context);
+            loadCourseStatistics();
             logger.info("课程缓存预热完成");
-            
         } catch (Exception e) {
             logger.error("课程缓存预热失败", e);
         }
@@ -199,21 +226,9 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     
     public void warmupDepartmentCache() {
         logger.info("开始预热院系缓存");
-        
         try {
-            // 预热院系数据
-            departmentService.findActiveDepartments().forEach(department -> {
-                String cacheKey = "department:" + department.getId();
-                redisTemplate.opsForValue().set(cacheKey, department, 120, TimeUnit.MINUTES);
-            });
-            
-            // 预热院系层级结构
-            String hierarchyKey = "department:hierarchy";
-            Object hierarchy = departmentService.getDepartmentHierarchy();
-            redisTemplate.opsForValue().set(hierarchyKey, hierarchy, 240, TimeUnit.MINUTES);
-            
+            loadDepartments();
             logger.info("院系缓存预热完成");
-            
         } catch (Exception e) {
             logger.error("院系缓存预热失败", e);
         }
@@ -221,21 +236,9 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     
     public void warmupPermissionCache() {
         logger.info("开始预热权限缓存");
-        
         try {
-            // 预热权限数据
-            permissionService.findAllPermissions().forEach(permission -> {
-                String cacheKey = "permission:" + permission.getId();
-                redisTemplate.opsForValue().set(cacheKey, permission, 240, TimeUnit.MINUTES);
-            });
-            
-            // 预热权限树结构
-            String treeKey = "permission:tree";
-            Object permissionTree = permissionService.getPermissionTree();
-            redisTemplate.opsForValue().set(treeKey, permissionTree, 480, TimeUnit.MINUTES);
-            
+            loadPermissions();
             logger.info("权限缓存预热完成");
-            
         } catch (Exception e) {
             logger.error("权限缓存预热失败", e);
         }
@@ -243,22 +246,98 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     
     public void warmupConfigCache() {
         logger.info("开始预热配置缓存");
-        
         try {
-            // 预热系统配置
-            String configKey = "system:config";
-            Object systemConfig = getSystemConfiguration();
-            redisTemplate.opsForValue().set(configKey, systemConfig, 600, TimeUnit.MINUTES);
-            
-            // 预热常用字典数据
-            warmupDictionaryCache();
-            
+            loadConfig();
             logger.info("配置缓存预热完成");
-            
         } catch (Exception e) {
             logger.error("配置缓存预热失败", e);
         }
     }
+
+    private void loadActiveUsers(WarmupContext context) {
+        context.activeUsers = userService.findActiveUsers();
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (User user : context.activeUsers) {
+            entries.put("user:" + user.getId(), user);
+        }
+        cacheWriter.writeAll(entries, 30, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 预热用户权限：活跃用户排在前面，每批用户一次查询取回权限
+     */
+    private void loadUserPermissions(WarmupContext context) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        if (context.activeUsers != null) {
+            context.activeUsers.forEach(user -> userIds.add(user.getId()));
+        }
+        userService.findAllUsers().forEach(user -> userIds.add(user.getId()));
+
+        List<Long> ordered = new ArrayList<>(userIds);
+        int batchSize = warmupConfig.getBatchSize();
+        for (int from = 0; from < ordered.size(); from += batchSize) {
+            List<Long> batch = ordered.subList(from, Math.min(from + batchSize, ordered.size()));
+            Map<String, Object> entries = new LinkedHashMap<>();
+            userService.getUserPermissions(batch)
+                .forEach((userId, permissions) -> entries.put("user:permissions:" + userId, permissions));
+            cacheWriter.writeAll(entries, 60, TimeUnit.MINUTES);
+        }
+    }
+
+    private void loadCurrentSemesterCourses(WarmupContext context) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (Course course : courseService.findCurrentSemesterCourses()) {
+            entries.put("course:" + course.getId(), course);
+            context.warmedCourseIds.add(course.getId());
+        }
+        cacheWriter.writeAll(entries, 60, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 预热其余活跃课程，跳过本学期任务已写入的课程
+     */
+    private void loadActiveCourses(WarmupContext context) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (Course course : courseService.findActiveCourses()) {
+            if (!context.warmedCourseIds.contains(course.getId())) {
+                entries.put("course:" + course.getId(), course);
+            }
+        }
+        cacheWriter.writeAll(entries, 60, TimeUnit.MINUTES);
+    }
+
+    private void loadCourseStatistics() {
+        cacheWriter.write("course:statistics", courseService.getCourseStatistics(), 120, TimeUnit.MINUTES);
+    }
+
+    private void loadDepartments() {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        departmentService.findActiveDepartments()
+            .forEach(department -> entries.put("department:" + department.getId(), department));
+        cacheWriter.writeAll(entries, 120, TimeUnit.MINUTES);
+        cacheWriter.write("department:hierarchy", departmentService.getDepartmentHierarchy(), 240, TimeUnit.MINUTES);
+    }
+
+    private void loadPermissions() {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        permissionService.findAllPermissions()
+            .forEach(permission -> entries.put("permission:" + permission.getId(), permission));
+        cacheWriter.writeAll(entries, 240, TimeUnit.MINUTES);
+        cacheWriter.write("permission:tree", permissionService.getPermissionTree(), 480, TimeUnit.MINUTES);
+    }
+
+    private void loadConfig() {
+        cacheWriter.write("system:config", getSystemConfiguration(), 600, TimeUnit.MINUTES);
+        warmupDictionaryCache();
+    }
+
+    /**
+     * 单次预热内任务间共享的数据
+     */
+    private static final class WarmupContext {
+        private volatile List<User> activeUsers;
+        private final Set<Long> warmedCourseIds = ConcurrentHashMap.newKeySet();
+    }
     
     public void clearAllCaches() {
         logger.info("开始清理所有缓存");
@@ -287,8 +366,8 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
         logger.info("按模式清理缓存: {}", pattern);
         
         try {
-            redisTemplate.delete(redisTemplate.keys(pattern));
-            logger.info("模式缓存清理完成: {}", pattern);
+            long deleted = distributedCacheService.deleteByPattern(pattern);
+            logger.info("模式缓存清理完成: {}, 删除 {} 个键", pattern, deleted);
             
         } catch (Exception e) {
             logger.error("模式缓存清理失败: {}", pattern, e);
@@ -297,12 +376,12 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
     
     public boolean isCacheWarmedUp() {
         try {
-            // 检查关键缓存是否存在
-            boolean userCacheExists = redisTemplate.hasKey("user:*");
-            boolean courseCacheExists = redisTemplate.hasKey("course:*");
-            boolean configCacheExists = redisTemplate.hasKey("system:config");
-            
-            return userCacheExists && courseCacheExists && configCacheExists;
+            // 本节点执行过预热时以预热结果为准，否则检查关键缓存是否存在（可能由其他节点预热）
+            WarmupTaskGraph run = currentRun;
+            if (run != null && run.getState() != WarmupTaskGraph.State.PENDING) {
+                return run.getState() == WarmupTaskGraph.State.COMPLETED;
+            }
+            return Boolean.TRUE.equals(redisTemplate.hasKey("system:config"));
             
         } catch (Exception e) {
             logger.error("检查缓存预热状态失败", e);
@@ -318,10 +397,7 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
                 // 统计各种缓存模式的键数量
                 String[] patterns = {"user:*", "course:*", "department:*", "permission:*", "system:*", "dict:*"};
                 for (String pattern : patterns) {
-                    Set<String> keys = redisTemplate.keys(pattern);
-                    if (keys != null) {
-                        totalKeys += keys.size();
-                    }
+                    totalKeys += distributedCacheService.countKeys(pattern);
                 }
             } catch (Exception e) {
                 logger.warn("获取Redis键数量失败，返回默认值", e);
@@ -332,7 +408,13 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
             long keyCount = totalKeys != null ? totalKeys : 0L;
             boolean warmedUp = isCacheWarmedUp();
 
-            return new CacheStatistics(keyCount, warmedUp, warmedUp ? "已预热" : "未预热");
+            WarmupTaskGraph run = currentRun;
+            WarmupTaskGraph.Progress progress = run != null ? run.getProgress() : null;
+            String status = progress != null && progress.state() == WarmupTaskGraph.State.RUNNING
+                ? "预热中(" + progress.percent() + "%)"
+                : warmedUp ? "已预热" : "未预热";
+
+            return new CacheStatistics(keyCount, warmedUp, status, progress, cacheWriter.getKeysWritten());
 
         } catch (Exception e) {
             logger.error("获取缓存统计失败", e);
@@ -347,11 +429,26 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
         public final long totalCacheKeys;
         public final boolean isWarmedUp;
         public final String status;
+        /**
+         * 最近一次预热的进度，本节点未执行过预热时为null
+         */
+        public final WarmupTaskGraph.Progress warmupProgress;
+        /**
+         * 本节点预热累计写入Redis的键数
+         */
+        public final long warmupKeysWritten;
 
         public CacheStatistics(long totalCacheKeys, boolean isWarmedUp, String status) {
+            this(totalCacheKeys, isWarmedUp, status, null, 0L);
+        }
+
+        public CacheStatistics(long totalCacheKeys, boolean isWarmedUp, String status,
+                               WarmupTaskGraph.Progress warmupProgress, long warmupKeysWritten) {
             this.totalCacheKeys = totalCacheKeys;
             this.isWarmedUp = isWarmedUp;
             this.status = status;
+            this.warmupProgress = warmupProgress;
+            this.warmupKeysWritten = warmupKeysWritten;
         }
     }
     
@@ -363,11 +460,11 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
             // 预热常用字典数据
             String[] dictTypes = {"user_status", "course_type", "grade_level", "semester"};
             
+            Map<String, Object> entries = new LinkedHashMap<>();
             for (String dictType : dictTypes) {
-                String dictKey = "dict:" + dictType;
-                Object dictData = getDictionaryData(dictType);
-                redisTemplate.opsForValue().set(dictKey, dictData, 720, TimeUnit.MINUTES);
+                entries.put("dict:" + dictType, getDictionaryData(dictType));
             }
+            cacheWriter.writeAll(entries, 720, TimeUnit.MINUTES);
             
         } catch (Exception e) {
             logger.error("字典缓存预热失败", e);
@@ -382,7 +479,7 @@ public class CacheWarmupServiceImpl implements CacheWarmupService {
             String[] patterns = {"user:*", "course:*", "department:*", "permission:*", "system:*", "dict:*"};
             
             for (String pattern : patterns) {
-                redisTemplate.delete(redisTemplate.keys(pattern));
+                distributedCacheService.deleteByPattern(pattern);
             }
             
         } catch (Exception e) {
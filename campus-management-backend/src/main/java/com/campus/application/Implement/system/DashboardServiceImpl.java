@@ -9,6 +9,7 @@ import com.campus.application.service.finance.PaymentRecordService;
 import com.campus.application.service.organization.SchoolClassService;
 import com.campus.application.service.academic.StudentService;
 import com.campus.application.service.system.DashboardService;
+import com.campus.infrastructure.cache.RefreshAhead;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,9 +73,12 @@ public class DashboardServiceImpl implements DashboardService {
      * - 真实的最近活动记录
      * - 实时的快速统计数据
      *
+     * 结果经合并加载与提前刷新缓存，过期时不会有多个请求同时重新统计
+     *
      * @return 包含所有仪表盘数据的DTO对象
      */
     @Override
+    @RefreshAhead(cacheName = "dashboard:service:stats")
     public DashboardStatsDTO getDashboardStats() {
         DashboardStatsDTO stats = new DashboardStatsDTO();
 
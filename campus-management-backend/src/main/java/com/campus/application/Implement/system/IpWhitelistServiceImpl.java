@@ -0,0 +1,381 @@
+package com.campus.application.Implement.system;
+
+import com.campus.application.service.IpWhitelistService;
+import com.campus.domain.entity.system.IpWhitelist;
+import com.campus.domain.repository.system.IpWhitelistRepository;
+import com.campus.infrastructure.config.BusinessConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import com.campus.shared.security.CidrTrie;
+import com.campus.shared.util.IpUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * IP白名单服务实现类
+ *
+ * 启用的白名单编译为内存中的CIDR基数树（{@link CidrTrie}），单个IP、IP段、IP范围统一转换为网段，
+ * 任意数量的规则下查找开销都只与地址位数有关，可在过滤器中对每个管理请求执行。
+ * 生效/过期时间在匹配时判断，规则变更在事务提交后整棵树重建并原子替换，同时通知其它节点重建；
+ * {@link #cleanExpiredWhitelists()} 定期禁用过期规则并重新加载，兼作失效通知丢失时的兜底。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Service
+public class IpWhitelistServiceImpl implements IpWhitelistService {
+
+    private static final Logger log = LoggerFactory.getLogger(IpWhitelistServiceImpl.class);
+
+    private static final String RELOAD_CHANNEL = "campus:security:ip-whitelist";
+    private static final String RELOAD = "reload";
+
+    private final IpWhitelistRepository ipWhitelistRepository;
+    private final BusinessConfig businessConfig;
+    private final InvalidationChannel reloadChannel;
+
+    private final Object reloadLock = new Object();
+    private volatile CidrTrie<Rule> trie;
+
+    public IpWhitelistServiceImpl(IpWhitelistRepository ipWhitelistRepository,
+                                  BusinessConfig businessConfig,
+                                  RedisTemplate<String, Object> redisTemplate,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.ipWhitelistRepository = ipWhitelistRepository;
+        this.businessConfig = businessConfig;
+        this.reloadChannel = new InvalidationChannel(RELOAD_CHANNEL, redisTemplate, listenerContainer.getIfAvailable());
+    }
+
+    @PostConstruct
+    public void start() {
+        reloadChannel.subscribe(this::onMessage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadChannel.unsubscribe();
+    }
+
+    // ================================
+    // 匹配
+    // ================================
+
+    @Override
+    public boolean isIpInWhitelist(String ipAddress) {
+        return match(ipAddress) != null;
+    }
+
+    @Override
+    public void recordIpAccess(String ipAddress) {
+        Rule rule = match(ipAddress);
+        if (rule != null && rule.id() != null) {
+            try {
+                ipWhitelistRepository.incrementAccessCount(rule.id(), LocalDateTime.now());
+            } catch (Exception e) {
+                log.warn("记录白名单访问失败: ip={}, error={}", ipAddress, e.getMessage());
+            }
+        }
+    }
+
+    private Rule match(String ipAddress) {
+        byte[] address = IpUtil.toAddressBytes(ipAddress);
+        if (address == null) {
+            return null;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            return currentTrie().find(address, rule -> rule.isActiveAt(now));
+        } catch (Exception e) {
+            // 白名单无法加载时按不在白名单处理
+            log.error("IP白名单匹配失败: ip={}", ipAddress, e);
+            return null;
+        }
+    }
+
+    // ================================
+    // 维护
+    // ================================
+
+    @Override
+    @Transactional
+    public IpWhitelist addToWhitelist(IpWhitelist ipWhitelist) {
+        validate(ipWhitelist);
+        ipWhitelist.setId(null);
+        IpWhitelist saved = ipWhitelistRepository.save(ipWhitelist);
+        log.info("添加IP白名单: ip={}, name={}", saved.getIpAddress(), saved.getWhitelistName());
+        reloadAfterCommit();
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public boolean removeFromWhitelist(Long id) {
+        return ipWhitelistRepository.findByIdAndNotDeleted(id).map(whitelist -> {
+            whitelist.setDeleted(1);
+            ipWhitelistRepository.save(whitelist);
+            log.info("移除IP白名单: id={}, ip={}", id, whitelist.getIpAddress());
+            reloadAfterCommit();
+            return true;
+        }).orElse(false);
+    }
+
+    @Override
+    @Transactional
+    public IpWhitelist updateWhitelist(IpWhitelist ipWhitelist) {
+        if (ipWhitelist.getId() == null || ipWhitelistRepository.findByIdAndNotDeleted(ipWhitelist.getId()).isEmpty()) {
+            throw new RuntimeException("IP白名单不存在");
+        }
+        validate(ipWhitelist);
+        IpWhitelist saved = ipWhitelistRepository.save(ipWhitelist);
+        reloadAfterCommit();
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateStatus(Long id, Integer status) {
+        return ipWhitelistRepository.findByIdAndNotDeleted(id).map(whitelist -> {
+            whitelist.setStatus(status);
+            ipWhitelistRepository.save(whitelist);
+            reloadAfterCommit();
+            return true;
+        }).orElse(false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IpWhitelist> getAllWhitelists() {
+        return ipWhitelistRepository.findAllNotDeleted();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IpWhitelist> getEnabledWhitelists() {
+        return ipWhitelistRepository.findAllEnabled();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public IpWhitelist getWhitelistById(Long id) {
+        return ipWhitelistRepository.findByIdAndNotDeleted(id)
+                .orElseThrow(() -> new RuntimeException("IP白名单不存在"));
+    }
+
+    @Override
+    @Transactional
+    public int batchImportWhitelist(List<String> ipAddresses, String whitelistName, String description) {
+        List<IpWhitelist> imported = new ArrayList<>();
+        for (String ipAddress : ipAddresses) {
+            if (!StringUtils.hasText(ipAddress)) {
+                continue;
+            }
+            IpWhitelist whitelist = fromText(ipAddress.trim(), whitelistName, description);
+            if (whitelist == null) {
+                log.warn("忽略无效的IP白名单: {}", ipAddress);
+                continue;
+            }
+            if (!ipWhitelistRepository.findByIpAddress(whitelist.getIpAddress()).isEmpty()) {
+                continue;
+            }
+            imported.add(whitelist);
+        }
+        if (!imported.isEmpty()) {
+            ipWhitelistRepository.saveAll(imported);
+            reloadAfterCommit();
+        }
+        log.info("批量导入IP白名单: 提交{}条, 导入{}条", ipAddresses.size(), imported.size());
+        return imported.size();
+    }
+
+    @Override
+    public int cleanExpiredWhitelists() {
+        int cleaned = ipWhitelistRepository.disableExpired(LocalDateTime.now());
+        if (cleaned > 0) {
+            log.info("禁用过期IP白名单: {}条", cleaned);
+            reloadChannel.publish(RELOAD);
+        }
+        // 定期重新加载，兼作失效通知丢失时的兜底
+        if (trie != null) {
+            reload();
+        }
+        return cleaned;
+    }
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void scheduledCleanup() {
+        try {
+            cleanExpiredWhitelists();
+        } catch (Exception e) {
+            log.warn("清理过期IP白名单失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<IpWhitelist> getAccessStatistics() {
+        return ipWhitelistRepository.findAccessStatistics();
+    }
+
+    // ================================
+    // 基数树构建
+    // ================================
+
+    private CidrTrie<Rule> currentTrie() {
+        CidrTrie<Rule> current = trie;
+        if (current == null) {
+            synchronized (reloadLock) {
+                current = trie;
+                if (current == null) {
+                    current = buildTrie();
+                    trie = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private void reload() {
+        try {
+            synchronized (reloadLock) {
+                trie = buildTrie();
+            }
+        } catch (Exception e) {
+            // 保留旧的基数树，等待下次重新加载
+            log.warn("重新加载IP白名单失败: {}", e.getMessage());
+        }
+    }
+
+    private CidrTrie<Rule> buildTrie() {
+        CidrTrie<Rule> fresh = new CidrTrie<>();
+        for (IpWhitelist whitelist : ipWhitelistRepository.findActiveRules(LocalDateTime.now())) {
+            Rule rule = new Rule(whitelist.getId(), toEpochMilli(whitelist.getEffectiveTime(), Long.MIN_VALUE),
+                    toEpochMilli(whitelist.getExpireTime(), Long.MAX_VALUE));
+            List<IpUtil.CidrBlock> blocks = toBlocks(whitelist);
+            if (blocks.isEmpty()) {
+                log.warn("IP白名单格式无效，已忽略: id={}, ip={}", whitelist.getId(), whitelist.getIpAddress());
+            }
+            for (IpUtil.CidrBlock block : blocks) {
+                fresh.insert(block.address(), block.prefixLength(), rule);
+            }
+        }
+
+        // 配置文件中的白名单长期有效
+        String[] configured = businessConfig.getSecurity().getIpWhitelist();
+        if (configured != null) {
+            Rule rule = new Rule(null, Long.MIN_VALUE, Long.MAX_VALUE);
+            for (String entry : configured) {
+                IpUtil.CidrBlock block = IpUtil.parseCidr(entry);
+                if (block != null) {
+                    fresh.insert(block.address(), block.prefixLength(), rule);
+                }
+            }
+        }
+        log.debug("IP白名单基数树已构建: 网段数={}", fresh.size());
+        return fresh;
+    }
+
+    /**
+     * 将白名单转换为网段：单个IP为完整前缀，IP段取CIDR或子网掩码，IP范围拆分为最少数量的网段
+     */
+    private static List<IpUtil.CidrBlock> toBlocks(IpWhitelist whitelist) {
+        List<IpUtil.CidrBlock> blocks = new ArrayList<>();
+        Integer ipType = whitelist.getIpType();
+        if (ipType != null && ipType == IpWhitelist.IpType.RANGE.getCode()) {
+            String startIp = whitelist.getStartIp();
+            String endIp = whitelist.getEndIp();
+            if ((!StringUtils.hasText(startIp) || !StringUtils.hasText(endIp))
+                    && whitelist.getIpAddress() != null && whitelist.getIpAddress().contains("-")) {
+                String[] parts = whitelist.getIpAddress().split("-", 2);
+                startIp = parts[0];
+                endIp = parts[1];
+            }
+            return IpUtil.rangeToCidrs(startIp, endIp);
+        }
+
+        String ipAddress = whitelist.getIpAddress();
+        if (ipType != null && ipType == IpWhitelist.IpType.SUBNET.getCode()
+                && ipAddress != null && !ipAddress.contains("/") && StringUtils.hasText(whitelist.getSubnetMask())) {
+            String mask = whitelist.getSubnetMask().trim();
+            ipAddress = ipAddress.trim() + "/" + (IpUtil.isValidIpv4(mask) ? IpUtil.subnetMaskToCidr(mask) : mask);
+        }
+        IpUtil.CidrBlock block = IpUtil.parseCidr(ipAddress);
+        if (block != null) {
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    private static void validate(IpWhitelist whitelist) {
+        if (toBlocks(whitelist).isEmpty()) {
+            throw new IllegalArgumentException("无效的IP白名单: " + whitelist.getIpAddress());
+        }
+    }
+
+    /**
+     * 解析导入文本：a.b.c.d、a.b.c.d/n 或 起始IP-结束IP
+     */
+    private static IpWhitelist fromText(String text, String whitelistName, String description) {
+        IpWhitelist whitelist = new IpWhitelist();
+        whitelist.setIpAddress(text);
+        whitelist.setWhitelistName(whitelistName);
+        whitelist.setDescription(description);
+        if (text.contains("-")) {
+            String[] parts = text.split("-", 2);
+            whitelist.setIpType(IpWhitelist.IpType.RANGE.getCode());
+            whitelist.setStartIp(parts[0].trim());
+            whitelist.setEndIp(parts[1].trim());
+        } else {
+            whitelist.setIpType(text.contains("/") ? IpWhitelist.IpType.SUBNET.getCode() : IpWhitelist.IpType.SINGLE.getCode());
+        }
+        return toBlocks(whitelist).isEmpty() ? null : whitelist;
+    }
+
+    private static long toEpochMilli(LocalDateTime time, long defaultValue) {
+        return time == null ? defaultValue : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // ================================
+    // 变更通知
+    // ================================
+
+    private void reloadAfterCommit() {
+        InvalidationChannel.afterCommit(() -> {
+            reload();
+            reloadChannel.publish(RELOAD);
+        });
+    }
+
+    private void onMessage(Object body) {
+        // 本节点发出的通知也会收到，重复加载无副作用
+        if (trie != null) {
+            reload();
+        }
+    }
+
+    /**
+     * 挂载在网段上的规则，生效与过期时间在匹配时判断
+     *
+     * @param id          白名单ID，配置文件中的规则为null
+     * @param effectiveAt 生效时间（毫秒）
+     * @param expireAt    过期时间（毫秒）
+     */
+    private record Rule(Long id, long effectiveAt, long expireAt) {
+
+        boolean isActiveAt(long now) {
+            return now >= effectiveAt && now <= expireAt;
+        }
+    }
+}
@@ -3,13 +3,13 @@ package com.campus.application.Implement.system;
 import com.campus.application.service.system.SystemSettingsService;
 import com.campus.domain.entity.system.SystemSettings;
 import com.campus.domain.repository.system.SystemSettingsRepository;
+import com.campus.infrastructure.cache.DistributedCacheService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,7 +36,7 @@ public class SystemSettingsServiceImpl implements SystemSettingsService {
     private SystemSettingsRepository systemSettingsRepository;
     
     @Autowired(required = false)
-    private RedisTemplate<String, Object> redisTemplate;
+    private DistributedCacheService distributedCacheService;
 
     @Override
     @Cacheable(value = "systemSettings", key = "#key")
@@ -253,12 +253,9 @@ public class SystemSettingsServiceImpl implements SystemSettingsService {
     @CacheEvict(value = "systemSettings", allEntries = true)
     public boolean clearCache() {
         try {
-            if (redisTemplate != null) {
-                // 清理Redis缓存
-                Set<String> keys = redisTemplate.keys("*");
-                if (keys != null && !keys.isEmpty()) {
-                    redisTemplate.delete(keys);
-                }
+            if (distributedCacheService != null) {
+                // 清理Redis缓存（SCAN分批删除）
+                distributedCacheService.deleteByPattern("*");
             }
             logger.info("系统缓存清理完成");
             return true;
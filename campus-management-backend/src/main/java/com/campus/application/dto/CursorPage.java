@@ -0,0 +1,40 @@
+package com.campus.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ * 下一页通过 nextCursor 定位，翻页开销与页码无关
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * 当前页数据
+     */
+    private List<T> items;
+
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private boolean hasMore;
+
+    /**
+     * 每页大小
+     */
+    private int size;
+}
@@ -1,5 +1,6 @@
 package com.campus.application.service.auth;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -259,6 +260,14 @@ public interface UserService {
      */
     Object getUserPermissions(Long userId);
 
+    /**
+     * 批量获取用户权限（单次查询）
+     *
+     * @param userIds 用户ID集合
+     * @return 用户ID到权限信息的映射，结构与 {@link #getUserPermissions(Long)} 相同
+     */
+    Map<Long, Object> getUserPermissions(Collection<Long> userIds);
+
     /**
      * 获取所有活跃用户
      */
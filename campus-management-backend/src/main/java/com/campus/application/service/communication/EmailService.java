@@ -28,8 +28,9 @@ public interface EmailService {
      * 
      * @param student 学生信息
      * @param unpaidItems 未缴费项目列表
+     * @return 是否已被分发队列接收（构建失败或队列满被拒绝时为false）
      */
-    void sendPaymentReminder(Student student, List<FeeItem> unpaidItems);
+    boolean sendPaymentReminder(Student student, List<FeeItem> unpaidItems);
 
     /**
      * 发送系统通知邮件
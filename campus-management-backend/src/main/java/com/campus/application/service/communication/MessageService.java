@@ -3,6 +3,7 @@ package com.campus.application.service.communication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.campus.application.dto.CursorPage;
 import com.campus.domain.entity.communication.Message;
 
 import java.util.List;
@@ -80,6 +81,25 @@ public interface MessageService {
      * 获取用户的发件箱
      */
     Page<Message> getOutbox(Long userId, Pageable pageable);
+
+    /**
+     * 游标分页获取收件箱（按发送时间倒序）
+     *
+     * @param cursor 上一页返回的游标，第一页传null
+     */
+    CursorPage<Message> getInbox(Long userId, String cursor, int size);
+
+    /**
+     * 游标分页获取发件箱（按发送时间倒序）
+     *
+     * @param cursor 上一页返回的游标，第一页传null
+     */
+    CursorPage<Message> getOutbox(Long userId, String cursor, int size);
+
+    /**
+     * 获取消息所在的整条会话线索（深度优先顺序）
+     */
+    List<Message> getThread(Long messageId);
     
     // ================================
     // 业务操作
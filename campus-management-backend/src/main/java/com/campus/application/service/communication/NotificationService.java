@@ -225,6 +225,13 @@ public interface NotificationService {
     Notification sendTemplateNotification(String templateCode, Map<String, Object> variables, 
                                         String targetType, List<Long> targetIds, Long senderId);
 
+    /**
+     * 使用模板批量发送个性化通知（targetIds与variablesList一一对应）
+     */
+    List<Notification> sendBatchTemplateNotification(String templateCode, List<Long> targetIds,
+                                                     List<Map<String, Object>> variablesList,
+                                                     String targetType, Long senderId);
+
     /**
      * 发送选课提醒
      */
@@ -460,6 +467,41 @@ public interface NotificationService {
      */
     void autoSendScheduledNotifications();
 
+    /**
+     * 发送单条到期的定时通知（由定时事件调度器在发布时间触发）
+     */
+    void sendScheduledNotification(Long notificationId);
+
+    /**
+     * 将到达过期时间的通知标记为已过期（由定时事件调度器在过期时间触发）
+     */
+    void expireNotification(Long notificationId);
+
+    /**
+     * 在指定时间发送提醒
+     *
+     * @param reminderType 提醒类型：PAYMENT、EXAM、ASSIGNMENT
+     * @param subject 提醒事项（费用项目、考试名称或作业标题）
+     * @param eventTime 事项时间（截止时间或考试时间）
+     * @param remindAt 提醒时间
+     */
+    void scheduleReminder(String reminderType, Long studentId, String subject,
+                          LocalDateTime eventTime, LocalDateTime remindAt);
+
+    /**
+     * 为课程所有在选学生调度提醒，在事项时间前按配置的提前量提醒，事务提交后生效
+     *
+     * @param reminderType 提醒类型：EXAM、ASSIGNMENT
+     * @param subject 提醒事项（考试名称或作业标题）
+     * @param eventTime 事项时间，已过去时不调度
+     */
+    void scheduleCourseReminders(String reminderType, Long courseId, String subject, LocalDateTime eventTime);
+
+    /**
+     * 取消课程所有在选学生的提醒
+     */
+    void cancelCourseReminders(String reminderType, Long courseId, String subject);
+
     /**
      * 自动发送系统提醒
      */
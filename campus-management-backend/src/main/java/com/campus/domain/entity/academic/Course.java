@@ -2,6 +2,7 @@ package com.campus.domain.entity.academic;
 
 import com.campus.domain.entity.auth.User;
 import com.campus.domain.entity.infrastructure.BaseEntity;
+import com.campus.infrastructure.cache.KeyExistenceEntityListener;
 import com.campus.domain.entity.organization.Department;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -28,6 +29,7 @@ import java.util.List;
     @Index(name = "idx_semester", columnList = "semester"),
     @Index(name = "idx_status_deleted", columnList = "status,deleted")
 })
+@EntityListeners({KeyExistenceEntityListener.class, KeyExistenceEntityListener.Snapshot.class})
 public class Course extends BaseEntity {
 
     /**
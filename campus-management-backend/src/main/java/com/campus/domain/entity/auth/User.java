@@ -2,6 +2,7 @@ package com.campus.domain.entity.auth;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.campus.domain.entity.infrastructure.BaseEntity;
+import com.campus.infrastructure.cache.KeyExistenceEntityListener;
 import com.campus.shared.security.EncryptionConfig.EncryptedField;
 import com.campus.shared.security.EncryptionConfig.EncryptionEntityListener;
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -31,7 +32,7 @@ import java.util.List;
     @Index(name = "idx_phone", columnList = "phone"),
     @Index(name = "idx_status_deleted", columnList = "status,deleted")
 })
-@EntityListeners(EncryptionEntityListener.class)
+@EntityListeners({KeyExistenceEntityListener.class, EncryptionEntityListener.class, KeyExistenceEntityListener.Snapshot.class})
 public class User extends BaseEntity {
 
     /**
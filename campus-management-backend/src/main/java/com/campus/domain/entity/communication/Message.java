@@ -25,10 +25,23 @@ import java.util.List;
     @Index(name = "idx_receiver_id", columnList = "receiver_id"),
     @Index(name = "idx_message_type", columnList = "message_type"),
     @Index(name = "idx_send_time", columnList = "send_time"),
-    @Index(name = "idx_is_read", columnList = "is_read")
+    @Index(name = "idx_is_read", columnList = "is_read"),
+    @Index(name = "idx_receiver_deleted_send_time", columnList = "receiver_id,deleted,send_time,id"),
+    @Index(name = "idx_sender_deleted_send_time", columnList = "sender_id,deleted,send_time,id"),
+    @Index(name = "idx_conversation_thread_path", columnList = "conversation_id,thread_path")
 })
 public class Message extends BaseEntity {
 
+    /**
+     * 线索路径中每级消息ID的定长宽度，保证按路径字符串排序即为深度优先顺序
+     */
+    private static final int THREAD_PATH_SEGMENT_WIDTH = 12;
+
+    /**
+     * 线索路径最大长度
+     */
+    private static final int THREAD_PATH_MAX_LENGTH = 500;
+
     /**
      * 发送者ID
      */
@@ -136,6 +149,18 @@ public class Message extends BaseEntity {
     @Column(name = "parent_id")
     private Long parentId;
 
+    /**
+     * 会话ID（线索根消息ID）
+     */
+    @Column(name = "conversation_id")
+    private Long conversationId;
+
+    /**
+     * 线索路径（从根消息到本消息的各级ID定长拼接，如 000000000001/000000000005）
+     */
+    @Column(name = "thread_path", length = THREAD_PATH_MAX_LENGTH)
+    private String threadPath;
+
     /**
      * 是否为群发消息
      */
@@ -355,6 +380,31 @@ public class Message extends BaseEntity {
         return reply;
     }
 
+    /**
+     * 根据父消息设置会话ID和线索路径，需在消息获得ID后调用
+     *
+     * @param parent 父消息，为null表示本消息是线索根
+     */
+    public void assignThread(Message parent) {
+        String segment = threadPathSegment(getId());
+        if (parent == null) {
+            this.conversationId = getId();
+            this.threadPath = segment;
+            return;
+        }
+
+        this.conversationId = parent.getConversationId() != null ? parent.getConversationId() : parent.getId();
+        String parentPath = parent.getThreadPath() != null ? parent.getThreadPath() : threadPathSegment(parent.getId());
+        String path = parentPath + "/" + segment;
+        // 超过最大深度时挂在父消息路径下，同级按ID排序
+        this.threadPath = path.length() <= THREAD_PATH_MAX_LENGTH ? path : parentPath;
+    }
+
+    private static String threadPathSegment(Long id) {
+        String digits = String.valueOf(id);
+        return "0".repeat(Math.max(0, THREAD_PATH_SEGMENT_WIDTH - digits.length())) + digits;
+    }
+
     /**
      * 获取发送者姓名
      */
@@ -566,6 +616,22 @@ public class Message extends BaseEntity {
         this.parentId = parentId;
     }
 
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public void setConversationId(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public String getThreadPath() {
+        return threadPath;
+    }
+
+    public void setThreadPath(String threadPath) {
+        this.threadPath = threadPath;
+    }
+
     public Boolean getIsBroadcast() {
         return isBroadcast;
     }
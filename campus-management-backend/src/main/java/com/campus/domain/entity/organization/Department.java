@@ -10,6 +10,7 @@ import java.util.List;
 import com.campus.domain.entity.academic.Course;
 import com.campus.domain.entity.auth.User;
 import com.campus.domain.entity.infrastructure.BaseEntity;
+import com.campus.infrastructure.cache.KeyExistenceEntityListener;
 
 /**
  * 院系实体类
@@ -25,6 +26,7 @@ import com.campus.domain.entity.infrastructure.BaseEntity;
     @Index(name = "idx_parent_id", columnList = "parent_id"),
     @Index(name = "idx_status_deleted", columnList = "status,deleted")
 })
+@EntityListeners({KeyExistenceEntityListener.class, KeyExistenceEntityListener.Snapshot.class})
 public class Department extends BaseEntity {
 
     /**
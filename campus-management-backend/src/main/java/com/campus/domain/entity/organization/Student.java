@@ -5,6 +5,7 @@ import com.campus.domain.entity.infrastructure.BaseEntity;
 import com.campus.domain.entity.academic.CourseSelection;
 import com.campus.domain.entity.academic.Grade;
 import com.campus.domain.entity.finance.PaymentRecord;
+import com.campus.infrastructure.cache.KeyExistenceEntityListener;
 import com.campus.shared.security.EncryptionConfig.EncryptedField;
 import com.campus.shared.security.EncryptionConfig.EncryptionEntityListener;
 import com.fasterxml.jackson.annotation.JsonFormat;
@@ -37,7 +38,7 @@ import java.util.List;
     @Index(name = "idx_enrollment_year", columnList = "enrollment_year"),
     @Index(name = "idx_status_deleted", columnList = "status,deleted")
 })
-@EntityListeners(EncryptionEntityListener.class)
+@EntityListeners({KeyExistenceEntityListener.class, EncryptionEntityListener.class, KeyExistenceEntityListener.Snapshot.class})
 public class Student extends BaseEntity {
 
     /**
@@ -438,4 +438,9 @@ public interface CourseRepository extends BaseRepository<Course> {
     @Query("SELECT COUNT(c) FROM Course c WHERE c.status = :status AND c.deleted = :deleted")
     long countByStatusAndDeleted(@Param("status") Integer status, @Param("deleted") Integer deleted);
 
+    /**
+     * 全部课程（含已删除）的主键和业务编号，每行为 [id, courseCode]，用于重建键存在性过滤器
+     */
+    @Query("SELECT c.id, c.courseCode FROM Course c")
+    List<Object[]> findAllExistenceKeys();
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.campus.domain.entity.auth.User;
 import com.campus.domain.repository.infrastructure.BaseRepository;
@@ -298,6 +299,16 @@ public interface UserRepository extends BaseRepository<User> {
     @Query("UPDATE User u SET u.password = :password, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :userId")
     int updatePassword(@Param("userId") Long userId, @Param("password") String password);
 
+    /**
+     * 密码哈希未被修改时替换为新哈希（登录时按目标强度重算）
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :userId AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("userId") Long userId,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
+
     /**
      * 设置密码重置令牌
      */
@@ -345,4 +356,9 @@ public interface UserRepository extends BaseRepository<User> {
            "WHERE u.resetTokenExpire < :now")
     int clearExpiredResetTokens(@Param("now") LocalDateTime now);
 
+    /**
+     * 全部用户（含已删除）的主键和业务编号，每行为 [id, username]，用于重建键存在性过滤器
+     */
+    @Query("SELECT u.id, u.username FROM User u")
+    List<Object[]> findAllExistenceKeys();
 }
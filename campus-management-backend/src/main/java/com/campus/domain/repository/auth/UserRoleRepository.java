@@ -11,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.campus.domain.entity.auth.UserRole;
 import com.campus.domain.repository.infrastructure.BaseRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -96,6 +97,18 @@ public interface UserRoleRepository extends BaseRepository<UserRole> {
     @Query("SELECT DISTINCT ur FROM UserRole ur LEFT JOIN FETCH ur.user WHERE ur.roleId = :roleId AND ur.deleted = 0")
     List<UserRole> findByRoleIdWithUser(@Param("roleId") Long roleId);
 
+    /**
+     * 批量查询用户的权限标识
+     * 一次查询取回多个用户经角色关联得到的全部启用权限，每行为 [userId, permissionKey]
+     */
+    @Query("SELECT DISTINCT ur.userId, p.permissionKey FROM UserRole ur " +
+           "JOIN ur.role r " +
+           "JOIN r.rolePermissions rp " +
+           "JOIN rp.permission p " +
+           "WHERE ur.userId IN :userIds AND ur.deleted = 0 AND rp.deleted = 0 " +
+           "AND p.status = 1 AND p.deleted = 0")
+    List<Object[]> findPermissionKeysByUserIds(@Param("userIds") Collection<Long> userIds);
+
     // ================================
     // 统计查询方法
     // ================================
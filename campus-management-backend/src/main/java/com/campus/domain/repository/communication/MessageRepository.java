@@ -504,4 +504,51 @@ public interface MessageRepository extends BaseRepository<Message> {
     @Query("SELECT m FROM Message m WHERE m.createdAt < :beforeTime AND m.deleted = :deleted")
     List<Message> findByCreatedAtBeforeAndDeleted(@Param("beforeTime") LocalDateTime beforeTime, @Param("deleted") int deleted);
 
+    // ================================
+    // 游标分页与会话线索
+    // ================================
+
+    /**
+     * 收件箱第一页（按发送时间、ID降序，命中 idx_receiver_deleted_send_time）
+     */
+    @Query("SELECT m FROM Message m WHERE m.receiverId = :receiverId AND m.deleted = 0 " +
+           "ORDER BY m.sendTime DESC, m.id DESC")
+    List<Message> findInboxFirstPage(@Param("receiverId") Long receiverId, Pageable pageable);
+
+    /**
+     * 收件箱游标之后的一页
+     */
+    @Query("SELECT m FROM Message m WHERE m.receiverId = :receiverId AND m.deleted = 0 AND " +
+           "(m.sendTime < :cursorTime OR (m.sendTime = :cursorTime AND m.id < :cursorId)) " +
+           "ORDER BY m.sendTime DESC, m.id DESC")
+    List<Message> findInboxAfter(@Param("receiverId") Long receiverId,
+                                 @Param("cursorTime") LocalDateTime cursorTime,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
+
+    /**
+     * 发件箱第一页（按发送时间、ID降序，命中 idx_sender_deleted_send_time）
+     */
+    @Query("SELECT m FROM Message m WHERE m.senderId = :senderId AND m.deleted = 0 " +
+           "ORDER BY m.sendTime DESC, m.id DESC")
+    List<Message> findOutboxFirstPage(@Param("senderId") Long senderId, Pageable pageable);
+
+    /**
+     * 发件箱游标之后的一页
+     */
+    @Query("SELECT m FROM Message m WHERE m.senderId = :senderId AND m.deleted = 0 AND " +
+           "(m.sendTime < :cursorTime OR (m.sendTime = :cursorTime AND m.id < :cursorId)) " +
+           "ORDER BY m.sendTime DESC, m.id DESC")
+    List<Message> findOutboxAfter(@Param("senderId") Long senderId,
+                                  @Param("cursorTime") LocalDateTime cursorTime,
+                                  @Param("cursorId") Long cursorId,
+                                  Pageable pageable);
+
+    /**
+     * 一次查询整条会话线索，按线索路径排序即为深度优先的回复顺序
+     */
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId AND m.deleted = 0 " +
+           "ORDER BY m.threadPath ASC, m.id ASC")
+    List<Message> findThread(@Param("conversationId") Long conversationId);
+
 }
@@ -213,4 +213,9 @@ public interface DepartmentRepository extends BaseRepository<Department> {
         return findByLeaderId(leaderId);
     }
 
-}
\ No newline at end of file
+    /**
+     * 全部院系（含已删除）的主键和业务编号，每行为 [id, deptCode]，用于重建键存在性过滤器
+     */
+    @Query("SELECT d.id, d.deptCode FROM Department d")
+    List<Object[]> findAllExistenceKeys();
+}
@@ -363,5 +363,9 @@ public interface StudentRepository extends BaseRepository<Student> {
            "AND s.deleted = 0 ORDER BY s.studentNo ASC")
     List<Object[]> searchStudents(@Param("keyword") String keyword);
 
+    /**
+     * 全部学生（含已删除）的主键和业务编号，每行为 [id, studentNo]，用于重建键存在性过滤器
+     */
+    @Query("SELECT s.id, s.studentNo FROM Student s")
+    List<Object[]> findAllExistenceKeys();
 }
-
@@ -0,0 +1,60 @@
+package com.campus.domain.repository.system;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.campus.domain.entity.system.IpWhitelist;
+import com.campus.domain.repository.infrastructure.BaseRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * IP白名单Repository接口
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Repository
+public interface IpWhitelistRepository extends BaseRepository<IpWhitelist> {
+
+    /**
+     * 查找启用且未过期的白名单（含尚未生效的，生效时间在匹配时判断）
+     */
+    @Query("SELECT w FROM IpWhitelist w WHERE w.status = 1 AND w.deleted = 0 " +
+           "AND (w.expireTime IS NULL OR w.expireTime > :now) ORDER BY w.priority ASC, w.id ASC")
+    List<IpWhitelist> findActiveRules(@Param("now") LocalDateTime now);
+
+    /**
+     * 根据IP地址查找白名单
+     */
+    @Query("SELECT w FROM IpWhitelist w WHERE w.ipAddress = :ipAddress AND w.deleted = 0")
+    List<IpWhitelist> findByIpAddress(@Param("ipAddress") String ipAddress);
+
+    /**
+     * 按访问次数排序的访问统计
+     */
+    @Query("SELECT w FROM IpWhitelist w WHERE w.deleted = 0 ORDER BY w.accessCount DESC, w.lastAccessTime DESC")
+    List<IpWhitelist> findAccessStatistics();
+
+    /**
+     * 禁用已过期的白名单
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IpWhitelist w SET w.status = 0, w.updatedAt = :now " +
+           "WHERE w.status = 1 AND w.deleted = 0 AND w.expireTime IS NOT NULL AND w.expireTime <= :now")
+    int disableExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * 累加访问次数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IpWhitelist w SET w.accessCount = COALESCE(w.accessCount, 0) + 1, w.lastAccessTime = :now " +
+           "WHERE w.id = :id")
+    int incrementAccessCount(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
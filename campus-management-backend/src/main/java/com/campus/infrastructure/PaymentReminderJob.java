@@ -82,17 +82,16 @@ public class PaymentReminderJob implements Job {
                         List<FeeItem> unpaidItems = paymentRecordService.getUnpaidFeeItems(student.getId());
                         
                         if (!unpaidItems.isEmpty()) {
-                            // 发送缴费提醒邮件
-                            emailService.sendPaymentReminder(student, unpaidItems);
-                            totalSent++;
-                            
-                            logger.debug("缴费提醒邮件发送成功: {} - {}", 
-                                       student.getStudentNo(), student.getRealName());
+                            // 发送缴费提醒邮件（由邮件分发引擎按域名限速，队列满时自动背压），只统计被分发队列接收的邮件
+                            if (emailService.sendPaymentReminder(student, unpaidItems)) {
+                                totalSent++;
+                                logger.debug("缴费提醒邮件发送成功: {} - {}", 
+                                           student.getStudentNo(), student.getRealName());
+                            } else {
+                                totalFailed++;
+                            }
                         }
-                        
-                        // 避免发送过于频繁，添加小延迟
-                        Thread.sleep(100);
-                        
+
                     } catch (Exception e) {
                         totalFailed++;
                         logger.error("发送缴费提醒失败: {} - {}", 
@@ -0,0 +1,422 @@
+package com.campus.infrastructure.audit;
+
+import com.campus.domain.entity.system.AuditLog;
+import com.campus.infrastructure.config.AuditLogConfig;
+import com.campus.shared.util.JsonUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 审计日志异步批量写入器
+ *
+ * 请求线程只把已采集的字段和待序列化的对象引用放入有界环形缓冲区；单个后台线程负责
+ * 序列化响应结果与请求参数，按批量大小或刷新间隔（先到者为准）以多行INSERT写库。
+ * 缓冲区满时按配置的溢出策略阻塞、丢弃或落盘；写库失败的批次同样落盘，由定时任务回放。
+ * 关闭时先排空缓冲区，超时未写完的部分落盘，保证审计日志不因停机丢失。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String[] COLUMNS = {
+        "user_id", "username", "real_name", "operation_type", "operation_desc", "module", "method",
+        "request_url", "http_method", "client_ip", "user_agent", "request_params", "response_result",
+        "operation_status", "error_message", "execution_time", "operation_time", "risk_level",
+        "business_type", "business_id", "created_at", "updated_at", "deleted", "status"
+    };
+    private static final String INSERT_PREFIX = "INSERT INTO tb_audit_log (" + String.join(", ", COLUMNS) + ") VALUES ";
+    private static final String ROW_PLACEHOLDERS = Arrays.stream(COLUMNS).map(column -> "?")
+        .collect(Collectors.joining(", ", "(", ")"));
+
+    private static final String SPILL_FILE = "audit-spill.jsonl";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final int MAX_PARAMS_LENGTH = 2000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogConfig config;
+    private final BlockingQueue<PendingAuditLog> buffer;
+    private final Path spillDirectory;
+    private final Object spillLock = new Object();
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final Counter submittedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter spilledCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, AuditLogConfig config, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.buffer = new ArrayBlockingQueue<>(config.getBufferSize());
+        this.spillDirectory = Paths.get(config.getSpillDirectory());
+
+        this.submittedCounter = counter(meterRegistry, "submitted", "提交到缓冲区的审计日志数");
+        this.writtenCounter = counter(meterRegistry, "written", "写入数据库的审计日志数");
+        this.droppedCounter = counter(meterRegistry, "dropped", "因缓冲区满被丢弃的审计日志数");
+        this.spilledCounter = counter(meterRegistry, "spilled", "落盘等待回放的审计日志数");
+        this.failedCounter = counter(meterRegistry, "failed", "写库失败的批次数");
+        this.flushTimer = Timer.builder("campus.audit_log.flush.time")
+            .description("单批审计日志写库耗时")
+            .register(meterRegistry);
+        Gauge.builder("campus.audit_log.buffer.size", buffer, BlockingQueue::size)
+            .description("缓冲区中待写入的审计日志数")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder("campus.audit_log." + name)
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 启动后台写入线程
+     */
+    @PostConstruct
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("审计日志写入器已启动: bufferSize={}, batchSize={}, flushIntervalMs={}, overflowPolicy={}",
+                config.getBufferSize(), config.getBatchSize(), config.getFlushIntervalMs(), config.getOverflowPolicy());
+    }
+
+    /**
+     * 停止接收并写完缓冲区，超时未写完的审计日志落盘
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(config.getShutdownTimeoutMs());
+            if (flusher.isAlive()) {
+                flusher.interrupt();
+                flusher.join(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<PendingAuditLog> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("审计日志写入器关闭超时，{} 条审计日志落盘", remaining.size());
+            spill(complete(remaining));
+        }
+        log.info("审计日志写入器已关闭");
+    }
+
+    /**
+     * 提交审计日志
+     *
+     * 只在缓冲区满时才会在请求线程上产生额外开销（阻塞等待或序列化落盘）。
+     */
+    public void submit(PendingAuditLog pending) {
+        submittedCounter.increment();
+        if (!running) {
+            spill(List.of(complete(pending)));
+            return;
+        }
+        if (buffer.offer(pending)) {
+            return;
+        }
+
+        switch (config.getOverflowPolicy()) {
+            case BLOCK -> {
+                try {
+                    if (buffer.offer(pending, config.getBlockTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(pending);
+            }
+            case DROP -> drop(pending);
+            case SPILL -> spill(List.of(complete(pending)));
+        }
+    }
+
+    /**
+     * 把落盘的审计日志回放入库
+     *
+     * 当前溢出文件先被改名，之后的落盘写入新文件；回放失败的文件保留到下次重试。
+     * 部分写入后失败的文件重试时可能产生重复记录，对审计日志而言重复优于丢失。
+     */
+    @Scheduled(fixedDelayString = "${campus.audit-log.replay-interval-ms:60000}", initialDelay = 10000)
+    public void replaySpilled() {
+        if (!Files.isDirectory(spillDirectory)) {
+            return;
+        }
+        synchronized (spillLock) {
+            Path current = spillDirectory.resolve(SPILL_FILE);
+            if (Files.exists(current)) {
+                try {
+                    Files.move(current, spillDirectory.resolve(SPILL_FILE + "." + System.currentTimeMillis() + REPLAY_SUFFIX),
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.error("审计日志溢出文件改名失败: {}", current, e);
+                    return;
+                }
+            }
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + REPLAY_SUFFIX)) {
+            for (Path file : files) {
+                replayFile(file);
+            }
+        } catch (IOException e) {
+            log.error("读取审计日志溢出目录失败: {}", spillDirectory, e);
+        }
+    }
+
+    private void replayFile(Path file) {
+        try {
+            List<AuditLog> logs = Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .map(line -> JsonUtil.fromJson(line, AuditLog.class))
+                .filter(Objects::nonNull)
+                .toList();
+            for (int from = 0; from < logs.size(); from += config.getBatchSize()) {
+                insert(logs.subList(from, Math.min(logs.size(), from + config.getBatchSize())));
+            }
+            Files.delete(file);
+            writtenCounter.increment(logs.size());
+            log.info("回放落盘审计日志 {} 条: {}", logs.size(), file.getFileName());
+        } catch (Exception e) {
+            log.warn("回放落盘审计日志失败，稍后重试: {}", file.getFileName(), e);
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingAuditLog> batch = new ArrayList<>(config.getBatchSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingAuditLog first = buffer.poll(config.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!batch.isEmpty()) {
+                    spill(complete(batch));
+                }
+                return;
+            } catch (Exception e) {
+                log.error("审计日志写入线程处理批次异常", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 凑满一批或等到第一条入批后满一个刷新间隔；关闭过程中不再等待
+     */
+    private void fillBatch(List<PendingAuditLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMs());
+        while (batch.size() < config.getBatchSize()) {
+            buffer.drainTo(batch, config.getBatchSize() - batch.size());
+            long waitNanos = deadline - System.nanoTime();
+            if (batch.size() >= config.getBatchSize() || waitNanos <= 0 || !running) {
+                return;
+            }
+            PendingAuditLog next = buffer.poll(waitNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingAuditLog> batch) {
+        List<AuditLog> logs = complete(batch);
+        long start = System.nanoTime();
+        try {
+            insert(logs);
+            writtenCounter.increment(logs.size());
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("审计日志批量写库失败，{} 条落盘等待回放", logs.size(), e);
+            spill(logs);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 以一条多行INSERT语句写入
+     */
+    private void insert(List<AuditLog> logs) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + logs.size() * (ROW_PLACEHOLDERS.length() + 2))
+            .append(INSERT_PREFIX);
+        Object[] args = new Object[logs.size() * COLUMNS.length];
+        LocalDateTime now = LocalDateTime.now();
+        int index = 0;
+        for (int row = 0; row < logs.size(); row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+            AuditLog auditLog = logs.get(row);
+            args[index++] = auditLog.getUserId();
+            args[index++] = auditLog.getUsername();
+            args[index++] = auditLog.getRealName();
+            args[index++] = auditLog.getOperationType();
+            args[index++] = auditLog.getOperationDesc();
+            args[index++] = auditLog.getModule();
+            args[index++] = auditLog.getMethod();
+            args[index++] = auditLog.getRequestUrl();
+            args[index++] = auditLog.getHttpMethod();
+            args[index++] = auditLog.getClientIp();
+            args[index++] = auditLog.getUserAgent();
+            args[index++] = auditLog.getRequestParams();
+            args[index++] = auditLog.getResponseResult();
+            args[index++] = auditLog.getOperationStatus();
+            args[index++] = auditLog.getErrorMessage();
+            args[index++] = auditLog.getExecutionTime();
+            args[index++] = auditLog.getOperationTime();
+            args[index++] = auditLog.getRiskLevel();
+            args[index++] = auditLog.getBusinessType();
+            args[index++] = auditLog.getBusinessId();
+            args[index++] = auditLog.getCreatedAt() != null ? auditLog.getCreatedAt() : now;
+            args[index++] = now;
+            args[index++] = 0;
+            args[index++] = 1;
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private List<AuditLog> complete(List<PendingAuditLog> batch) {
+        List<AuditLog> logs = new ArrayList<>(batch.size());
+        for (PendingAuditLog pending : batch) {
+            logs.add(complete(pending));
+        }
+        return logs;
+    }
+
+    /**
+     * 在写入线程上完成耗时的序列化
+     */
+    private AuditLog complete(PendingAuditLog pending) {
+        AuditLog auditLog = pending.auditLog();
+        try {
+            if (pending.result() != null) {
+                auditLog.setResponseResult(JsonUtil.toJson(pending.result()));
+            }
+            if (pending.args() != null) {
+                auditLog.setRequestParams(formatParams(pending.args()));
+            }
+        } catch (Exception e) {
+            log.warn("审计日志序列化失败: method={}", auditLog.getMethod(), e);
+        }
+        if (auditLog.getCreatedAt() == null) {
+            auditLog.setCreatedAt(auditLog.getOperationTime());
+        }
+        return auditLog;
+    }
+
+    /**
+     * 格式化方法参数，过滤请求/响应对象和含密码的参数
+     */
+    private static String formatParams(Object[] args) {
+        String params = Arrays.stream(args)
+                .filter(Objects::nonNull)
+                .filter(arg -> !(arg instanceof HttpServletRequest))
+                .filter(arg -> !(arg instanceof HttpServletResponse))
+                .map(arg -> {
+                    String argStr = arg.toString();
+                    if (argStr.toLowerCase().contains("password")) {
+                        return "[FILTERED]";
+                    }
+                    return argStr;
+                })
+                .collect(Collectors.joining(", "));
+        return params.length() > MAX_PARAMS_LENGTH ? params.substring(0, MAX_PARAMS_LENGTH) + "..." : params;
+    }
+
+    private void drop(PendingAuditLog pending) {
+        droppedCounter.increment();
+        log.warn("审计日志缓冲区已满，丢弃审计日志: method={}", pending.auditLog().getMethod());
+    }
+
+    /**
+     * 追加到本地溢出文件（每行一条JSON）
+     */
+    private void spill(List<AuditLog> logs) {
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDirectory);
+                try (BufferedWriter writer = Files.newBufferedWriter(spillDirectory.resolve(SPILL_FILE), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog auditLog : logs) {
+                        String json = JsonUtil.toJson(auditLog);
+                        if (json != null) {
+                            writer.write(json);
+                            writer.newLine();
+                        }
+                    }
+                }
+                spilledCounter.increment(logs.size());
+            } catch (IOException e) {
+                droppedCounter.increment(logs.size());
+                log.error("审计日志落盘失败，丢弃 {} 条", logs.size(), e);
+            }
+        }
+    }
+
+    /**
+     * 待写入的审计日志
+     *
+     * @param auditLog 请求线程上采集的字段
+     * @param result   需要序列化的响应结果，不记录时为null
+     * @param args     需要格式化的方法参数，不记录时为null
+     */
+    public record PendingAuditLog(AuditLog auditLog, Object result, Object[] args) {}
+}
@@ -0,0 +1,422 @@
+package com.campus.infrastructure.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 紧凑二进制Redis序列化器
+ *
+ * 已在 {@link RedisTypeRegistry} 注册的类型（及元素均为同一注册类型的List）编码为二进制：
+ * 头部为魔数、格式版本、类型ID和类型版本，不含类名；正文是Jackson令牌流的二进制形式，
+ * 数值使用变长整数，字段名首次出现后以序号引用（实体列表中重复的字段名只存一次）。
+ * 其他类型交给回退序列化器（JSON）处理。读取时按首字节区分，旧的JSON值仍可读取；
+ * 类型未注册或版本不一致的二进制值按缺失处理，由调用方重新加载。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 魔数，不是合法的JSON（UTF-8）首字节，可与JSON值区分
+     */
+    static final byte MAGIC = (byte) 0xC1;
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte KIND_SINGLE = 1;
+    private static final byte KIND_LIST = 2;
+
+    private static final byte T_START_OBJECT = 1;
+    private static final byte T_END_OBJECT = 2;
+    private static final byte T_START_ARRAY = 3;
+    private static final byte T_END_ARRAY = 4;
+    private static final byte T_FIELD_NEW = 5;
+    private static final byte T_FIELD_REF = 6;
+    private static final byte T_STRING = 7;
+    private static final byte T_LONG = 8;
+    private static final byte T_BIG_INTEGER = 9;
+    private static final byte T_DOUBLE = 10;
+    private static final byte T_FLOAT = 11;
+    private static final byte T_BIG_DECIMAL = 12;
+    private static final byte T_TRUE = 13;
+    private static final byte T_FALSE = 14;
+    private static final byte T_NULL = 15;
+    private static final byte T_BINARY = 16;
+
+    private final ObjectMapper mapper;
+    private final RedisTypeRegistry registry;
+    private final RedisSerializer<Object> fallback;
+
+    /**
+     * @param baseMapper 基础ObjectMapper，内部复制一份并按Redis序列化需要调整（不启用默认类型信息）
+     * @param registry   可二进制编码的类型
+     * @param fallback   未注册类型使用的序列化器，同时用于读取旧的JSON值
+     */
+    public BinaryRedisSerializer(ObjectMapper baseMapper, RedisTypeRegistry registry, RedisSerializer<Object> fallback) {
+        this.mapper = baseMapper.copy();
+        this.mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        this.mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.registry = registry;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(@Nullable Object value) throws SerializationException {
+        if (value == null) {
+            return fallback.serialize(null);
+        }
+        RedisTypeRegistry.Registration registration = registry.forType(value.getClass());
+        byte kind = KIND_SINGLE;
+        if (registration == null && value instanceof List<?> list) {
+            registration = commonElementType(list);
+            kind = KIND_LIST;
+        }
+        if (registration == null) {
+            return fallback.serialize(value);
+        }
+
+        try (TokenBuffer tokens = new TokenBuffer(mapper, false)) {
+            mapper.writeValue(tokens, value);
+            Output out = new Output(256);
+            out.write(MAGIC);
+            out.write(FORMAT_VERSION);
+            out.write(kind);
+            out.writeVarint(registration.id());
+            out.writeVarint(registration.version());
+            try (JsonParser parser = tokens.asParser(mapper)) {
+                encode(parser, out);
+            }
+            return out.toByteArray();
+        } catch (UnsupportedTokenException e) {
+            log.debug("类型 {} 含有无法二进制编码的内容，使用JSON: {}", value.getClass().getName(), e.getMessage());
+            return fallback.serialize(value);
+        } catch (IOException e) {
+            throw new SerializationException("二进制序列化失败: " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public Object deserialize(@Nullable byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+
+        Input in = new Input(bytes, 1);
+        try {
+            if (in.read() != FORMAT_VERSION) {
+                log.debug("二进制缓存格式版本不一致，按缺失处理");
+                return null;
+            }
+            byte kind = in.read();
+            int typeId = in.readVarint();
+            int version = in.readVarint();
+            RedisTypeRegistry.Registration registration = registry.forId(typeId);
+            if (registration == null || registration.version() != version) {
+                log.debug("二进制缓存类型未注册或版本不一致，按缺失处理: typeId={}, version={}", typeId, version);
+                return null;
+            }
+
+            JavaType type = kind == KIND_LIST
+                ? mapper.getTypeFactory().constructCollectionType(ArrayList.class, registration.type())
+                : mapper.getTypeFactory().constructType(registration.type());
+            try (TokenBuffer tokens = new TokenBuffer(mapper, false)) {
+                decode(in, tokens);
+                try (JsonParser parser = tokens.asParser(mapper)) {
+                    return mapper.readValue(parser, type);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("二进制反序列化失败", e);
+        }
+    }
+
+    @Nullable
+    private RedisTypeRegistry.Registration commonElementType(List<?> list) {
+        Class<?> elementType = null;
+        for (Object element : list) {
+            if (element == null) {
+                continue;
+            }
+            if (elementType == null) {
+                elementType = element.getClass();
+            } else if (elementType != element.getClass()) {
+                return null;
+            }
+        }
+        return elementType != null ? registry.forType(elementType) : null;
+    }
+
+    // ==================== 令牌流编解码 ====================
+
+    private static void encode(JsonParser parser, Output out) throws IOException {
+        Map<String, Integer> names = new HashMap<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT -> out.write(T_START_OBJECT);
+                case END_OBJECT -> out.write(T_END_OBJECT);
+                case START_ARRAY -> out.write(T_START_ARRAY);
+                case END_ARRAY -> out.write(T_END_ARRAY);
+                case FIELD_NAME -> {
+                    String name = parser.currentName();
+                    Integer index = names.get(name);
+                    if (index != null) {
+                        out.write(T_FIELD_REF);
+                        out.writeVarint(index);
+                    } else {
+                        names.put(name, names.size());
+                        out.write(T_FIELD_NEW);
+                        out.writeString(name);
+                    }
+                }
+                case VALUE_STRING -> {
+                    out.write(T_STRING);
+                    out.writeString(parser.getText());
+                }
+                case VALUE_NUMBER_INT -> {
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        out.write(T_BIG_INTEGER);
+                        out.writeBytes(parser.getBigIntegerValue().toByteArray());
+                    } else {
+                        out.write(T_LONG);
+                        out.writeZigZag(parser.getLongValue());
+                    }
+                }
+                case VALUE_NUMBER_FLOAT -> {
+                    switch (parser.getNumberType()) {
+                        case BIG_DECIMAL -> {
+                            BigDecimal decimal = parser.getDecimalValue();
+                            out.write(T_BIG_DECIMAL);
+                            out.writeZigZag(decimal.scale());
+                            out.writeBytes(decimal.unscaledValue().toByteArray());
+                        }
+                        case FLOAT -> {
+                            out.write(T_FLOAT);
+                            out.writeInt(Float.floatToIntBits(parser.getFloatValue()));
+                        }
+                        default -> {
+                            out.write(T_DOUBLE);
+                            out.writeLong(Double.doubleToLongBits(parser.getDoubleValue()));
+                        }
+                    }
+                }
+                case VALUE_TRUE -> out.write(T_TRUE);
+                case VALUE_FALSE -> out.write(T_FALSE);
+                case VALUE_NULL -> out.write(T_NULL);
+                case VALUE_EMBEDDED_OBJECT -> {
+                    if (!(parser.getEmbeddedObject() instanceof byte[] binary)) {
+                        throw new UnsupportedTokenException("嵌入对象 " + parser.getEmbeddedObject());
+                    }
+                    out.write(T_BINARY);
+                    out.writeBytes(binary);
+                }
+                default -> throw new UnsupportedTokenException(token.name());
+            }
+        }
+    }
+
+    private static void decode(Input in, JsonGenerator generator) throws IOException {
+        List<String> names = new ArrayList<>();
+        while (in.hasRemaining()) {
+            byte token = in.read();
+            switch (token) {
+                case T_START_OBJECT -> generator.writeStartObject();
+                case T_END_OBJECT -> generator.writeEndObject();
+                case T_START_ARRAY -> generator.writeStartArray();
+                case T_END_ARRAY -> generator.writeEndArray();
+                case T_FIELD_NEW -> {
+                    String name = in.readString();
+                    names.add(name);
+                    generator.writeFieldName(name);
+                }
+                case T_FIELD_REF -> generator.writeFieldName(names.get(in.readVarint()));
+                case T_STRING -> generator.writeString(in.readString());
+                case T_LONG -> {
+                    long value = in.readZigZag();
+                    if (value == (int) value) {
+                        generator.writeNumber((int) value);
+                    } else {
+                        generator.writeNumber(value);
+                    }
+                }
+                case T_BIG_INTEGER -> generator.writeNumber(new BigInteger(in.readBytes()));
+                case T_DOUBLE -> generator.writeNumber(Double.longBitsToDouble(in.readLong()));
+                case T_FLOAT -> generator.writeNumber(Float.intBitsToFloat(in.readInt()));
+                case T_BIG_DECIMAL -> {
+                    int scale = (int) in.readZigZag();
+                    generator.writeNumber(new BigDecimal(new BigInteger(in.readBytes()), scale));
+                }
+                case T_TRUE -> generator.writeBoolean(true);
+                case T_FALSE -> generator.writeBoolean(false);
+                case T_NULL -> generator.writeNull();
+                case T_BINARY -> generator.writeBinary(in.readBytes());
+                default -> throw new IOException("未知的二进制令牌: " + token);
+            }
+        }
+    }
+
+    private static final class UnsupportedTokenException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedTokenException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Output {
+        private byte[] buffer;
+        private int position;
+
+        Output(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void write(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensure(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+    }
+
+    private static final class Input {
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        boolean hasRemaining() {
+            return position < buffer.length;
+        }
+
+        byte read() {
+            return buffer[position++];
+        }
+
+        int readVarint() {
+            return (int) readVarlong();
+        }
+
+        long readVarlong() {
+            long result = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+        }
+
+        long readZigZag() {
+            long value = readVarlong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readInt() {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        byte[] readBytes() {
+            int length = readVarint();
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        String readString() {
+            int length = readVarint();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
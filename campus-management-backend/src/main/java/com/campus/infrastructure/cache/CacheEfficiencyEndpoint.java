@@ -0,0 +1,55 @@
+package com.campus.infrastructure.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 缓存效率端点（/actuator/cacheefficiency）
+ *
+ * 按估算浪费内存和未命中代价分别对各缓存排序，用于找出占用内存却很少被读取的缓存，
+ * 以及未命中后加载代价最高、最值得调整容量或过期时间的缓存。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Component
+@Endpoint(id = "cacheefficiency")
+public class CacheEfficiencyEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final CacheManager cacheManager;
+
+    public CacheEfficiencyEndpoint(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, Object> ranking(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            result.put("message", "当前缓存管理器不支持效率统计");
+            return result;
+        }
+        int size = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        List<CacheReport> reports = twoLevelCacheManager.getReports();
+        result.put("byWastedMemory", top(reports, Comparator.comparingLong(CacheReport::wastedBytes), size));
+        result.put("byMissCost", top(reports, Comparator.comparingDouble(CacheReport::missCostMillis), size));
+        return result;
+    }
+
+    private static List<CacheReport> top(List<CacheReport> reports, Comparator<CacheReport> order, int limit) {
+        return reports.stream()
+                .sorted(order.reversed().thenComparing(CacheReport::cache))
+                .limit(limit)
+                .toList();
+    }
+}
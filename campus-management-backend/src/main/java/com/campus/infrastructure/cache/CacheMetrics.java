@@ -0,0 +1,143 @@
+package com.campus.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * 单个缓存的加载、淘汰、写入和值大小统计
+ *
+ * 命中与未命中由 {@link TwoLevelCache} 自行计数，这里记录其余指标并注册为Micrometer指标：
+ * <ul>
+ *     <li>campus.cache.load：数据源加载耗时（缓存缺失到写入的时间）</li>
+ *     <li>campus.cache.evictions：按原因（size/expired/explicit）统计的淘汰次数</li>
+ *     <li>campus.cache.puts：写入Redis的次数</li>
+ *     <li>campus.cache.payload.size：按写入次数抽样的序列化后大小（字节）</li>
+ * </ul>
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class CacheMetrics {
+
+    private final String cacheName;
+    @Nullable
+    private final ToIntFunction<Object> payloadSizer;
+    private final int payloadSampleRate;
+
+    private final Timer loadTimer;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter explicitEvictions;
+    private final Counter puts;
+    private final DistributionSummary payloadSize;
+    private final AtomicLong writes = new AtomicLong();
+
+    /**
+     * @param payloadSizer      计算值序列化后字节数的函数，为null时不统计值大小
+     * @param payloadSampleRate 每多少次写入抽样计算一次值大小
+     */
+    public CacheMetrics(String cacheName, MeterRegistry meterRegistry,
+                        @Nullable ToIntFunction<Object> payloadSizer, int payloadSampleRate) {
+        this.cacheName = cacheName;
+        this.payloadSizer = payloadSizer;
+        this.payloadSampleRate = Math.max(1, payloadSampleRate);
+        this.loadTimer = Timer.builder("campus.cache.load")
+                .description("缓存缺失时数据源加载耗时")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.explicitEvictions = evictionCounter(meterRegistry, "explicit");
+        this.puts = Counter.builder("campus.cache.puts")
+                .description("缓存写入Redis次数")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.payloadSize = DistributionSummary.builder("campus.cache.payload.size")
+                .description("缓存值序列化后大小（抽样）")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    private Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("campus.cache.evictions")
+                .description("缓存淘汰次数")
+                .tag("cache", cacheName)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    public void recordLoad(long nanos) {
+        loadTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次写入，按抽样率计算值大小
+     */
+    public void recordPut(Object value) {
+        puts.increment();
+        if (payloadSizer == null || (writes.getAndIncrement() % payloadSampleRate) != 0) {
+            return;
+        }
+        try {
+            payloadSize.record(payloadSizer.applyAsInt(value));
+        } catch (RuntimeException e) {
+            log.debug("计算缓存值大小失败: cache={}, error={}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * 主动删除（evict/clear）
+     */
+    public void recordExplicitEviction() {
+        explicitEvictions.increment();
+    }
+
+    /**
+     * 本地缓存因容量或过期被淘汰，作为Caffeine的淘汰监听器使用
+     */
+    public void recordLocalEviction(RemovalCause cause) {
+        if (cause == RemovalCause.EXPIRED) {
+            expiredEvictions.increment();
+        } else if (cause.wasEvicted()) {
+            sizeEvictions.increment();
+        }
+    }
+
+    public long getLoadCount() {
+        return loadTimer.count();
+    }
+
+    public double getTotalLoadMillis() {
+        return loadTimer.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    public double getAverageLoadMillis() {
+        return loadTimer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    public long getEvictions() {
+        return (long) (sizeEvictions.count() + expiredEvictions.count() + explicitEvictions.count());
+    }
+
+    public long getPuts() {
+        return (long) puts.count();
+    }
+
+    /**
+     * 平均值大小（字节），尚无抽样时为0
+     */
+    public double getAveragePayloadBytes() {
+        return payloadSize.mean();
+    }
+}
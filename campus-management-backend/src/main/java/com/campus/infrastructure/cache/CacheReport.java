@@ -0,0 +1,42 @@
+package com.campus.infrastructure.cache;
+
+/**
+ * 单个缓存的效率报告
+ *
+ * 浪费内存按“写入次数超过命中次数的部分 × 平均值大小”估算：写入后从未被读取的值只占用内存而不节省加载；
+ * 未命中代价为累计加载耗时，即该缓存未能挡住的数据源耗时。两者均为估算值，用于在缓存之间排序比较。
+ *
+ * @param cache             缓存名称
+ * @param hits              命中次数（本地 + Redis）
+ * @param misses            未命中次数（两级均未命中）
+ * @param hitRatio          总命中率
+ * @param loads             数据源加载次数
+ * @param averageLoadMillis 平均加载耗时（毫秒）
+ * @param missCostMillis    累计加载耗时（毫秒）
+ * @param evictions         淘汰次数（容量、过期和主动删除）
+ * @param localEntries      本地缓存条目数
+ * @param averagePayloadBytes 平均值大小（字节，抽样）
+ * @param localBytes        本地缓存估算占用（字节）
+ * @param wastedBytes       估算浪费内存（字节）
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public record CacheReport(String cache, long hits, long misses, double hitRatio, long loads,
+                          double averageLoadMillis, double missCostMillis, long evictions, long localEntries,
+                          double averagePayloadBytes, long localBytes, long wastedBytes) {
+
+    static CacheReport of(TwoLevelCache cache) {
+        CacheMetrics metrics = cache.getMetrics();
+        long hits = cache.getLocalHits() + cache.getRemoteHits();
+        long misses = cache.getRemoteMisses();
+        long total = hits + misses;
+        double payload = metrics.getAveragePayloadBytes();
+        long localEntries = cache.getLocalSize();
+        long unreadWrites = Math.max(0, metrics.getPuts() - hits);
+        return new CacheReport(cache.getName(), hits, misses, total > 0 ? (double) hits / total : 0.0,
+                metrics.getLoadCount(), metrics.getAverageLoadMillis(), metrics.getTotalLoadMillis(),
+                metrics.getEvictions(), localEntries, payload,
+                Math.round(localEntries * payload), Math.round(unreadWrites * payload));
+    }
+}
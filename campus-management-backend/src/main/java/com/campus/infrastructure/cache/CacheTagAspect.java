@@ -0,0 +1,58 @@
+package com.campus.infrastructure.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存标签切面
+ * 在缓存拦截器之外执行，计算 {@link CacheTags} 标签并绑定到当前线程，供缓存写入时登记。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CacheTagAspect {
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Around("@annotation(cacheTags)")
+    public Object around(ProceedingJoinPoint point, CacheTags cacheTags) throws Throwable {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        MethodBasedEvaluationContext context =
+                new MethodBasedEvaluationContext(point.getTarget(), method, point.getArgs(), parameterNameDiscoverer);
+        List<String> tags = new ArrayList<>(cacheTags.value().length);
+        for (String expression : cacheTags.value()) {
+            Object tag = expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context);
+            if (tag != null) {
+                tags.add(tag.toString());
+            }
+        }
+
+        List<String> previous = CacheTagIndex.bindTags(tags);
+        try {
+            return point.proceed();
+        } finally {
+            CacheTagIndex.restoreTags(previous);
+        }
+    }
+}
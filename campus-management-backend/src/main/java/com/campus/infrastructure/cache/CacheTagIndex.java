@@ -0,0 +1,146 @@
+package com.campus.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 缓存标签索引
+ *
+ * 每个标签对应Redis中的一个Set，成员为 {@code 缓存名称::键}，与Redis缓存键的格式一致。
+ * 登记时各标签的SADD和EXPIRE通过一次管道发送。
+ * 按标签失效时先把Set原子改名，再用SSCAN分批读取成员，每批成员一次性删除，改名后新登记的条目进入新的Set，不会被遗漏。
+ * 标签Set整体设置过期时间，已过期缓存条目留下的成员只会造成一次多余的删除。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class CacheTagIndex {
+
+    static final String TAG_KEY_PREFIX = "campus:cache:tag:";
+    static final String KEY_SEPARATOR = "::";
+
+    private static final ThreadLocal<List<String>> CURRENT_TAGS = new ThreadLocal<>();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final DistributedCacheService cacheService;
+    private final Duration tagTtl;
+    private final int scanBatchSize;
+
+    public CacheTagIndex(RedisTemplate<String, Object> redisTemplate, DistributedCacheService cacheService,
+                         Duration tagTtl, int scanBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.cacheService = cacheService;
+        this.tagTtl = tagTtl;
+        this.scanBatchSize = scanBatchSize;
+    }
+
+    /**
+     * 绑定当前线程的标签
+     *
+     * @return 之前绑定的标签，供 {@link #restoreTags} 恢复
+     */
+    static List<String> bindTags(List<String> tags) {
+        List<String> previous = CURRENT_TAGS.get();
+        CURRENT_TAGS.set(tags);
+        return previous;
+    }
+
+    static void restoreTags(List<String> previous) {
+        if (previous == null) {
+            CURRENT_TAGS.remove();
+        } else {
+            CURRENT_TAGS.set(previous);
+        }
+    }
+
+    /**
+     * 把缓存条目登记到当前线程绑定的标签下，没有绑定标签时不做任何操作
+     */
+    public void register(String cacheName, String key) {
+        List<String> tags = CURRENT_TAGS.get();
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        String member = cacheName + KEY_SEPARATOR + key;
+        List<DistributedCacheService.Op> ops = new ArrayList<>(tags.size() * 2);
+        for (String tag : tags) {
+            String tagKey = TAG_KEY_PREFIX + tag;
+            ops.add(operations -> operations.opsForSet().add(tagKey, member));
+            ops.add(operations -> operations.expire(tagKey, tagTtl));
+        }
+        try {
+            cacheService.executePipelined(ops);
+        } catch (Exception e) {
+            log.warn("缓存标签登记失败: tags={}, member={}, error={}", tags, member, e.getMessage());
+        }
+    }
+
+    /**
+     * 删除标签下登记的所有缓存条目
+     *
+     * @param evictor 按SSCAN批次删除条目，参数为该批的成员（{@code 缓存名称::键}）
+     * @return 删除的条目数
+     */
+    public int invalidate(String tag, Consumer<List<String>> evictor) {
+        String tagKey = TAG_KEY_PREFIX + tag;
+        String drainingKey = tagKey + ":draining:" + UUID.randomUUID();
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(tagKey))) {
+                return 0;
+            }
+            redisTemplate.rename(tagKey, drainingKey);
+        } catch (Exception e) {
+            // 标签在检查后过期或已被其他节点处理
+            log.debug("缓存标签不存在或已被处理: tag={}, error={}", tag, e.getMessage());
+            return 0;
+        }
+
+        int evicted = 0;
+        try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(drainingKey,
+                ScanOptions.scanOptions().count(scanBatchSize).build())) {
+            List<String> batch = new ArrayList<>(scanBatchSize);
+            while (cursor.hasNext()) {
+                String member = String.valueOf(cursor.next());
+                if (member.indexOf(KEY_SEPARATOR) > 0) {
+                    batch.add(member);
+                }
+                if (batch.size() >= scanBatchSize) {
+                    evictor.accept(batch);
+                    evicted += batch.size();
+                    batch = new ArrayList<>(scanBatchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                evictor.accept(batch);
+                evicted += batch.size();
+            }
+        }
+        // 中途失败时保留改名后的Set，随原有过期时间自然清理
+        redisTemplate.delete(drainingKey);
+        log.debug("按标签失效缓存: tag={}, entries={}", tag, evicted);
+        return evicted;
+    }
+
+    /**
+     * 成员中的缓存名称
+     */
+    static String cacheNameOf(String member) {
+        return member.substring(0, member.indexOf(KEY_SEPARATOR));
+    }
+
+    /**
+     * 成员中的缓存键（本地键形式）
+     */
+    static String keyOf(String member) {
+        return member.substring(member.indexOf(KEY_SEPARATOR) + KEY_SEPARATOR.length());
+    }
+}
@@ -0,0 +1,28 @@
+package com.campus.infrastructure.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存标签注解
+ * 与 {@code @Cacheable} 一起使用，方法执行期间写入的缓存条目登记到指定标签下，
+ * 之后可按标签精确失效（如某门课程变更时只删除依赖该课程的条目）。
+ *
+ * 约定：单个实体使用 {@code 类型:ID}（如 {@code course:123}），依赖全部同类数据的汇总结果使用类型名（如 {@code course}）。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheTags {
+
+    /**
+     * 标签SpEL表达式，可引用方法参数，如 {@code "'course:' + #courseId"}
+     */
+    String[] value();
+}
@@ -2,13 +2,18 @@ package com.campus.infrastructure.cache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * 分布式缓存服务
@@ -36,6 +41,28 @@ public class DistributedCacheService {
 
     private final DefaultRedisScript<Long> lockScript = new DefaultRedisScript<>(LOCK_SCRIPT, Long.class);
 
+    /**
+     * SCAN每批返回的键数提示，同时是按模式删除时每次UNLINK的键数
+     */
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    /**
+     * 单次管道或多键命令包含的最大操作数，超出时拆成多次往返，避免单次请求占用过多Redis和客户端缓冲区
+     */
+    static final int PIPELINE_BATCH_SIZE = 500;
+
+    /**
+     * 管道中的单个操作
+     */
+    @FunctionalInterface
+    public interface Op {
+
+        /**
+         * 在管道连接上执行操作，返回值被忽略，结果按操作顺序由 {@link #executePipelined} 返回
+         */
+        void apply(RedisOperations<String, Object> operations);
+    }
+
     /**
      * 设置缓存
      * 
@@ -66,6 +93,132 @@ public class DistributedCacheService {
         }
     }
 
+    /**
+     * 批量设置缓存并指定过期时间
+     * 通过管道分批写入，每批最多 {@value #PIPELINE_BATCH_SIZE} 个键，失败时抛出异常由调用方决定是否重试
+     *
+     * @param entries 键值对
+     * @param timeout 过期时间
+     * @param unit 时间单位
+     */
+    public void setAll(Map<String, ?> entries, long timeout, TimeUnit unit) {
+        Duration ttl = Duration.ofMillis(unit.toMillis(timeout));
+        setAll(entries, key -> ttl);
+    }
+
+    /**
+     * 批量设置缓存并按键指定过期时间
+     * 过期时间为null或非正数的键不设置过期，失败时抛出异常由调用方决定是否重试
+     *
+     * @param entries 键值对
+     * @param ttl 按键计算过期时间
+     */
+    public void setAll(Map<String, ?> entries, Function<String, Duration> ttl) {
+        List<Op> ops = new ArrayList<>(entries.size());
+        entries.forEach((key, value) -> {
+            Duration timeout = ttl.apply(key);
+            if (timeout != null && !timeout.isNegative() && !timeout.isZero()) {
+                ops.add(operations -> operations.opsForValue().set(key, value, timeout));
+            } else {
+                ops.add(operations -> operations.opsForValue().set(key, value));
+            }
+        });
+        executePipelined(ops);
+    }
+
+    /**
+     * 批量获取缓存
+     * 按 {@value #PIPELINE_BATCH_SIZE} 个键一批执行MGET，失败时抛出异常，调用方不会拿到缺少部分键的结果
+     *
+     * @param keys 键集合
+     * @return 存在的键及其值，按传入顺序排列
+     */
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (List<String> batch : partition(new ArrayList<>(keys), PIPELINE_BATCH_SIZE)) {
+            List<Object> values = redisTemplate.opsForValue().multiGet(batch);
+            if (values == null) {
+                continue;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (values.get(i) != null) {
+                    result.put(batch.get(i), values.get(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量写入多个Hash并设置过期时间
+     * 每个Hash一次HMSET加一次EXPIRE，通过管道分批发送，失败时抛出异常由调用方决定是否重试
+     *
+     * @param hashes 键到Hash字段的映射
+     * @param ttl 过期时间，null表示不过期
+     */
+    public void hSetAll(Map<String, ? extends Map<String, ?>> hashes, Duration ttl) {
+        List<Op> ops = new ArrayList<>(hashes.size() * 2);
+        hashes.forEach((key, fields) -> {
+            if (fields.isEmpty()) {
+                return;
+            }
+            ops.add(operations -> operations.opsForHash().putAll(key, fields));
+            if (ttl != null) {
+                ops.add(operations -> operations.expire(key, ttl));
+            }
+        });
+        executePipelined(ops);
+    }
+
+    /**
+     * 批量读取多个Hash的全部字段
+     * 通过管道分批执行HGETALL，失败时抛出异常
+     *
+     * @param keys 键集合
+     * @return 存在的键及其字段，按传入顺序排列
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<Object, Object>> hGetAll(Collection<String> keys) {
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> values = executePipelined(keyList.stream()
+            .<Op>map(key -> operations -> operations.opsForHash().entries(key))
+            .toList());
+        Map<String, Map<Object, Object>> result = new LinkedHashMap<>();
+        for (int i = 0; i < keyList.size() && i < values.size(); i++) {
+            if (values.get(i) instanceof Map<?, ?> fields && !fields.isEmpty()) {
+                result.put(keyList.get(i), (Map<Object, Object>) fields);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 通过管道执行一组操作
+     * 按 {@value #PIPELINE_BATCH_SIZE} 个操作一批依次发送，单批的请求和响应大小都有上限；
+     * 某一批失败时抛出异常，之前的批次已经生效
+     *
+     * @param ops 操作列表
+     * @return 各操作的结果，与操作顺序一致
+     */
+    public List<Object> executePipelined(List<Op> ops) {
+        List<Object> results = new ArrayList<>(ops.size());
+        for (List<Op> batch : partition(ops, PIPELINE_BATCH_SIZE)) {
+            List<Object> batchResults = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> typed = (RedisOperations<String, Object>) operations;
+                    batch.forEach(op -> op.apply(typed));
+                    return null;
+                }
+            });
+            if (batchResults != null) {
+                results.addAll(batchResults);
+            }
+        }
+        return results;
+    }
+
     /**
      * 获取缓存
      * 
@@ -116,18 +269,21 @@ public class DistributedCacheService {
 
     /**
      * 批量删除缓存
+     * 按 {@value #PIPELINE_BATCH_SIZE} 个键一批执行UNLINK，由Redis在后台回收内存
      * 
      * @param keys 键集合
      * @return 删除数量
      */
     public long delete(Collection<String> keys) {
+        long deleted = 0;
         try {
-            Long count = redisTemplate.delete(keys);
-            return count != null ? count : 0;
+            for (List<String> batch : partition(new ArrayList<>(keys), PIPELINE_BATCH_SIZE)) {
+                deleted += unlink(batch);
+            }
         } catch (Exception e) {
-            log.error("批量删除缓存失败: keys={}", keys, e);
-            return 0;
+            log.error("批量删除缓存失败: keys={}, 已删除={}", keys.size(), deleted, e);
         }
+        return deleted;
     }
 
     /**
@@ -362,16 +518,83 @@ public class DistributedCacheService {
 
     /**
      * 模糊查询键
+     * 使用SCAN游标分批遍历，不会像KEYS一样长时间阻塞Redis
      * 
      * @param pattern 模式
      * @return 键集合
      */
     public Set<String> keys(String pattern) {
-        try {
-            return redisTemplate.keys(pattern);
+        Set<String> keys = new HashSet<>();
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(pattern))) {
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+            }
         } catch (Exception e) {
             log.error("模糊查询键失败: pattern={}", pattern, e);
-            return new HashSet<>();
         }
+        return keys;
+    }
+
+    /**
+     * 统计匹配模式的键数量（SCAN遍历）
+     *
+     * @param pattern 模式
+     * @return 键数量
+     */
+    public long countKeys(String pattern) {
+        long count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(pattern))) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+        } catch (Exception e) {
+            log.error("统计键数量失败: pattern={}", pattern, e);
+        }
+        return count;
+    }
+
+    /**
+     * 按模式删除键
+     * 使用SCAN游标遍历，每凑满一批即用UNLINK删除，内存占用和单次Redis操作耗时都有上限
+     *
+     * @param pattern 模式
+     * @return 删除数量
+     */
+    public long deleteByPattern(String pattern) {
+        long deleted = 0;
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(pattern))) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    deleted += unlink(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleted += unlink(batch);
+            }
+        } catch (Exception e) {
+            log.error("按模式删除键失败: pattern={}, 已删除={}", pattern, deleted, e);
+        }
+        return deleted;
+    }
+
+    private long unlink(List<String> keys) {
+        Long count = redisTemplate.unlink(keys);
+        return count != null ? count : 0;
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            batches.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return batches;
+    }
+
+    private static ScanOptions scanOptions(String pattern) {
+        return ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
     }
 }
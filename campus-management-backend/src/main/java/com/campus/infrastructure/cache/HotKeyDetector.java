@@ -0,0 +1,273 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.infrastructure.config.HotKeyConfig;
+import com.campus.shared.util.CountMinSketch;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 热点键检测与本地副本
+ *
+ * 按抽样率统计Redis读取，计数写入滑动窗口中当前一片的 {@link CountMinSketch}，窗口内各片估计值之和乘以抽样率
+ * 达到阈值即判定为热点键。热点键的值在本节点保留一份短过期时间的副本，后续读取直接返回副本，不再访问Redis；
+ * 新检测到的热点键通过 {@code announcer} 广播，其他节点收到后同样为其保留副本（见 {@link #markRemote}）。
+ * 窗口内未再达到阈值的热点键在窗口滚动时移除，副本随之删除。
+ * 写入和删除通过 {@link #invalidate} 删除副本；与并发读取的回填之间存在很小的竞争窗口，由副本过期时间兜底。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class HotKeyDetector {
+
+    private static final String SOURCE_LOCAL = "local";
+    private static final String SOURCE_REMOTE = "remote";
+
+    private final HotKeyConfig config;
+    private final Consumer<String> announcer;
+    private final LongSupplier clock;
+
+    private final CountMinSketch[] slices;
+    private final long sliceMillis;
+    private volatile int current;
+    private volatile long sliceStart;
+
+    private final Map<String, HotKey> hotKeys = new ConcurrentHashMap<>();
+    private final Cache<String, Object> replicas;
+
+    private final AtomicLong sampledReads = new AtomicLong();
+    private final Counter localDetections;
+    private final Counter remoteDetections;
+    private final Counter replicaHits;
+
+    /**
+     * @param announcer 新检测到热点键时的广播回调，参数为键
+     */
+    public HotKeyDetector(HotKeyConfig config, MeterRegistry meterRegistry, Consumer<String> announcer) {
+        this(config, meterRegistry, announcer, System::currentTimeMillis);
+    }
+
+    HotKeyDetector(HotKeyConfig config, MeterRegistry meterRegistry, Consumer<String> announcer, LongSupplier clock) {
+        if (config.getSampleRate() <= 0 || config.getWindowSlices() <= 0
+                || config.getWindowMs() < config.getWindowSlices() || config.getThreshold() <= 0) {
+            throw new IllegalArgumentException("热点键检测参数不合法");
+        }
+        this.config = config;
+        this.announcer = announcer;
+        this.clock = clock;
+        this.slices = new CountMinSketch[config.getWindowSlices()];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new CountMinSketch(config.getSketchWidth(), config.getSketchDepth());
+        }
+        this.sliceMillis = config.getWindowMs() / config.getWindowSlices();
+        this.sliceStart = clock.getAsLong();
+        this.replicas = Caffeine.newBuilder()
+                .maximumSize(config.getLocalMaxSize())
+                .expireAfterWrite(Duration.ofMillis(config.getLocalTtlMs()))
+                .build();
+
+        this.localDetections = detectionCounter(meterRegistry, SOURCE_LOCAL);
+        this.remoteDetections = detectionCounter(meterRegistry, SOURCE_REMOTE);
+        this.replicaHits = Counter.builder("campus.cache.hotkey.replica.hits")
+                .description("热点键本地副本命中次数")
+                .register(meterRegistry);
+        Gauge.builder("campus.cache.hotkey.active", hotKeys, Map::size)
+                .description("当前热点键数")
+                .register(meterRegistry);
+        Gauge.builder("campus.cache.hotkey.replica.size", replicas, Cache::estimatedSize)
+                .description("热点键本地副本条目数")
+                .register(meterRegistry);
+    }
+
+    private static Counter detectionCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("campus.cache.hotkey.detections")
+                .description("检测到的热点键次数")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次Redis读取（抽样）
+     *
+     * @return 该键当前是否为热点键
+     */
+    public boolean record(String key) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        if (ThreadLocalRandom.current().nextInt(config.getSampleRate()) != 0) {
+            return hotKeys.containsKey(key);
+        }
+        long now = clock.getAsLong();
+        rotateIfNeeded(now);
+        sampledReads.incrementAndGet();
+        slices[current].add(key, 1);
+        long estimate = 0;
+        for (CountMinSketch slice : slices) {
+            estimate += slice.estimate(key);
+        }
+        estimate *= config.getSampleRate();
+        if (estimate >= config.getThreshold()) {
+            return mark(key, estimate, now, true);
+        }
+        return hotKeys.containsKey(key);
+    }
+
+    /**
+     * 其他节点广播的热点键
+     */
+    public void markRemote(String key) {
+        if (config.isEnabled()) {
+            mark(key, 0, clock.getAsLong(), false);
+        }
+    }
+
+    /**
+     * 热点键的本地副本
+     */
+    @Nullable
+    public Object getReplica(String key) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        Object value = replicas.getIfPresent(key);
+        if (value != null) {
+            replicaHits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 为热点键保留本地副本，非热点键忽略
+     * 副本原样保存，可变的值应由调用方编码后传入（见 {@link HotKeyReplicatingCache}）
+     */
+    public void replicate(String key, @Nullable Object value) {
+        if (value != null && hotKeys.containsKey(key)) {
+            replicas.put(key, value);
+        }
+    }
+
+    /**
+     * 删除本地副本（写入、删除或收到失效通知）
+     */
+    public void invalidate(String key) {
+        replicas.invalidate(key);
+    }
+
+    /**
+     * 删除指定前缀的全部本地副本（清空缓存）
+     */
+    public void invalidatePrefix(String prefix) {
+        replicas.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * 当前热点键，按估计读取次数从高到低排列
+     */
+    public List<HotKey> snapshot() {
+        rotateIfNeeded(clock.getAsLong());
+        return hotKeys.values().stream()
+                .sorted(Comparator.comparingLong(HotKey::estimatedReads).reversed().thenComparing(HotKey::key))
+                .toList();
+    }
+
+    public long getSampledReads() {
+        return sampledReads.get();
+    }
+
+    public long getReplicaHits() {
+        return (long) replicaHits.count();
+    }
+
+    public long getReplicaSize() {
+        return replicas.estimatedSize();
+    }
+
+    private boolean mark(String key, long estimate, long now, boolean local) {
+        HotKey existing = hotKeys.get(key);
+        if (existing == null && hotKeys.size() >= config.getMaxHotKeys()) {
+            return false;
+        }
+        boolean[] created = new boolean[1];
+        boolean[] reannounce = new boolean[1];
+        HotKey updated = hotKeys.compute(key, (k, previous) -> {
+            if (previous == null) {
+                created[0] = true;
+                return new HotKey(k, estimate, now, now, local ? now : 0, local ? SOURCE_LOCAL : SOURCE_REMOTE);
+            }
+            long announcedAt = previous.announcedAt();
+            // 本节点持续判定为热点时定期重新广播，其他节点的热点状态不会在窗口滚动时过期
+            if (local && now - announcedAt >= config.getWindowMs() / 2) {
+                reannounce[0] = true;
+                announcedAt = now;
+            }
+            return new HotKey(k, Math.max(estimate, previous.estimatedReads()), previous.detectedAt(), now,
+                    announcedAt, local ? SOURCE_LOCAL : previous.source());
+        });
+        if (created[0]) {
+            (local ? localDetections : remoteDetections).increment();
+            log.info("检测到热点键: key={}, estimate={}, source={}", key, estimate, updated.source());
+        }
+        if (local && (created[0] || reannounce[0])) {
+            announcer.accept(key);
+        }
+        return true;
+    }
+
+    private void rotateIfNeeded(long now) {
+        if (now - sliceStart < sliceMillis) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = (now - sliceStart) / sliceMillis;
+            if (elapsed <= 0) {
+                return;
+            }
+            int next = current;
+            for (long i = 0; i < Math.min(elapsed, slices.length); i++) {
+                next = (next + 1) % slices.length;
+                slices[next].clear();
+            }
+            current = next;
+            sliceStart += elapsed * sliceMillis;
+
+            long expiredBefore = now - config.getWindowMs();
+            hotKeys.values().removeIf(hotKey -> {
+                if (hotKey.lastSeenAt() < expiredBefore) {
+                    replicas.invalidate(hotKey.key());
+                    log.debug("热点键已冷却: key={}", hotKey.key());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * 热点键
+     *
+     * @param key            键（与Redis键相同，{@code 缓存名称::键}）
+     * @param estimatedReads 检测到的窗口内最高估计读取次数，其他节点广播的键为0
+     * @param detectedAt     首次检测时间（毫秒）
+     * @param lastSeenAt     最近一次达到阈值或收到广播的时间（毫秒）
+     * @param announcedAt    最近一次广播时间（毫秒），其他节点广播的键为0
+     * @param source         local为本节点检测，remote为其他节点广播
+     */
+    public record HotKey(String key, long estimatedReads, long detectedAt, long lastSeenAt,
+                         long announcedAt, String source) {}
+}
@@ -0,0 +1,48 @@
+package com.campus.infrastructure.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 热点键端点（/actuator/hotkeys）
+ *
+ * 列出本节点当前的热点键（本节点检测到的和其他节点广播的），以及抽样次数和本地副本命中情况。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeyEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final CacheManager cacheManager;
+
+    public HotKeyEndpoint(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public Map<String, Object> hotKeys(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        HotKeyDetector detector = cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager
+                ? twoLevelCacheManager.getHotKeyDetector() : null;
+        if (detector == null) {
+            result.put("message", "热点键检测未启用");
+            return result;
+        }
+        int size = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
+        result.put("sampledReads", detector.getSampledReads());
+        result.put("replicaHits", detector.getReplicaHits());
+        result.put("replicaSize", detector.getReplicaSize());
+        result.put("hotKeys", detector.snapshot().stream().limit(size).toList());
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+package com.campus.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 带热点键本地副本的Redis缓存
+ *
+ * 包装 {@link TwoLevelCache} 的Redis一级，每次访问Redis前先查询热点键副本，访问后交给 {@link HotKeyDetector} 抽样统计，
+ * 判定为热点的键把读到的值保留为副本。写入和删除先作用于Redis再删除本节点副本，其他节点的副本由二级缓存的失效通知删除。
+ * 启用本地一级缓存的缓存只有本地未命中时才会到达这里，副本主要分担关闭了本地缓存或本地容量不足的缓存的热点读取。
+ * 配置了 {@link TwoLevelCache.LocalValueCodec} 时副本与本地一级缓存一样按序列化后的字节保存，每次命中解码出新的实例。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class HotKeyReplicatingCache implements Cache {
+
+    private final Cache remote;
+    private final HotKeyDetector detector;
+    private final ConversionService conversionService;
+    @Nullable
+    private final TwoLevelCache.LocalValueCodec replicaCodec;
+    private final String keyPrefix;
+
+    HotKeyReplicatingCache(Cache remote, HotKeyDetector detector, ConversionService conversionService) {
+        this(remote, detector, conversionService, null);
+    }
+
+    /**
+     * @param replicaCodec 副本的值编解码，为null时副本直接保存对象引用（仅适用于不可变的值）
+     */
+    HotKeyReplicatingCache(Cache remote, HotKeyDetector detector, ConversionService conversionService,
+                           @Nullable TwoLevelCache.LocalValueCodec replicaCodec) {
+        this.remote = remote;
+        this.detector = detector;
+        this.conversionService = conversionService;
+        this.replicaCodec = replicaCodec;
+        this.keyPrefix = remote.getName() + CacheTagIndex.KEY_SEPARATOR;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        String hotKey = hotKey(key);
+        boolean hot = detector.record(hotKey);
+        if (hot) {
+            Object replica = detector.getReplica(hotKey);
+            if (replica != null) {
+                return new SimpleValueWrapper(fromReplica(replica));
+            }
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (hot && wrapper != null && wrapper.get() != null) {
+            detector.replicate(hotKey, toReplica(wrapper.get()));
+        }
+        return wrapper;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不匹配: 期望 " + type.getName() + ", 实际 " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        T value = remote.get(key, valueLoader);
+        detector.record(hotKey(key));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remote.put(key, value);
+        detector.invalidate(hotKey(key));
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            detector.invalidate(hotKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        detector.invalidate(hotKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        detector.invalidate(hotKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        detector.invalidatePrefix(keyPrefix);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        detector.invalidatePrefix(keyPrefix);
+        return invalidated;
+    }
+
+    private Object toReplica(Object value) {
+        return replicaCodec != null ? replicaCodec.encoder().apply(value) : value;
+    }
+
+    private Object fromReplica(Object stored) {
+        return replicaCodec != null ? replicaCodec.decoder().apply((byte[]) stored) : stored;
+    }
+
+    private String hotKey(Object key) {
+        return keyPrefix + TwoLevelCache.toLocalKey(key, conversionService);
+    }
+}
@@ -0,0 +1,127 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.domain.entity.academic.Course;
+import com.campus.domain.entity.auth.User;
+import com.campus.domain.entity.organization.Department;
+import com.campus.domain.entity.organization.Student;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 键存在性实体监听器
+ *
+ * 用户、学生、课程、院系新增时将主键和业务编号登记到 {@link KeyExistenceGuard}，修改时只登记发生变化的业务编号。
+ * 业务编号在写入前登记，此时加密监听器尚未处理字段（需在 {@code @EntityListeners} 中排在加密监听器之前），
+ * 自增主键在写入后才可用，因此在写入后登记；主键不会被修改，更新时无需登记。
+ * 实体加载后的业务编号由 {@link Snapshot} 记录（排在加密监听器之后，记录解密后的值），用于判断更新是否修改了编号。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public class KeyExistenceEntityListener {
+
+    private static KeyExistenceGuard guard;
+
+    // 实体加载或上次保存时的业务编号，弱引用并按对象身份比较，实体被回收后自动清除
+    private static final Cache<Object, Map<KeySpace, String>> SNAPSHOTS = Caffeine.newBuilder().weakKeys().build();
+
+    @Autowired
+    public void setGuard(KeyExistenceGuard guard) {
+        KeyExistenceEntityListener.guard = guard;
+    }
+
+    @PrePersist
+    public void beforePersist(Object entity) {
+        recordBusinessKeys(entity, null);
+    }
+
+    @PreUpdate
+    public void beforeUpdate(Object entity) {
+        recordBusinessKeys(entity, SNAPSHOTS.getIfPresent(entity));
+    }
+
+    @PostPersist
+    public void afterPersist(Object entity) {
+        if (guard == null) {
+            return;
+        }
+        if (entity instanceof User user) {
+            guard.recordExisting(KeySpace.USER_ID, user.getId());
+        } else if (entity instanceof Student student) {
+            guard.recordExisting(KeySpace.STUDENT_ID, student.getId());
+        } else if (entity instanceof Course course) {
+            guard.recordExisting(KeySpace.COURSE_ID, course.getId());
+        } else if (entity instanceof Department department) {
+            guard.recordExisting(KeySpace.DEPARTMENT_ID, department.getId());
+        }
+    }
+
+    /**
+     * 登记业务编号，previous为null（新增或没有快照）时全部登记，否则只登记与快照不同的编号
+     */
+    private static void recordBusinessKeys(Object entity, Map<KeySpace, String> previous) {
+        if (guard == null) {
+            return;
+        }
+        Map<KeySpace, String> current = businessKeys(entity);
+        if (current == null) {
+            return;
+        }
+        current.forEach((space, key) -> {
+            if (previous == null || !Objects.equals(previous.get(space), key)) {
+                guard.recordExisting(space, key);
+            }
+        });
+        SNAPSHOTS.put(entity, current);
+    }
+
+    private static Map<KeySpace, String> businessKeys(Object entity) {
+        if (entity instanceof User user) {
+            return keysOf(KeySpace.USERNAME, user.getUsername(), KeySpace.USER_EMAIL, user.getEmail());
+        } else if (entity instanceof Student student) {
+            return keysOf(KeySpace.STUDENT_NO, student.getStudentNo(), null, null);
+        } else if (entity instanceof Course course) {
+            return keysOf(KeySpace.COURSE_CODE, course.getCourseCode(), null, null);
+        } else if (entity instanceof Department department) {
+            return keysOf(KeySpace.DEPARTMENT_CODE, department.getDeptCode(), null, null);
+        }
+        return null;
+    }
+
+    // 编号可能为null，Map.of不接受null值
+    private static Map<KeySpace, String> keysOf(KeySpace first, String firstKey, KeySpace second, String secondKey) {
+        Map<KeySpace, String> keys = new EnumMap<>(KeySpace.class);
+        keys.put(first, firstKey);
+        if (second != null) {
+            keys.put(second, secondKey);
+        }
+        return keys;
+    }
+
+    /**
+     * 加载后记录业务编号快照
+     */
+    public static class Snapshot {
+
+        @PostLoad
+        public void afterLoad(Object entity) {
+            if (guard == null) {
+                return;
+            }
+            Map<KeySpace, String> keys = businessKeys(entity);
+            if (keys != null) {
+                SNAPSHOTS.put(entity, keys);
+            }
+        }
+    }
+}
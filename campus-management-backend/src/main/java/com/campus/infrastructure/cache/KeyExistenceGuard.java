@@ -0,0 +1,456 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.domain.repository.academic.CourseRepository;
+import com.campus.domain.repository.auth.UserRepository;
+import com.campus.domain.repository.organization.DepartmentRepository;
+import com.campus.domain.repository.organization.StudentRepository;
+import com.campus.infrastructure.config.KeyExistenceConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import com.campus.shared.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 缓存穿透防护
+ *
+ * 针对按主键或业务编号查询用户、学生、课程、院系时键不存在的情况，提供两道防线：
+ * <ul>
+ *   <li>本地布隆过滤器：包含全部已存在（含已删除）的键，判定一定不存在且近期未登记时直接返回，不访问数据库</li>
+ *   <li>不存在结果缓存：过滤器误判或已删除的键查询数据库后，将"不存在"写入Redis并保留较短时间</li>
+ * </ul>
+ * 新增和修改通过 {@link KeyExistenceEntityListener} 立即写入过滤器，经Redis发布/订阅复制到其它节点，
+ * 并在事务提交后删除对应的不存在结果；过滤器定期从数据库全量重建，补齐批量导入等绕过实体监听器的写入。
+ * 发布/订阅不保证送达，新登记的键同时写入Redis中按时间排序的近期登记集合，保留两个重建周期：
+ * 过滤器未命中时再查询该集合，命中则补入本地过滤器并继续查询数据库，因此其它节点新增的键不会被误判为不存在。
+ * 首次重建完成前，或本节点超过两个重建周期未能成功重建时，过滤器不参与判定。
+ * 用户名、学号、课程和院系编号在数据库中按utf8mb4_unicode_ci比较，过滤器成员和不存在结果键使用同样忽略大小写、
+ * 重音和末尾空格的折叠形式；含非ASCII字符的查询无法可靠折叠，直接查询数据库。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class KeyExistenceGuard {
+
+    public static final String EXISTENCE_CHANNEL = "campus:cache:existence";
+
+    private static final String NEGATIVE_KEY_PREFIX = "campus:cache:negative:";
+    // 近期登记的键（成员为过滤器成员，分值为登记时间）
+    private static final String RECENT_KEY = "campus:cache:existence:recent";
+    // 近期登记的键保留时间，应长于最长事务：登记发生在提交前，重建时的查询可能还看不到这些行
+    private static final long RECENT_RETENTION_MS = TimeUnit.MINUTES.toMillis(10);
+
+    // 排序规则下等同于ASCII字母组合、但无法通过Unicode分解得到的字符
+    private static final Map<Integer, String> FOLD_EXPANSIONS = Map.of(
+            (int) 'ß', "ss", (int) 'æ', "ae", (int) 'œ', "oe", (int) 'ø', "o",
+            (int) 'đ', "d", (int) 'ł', "l", (int) 'ı', "i", (int) 'ħ', "h");
+
+    /**
+     * 键空间，前缀同时用于布隆过滤器成员和不存在结果缓存键
+     */
+    public enum KeySpace {
+        USER_ID("user:id:", true, false),
+        USERNAME("user:username:", true, true),
+        // 邮箱加密存储，无法从数据库重建过滤器，只使用不存在结果缓存；按密文精确比较
+        USER_EMAIL("user:email:", false, false),
+        STUDENT_ID("student:id:", true, false),
+        STUDENT_NO("student:no:", true, true),
+        COURSE_ID("course:id:", true, false),
+        COURSE_CODE("course:code:", true, true),
+        DEPARTMENT_ID("department:id:", true, false),
+        DEPARTMENT_CODE("department:code:", true, true);
+
+        private final String prefix;
+        private final boolean filtered;
+        // 数据库按utf8mb4_unicode_ci比较（忽略大小写、重音和末尾空格）
+        private final boolean collated;
+
+        KeySpace(String prefix, boolean filtered, boolean collated) {
+            this.prefix = prefix;
+            this.filtered = filtered;
+            this.collated = collated;
+        }
+
+        /**
+         * 查询使用的成员，按排序规则比较的键取忽略大小写和末尾空格的形式；
+         * 含非ASCII字符的键可能与多种写法相等，返回null表示不参与防护，直接查询数据库
+         */
+        @Nullable
+        String member(Object key) {
+            if (!collated || !(key instanceof String text)) {
+                return prefix + key;
+            }
+            String trimmed = stripTrailingSpaces(text);
+            return isPrintableAscii(trimmed) ? prefix + trimmed.toLowerCase(Locale.ROOT) : null;
+        }
+
+        /**
+         * 登记（含重建）使用的成员，非ASCII字符折叠为排序规则下与之相等的ASCII形式，
+         * 保证与之相等的ASCII查询一定能命中
+         */
+        String registeredMember(Object key) {
+            if (!collated || !(key instanceof String text)) {
+                return prefix + key;
+            }
+            return prefix + fold(text);
+        }
+    }
+
+    private final KeyExistenceConfig config;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final InvalidationChannel existenceChannel;
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+
+    // 首次重建完成前为null，此时不拦截任何查询
+    @Nullable
+    private volatile BloomFilter filter;
+    // 当前过滤器所依据的数据库快照的查询时间
+    private volatile long filterBuiltAt;
+    // 近期登记的键，重建完成时补入新过滤器，避免重建覆盖掉查询时尚未提交或之后新增的记录
+    private final Deque<Recent> recent = new ArrayDeque<>();
+
+    private final Counter filterRejectedCounter;
+    private final Counter negativeHitCounter;
+    private final Counter negativeStoredCounter;
+
+    public KeyExistenceGuard(KeyExistenceConfig config,
+                             RedisTemplate<String, Object> redisTemplate,
+                             ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                             UserRepository userRepository,
+                             StudentRepository studentRepository,
+                             CourseRepository courseRepository,
+                             DepartmentRepository departmentRepository,
+                             MeterRegistry meterRegistry) {
+        this.config = config;
+        this.redisTemplate = redisTemplate;
+        this.existenceChannel = new InvalidationChannel(EXISTENCE_CHANNEL, redisTemplate,
+            listenerContainer.getIfAvailable());
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+
+        this.filterRejectedCounter = Counter.builder("campus.cache.penetration.rejected").tag("by", "bloom")
+            .description("布隆过滤器判定键不存在而直接返回的次数").register(meterRegistry);
+        this.negativeHitCounter = Counter.builder("campus.cache.penetration.rejected").tag("by", "negative")
+            .description("命中不存在结果缓存而直接返回的次数").register(meterRegistry);
+        this.negativeStoredCounter = Counter.builder("campus.cache.penetration.negative_stored")
+            .description("写入不存在结果缓存的次数").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        existenceChannel.subscribe(this::onMessage);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        existenceChannel.unsubscribe();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (config.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    // ================================
+    // 查询
+    // ================================
+
+    /**
+     * 按键查询单个对象，键一定不存在或近期已确认不存在时不执行查询
+     */
+    public <T> Optional<T> find(KeySpace space, @Nullable Object key, Supplier<Optional<T>> loader) {
+        if (key == null || !config.isEnabled()) {
+            return loader.get();
+        }
+        if (isKnownMissing(space, key)) {
+            return Optional.empty();
+        }
+        Optional<T> result = loader.get();
+        if (result.isEmpty()) {
+            markMissing(space, key);
+        }
+        return result;
+    }
+
+    /**
+     * 按键判断是否存在，键一定不存在或近期已确认不存在时不执行查询
+     */
+    public boolean exists(KeySpace space, @Nullable Object key, BooleanSupplier loader) {
+        if (key == null || !config.isEnabled()) {
+            return loader.getAsBoolean();
+        }
+        if (isKnownMissing(space, key)) {
+            return false;
+        }
+        boolean exists = loader.getAsBoolean();
+        if (!exists) {
+            markMissing(space, key);
+        }
+        return exists;
+    }
+
+    /**
+     * 布隆过滤器是否可能包含该键，过滤器未就绪、已过期或该键空间不使用过滤器时返回true
+     * 过滤器未命中时再确认该键不在Redis近期登记集合中（其它节点新增、本节点漏收通知的键）
+     */
+    public boolean mightExist(KeySpace space, Object key) {
+        String member = space.member(key);
+        return member == null || mightExist(space, member);
+    }
+
+    private boolean mightExist(KeySpace space, String member) {
+        BloomFilter current = filter;
+        if (current == null || !space.filtered
+                || System.currentTimeMillis() - filterBuiltAt > 2 * config.getRebuildIntervalMs()) {
+            return true;
+        }
+        return current.mightContain(member) || isRecentlyRecorded(member);
+    }
+
+    private boolean isRecentlyRecorded(String member) {
+        try {
+            if (redisTemplate.opsForZSet().score(RECENT_KEY, member) == null) {
+                return false;
+            }
+        } catch (Exception e) {
+            // 无法确认时查询数据库，宁可多一次查询也不能误判为不存在
+            log.debug("查询近期登记的键失败，继续查询数据库: key={}, error={}", member, e.getMessage());
+            return true;
+        }
+        apply(member);
+        return true;
+    }
+
+    private boolean isKnownMissing(KeySpace space, Object key) {
+        String member = space.member(key);
+        if (member == null) {
+            return false;
+        }
+        if (!mightExist(space, member)) {
+            filterRejectedCounter.increment();
+            return true;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(NEGATIVE_KEY_PREFIX + member))) {
+                negativeHitCounter.increment();
+                return true;
+            }
+        } catch (Exception e) {
+            log.debug("查询不存在结果缓存失败，继续查询数据库: key={}, error={}", member, e.getMessage());
+        }
+        return false;
+    }
+
+    private void markMissing(KeySpace space, Object key) {
+        String member = space.member(key);
+        if (member == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(NEGATIVE_KEY_PREFIX + member, 1,
+                    config.getNegativeTtlSeconds(), TimeUnit.SECONDS);
+            negativeStoredCounter.increment();
+        } catch (Exception e) {
+            log.debug("写入不存在结果缓存失败: key={}, error={}", member, e.getMessage());
+        }
+    }
+
+    // ================================
+    // 写入
+    // ================================
+
+    /**
+     * 登记已存在的键：立即写入本节点过滤器并通知其它节点，同时删除该键的不存在结果
+     * 立即删除保证同一事务内的后续检查能看到新记录，提交后再删除一次，清除提交前其它请求写入的不存在结果
+     */
+    public void recordExisting(KeySpace space, @Nullable Object key) {
+        if (key == null || !config.isEnabled()) {
+            return;
+        }
+        String member = space.registeredMember(key);
+        if (space.filtered) {
+            apply(member);
+            recordRecent(member);
+            existenceChannel.publish(member);
+        }
+        Runnable clearNegative = () -> {
+            try {
+                redisTemplate.delete(NEGATIVE_KEY_PREFIX + member);
+            } catch (Exception e) {
+                log.warn("删除不存在结果缓存失败: key={}, error={}", member, e.getMessage());
+            }
+        };
+        clearNegative.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            InvalidationChannel.afterCommit(clearNegative);
+        }
+    }
+
+    private void recordRecent(String member) {
+        try {
+            redisTemplate.opsForZSet().add(RECENT_KEY, member, System.currentTimeMillis());
+            redisTemplate.expire(RECENT_KEY, recentWindowMs(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入近期登记的键失败，其它节点需等待通知或重建: key={}, error={}", member, e.getMessage());
+        }
+    }
+
+    /**
+     * 近期登记集合的保留时间：覆盖两个重建周期加上重建查询时可能尚未提交的事务
+     */
+    private long recentWindowMs() {
+        return 2 * config.getRebuildIntervalMs() + RECENT_RETENTION_MS;
+    }
+
+    /**
+     * 定期从数据库全量重建布隆过滤器
+     */
+    @Scheduled(fixedDelayString = "${campus.cache.existence.rebuild-interval-ms:3600000}",
+               initialDelayString = "${campus.cache.existence.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(RECENT_KEY, 0, start - recentWindowMs());
+        } catch (Exception e) {
+            log.debug("清理近期登记的键失败: {}", e.getMessage());
+        }
+        try {
+            List<Object[]> users = userRepository.findAllExistenceKeys();
+            List<Object[]> students = studentRepository.findAllExistenceKeys();
+            List<Object[]> courses = courseRepository.findAllExistenceKeys();
+            List<Object[]> departments = departmentRepository.findAllExistenceKeys();
+            long keys = 2L * (users.size() + students.size() + courses.size() + departments.size());
+
+            BloomFilter fresh = BloomFilter.create(Math.max(config.getExpectedEntries(), keys * 2),
+                    config.getFalsePositiveRate());
+            putAll(fresh, users, KeySpace.USER_ID, KeySpace.USERNAME);
+            putAll(fresh, students, KeySpace.STUDENT_ID, KeySpace.STUDENT_NO);
+            putAll(fresh, courses, KeySpace.COURSE_ID, KeySpace.COURSE_CODE);
+            putAll(fresh, departments, KeySpace.DEPARTMENT_ID, KeySpace.DEPARTMENT_CODE);
+
+            synchronized (this) {
+                for (Recent entry : recent) {
+                    fresh.put(entry.member());
+                }
+                filter = fresh;
+                filterBuiltAt = start;
+            }
+            log.info("键存在性过滤器已重建: 键数={}, 耗时={}ms", keys, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // 保留现有过滤器，新增的键仍会通过实体监听器写入
+            log.warn("重建键存在性过滤器失败: {}", e.getMessage());
+        }
+    }
+
+    private static void putAll(BloomFilter target, List<Object[]> rows, KeySpace idSpace, KeySpace codeSpace) {
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                target.put(idSpace.registeredMember(row[0]));
+            }
+            if (row[1] != null) {
+                target.put(codeSpace.registeredMember(row[1]));
+            }
+        }
+    }
+
+    private synchronized void apply(String member) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(member);
+        }
+        long now = System.currentTimeMillis();
+        while (!recent.isEmpty() && recent.peekFirst().time() < now - RECENT_RETENTION_MS) {
+            recent.pollFirst();
+        }
+        recent.addLast(new Recent(member, now));
+    }
+
+    private void onMessage(Object body) {
+        if (body instanceof String member) {
+            apply(member);
+        }
+    }
+
+    /**
+     * 按utf8mb4_unicode_ci的比较方式折叠键：兼容分解后去除重音等组合符号和可忽略的控制、格式字符，
+     * 展开 ß、æ 等字母，再转小写并去除末尾空格。无ASCII等价形式的字符（如汉字）保留原样，
+     * 它们不会与任何ASCII查询相等，而含非ASCII字符的查询本身不参与防护
+     */
+    static String fold(String text) {
+        String trimmed = stripTrailingSpaces(text);
+        if (isPrintableAscii(trimmed)) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(trimmed, Normalizer.Form.NFKD).toLowerCase(Locale.ROOT);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        decomposed.codePoints().forEach(codePoint -> {
+            switch (Character.getType(codePoint)) {
+                case Character.NON_SPACING_MARK, Character.ENCLOSING_MARK, Character.COMBINING_SPACING_MARK,
+                     Character.FORMAT, Character.CONTROL -> { }
+                default -> {
+                    String expansion = FOLD_EXPANSIONS.get(codePoint);
+                    if (expansion != null) {
+                        folded.append(expansion);
+                    } else {
+                        folded.appendCodePoint(codePoint);
+                    }
+                }
+            }
+        });
+        return stripTrailingSpaces(folded.toString());
+    }
+
+    private static String stripTrailingSpaces(String text) {
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    private static boolean isPrintableAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x20 || c > 0x7E) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Recent(String member, long time) {}
+}
@@ -0,0 +1,65 @@
+package com.campus.infrastructure.cache;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis二进制编码的类型注册表
+ *
+ * 每个可二进制编码的类型分配一个固定的数字ID和版本号，编码结果只记录ID和版本而不是类名。
+ * 字段按名称编码，新增或删除字段无需升级版本；字段类型或含义发生不兼容变化时应升级版本，
+ * 旧版本的缓存值在读取时按缺失处理。ID一经分配不得复用。注册在启动时完成，之后只读。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class RedisTypeRegistry {
+
+    private final Map<Class<?>, Registration> byType = new HashMap<>();
+    private final Map<Integer, Registration> byId = new HashMap<>();
+
+    /**
+     * 注册类型
+     *
+     * @param id      类型ID，正整数
+     * @param version 类型版本，从1开始
+     * @param type    类型（按精确类型匹配，子类需单独注册）
+     */
+    public RedisTypeRegistry register(int id, int version, Class<?> type) {
+        if (id <= 0 || version <= 0) {
+            throw new IllegalArgumentException("类型ID和版本必须为正整数: " + type.getName());
+        }
+        if (byId.containsKey(id)) {
+            throw new IllegalArgumentException("类型ID重复: " + id + " -> " + type.getName()
+                + ", 已注册为 " + byId.get(id).type().getName());
+        }
+        if (byType.containsKey(type)) {
+            throw new IllegalArgumentException("类型重复注册: " + type.getName());
+        }
+        Registration registration = new Registration(id, version, type);
+        byId.put(id, registration);
+        byType.put(type, registration);
+        return this;
+    }
+
+    @Nullable
+    public Registration forType(Class<?> type) {
+        return byType.get(type);
+    }
+
+    @Nullable
+    public Registration forId(int id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * 类型注册信息
+     */
+    public record Registration(int id, int version, Class<?> type) {}
+}
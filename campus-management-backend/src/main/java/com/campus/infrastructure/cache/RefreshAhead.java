@@ -0,0 +1,36 @@
+package com.campus.infrastructure.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 合并加载与提前刷新的缓存注解
+ * 适用于计算代价高、并发读取多的结果（如仪表盘统计），替代 {@code @Cacheable} 使用：
+ * <ul>
+ *     <li>缓存缺失时集群内同一个键只有一个请求执行方法，其余请求等待其结果</li>
+ *     <li>保鲜期（Redis过期时间 × campus.cache.refresh-ahead.fresh-ratio）临近结束时按概率提前在后台刷新，
+ *     保鲜期已过但Redis中仍有值时返回旧值并在后台刷新，读取方不会被刷新阻塞</li>
+ * </ul>
+ * 方法返回null或非成功的 {@code ApiResponse} 时不缓存，已有的旧值保留。清除仍使用 {@code @CacheEvict}。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RefreshAhead {
+
+    /**
+     * 缓存名称
+     */
+    String cacheName();
+
+    /**
+     * 缓存键SpEL表达式，为空时按方法参数生成（与 {@code @Cacheable} 的默认键一致）
+     */
+    String key() default "";
+}
@@ -0,0 +1,93 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.infrastructure.config.RefreshAheadConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并加载与提前刷新切面
+ * 处理 {@link RefreshAhead} 注解：解析缓存键，按缓存的Redis过期时间计算保鲜时间，交给 {@link RefreshAheadLoader} 读取。
+ * 后台刷新通过连接点再次执行原方法。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Aspect
+@Component
+public class RefreshAheadAspect {
+
+    private final CacheManager cacheManager;
+    private final RefreshAheadConfig config;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final RefreshAheadLoader loader;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    public RefreshAheadAspect(CacheManager cacheManager, RefreshAheadConfig config,
+                              DistributedCacheService cacheService, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.config = config;
+        this.refreshExecutor = new ThreadPoolExecutor(config.getRefreshThreads(), config.getRefreshThreads(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(config.getRefreshQueueCapacity()),
+            new CustomizableThreadFactory("cache-refresh-"), new ThreadPoolExecutor.AbortPolicy());
+        this.loader = new RefreshAheadLoader(cacheService, config, refreshExecutor, meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Around("@annotation(refreshAhead)")
+    public Object around(ProceedingJoinPoint point, RefreshAhead refreshAhead) throws Throwable {
+        if (!(cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager)) {
+            return point.proceed();
+        }
+        String cacheName = refreshAhead.cacheName();
+        TwoLevelCache cache = twoLevelCacheManager.getTwoLevelCache(cacheName);
+        if (cache == null) {
+            return point.proceed();
+        }
+
+        Duration remoteTtl = twoLevelCacheManager.getRemoteTtl(cacheName);
+        Duration freshFor = Duration.ofMillis((long) (remoteTtl.toMillis() * config.getFreshRatio()));
+        return loader.get(cache, resolveKey(point, refreshAhead), freshFor, point::proceed);
+    }
+
+    private Object resolveKey(ProceedingJoinPoint point, RefreshAhead refreshAhead) {
+        if (refreshAhead.key().isEmpty()) {
+            return SimpleKeyGenerator.generateKey(point.getArgs());
+        }
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        MethodBasedEvaluationContext context =
+                new MethodBasedEvaluationContext(point.getTarget(), method, point.getArgs(), parameterNameDiscoverer);
+        Object key = expressions.computeIfAbsent(refreshAhead.key(), parser::parseExpression).getValue(context);
+        if (key == null) {
+            throw new IllegalArgumentException("缓存键表达式结果为null: " + refreshAhead.key());
+        }
+        return key;
+    }
+}
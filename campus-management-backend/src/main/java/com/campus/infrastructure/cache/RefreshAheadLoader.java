@@ -0,0 +1,235 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.infrastructure.config.RefreshAheadConfig;
+import com.campus.shared.common.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 合并加载与提前刷新的缓存加载器
+ *
+ * 缓存值连同加载耗时和保鲜截止时间一起存放。缺失时节点内同一个键只有一个线程加载，其余线程等待同一结果；
+ * 该线程再通过Redis租约与其他节点协调，未取得租约时轮询等待持有者写入结果，超时或持有者失败后自行加载。
+ * 命中时按XFetch算法决定是否提前刷新：加载越慢、越接近保鲜截止时间，刷新概率越高，保鲜期已过则必定刷新。
+ * 刷新在后台线程中执行且同样需要租约，刷新完成前读取方继续得到旧值。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class RefreshAheadLoader {
+
+    static final String LEASE_KEY_PREFIX = "campus:cache:lease:";
+
+    private final DistributedCacheService cacheService;
+    private final RefreshAheadConfig config;
+    private final Executor refreshExecutor;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final Counter loadCounter;
+    private final Counter refreshCounter;
+    private final Counter coalescedCounter;
+    private final Counter staleCounter;
+
+    public RefreshAheadLoader(DistributedCacheService cacheService, RefreshAheadConfig config,
+                              Executor refreshExecutor, MeterRegistry meterRegistry) {
+        this.cacheService = cacheService;
+        this.config = config;
+        this.refreshExecutor = refreshExecutor;
+        this.loadCounter = counter(meterRegistry, "loads", "缓存缺失时同步加载次数");
+        this.refreshCounter = counter(meterRegistry, "refreshes", "后台提前刷新次数");
+        this.coalescedCounter = counter(meterRegistry, "coalesced", "等待其他线程或节点加载结果的次数");
+        this.staleCounter = counter(meterRegistry, "stale_reads", "保鲜期已过时返回旧值的次数");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder("campus.cache.refresh_ahead." + name)
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 数据源加载动作
+     */
+    @FunctionalInterface
+    public interface Loader {
+        @Nullable
+        Object load() throws Throwable;
+    }
+
+    /**
+     * 读取缓存，缺失时合并加载，临近过期时后台刷新
+     *
+     * @param freshFor 数据保鲜时间，应小于缓存在Redis中的过期时间
+     */
+    @Nullable
+    public Object get(Cache cache, Object key, Duration freshFor, Loader loader) throws Throwable {
+        String id = cache.getName() + "::" + key;
+        Entry entry = lookup(cache, key);
+        if (entry != null) {
+            long now = System.currentTimeMillis();
+            if (now >= entry.freshUntil()) {
+                staleCounter.increment();
+            }
+            if (shouldRefresh(entry, now)) {
+                refreshAsync(cache, key, id, freshFor, loader);
+            }
+            return entry.value();
+        }
+
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inflight.putIfAbsent(id, own);
+        if (existing != null) {
+            coalescedCounter.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+        try {
+            Object value = loadWithLease(cache, key, id, freshFor, loader);
+            own.complete(value);
+            return value;
+        } catch (Throwable e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(id, own);
+        }
+    }
+
+    /**
+     * XFetch提前刷新判定：now - loadMillis × beta × ln(rand) ≥ freshUntil
+     */
+    boolean shouldRefresh(Entry entry, long now) {
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return now - entry.loadMillis() * config.getBeta() * Math.log(random) >= entry.freshUntil();
+    }
+
+    @Nullable
+    private Object loadWithLease(Cache cache, Object key, String id, Duration freshFor, Loader loader) throws Throwable {
+        String leaseKey = LEASE_KEY_PREFIX + id;
+        String token = nodeId + ":" + Thread.currentThread().threadId();
+        if (cacheService.tryLock(leaseKey, token, config.getLeaseMs())) {
+            try {
+                return loadAndStore(cache, key, freshFor, loader);
+            } finally {
+                cacheService.releaseLock(leaseKey, token);
+            }
+        }
+
+        // 其他节点正在加载，等待其写入结果
+        coalescedCounter.increment();
+        long deadline = System.currentTimeMillis() + config.getWaitTimeoutMs();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(config.getPollIntervalMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Entry entry = lookup(cache, key);
+            if (entry != null) {
+                return entry.value();
+            }
+            if (!cacheService.exists(leaseKey)) {
+                break;
+            }
+        }
+        log.debug("等待其他节点加载缓存超时或加载失败，自行加载: {}", id);
+        return loadAndStore(cache, key, freshFor, loader);
+    }
+
+    private void refreshAsync(Cache cache, Object key, String id, Duration freshFor, Loader loader) {
+        if (!refreshing.add(id)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                String leaseKey = LEASE_KEY_PREFIX + id;
+                String token = nodeId + ":" + Thread.currentThread().threadId();
+                try {
+                    if (cacheService.tryLock(leaseKey, token, config.getLeaseMs())) {
+                        try {
+                            loadAndStore(cache, key, freshFor, loader);
+                            refreshCounter.increment();
+                        } finally {
+                            cacheService.releaseLock(leaseKey, token);
+                        }
+                    }
+                } catch (Throwable e) {
+                    log.warn("后台刷新缓存失败，继续使用旧值: {}", id, e);
+                } finally {
+                    refreshing.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(id);
+            log.debug("后台刷新队列已满，跳过本次刷新: {}", id);
+        }
+    }
+
+    @Nullable
+    private Object loadAndStore(Cache cache, Object key, Duration freshFor, Loader loader) throws Throwable {
+        long start = System.currentTimeMillis();
+        Object value = loader.load();
+        long now = System.currentTimeMillis();
+        loadCounter.increment();
+        if (isCacheable(value)) {
+            try {
+                cache.put(key, new Entry(value, now - start, now + freshFor.toMillis()));
+            } catch (RuntimeException e) {
+                log.warn("写入缓存失败: cache={}, key={}, error={}", cache.getName(), key, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 控制器方法捕获异常后返回的错误响应不缓存，读取方继续得到上一次的正常结果
+     */
+    private static boolean isCacheable(@Nullable Object value) {
+        if (value instanceof ApiResponse<?> response) {
+            return Integer.valueOf(200).equals(response.getCode());
+        }
+        return value != null;
+    }
+
+    @Nullable
+    private Entry lookup(Cache cache, Object key) {
+        try {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            return wrapper != null && wrapper.get() instanceof Entry entry ? entry : null;
+        } catch (RuntimeException e) {
+            log.warn("读取缓存失败，按缺失处理: cache={}, key={}, error={}", cache.getName(), key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param value      缓存值
+     * @param loadMillis 加载耗时（毫秒）
+     * @param freshUntil 保鲜截止时间戳（毫秒）
+     */
+    public record Entry(Object value, long loadMillis, long freshUntil) {}
+}
@@ -0,0 +1,83 @@
+package com.campus.infrastructure.cache;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 限速的批量缓存写入器
+ *
+ * 将键值按批次通过管道写入Redis，每批写入前从共享令牌桶中取得与键数相同的令牌，
+ * 多个线程共用同一个写入器时总写入速率不超过配置的每秒操作数。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class ThrottledCacheWriter {
+
+    private final DistributedCacheService cacheService;
+    private final Bucket bucket;
+    private final int batchSize;
+    private final LongAdder keysWritten = new LongAdder();
+
+    public ThrottledCacheWriter(DistributedCacheService cacheService, int opsPerSecond, int batchSize) {
+        if (opsPerSecond <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("缓存写入限速参数不合法");
+        }
+        this.cacheService = cacheService;
+        this.bucket = Bucket.builder()
+            .addLimit(Bandwidth.simple(opsPerSecond, Duration.ofSeconds(1)))
+            .build();
+        // 单批取用的令牌数不能超过桶容量，否则永远取不到
+        this.batchSize = Math.min(batchSize, opsPerSecond);
+    }
+
+    /**
+     * 写入单个键值
+     */
+    public void write(String key, Object value, long timeout, TimeUnit unit) {
+        writeAll(Map.of(key, value), timeout, unit);
+    }
+
+    /**
+     * 分批写入全部键值，必要时阻塞等待令牌
+     *
+     * @throws IllegalStateException 等待令牌时线程被中断
+     */
+    public void writeAll(Map<String, ?> entries, long timeout, TimeUnit unit) {
+        Map<String, Object> batch = new LinkedHashMap<>();
+        Iterator<? extends Map.Entry<String, ?>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, ?> entry = iterator.next();
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= batchSize || !iterator.hasNext()) {
+                flush(batch, timeout, unit);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 已写入的键数
+     */
+    public long getKeysWritten() {
+        return keysWritten.sum();
+    }
+
+    private void flush(Map<String, Object> batch, long timeout, TimeUnit unit) {
+        try {
+            bucket.asBlocking().consume(batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待缓存写入令牌时被中断", e);
+        }
+        cacheService.setAll(batch, timeout, unit);
+        keysWritten.add(batch.size());
+    }
+}
@@ -0,0 +1,363 @@
+package com.campus.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 二级缓存
+ *
+ * 一级为节点内的Caffeine缓存，二级为Redis缓存。读取依次查询本地和Redis，Redis命中后回填本地；
+ * 写入和删除先作用于Redis再更新本地，并通知其他节点删除各自的本地副本。
+ * 本地键使用与Redis键相同的字符串形式，便于通过失效通知跨节点定位。
+ * 通知与其他节点的并发回填之间存在很小的竞争窗口，由本地过期时间兜底。
+ * 配置了 {@link LocalValueCodec} 时本地按值保存序列化后的字节，每次读取反序列化出独立的实例，
+ * 调用方修改返回的对象不会影响其他线程读到的缓存值。
+ * 加载耗时对 {@code get(key, loader)} 直接计时；对先查询后写入的 {@code @Cacheable}，
+ * 记录同一线程从Redis未命中到紧接着写入同一个键的时间（中间有其他查询或超过一分钟的不计）。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    @Nullable
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final ConversionService conversionService;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final BiConsumer<String, String> entryRegistrar;
+    private final CacheMetrics metrics;
+    @Nullable
+    private final LocalValueCodec localCodec;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    /**
+     * 未命中到写入之间超过该时长的不视为一次加载（如结果为null未写入，之后同一线程又显式写入）
+     */
+    private static final long MAX_PENDING_LOAD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * @param local                 本地缓存，为null时不启用一级缓存
+     * @param remote                Redis缓存
+     * @param conversionService     缓存键转换服务（与Redis缓存一致）
+     * @param invalidationPublisher 失效通知发布者，参数为缓存名称和本地键（null表示清空）
+     * @param entryRegistrar        写入Redis后的登记回调（如缓存标签索引），参数为缓存名称和本地键
+     * @param metrics               加载、淘汰和值大小统计
+     */
+    public TwoLevelCache(String name, @Nullable com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote, ConversionService conversionService,
+                         BiConsumer<String, String> invalidationPublisher,
+                         BiConsumer<String, String> entryRegistrar, CacheMetrics metrics) {
+        this(name, local, remote, conversionService, invalidationPublisher, entryRegistrar, metrics, null);
+    }
+
+    /**
+     * @param localCodec 本地缓存的值编解码，为null时本地直接保存对象引用（仅适用于不可变的值）
+     */
+    public TwoLevelCache(String name, @Nullable com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote, ConversionService conversionService,
+                         BiConsumer<String, String> invalidationPublisher,
+                         BiConsumer<String, String> entryRegistrar, CacheMetrics metrics,
+                         @Nullable LocalValueCodec localCodec) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.conversionService = conversionService;
+        this.invalidationPublisher = invalidationPublisher;
+        this.entryRegistrar = entryRegistrar;
+        this.metrics = metrics;
+        this.localCodec = localCodec;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    @Nullable
+    protected Object lookup(Object key) {
+        // 上一次未命中后没有写入（如结果被unless排除），丢弃其记录，避免线程复用后误计
+        pendingLoad.remove();
+        String localKey = null;
+        if (local != null) {
+            localKey = toLocalKey(key);
+            Object stored = local.getIfPresent(localKey);
+            if (stored != null) {
+                localHits.increment();
+                return fromLocal(stored);
+            }
+            localMisses.increment();
+        }
+
+        // Redis和热点键副本每次返回新的实例，可以直接交给调用方
+        Object value = lookupRemote(key);
+        if (value != null && local != null) {
+            local.put(localKey, toLocal(value));
+        } else if (value == null) {
+            pendingLoad.set(new PendingLoad(localKey != null ? localKey : toLocalKey(key), System.nanoTime()));
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (local == null) {
+            return (T) loadThrough(key, valueLoader);
+        }
+
+        // 本线程加载的值直接返回，无需再从本地副本解码
+        Object[] loaded = new Object[1];
+        Object stored = local.get(toLocalKey(key), localKey -> {
+            Object value = loadThrough(key, valueLoader);
+            loaded[0] = value;
+            return value != null ? toLocal(value) : null;
+        });
+        if (loaded[0] != null) {
+            localMisses.increment();
+            return (T) loaded[0];
+        }
+        if (stored != null) {
+            localHits.increment();
+        } else {
+            localMisses.increment();
+        }
+        return (T) (stored != null ? fromLocal(stored) : null);
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remote.put(key, value);
+        String localKey = toLocalKey(key);
+        PendingLoad pending = pendingLoad.get();
+        if (pending != null) {
+            pendingLoad.remove();
+            long elapsed = System.nanoTime() - pending.startNanos();
+            if (pending.localKey().equals(localKey) && elapsed <= MAX_PENDING_LOAD_NANOS) {
+                metrics.recordLoad(elapsed);
+            }
+        }
+        if (value != null) {
+            metrics.recordPut(value);
+        }
+        entryRegistrar.accept(name, localKey);
+        if (local != null) {
+            local.put(localKey, toLocal(value));
+        }
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = toLocalKey(key);
+        Object current = existing != null ? existing.get() : value;
+        if (local != null && current != null) {
+            local.put(localKey, toLocal(current));
+        }
+        if (existing == null) {
+            if (value != null) {
+                metrics.recordPut(value);
+            }
+            entryRegistrar.accept(name, localKey);
+            invalidationPublisher.accept(name, localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = toLocalKey(key);
+        evictLocal(localKey);
+        metrics.recordExplicitEviction();
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        String localKey = toLocalKey(key);
+        evictLocal(localKey);
+        metrics.recordExplicitEviction();
+        invalidationPublisher.accept(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        clearLocal();
+        metrics.recordExplicitEviction();
+        invalidationPublisher.accept(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        clearLocal();
+        metrics.recordExplicitEviction();
+        invalidationPublisher.accept(name, null);
+        return invalidated;
+    }
+
+    /**
+     * 只删除本节点的本地副本（处理其他节点的失效通知）
+     */
+    public void evictLocal(String localKey) {
+        if (local != null) {
+            local.invalidate(localKey);
+        }
+    }
+
+    /**
+     * 只清空本节点的本地副本
+     */
+    public void clearLocal() {
+        if (local != null) {
+            local.invalidateAll();
+        }
+    }
+
+    public long getLocalSize() {
+        return local != null ? local.estimatedSize() : 0;
+    }
+
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getLocalMisses() {
+        return localMisses.sum();
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getRemoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    /**
+     * 本地缓存命中率
+     */
+    public double getLocalHitRatio() {
+        return ratio(getLocalHits(), getLocalMisses());
+    }
+
+    /**
+     * Redis缓存命中率（只统计本地未命中后的查询）
+     */
+    public double getRemoteHitRatio() {
+        return ratio(getRemoteHits(), getRemoteMisses());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    @Nullable
+    private Object lookupRemote(Object key) {
+        ValueWrapper wrapper = remote.get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null) {
+            remoteHits.increment();
+        } else {
+            remoteMisses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 依次查询Redis和数据源，数据源加载的非null结果写入Redis
+     */
+    @Nullable
+    private Object loadThrough(Object key, Callable<?> valueLoader) {
+        Object value = lookupRemote(key);
+        if (value != null) {
+            return value;
+        }
+        long start = System.nanoTime();
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        metrics.recordLoad(System.nanoTime() - start);
+        if (value != null) {
+            remote.put(key, value);
+            metrics.recordPut(value);
+            entryRegistrar.accept(name, toLocalKey(key));
+        }
+        return value;
+    }
+
+    private Object toLocal(Object value) {
+        return localCodec != null && value != null ? localCodec.encoder().apply(value) : value;
+    }
+
+    private Object fromLocal(Object stored) {
+        return localCodec != null ? localCodec.decoder().apply((byte[]) stored) : stored;
+    }
+
+    private String toLocalKey(Object key) {
+        return toLocalKey(key, conversionService);
+    }
+
+    /**
+     * 缓存键的字符串形式，与Redis缓存键中缓存名称之后的部分一致
+     */
+    static String toLocalKey(Object key, ConversionService conversionService) {
+        if (key instanceof String stringKey) {
+            return stringKey;
+        }
+        if (conversionService.canConvert(key.getClass(), String.class)) {
+            String converted = conversionService.convert(key, String.class);
+            if (converted != null) {
+                return converted;
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Redis未命中后等待写入的键，用于计算 {@code @Cacheable} 的加载耗时
+     */
+    private record PendingLoad(String localKey, long startNanos) {}
+
+    /**
+     * 本地缓存的值编解码，通常与Redis缓存使用同一个值序列化器
+     *
+     * @param encoder 写入本地前将值编码为字节
+     * @param decoder 每次读取时由字节解码出新的实例
+     */
+    public record LocalValueCodec(Function<Object, byte[]> encoder, Function<byte[], Object> decoder) {}
+}
@@ -0,0 +1,417 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.infrastructure.config.HotKeyConfig;
+import com.campus.infrastructure.config.TwoLevelCacheConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * 二级缓存管理器
+ *
+ * 每个缓存由节点内的Caffeine缓存和Redis缓存组成，本地容量和过期时间可按缓存单独配置，本地按序列化后的值保存。
+ * 写入、删除和清空通过Redis发布/订阅通知其他节点删除本地副本；未启用Redis消息监听时退化为单节点模式。
+ * 每个缓存分别统计本地和Redis两级的命中率，以及加载耗时、淘汰次数和值大小（见 {@link CacheMetrics}）；
+ * 通过 {@link CacheTags} 登记的条目可按标签精确失效。
+ * 启用热点键检测时，Redis一级由 {@link HotKeyReplicatingCache} 包装，热点键在各节点保留短过期时间的副本（见 {@link HotKeyDetector}）。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private static final String FIELD_NODE = "node";
+    private static final String FIELD_CACHE = "cache";
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_MEMBERS = "members";
+
+    private final RedisCacheManager remoteCacheManager;
+    private final Function<String, Duration> remoteTtlResolver;
+    private final ConversionService conversionService;
+    private final TwoLevelCacheConfig config;
+    private final DistributedCacheService cacheService;
+    private final InvalidationChannel invalidationChannel;
+    private final InvalidationChannel hotKeyChannel;
+    private final MeterRegistry meterRegistry;
+
+    private final CacheTagIndex tagIndex;
+    private final HotKeyConfig hotKeyConfig;
+    @Nullable
+    private final HotKeyDetector hotKeyDetector;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param remoteCacheManager Redis缓存管理器（二级）
+     * @param remoteTtlResolver  缓存名称到Redis过期时间的映射，用于限制本地过期时间
+     * @param conversionService  缓存键转换服务，与Redis缓存配置一致
+     */
+    public TwoLevelCacheManager(RedisCacheManager remoteCacheManager, Function<String, Duration> remoteTtlResolver,
+                                ConversionService conversionService, TwoLevelCacheConfig config,
+                                HotKeyConfig hotKeyConfig, RedisTemplate<String, Object> redisTemplate,
+                                DistributedCacheService cacheService,
+                                @Nullable RedisMessageListenerContainer listenerContainer,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.remoteTtlResolver = remoteTtlResolver;
+        this.conversionService = conversionService;
+        this.config = config;
+        this.cacheService = cacheService;
+        this.invalidationChannel = new InvalidationChannel(config.getInvalidationChannel(), redisTemplate,
+                listenerContainer);
+        this.hotKeyChannel = new InvalidationChannel(hotKeyConfig.getChannel(), redisTemplate, listenerContainer);
+        this.meterRegistry = meterRegistry;
+        this.tagIndex = new CacheTagIndex(redisTemplate, cacheService, Duration.ofSeconds(config.getTagTtlSeconds()),
+                config.getScanBatchSize());
+        this.hotKeyConfig = hotKeyConfig;
+        this.hotKeyDetector = hotKeyConfig.isEnabled()
+                ? new HotKeyDetector(hotKeyConfig, meterRegistry, this::announceHotKey) : null;
+    }
+
+    /**
+     * 订阅失效通知
+     */
+    @PostConstruct
+    public void subscribe() {
+        invalidationChannel.subscribe(this::onMessage);
+        if (hotKeyDetector != null) {
+            hotKeyChannel.subscribe(this::onHotKeyMessage);
+        }
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        invalidationChannel.unsubscribe();
+        hotKeyChannel.unsubscribe();
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        for (String name : remoteCacheManager.getCacheNames()) {
+            caches.add(createCache(name));
+        }
+        return caches;
+    }
+
+    @Override
+    @Nullable
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    /**
+     * 获取二级缓存实例（不经过事务装饰）
+     */
+    @Nullable
+    public TwoLevelCache getTwoLevelCache(String name) {
+        getCache(name);
+        return twoLevelCaches.get(name);
+    }
+
+    /**
+     * 缓存在Redis中的过期时间
+     */
+    public Duration getRemoteTtl(String name) {
+        return remoteTtlResolver.apply(name);
+    }
+
+    /**
+     * 按标签精确失效缓存条目
+     * 每批成员一次删除Redis条目并发送一条失效通知；
+     * 处于事务中时在提交后执行，避免提交前被其他请求用旧数据重新填充
+     */
+    public void evictByTags(String... tags) {
+        Runnable eviction = () -> {
+            for (String tag : tags) {
+                try {
+                    tagIndex.invalidate(tag, this::evictEntries);
+                } catch (Exception e) {
+                    log.warn("按标签失效缓存失败: tag={}, error={}", tag, e.getMessage());
+                }
+            }
+        };
+        InvalidationChannel.afterCommit(eviction);
+    }
+
+    /**
+     * 删除一批标签成员：Redis键与成员相同，批量删除后清理本节点副本，再通知其他节点
+     */
+    private void evictEntries(List<String> members) {
+        cacheService.delete(members);
+        for (String member : members) {
+            TwoLevelCache cache = getTwoLevelCache(CacheTagIndex.cacheNameOf(member));
+            if (cache != null) {
+                cache.getMetrics().recordExplicitEviction();
+            }
+        }
+        evictLocalMembers(members, true);
+        publishInvalidations(members);
+    }
+
+    /**
+     * 删除本节点成员对应的本地副本和热点键副本
+     *
+     * @param create 缓存尚未创建时是否创建（其他节点的通知不需要）
+     */
+    private void evictLocalMembers(Collection<?> members, boolean create) {
+        for (Object item : members) {
+            String member = item.toString();
+            if (member.indexOf(CacheTagIndex.KEY_SEPARATOR) <= 0) {
+                continue;
+            }
+            if (hotKeyDetector != null) {
+                hotKeyDetector.invalidate(member);
+            }
+            String cacheName = CacheTagIndex.cacheNameOf(member);
+            TwoLevelCache cache = create ? getTwoLevelCache(cacheName) : twoLevelCaches.get(cacheName);
+            if (cache != null) {
+                cache.evictLocal(CacheTagIndex.keyOf(member));
+            }
+        }
+    }
+
+    /**
+     * 各缓存两级命中、加载、淘汰和值大小统计
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        twoLevelCaches.forEach((name, cache) -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("localSize", cache.getLocalSize());
+            stats.put("localHits", cache.getLocalHits());
+            stats.put("localMisses", cache.getLocalMisses());
+            stats.put("localHitRatio", cache.getLocalHitRatio());
+            stats.put("remoteHits", cache.getRemoteHits());
+            stats.put("remoteMisses", cache.getRemoteMisses());
+            stats.put("remoteHitRatio", cache.getRemoteHitRatio());
+            stats.put("loads", cache.getMetrics().getLoadCount());
+            stats.put("averageLoadMillis", cache.getMetrics().getAverageLoadMillis());
+            stats.put("evictions", cache.getMetrics().getEvictions());
+            stats.put("averagePayloadBytes", cache.getMetrics().getAveragePayloadBytes());
+            statistics.put(name, stats);
+        });
+        return statistics;
+    }
+
+    /**
+     * 各缓存的效率报告
+     */
+    public List<CacheReport> getReports() {
+        List<CacheReport> reports = new ArrayList<>();
+        twoLevelCaches.forEach((name, cache) -> reports.add(CacheReport.of(cache)));
+        return reports;
+    }
+
+    /**
+     * 热点键检测器，未启用时为null
+     */
+    @Nullable
+    public HotKeyDetector getHotKeyDetector() {
+        return hotKeyDetector;
+    }
+
+    private TwoLevelCache createCache(String name) {
+        return twoLevelCaches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            if (remote == null) {
+                throw new IllegalStateException("无法创建Redis缓存: " + cacheName);
+            }
+            CacheMetrics metrics = new CacheMetrics(cacheName, meterRegistry, payloadSizer(remote),
+                    config.getPayloadSampleRate());
+            TwoLevelCache.LocalValueCodec codec = localCodec(remote);
+            Cache redis = hotKeyDetector != null
+                    ? new HotKeyReplicatingCache(remote, hotKeyDetector, conversionService, codec) : remote;
+            TwoLevelCache cache = new TwoLevelCache(cacheName, buildLocalCache(cacheName, metrics), redis,
+                    conversionService, this::publishInvalidation, tagIndex::register, metrics, codec);
+            registerMetrics(cache);
+            return cache;
+        });
+    }
+
+    /**
+     * 使用Redis缓存自身的值序列化器计算大小，与实际写入Redis的字节数一致
+     */
+    @Nullable
+    private static ToIntFunction<Object> payloadSizer(Cache remote) {
+        if (remote instanceof RedisCache redisCache) {
+            RedisSerializationContext.SerializationPair<Object> pair =
+                    redisCache.getCacheConfiguration().getValueSerializationPair();
+            return value -> pair.write(value).remaining();
+        }
+        return null;
+    }
+
+    /**
+     * 本地缓存和热点键副本按值保存：使用Redis缓存的值序列化器，缓存的实体和集合在读取方之间不共享
+     */
+    @Nullable
+    private static TwoLevelCache.LocalValueCodec localCodec(Cache remote) {
+        if (remote instanceof RedisCache redisCache) {
+            RedisSerializationContext.SerializationPair<Object> pair =
+                    redisCache.getCacheConfiguration().getValueSerializationPair();
+            return new TwoLevelCache.LocalValueCodec(value -> ByteUtils.getBytes(pair.write(value)),
+                    bytes -> pair.read(ByteBuffer.wrap(bytes)));
+        }
+        return null;
+    }
+
+    @Nullable
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> buildLocalCache(String name, CacheMetrics metrics) {
+        if (!config.isLocalEnabled()) {
+            return null;
+        }
+        TwoLevelCacheConfig.CacheSpec spec = config.getCaches().get(name);
+        int maxSize = spec != null && spec.getLocalMaxSize() != null ? spec.getLocalMaxSize() : config.getLocalMaxSize();
+        long ttlSeconds = spec != null && spec.getLocalTtlSeconds() != null
+                ? spec.getLocalTtlSeconds() : config.getLocalTtlSeconds();
+        if (maxSize <= 0 || ttlSeconds <= 0) {
+            return null;
+        }
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration remoteTtl = remoteTtlResolver.apply(name);
+        if (remoteTtl != null && !remoteTtl.isZero() && remoteTtl.compareTo(ttl) < 0) {
+            ttl = remoteTtl;
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String key, Object value, RemovalCause cause) -> metrics.recordLocalEviction(cause))
+                .build();
+    }
+
+    private void registerMetrics(TwoLevelCache cache) {
+        String name = cache.getName();
+        registerCounter(name, "local", "hit", cache, TwoLevelCache::getLocalHits);
+        registerCounter(name, "local", "miss", cache, TwoLevelCache::getLocalMisses);
+        registerCounter(name, "remote", "hit", cache, TwoLevelCache::getRemoteHits);
+        registerCounter(name, "remote", "miss", cache, TwoLevelCache::getRemoteMisses);
+        Gauge.builder("campus.cache.hit_ratio", cache, TwoLevelCache::getLocalHitRatio)
+                .description("缓存命中率")
+                .tag("cache", name)
+                .tag("level", "local")
+                .register(meterRegistry);
+        Gauge.builder("campus.cache.hit_ratio", cache, TwoLevelCache::getRemoteHitRatio)
+                .description("缓存命中率")
+                .tag("cache", name)
+                .tag("level", "remote")
+                .register(meterRegistry);
+        Gauge.builder("campus.cache.local.size", cache, TwoLevelCache::getLocalSize)
+                .description("本地缓存条目数")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private void registerCounter(String name, String level, String result, TwoLevelCache cache,
+                                 ToDoubleFunction<TwoLevelCache> count) {
+        FunctionCounter.builder("campus.cache.gets", cache, count)
+                .description("缓存查询次数")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void publishInvalidation(String cacheName, @Nullable String localKey) {
+        if (!invalidationChannel.isDistributed() || (!config.isLocalEnabled() && hotKeyDetector == null)) {
+            return;
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put(FIELD_NODE, nodeId);
+        message.put(FIELD_CACHE, cacheName);
+        message.put(FIELD_KEY, localKey);
+        invalidationChannel.publish(message);
+    }
+
+    /**
+     * 一批条目的失效通知，成员格式为 {@code 缓存名称::键}
+     */
+    private void publishInvalidations(List<String> members) {
+        if (!invalidationChannel.isDistributed() || (!config.isLocalEnabled() && hotKeyDetector == null)) {
+            return;
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put(FIELD_NODE, nodeId);
+        message.put(FIELD_MEMBERS, new ArrayList<>(members));
+        invalidationChannel.publish(message);
+    }
+
+    private void onMessage(Object body) {
+        if (!(body instanceof Map<?, ?> payload) || nodeId.equals(payload.get(FIELD_NODE))) {
+            return;
+        }
+        if (payload.get(FIELD_MEMBERS) instanceof Collection<?> members) {
+            evictLocalMembers(members, false);
+            return;
+        }
+        String cacheName = String.valueOf(payload.get(FIELD_CACHE));
+        Object key = payload.get(FIELD_KEY);
+        if (hotKeyDetector != null) {
+            if (key == null) {
+                hotKeyDetector.invalidatePrefix(cacheName + CacheTagIndex.KEY_SEPARATOR);
+            } else {
+                hotKeyDetector.invalidate(cacheName + CacheTagIndex.KEY_SEPARATOR + key);
+            }
+        }
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key.toString());
+        }
+    }
+
+    private void announceHotKey(String key) {
+        if (!hotKeyChannel.isDistributed()) {
+            return;
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put(FIELD_NODE, nodeId);
+        message.put(FIELD_KEY, key);
+        hotKeyChannel.publish(message);
+    }
+
+    private void onHotKeyMessage(Object body) {
+        if (!(body instanceof Map<?, ?> payload) || nodeId.equals(payload.get(FIELD_NODE))
+                || payload.get(FIELD_KEY) == null) {
+            return;
+        }
+        hotKeyDetector.markRemote(payload.get(FIELD_KEY).toString());
+    }
+}
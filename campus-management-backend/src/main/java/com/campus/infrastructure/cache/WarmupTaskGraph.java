@@ -0,0 +1,212 @@
+package com.campus.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 缓存预热任务图
+ *
+ * 每个任务有优先级（数值越小越先开始）和依赖任务。执行时按依赖拓扑排序、同层按优先级排列后
+ * 依次提交到有界线程池：线程池按提交顺序取任务，因此最热的数据最先预热；依赖未完成的任务在依赖
+ * 全部成功后才会执行，依赖失败时跳过。每张图只能执行一次，执行过程中可随时读取进度快照。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public final class WarmupTaskGraph {
+
+    /**
+     * 执行状态
+     */
+    public enum State { PENDING, RUNNING, COMPLETED, FAILED }
+
+    private final String name;
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final Set<String> runningTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private volatile State state = State.PENDING;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public WarmupTaskGraph(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 添加任务，依赖的任务必须已经添加
+     *
+     * @param taskName  任务名称
+     * @param priority  优先级，数值越小越先开始
+     * @param action    预热动作，抛出异常视为任务失败
+     * @param dependsOn 依赖的任务名称
+     */
+    public WarmupTaskGraph add(String taskName, int priority, Runnable action, String... dependsOn) {
+        if (tasks.containsKey(taskName)) {
+            throw new IllegalArgumentException("预热任务重复: " + taskName);
+        }
+        for (String dependency : dependsOn) {
+            if (!tasks.containsKey(dependency)) {
+                throw new IllegalArgumentException("预热任务 " + taskName + " 依赖的任务不存在: " + dependency);
+            }
+        }
+        tasks.put(taskName, new Task(taskName, priority, action, List.of(dependsOn)));
+        return this;
+    }
+
+    /**
+     * 提交全部任务
+     *
+     * @return 全部任务结束（无论成功失败）时完成的Future
+     */
+    public synchronized CompletableFuture<Void> execute(Executor executor) {
+        if (state != State.PENDING) {
+            throw new IllegalStateException("预热任务图只能执行一次: " + name);
+        }
+        state = State.RUNNING;
+        startedAt = System.currentTimeMillis();
+
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        for (Task task : executionOrder()) {
+            CompletableFuture<Void> future;
+            if (task.dependsOn.isEmpty()) {
+                future = CompletableFuture.runAsync(() -> run(task), executor);
+            } else {
+                CompletableFuture<?>[] dependencies = task.dependsOn.stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+                future = CompletableFuture.allOf(dependencies)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            skipped.incrementAndGet();
+                            log.warn("预热任务因依赖失败被跳过: {}/{}", name, task.name);
+                        }
+                    })
+                    .thenRunAsync(() -> run(task), executor);
+            }
+            futures.put(task.name, future);
+        }
+
+        return CompletableFuture.allOf(futures.values().stream()
+                .map(future -> future.exceptionally(error -> null))
+                .toArray(CompletableFuture[]::new))
+            .whenComplete((ignored, error) -> {
+                finishedAt = System.currentTimeMillis();
+                state = failed.get() + skipped.get() > 0 ? State.FAILED : State.COMPLETED;
+                log.info("缓存预热 {} 结束: 状态={}, 成功={}, 失败={}, 跳过={}, 耗时={}ms",
+                    name, state, completed.get(), failed.get(), skipped.get(), finishedAt - startedAt);
+            });
+    }
+
+    /**
+     * 当前进度快照
+     */
+    public Progress getProgress() {
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        return new Progress(name, state, tasks.size(), completed.get(), failed.get(), skipped.get(),
+            List.copyOf(runningTasks), startedAt > 0 ? end - startedAt : 0);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 按依赖拓扑排序，可同时开始的任务中优先级高的排在前面
+     */
+    private List<Task> executionOrder() {
+        Map<String, Integer> remaining = new HashMap<>();
+        Map<String, List<Task>> dependents = new HashMap<>();
+        PriorityQueue<Task> ready = new PriorityQueue<>(
+            Comparator.comparingInt((Task task) -> task.priority).thenComparingInt(task -> task.sequence));
+        for (Task task : tasks.values()) {
+            remaining.put(task.name, task.dependsOn.size());
+            for (String dependency : task.dependsOn) {
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(task);
+            }
+            if (task.dependsOn.isEmpty()) {
+                ready.add(task);
+            }
+        }
+
+        List<Task> order = new ArrayList<>(tasks.size());
+        while (!ready.isEmpty()) {
+            Task task = ready.poll();
+            order.add(task);
+            for (Task dependent : dependents.getOrDefault(task.name, List.of())) {
+                if (remaining.merge(dependent.name, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private void run(Task task) {
+        runningTasks.add(task.name);
+        long start = System.currentTimeMillis();
+        try {
+            task.action.run();
+            completed.incrementAndGet();
+            log.debug("预热任务完成: {}/{}, 耗时={}ms", name, task.name, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("预热任务失败: {}/{}", name, task.name, e);
+            throw e;
+        } finally {
+            runningTasks.remove(task.name);
+        }
+    }
+
+    /**
+     * 预热进度
+     *
+     * @param name         任务图名称
+     * @param state        执行状态
+     * @param totalTasks   任务总数
+     * @param completed    已成功的任务数
+     * @param failed       失败的任务数
+     * @param skipped      因依赖失败跳过的任务数
+     * @param runningTasks 正在执行的任务
+     * @param elapsedMs    已耗时（毫秒）
+     */
+    public record Progress(String name, State state, int totalTasks, int completed, int failed, int skipped,
+                           List<String> runningTasks, long elapsedMs) {
+
+        /**
+         * 完成百分比（0-100），失败和跳过的任务也计入已结束
+         */
+        public int percent() {
+            return totalTasks == 0 ? 100 : (completed + failed + skipped) * 100 / totalTasks;
+        }
+    }
+
+    private final class Task {
+        private final String name;
+        private final int priority;
+        private final int sequence = tasks.size();
+        private final Runnable action;
+        private final List<String> dependsOn;
+
+        private Task(String name, int priority, Runnable action, List<String> dependsOn) {
+            this.name = name;
+            this.priority = priority;
+            this.action = action;
+            this.dependsOn = dependsOn;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 审计日志异步写入配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.audit-log")
+public class AuditLogConfig {
+
+    /**
+     * 环形缓冲区容量（待写入的审计日志条数）
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 单条INSERT语句最多写入的行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 未凑满一批时的最长等待时间（毫秒）
+     */
+    private long flushIntervalMs = 1000;
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+    /**
+     * BLOCK策略下请求线程最长等待时间（毫秒），超时后丢弃
+     */
+    private long blockTimeoutMs = 50;
+
+    /**
+     * 溢出及写库失败的审计日志落盘目录，恢复后由定时任务回放入库
+     */
+    private String spillDirectory = System.getProperty("java.io.tmpdir") + "/campus/audit-spill";
+
+    /**
+     * 落盘文件回放入库的间隔（毫秒）
+     */
+    private long replayIntervalMs = 60000;
+
+    /**
+     * 关闭时等待缓冲区写完的最长时间（毫秒），超时剩余部分落盘
+     */
+    private long shutdownTimeoutMs = 10000;
+
+    public enum OverflowPolicy {
+        /**
+         * 请求线程阻塞等待，超时丢弃
+         */
+        BLOCK,
+        /**
+         * 直接丢弃并计数
+         */
+        DROP,
+        /**
+         * 在请求线程序列化后追加到本地文件
+         */
+        SPILL
+    }
+}
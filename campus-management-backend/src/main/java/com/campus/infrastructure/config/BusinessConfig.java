@@ -401,6 +401,11 @@ public class BusinessConfig {
          */
         private String[] ipWhitelist = {};
 
+        /**
+         * 可信反向代理（IP或CIDR），只有来自这些地址的请求才采信X-Forwarded-For
+         */
+        private String[] trustedProxies = {};
+
         // Getters and Setters
         public boolean isCaptchaEnabled() {
             return captchaEnabled;
@@ -433,6 +438,14 @@ public class BusinessConfig {
         public void setIpWhitelist(String[] ipWhitelist) {
             this.ipWhitelist = ipWhitelist;
         }
+
+        public String[] getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(String[] trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
     }
 
     /**
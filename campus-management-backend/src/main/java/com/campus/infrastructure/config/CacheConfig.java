@@ -1,15 +1,27 @@
 package com.campus.infrastructure.config;
 
+import com.campus.infrastructure.cache.BinaryRedisSerializer;
+import com.campus.infrastructure.cache.DistributedCacheService;
+import com.campus.infrastructure.cache.RedisTypeRegistry;
+import com.campus.infrastructure.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -18,7 +30,7 @@ import java.util.Map;
 
 /**
  * 缓存配置类
- * 配置Redis缓存管理器和不同类型数据的缓存策略
+ * 配置二级缓存管理器（本地Caffeine + Redis）和不同类型数据的缓存策略
  * 
  * @author Campus Management Team
  * @since 2025-06-20
@@ -48,101 +60,137 @@ public class CacheConfig {
     public static final String CACHE_STATISTICS = "statistics";
 
     /**
-     * Redis缓存管理器
+     * 缓存标签：依赖全部同类数据的汇总结果（计数、分组统计等）登记类型名，单个实体的缓存按键直接删除
+     */
+    public static final String TAG_COURSE = "course";
+    public static final String TAG_STUDENT = "student";
+
+    /**
+     * 二级缓存管理器（本地Caffeine + Redis）
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        // 默认缓存配置
-        RedisCacheConfiguration defaultConfig = createCacheConfiguration(
-            Duration.ofSeconds(businessConfig.getCache().getDefaultTtl())
-        );
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                     TwoLevelCacheConfig twoLevelCacheConfig,
+                                     HotKeyConfig hotKeyConfig,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     DistributedCacheService distributedCacheService,
+                                     ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                     MeterRegistry meterRegistry,
+                                     ObjectMapper objectMapper,
+                                     RedisTypeRegistry redisTypeRegistry) {
+        Duration defaultTtl = Duration.ofSeconds(businessConfig.getCache().getDefaultTtl());
+        Map<String, Duration> ttls = createCacheTtls();
+        twoLevelCacheConfig.getCaches().forEach((cacheName, spec) -> {
+            if (spec.getTtlSeconds() != null) {
+                ttls.put(cacheName, Duration.ofSeconds(spec.getTtlSeconds()));
+            }
+        });
 
-        // 不同类型数据的缓存配置
+        RedisSerializer<Object> valueSerializer = new GenericJackson2JsonRedisSerializer();
+        if (twoLevelCacheConfig.getCodec() == TwoLevelCacheConfig.Codec.BINARY) {
+            valueSerializer = new BinaryRedisSerializer(objectMapper, redisTypeRegistry, valueSerializer);
+        }
+        RedisSerializer<Object> cacheValueSerializer = valueSerializer;
+        RedisCacheConfiguration defaultConfig = createCacheConfiguration(defaultTtl, cacheValueSerializer);
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        
+        ttls.forEach((cacheName, ttl) ->
+            cacheConfigurations.put(cacheName, createCacheConfiguration(ttl, cacheValueSerializer)));
+
+        // 清空缓存（allEntries）使用SCAN分批删除，避免KEYS阻塞Redis
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(redisConnectionFactory,
+            BatchStrategies.scan(twoLevelCacheConfig.getScanBatchSize()));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+            .cacheDefaults(defaultConfig)
+            .withInitialCacheConfigurations(cacheConfigurations)
+            .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager,
+            cacheName -> ttls.getOrDefault(cacheName, defaultTtl), defaultConfig.getConversionService(),
+            twoLevelCacheConfig, hotKeyConfig, redisTemplate, distributedCacheService, listenerContainer.getIfAvailable(),
+            meterRegistry);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * 不同类型数据的Redis过期时间
+     */
+    private Map<String, Duration> createCacheTtls() {
+        Map<String, Duration> ttls = new HashMap<>();
+
         // 用户缓存 - 1小时
-        cacheConfigurations.put(CACHE_USER, createCacheConfiguration(
-            Duration.ofSeconds(businessConfig.getCache().getUserTtl())
-        ));
-        
+        ttls.put(CACHE_USER, Duration.ofSeconds(businessConfig.getCache().getUserTtl()));
         // 学生缓存 - 30分钟
-        cacheConfigurations.put(CACHE_STUDENT, createCacheConfiguration(
-            Duration.ofMinutes(30)
-        ));
-        
+        ttls.put(CACHE_STUDENT, Duration.ofMinutes(30));
         // 教师缓存 - 1小时
-        cacheConfigurations.put(CACHE_TEACHER, createCacheConfiguration(
-            Duration.ofHours(1)
-        ));
-        
+        ttls.put(CACHE_TEACHER, Duration.ofHours(1));
         // 课程缓存 - 2小时
-        cacheConfigurations.put(CACHE_COURSE, createCacheConfiguration(
-            Duration.ofSeconds(businessConfig.getCache().getCourseTtl())
-        ));
-        
+        ttls.put(CACHE_COURSE, Duration.ofSeconds(businessConfig.getCache().getCourseTtl()));
         // 班级缓存 - 1小时
-        cacheConfigurations.put(CACHE_CLASS, createCacheConfiguration(
-            Duration.ofHours(1)
-        ));
-        
+        ttls.put(CACHE_CLASS, Duration.ofHours(1));
         // 专业缓存 - 4小时
-        cacheConfigurations.put(CACHE_MAJOR, createCacheConfiguration(
-            Duration.ofHours(4)
-        ));
-        
+        ttls.put(CACHE_MAJOR, Duration.ofHours(4));
         // 学院缓存 - 4小时
-        cacheConfigurations.put(CACHE_DEPARTMENT, createCacheConfiguration(
-            Duration.ofHours(4)
-        ));
-        
+        ttls.put(CACHE_DEPARTMENT, Duration.ofHours(4));
         // 成绩缓存 - 30分钟
-        cacheConfigurations.put(CACHE_GRADE, createCacheConfiguration(
-            Duration.ofMinutes(30)
-        ));
-        
+        ttls.put(CACHE_GRADE, Duration.ofMinutes(30));
         // 课程表缓存 - 1小时
-        cacheConfigurations.put(CACHE_SCHEDULE, createCacheConfiguration(
-            Duration.ofHours(1)
-        ));
-        
+        ttls.put(CACHE_SCHEDULE, Duration.ofHours(1));
         // 通知缓存 - 15分钟
-        cacheConfigurations.put(CACHE_NOTIFICATION, createCacheConfiguration(
-            Duration.ofMinutes(15)
-        ));
-        
+        ttls.put(CACHE_NOTIFICATION, Duration.ofMinutes(15));
         // 系统配置缓存 - 24小时
-        cacheConfigurations.put(CACHE_SYSTEM_CONFIG, createCacheConfiguration(
-            Duration.ofSeconds(businessConfig.getCache().getConfigTtl())
-        ));
-        
+        ttls.put(CACHE_SYSTEM_CONFIG, Duration.ofSeconds(businessConfig.getCache().getConfigTtl()));
         // 权限缓存 - 15分钟
-        cacheConfigurations.put(CACHE_PERMISSION, createCacheConfiguration(
-            Duration.ofMinutes(15)
-        ));
-        
+        ttls.put(CACHE_PERMISSION, Duration.ofMinutes(15));
         // 统计数据缓存 - 5分钟
-        cacheConfigurations.put(CACHE_STATISTICS, createCacheConfiguration(
-            Duration.ofMinutes(5)
-        ));
+        ttls.put(CACHE_STATISTICS, Duration.ofMinutes(5));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
-            .cacheDefaults(defaultConfig)
-            .withInitialCacheConfigurations(cacheConfigurations)
-            .transactionAware()
-            .build();
+        // 仪表盘统计数据 - 5分钟，频繁更新
+        ttls.put("dashboard:stats", Duration.ofMinutes(5));
+        // 以下仪表盘缓存使用@RefreshAhead，保鲜时间为Redis过期时间的一半（fresh-ratio），
+        // 剩余一半时间内后台刷新，读取方拿到上一次的结果
+        // 服务层统计 - 保鲜5分钟
+        ttls.put("dashboard:service:stats", Duration.ofMinutes(10));
+        // 图表数据 - 保鲜10分钟，相对稳定
+        ttls.put("dashboard:chart-data", Duration.ofMinutes(10));
+        ttls.put("dashboard:charts", Duration.ofMinutes(20));
+        // 活动数据 - 保鲜3分钟，实时性要求高
+        ttls.put("dashboard:activities", Duration.ofMinutes(6));
+        // 通知数据 - 保鲜2分钟，实时性要求很高
+        ttls.put("dashboard:notifications", Duration.ofMinutes(4));
+        // 快速统计 - 保鲜1分钟，实时性要求最高
+        ttls.put("dashboard:quick-stats", Duration.ofMinutes(2));
+        // 用户相关缓存 - 15分钟
+        ttls.put("user:info", Duration.ofMinutes(15));
+        ttls.put("user:permissions", Duration.ofMinutes(15));
+        // 学生数据缓存 - 20分钟，变化不频繁
+        ttls.put("student:list", Duration.ofMinutes(20));
+        ttls.put("student:count", Duration.ofMinutes(20));
+        ttls.put("student:grade-stats", Duration.ofMinutes(20));
+        // 课程、班级数据缓存 - 30分钟，相对稳定
+        ttls.put("course:list", Duration.ofMinutes(30));
+        ttls.put("course:count", Duration.ofMinutes(30));
+        ttls.put("class:list", Duration.ofMinutes(30));
+        ttls.put("class:count", Duration.ofMinutes(30));
+        // 缴费记录缓存 - 10分钟，有一定变化
+        ttls.put("payment:stats", Duration.ofMinutes(10));
+        ttls.put("payment:records", Duration.ofMinutes(10));
+
+        return ttls;
     }
 
     /**
      * 创建缓存配置
      */
-    private RedisCacheConfiguration createCacheConfiguration(Duration ttl) {
+    private RedisCacheConfiguration createCacheConfiguration(Duration ttl, RedisSerializer<Object> valueSerializer) {
         return RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(ttl)
             .disableCachingNullValues()
             .serializeKeysWith(RedisSerializationContext.SerializationPair
                 .fromSerializer(new StringRedisSerializer()))
             .serializeValuesWith(RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .fromSerializer(valueSerializer));
     }
 
     /**
@@ -298,11 +346,12 @@ public class CacheConfig {
 
         /**
          * 清除课程相关的所有缓存
+         * 课程实体按键删除，依赖全部课程的汇总缓存按标签（course）删除，
+         * 汇总类缓存需通过 {@link com.campus.infrastructure.cache.CacheTags} 登记标签
          */
         public void clearCourseRelatedCaches(Long courseId) {
             evictCache(CACHE_COURSE, courseId);
-            clearCache(CACHE_SCHEDULE); // 课程表可能受影响
-            clearCache(CACHE_STATISTICS); // 统计数据可能受影响
+            evictByTags(TAG_COURSE);
         }
 
         /**
@@ -311,7 +360,16 @@ public class CacheConfig {
         public void clearStudentRelatedCaches(Long studentId) {
             evictCache(CACHE_STUDENT, studentId);
             evictCache(CACHE_GRADE, studentId);
-            clearCache(CACHE_STATISTICS); // 统计数据可能受影响
+            evictByTags(TAG_STUDENT);
+        }
+
+        /**
+         * 按标签失效缓存条目
+         */
+        public void evictByTags(String... tags) {
+            if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+                twoLevelCacheManager.evictByTags(tags);
+            }
         }
     }
 }
@@ -0,0 +1,37 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缓存预热配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.cache.warmup")
+public class CacheWarmupConfig {
+
+    /**
+     * 应用启动完成后是否在后台执行全量预热
+     */
+    private boolean onStartup = true;
+
+    /**
+     * 预热线程数，同时执行的预热任务不超过该值
+     */
+    private int threads = 4;
+
+    /**
+     * 预热写入Redis的限速（每秒写入的键数），避免预热挤占线上请求的Redis带宽
+     */
+    private int redisOpsPerSecond = 2000;
+
+    /**
+     * 每个管道批次写入的键数，同时是批量查询用户权限时每次查询的用户数
+     */
+    private int batchSize = 200;
+}
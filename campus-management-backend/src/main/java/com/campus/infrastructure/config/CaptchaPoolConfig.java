@@ -0,0 +1,27 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 验证码预渲染池配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.security.captcha.pool")
+public class CaptchaPoolConfig {
+
+    /**
+     * 是否启用预渲染池，关闭时每次请求现场渲染
+     */
+    private boolean enabled = true;
+
+    /**
+     * 池中最多保留的预渲染验证码数量
+     */
+    private int size = 500;
+}
@@ -0,0 +1,72 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 热点键检测与本地副本配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.cache.hot-key")
+public class HotKeyConfig {
+
+    /**
+     * 是否启用，关闭后Redis读取不做抽样统计，也不保留本地副本
+     */
+    private boolean enabled = true;
+
+    /**
+     * 抽样率：每多少次Redis读取抽样统计一次
+     */
+    private int sampleRate = 8;
+
+    /**
+     * 滑动窗口长度（毫秒）
+     */
+    private long windowMs = 10000;
+
+    /**
+     * 滑动窗口切分的片数，每经过 windowMs / windowSlices 丢弃最旧的一片
+     */
+    private int windowSlices = 5;
+
+    /**
+     * 判定为热点键的窗口内读取次数（按抽样率折算后的本节点估计值）
+     */
+    private long threshold = 2000;
+
+    /**
+     * Count-Min Sketch 每行计数器数
+     */
+    private int sketchWidth = 4096;
+
+    /**
+     * Count-Min Sketch 行数
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * 同时跟踪的热点键上限
+     */
+    private int maxHotKeys = 200;
+
+    /**
+     * 热点键本地副本的过期时间（毫秒），也是跨节点失效通知丢失时的最长不一致时间
+     */
+    private long localTtlMs = 2000;
+
+    /**
+     * 热点键本地副本最大条目数
+     */
+    private int localMaxSize = 1000;
+
+    /**
+     * 热点键跨节点广播频道，收到广播的节点同样为该键保留本地副本
+     */
+    private String channel = "campus:cache:hot-key";
+}
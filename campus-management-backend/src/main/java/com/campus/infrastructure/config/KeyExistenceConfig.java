@@ -0,0 +1,42 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缓存穿透防护配置类（键存在性过滤器 + 不存在结果缓存）
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.cache.existence")
+public class KeyExistenceConfig {
+
+    /**
+     * 是否启用，关闭后所有查询直接访问数据库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 布隆过滤器预期容纳的键数（用户、学生、课程、院系的主键和业务编号合计），重建时不小于实际数量的两倍
+     */
+    private long expectedEntries = 200000;
+
+    /**
+     * 布隆过滤器目标误判率，误判的键仍会查询数据库并写入不存在结果缓存
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * 从数据库全量重建布隆过滤器的间隔（毫秒），用于补齐绕过实体监听器的写入
+     */
+    private long rebuildIntervalMs = 3600000;
+
+    /**
+     * 不存在结果在Redis中的缓存时间（秒）
+     */
+    private long negativeTtlSeconds = 60;
+}
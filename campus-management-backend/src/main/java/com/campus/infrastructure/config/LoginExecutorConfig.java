@@ -0,0 +1,37 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 登录密码校验线程池配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.security.login-executor")
+public class LoginExecutorConfig {
+
+    /**
+     * 密码校验线程数，0表示取CPU核数（BCrypt为纯CPU计算，线程数超过核数只会增加排队）
+     */
+    private int threads = 0;
+
+    /**
+     * 等待队列容量，队列满时直接拒绝登录请求
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 请求线程等待校验结果的最长时间（毫秒），超时按繁忙拒绝
+     */
+    private long waitTimeoutMs = 3000;
+
+    /**
+     * 登录成功后将密码哈希重算到的BCrypt强度（4-31），0表示不重算
+     */
+    private int rehashCost = 0;
+}
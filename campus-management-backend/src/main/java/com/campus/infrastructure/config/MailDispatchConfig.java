@@ -0,0 +1,72 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 邮件分发引擎配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.mail.dispatch")
+public class MailDispatchConfig {
+
+    /**
+     * 待发送队列容量，队列满时提交方会被阻塞（背压）
+     */
+    private int queueCapacity = 5000;
+
+    /**
+     * 发送工作线程数
+     */
+    private int workerCount = 4;
+
+    /**
+     * 单次SMTP会话最多发送的邮件数
+     */
+    private int batchSize = 50;
+
+    /**
+     * 队列满时提交方最长等待时间（毫秒），超时则拒绝
+     */
+    private long enqueueTimeoutMs = 2000;
+
+    /**
+     * 每个收件域名每秒最多发送的邮件数
+     */
+    private int domainRatePerSecond = 20;
+
+    /**
+     * 同时保留限速令牌桶的收件域名上限，超出时淘汰最少使用的域名
+     */
+    private int maxDomainBuckets = 10000;
+
+    /**
+     * 收件域名闲置超过该时间（毫秒）后丢弃其令牌桶，再次发送时按满桶重建
+     */
+    private long domainBucketIdleMs = 600000;
+
+    /**
+     * 最大发送尝试次数（含首次发送）
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 首次重试退避时间（毫秒），之后按指数增长
+     */
+    private long initialBackoffMs = 2000;
+
+    /**
+     * 最大重试退避时间（毫秒）
+     */
+    private long maxBackoffMs = 60000;
+
+    /**
+     * 关闭时等待队列排空的最长时间（毫秒）
+     */
+    private long shutdownTimeoutMs = 10000;
+}
@@ -0,0 +1,27 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 权限矩阵配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.security.permission-matrix")
+public class PermissionMatrixConfig {
+
+    /**
+     * 用户角色位图缓存有效期（秒），跨节点失效通知丢失时以此兜底
+     */
+    private int userMaskTtlSeconds = 300;
+
+    /**
+     * 每个节点最多缓存的用户角色位图数
+     */
+    private int maxUsers = 10000;
+}
@@ -0,0 +1,42 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 实时推送（SSE）配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.push")
+public class PushConfig {
+
+    /**
+     * 是否启用SSE推送
+     */
+    private boolean enabled = true;
+
+    /**
+     * SSE连接最长保持时间（毫秒），到期后由客户端自动重连
+     */
+    private long connectionTimeoutMs = 30 * 60 * 1000L;
+
+    /**
+     * 心跳间隔（秒），心跳发送失败的连接会被清理
+     */
+    private int heartbeatSeconds = 25;
+
+    /**
+     * 每个用户最多保持的连接数，超出时关闭最早的连接
+     */
+    private int maxConnectionsPerUser = 5;
+
+    /**
+     * 客户端断线重连等待时间（毫秒）
+     */
+    private long reconnectDelayMs = 3000;
+}
@@ -43,6 +43,16 @@ public class RateLimitConfig {
      */
     private UserConfig user = new UserConfig();
 
+    /**
+     * 限流过滤器令牌桶存储配置
+     */
+    private BucketStoreConfig bucketStore = new BucketStoreConfig();
+
+    /**
+     * 注解限流（GCRA）配置
+     */
+    private GcraConfig gcra = new GcraConfig();
+
     @Data
     public static class GlobalConfig {
         /**
@@ -129,4 +139,50 @@ public class RateLimitConfig {
          */
         private int adminCount = 1000;
     }
+
+    @Data
+    public static class BucketStoreConfig {
+        /**
+         * 本地最多保留的令牌桶数量，超出时淘汰最久未访问的桶
+         */
+        private int maxBuckets = 100000;
+
+        /**
+         * 存储分段数，降低并发请求间的锁竞争
+         */
+        private int segments = 16;
+
+        /**
+         * 过期令牌桶清理间隔（毫秒）
+         */
+        private long purgeIntervalMs = 60000;
+    }
+
+    @Data
+    public static class GcraConfig {
+        /**
+         * 是否启用本地预过滤：Redis判定拒绝后，在其给出的重试时间之前直接在本地拒绝
+         */
+        private boolean localPreFilter = true;
+
+        /**
+         * 本地最多跟踪的限流key数量
+         */
+        private int maxLocalKeys = 50000;
+
+        /**
+         * 热点key阈值：单个key在本节点每秒调用次数达到该值后，按批次向Redis申请配额
+         */
+        private int hotKeyThreshold = 50;
+
+        /**
+         * 单次批量申请的最大配额数（同时不超过窗口配额的1/10）
+         */
+        private int maxLease = 10;
+
+        /**
+         * 批量申请的配额在本地的有效期（毫秒），过期未用完的配额直接作废
+         */
+        private long leaseTtlMs = 200;
+    }
 }
@@ -6,12 +6,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -20,9 +17,7 @@ import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Redis集群配置
@@ -61,34 +56,6 @@ public class RedisClusterConfig {
      */
     private String password;
 
-    /**
-     * 缓存配置
-     */
-    private Cache cache = new Cache();
-
-    @Data
-    public static class Cache {
-        /**
-         * 默认过期时间（秒）
-         */
-        private long defaultExpiration = 3600;
-
-        /**
-         * 缓存名称和过期时间映射
-         */
-        private Map<String, Long> expirations = new HashMap<>();
-
-        /**
-         * 缓存前缀
-         */
-        private String keyPrefix = "campus:";
-
-        /**
-         * 是否允许缓存空值
-         */
-        private boolean cacheNullValues = false;
-    }
-
     /**
      * Redis连接工厂
      */
@@ -146,33 +113,4 @@ public class RedisClusterConfig {
         template.afterPropertiesSet();
         return template;
     }
-
-    /**
-     * 缓存管理器
-     */
-    @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofSeconds(cache.getDefaultExpiration()))
-                .computePrefixWith(cacheName -> cache.getKeyPrefix() + cacheName + ":")
-                .disableCachingNullValues();
-
-        if (cache.isCacheNullValues()) {
-            defaultConfig = defaultConfig.disableCachingNullValues();
-        }
-
-        // 设置不同缓存的过期时间
-        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        cache.getExpirations().forEach((cacheName, expiration) -> {
-            RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                    .entryTtl(Duration.ofSeconds(expiration))
-                    .computePrefixWith(name -> cache.getKeyPrefix() + name + ":");
-            cacheConfigurations.put(cacheName, config);
-        });
-
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
-    }
 }
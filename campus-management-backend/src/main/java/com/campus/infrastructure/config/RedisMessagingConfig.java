@@ -0,0 +1,28 @@
+package com.campus.infrastructure.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis发布/订阅配置
+ * 只要存在Redis连接工厂就创建监听容器，与缓存类型（spring.cache.type）无关，
+ * 缓存失效、令牌吊销、键存在性等跨节点事件通知都依赖该容器
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Configuration
+public class RedisMessagingConfig {
+
+    /**
+     * Redis消息监听容器，各组件自行注册频道监听
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,53 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缓存合并加载与提前刷新配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.cache.refresh-ahead")
+public class RefreshAheadConfig {
+
+    /**
+     * 数据保鲜时间占Redis过期时间的比例，超过保鲜时间后返回旧值并在后台刷新，
+     * 剩余时间用于保证刷新期间始终有旧值可读
+     */
+    private double freshRatio = 0.5;
+
+    /**
+     * 提前刷新系数（XFetch算法的beta），越大越早刷新，0表示只在保鲜期结束后刷新
+     */
+    private double beta = 1.0;
+
+    /**
+     * 集群内加载租约时长（毫秒），应大于一次加载的耗时，持有者宕机时租约到期自动释放
+     */
+    private long leaseMs = 10000;
+
+    /**
+     * 未取得租约的请求等待其他节点加载结果的最长时间（毫秒），超时后自行加载
+     */
+    private long waitTimeoutMs = 5000;
+
+    /**
+     * 等待其他节点加载结果时查询Redis的间隔（毫秒）
+     */
+    private long pollIntervalMs = 50;
+
+    /**
+     * 后台刷新线程数
+     */
+    private int refreshThreads = 2;
+
+    /**
+     * 后台刷新等待队列容量，队列满时放弃本次刷新（读取方继续使用旧值）
+     */
+    private int refreshQueueCapacity = 100;
+}
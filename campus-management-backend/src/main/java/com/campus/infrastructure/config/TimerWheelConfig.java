@@ -0,0 +1,67 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 定时事件（时间轮）配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.timer")
+public class TimerWheelConfig {
+
+    /**
+     * 是否启用时间轮调度
+     */
+    private boolean enabled = true;
+
+    /**
+     * 时间轮刻度（毫秒），即定时事件的触发精度
+     */
+    private long tickMs = 1000;
+
+    /**
+     * 每层时间轮的格子数
+     */
+    private int wheelSize = 64;
+
+    /**
+     * 时间轮层数，覆盖范围为 tickMs * wheelSize^levels
+     */
+    private int levels = 4;
+
+    /**
+     * 分桶数量，每个桶同一时刻只由一个节点持有
+     */
+    private int bucketCount = 16;
+
+    /**
+     * 桶持有租约时长（秒），持有节点每隔三分之一租约续期一次
+     */
+    private int leaseSeconds = 30;
+
+    /**
+     * 事件处理线程数
+     */
+    private int handlerThreads = 2;
+
+    /**
+     * 处理器失败后的最大重试次数
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 重试间隔（毫秒），Redis认领失败时也按此间隔重新认领
+     */
+    private long retryDelayMs = 30000;
+
+    /**
+     * 考试、作业提醒相对事项时间的提前量（小时）
+     */
+    private int reminderLeadHours = 24;
+}
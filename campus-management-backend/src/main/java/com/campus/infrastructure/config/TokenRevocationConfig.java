@@ -0,0 +1,38 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Token吊销配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.security.token-revocation")
+public class TokenRevocationConfig {
+
+    /**
+     * 布隆过滤器预期容纳的吊销记录数（吊销的token与"不早于"时间的用户合计）
+     */
+    private long expectedEntries = 100000;
+
+    /**
+     * 布隆过滤器目标误判率，误判时多一次Redis查询
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * 从Redis全量重建布隆过滤器的间隔（毫秒），用于剔除已过期的记录并补齐丢失的通知
+     */
+    private long rebuildIntervalMs = 600000;
+
+    /**
+     * 布隆过滤器未命中时向Redis确认"未吊销"结果的本地缓存时间（毫秒），
+     * 即漏收吊销通知的节点最多放行已吊销token的时长
+     */
+    private long confirmTtlMs = 5000;
+}
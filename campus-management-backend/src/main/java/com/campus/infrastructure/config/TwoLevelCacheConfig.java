@@ -0,0 +1,86 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 二级缓存（本地Caffeine + Redis）配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.cache")
+public class TwoLevelCacheConfig {
+
+    /**
+     * 是否启用本地一级缓存，关闭后所有缓存直接读写Redis
+     */
+    private boolean localEnabled = true;
+
+    /**
+     * 每个缓存默认的本地最大条目数
+     */
+    private int localMaxSize = 1000;
+
+    /**
+     * 默认的本地过期时间（秒），不会超过该缓存在Redis中的过期时间
+     */
+    private long localTtlSeconds = 60;
+
+    /**
+     * 跨节点失效通知频道
+     */
+    private String invalidationChannel = "campus:cache:invalidation";
+
+    /**
+     * 缓存标签索引的过期时间（秒），应不小于各缓存的最长过期时间
+     */
+    private long tagTtlSeconds = 86400;
+
+    /**
+     * SCAN/SSCAN每批处理的键数（清空缓存、按标签失效）
+     */
+    private int scanBatchSize = 500;
+
+    /**
+     * Redis值编码：BINARY为已注册类型使用紧凑二进制编码（其余类型仍为JSON），JSON为全部使用JSON
+     */
+    private Codec codec = Codec.BINARY;
+
+    /**
+     * 每多少次写入抽样计算一次缓存值序列化后的大小
+     */
+    private int payloadSampleRate = 16;
+
+    /**
+     * 按缓存名称覆盖的配置
+     */
+    private Map<String, CacheSpec> caches = new HashMap<>();
+
+    public enum Codec { JSON, BINARY }
+
+    @Data
+    public static class CacheSpec {
+
+        /**
+         * 本地最大条目数，为空时取默认值
+         */
+        private Integer localMaxSize;
+
+        /**
+         * 本地过期时间（秒），为空时取默认值
+         */
+        private Long localTtlSeconds;
+
+        /**
+         * Redis过期时间（秒），为空时取代码中的默认值
+         */
+        private Long ttlSeconds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.campus.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 认证用户信息近端缓存配置类
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "campus.security.user-details-cache")
+public class UserDetailsCacheConfig {
+
+    /**
+     * 是否启用用户认证信息近端缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓存有效期（秒），跨节点失效通知丢失时以此兜底
+     */
+    private int ttlSeconds = 60;
+
+    /**
+     * 每个节点最多缓存的用户数
+     */
+    private int maxSize = 10000;
+}
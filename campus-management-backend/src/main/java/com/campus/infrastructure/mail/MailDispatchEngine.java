@@ -0,0 +1,411 @@
+package com.campus.infrastructure.mail;
+
+import com.campus.infrastructure.config.MailDispatchConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 邮件分发引擎
+ *
+ * 有界队列 + 固定工作线程池：提交方在容量用尽时被阻塞，超时则拒绝（背压）；
+ * 工作线程每次从队列取出一批邮件，通过同一个SMTP会话批量发送；
+ * 按收件域名令牌桶限速（令牌桶数量有界，闲置域名的令牌桶会过期丢弃），发送失败按指数退避重试，并通过Micrometer暴露指标。
+ * 容量按邮件计算，一封邮件从入队起直到发送成功或最终失败都占用一个名额，
+ * 因限速延后或等待重试的邮件同样计入，因此重新入队时队列一定有空位，不会因队列满而丢弃。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class MailDispatchEngine {
+
+    private final JavaMailSender mailSender;
+    private final MailDispatchConfig config;
+
+    private final BlockingQueue<MailTask> queue;
+    private final Semaphore capacity;
+    private final Cache<String, Bucket> domainBuckets;
+
+    private ExecutorService workers;
+    private ScheduledThreadPoolExecutor retryScheduler;
+    private volatile boolean running;
+
+    private final Counter submittedCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Counter rejectedCounter;
+    private final Counter deferredCounter;
+    private final Counter sessionCounter;
+    private final Timer sessionTimer;
+    private final MeterRegistry meterRegistry;
+
+    public MailDispatchEngine(JavaMailSender mailSender, MailDispatchConfig config, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.config = config;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        this.capacity = new Semaphore(config.getQueueCapacity());
+        // 闲置超过一秒的令牌桶已补满，丢弃后按满桶重建不会放宽限速
+        this.domainBuckets = Caffeine.newBuilder()
+            .maximumSize(config.getMaxDomainBuckets())
+            .expireAfterAccess(Duration.ofMillis(config.getDomainBucketIdleMs()))
+            .build();
+        this.meterRegistry = meterRegistry;
+
+        this.submittedCounter = counter(meterRegistry, "submitted", "提交到分发队列的邮件数");
+        this.sentCounter = counter(meterRegistry, "sent", "发送成功的邮件数");
+        this.failedCounter = counter(meterRegistry, "failed", "最终发送失败的邮件数");
+        this.retriedCounter = counter(meterRegistry, "retried", "进入退避重试的邮件数");
+        this.rejectedCounter = counter(meterRegistry, "rejected", "因队列满被拒绝的邮件数");
+        this.deferredCounter = counter(meterRegistry, "deferred", "因域名限速被延后的邮件数");
+        this.sessionCounter = counter(meterRegistry, "sessions", "建立的SMTP会话数");
+        this.sessionTimer = Timer.builder("campus.mail.dispatch.session.time")
+            .description("单个SMTP会话批量发送耗时")
+            .register(meterRegistry);
+
+        Gauge.builder("campus.mail.dispatch.queue.size", queue, BlockingQueue::size)
+            .description("分发队列中待发送的邮件数")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder("campus.mail.dispatch." + name)
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 启动工作线程
+     */
+    @PostConstruct
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        retryScheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("mail-retry-"));
+        retryScheduler.setRemoveOnCancelPolicy(true);
+        Gauge.builder("campus.mail.dispatch.retry.pending", this, MailDispatchEngine::getPendingRetryCount)
+            .description("等待重试或因限速延后的邮件数")
+            .register(meterRegistry);
+        workers = Executors.newFixedThreadPool(config.getWorkerCount(), new CustomizableThreadFactory("mail-dispatch-"));
+        for (int i = 0; i < config.getWorkerCount(); i++) {
+            workers.execute(this::workerLoop);
+        }
+        log.info("邮件分发引擎已启动: workers={}, queueCapacity={}, batchSize={}",
+                config.getWorkerCount(), config.getQueueCapacity(), config.getBatchSize());
+    }
+
+    /**
+     * 停止接收新邮件，并在超时时间内发送完队列中剩余的邮件
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        int droppedRetries = retryScheduler.shutdownNow().size();
+        if (droppedRetries > 0) {
+            capacity.release(droppedRetries);
+            log.warn("邮件分发引擎关闭，放弃 {} 封等待重试的邮件", droppedRetries);
+        }
+
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(config.getShutdownTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+                log.warn("邮件分发引擎关闭超时，队列中剩余 {} 封邮件未发送", queue.size());
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("邮件分发引擎已关闭");
+    }
+
+    /**
+     * 提交邮件到分发队列
+     *
+     * 容量用尽（含延后和等待重试的邮件）时最多阻塞 enqueueTimeoutMs，用于对批量发送方施加背压。
+     *
+     * @param message 已构建好的邮件
+     * @param mailType 邮件类型（用于日志）
+     * @return 是否成功入队
+     */
+    public boolean submit(MimeMessage message, String mailType) {
+        if (!running) {
+            rejectedCounter.increment();
+            log.warn("邮件分发引擎未运行，拒绝{}邮件", mailType);
+            return false;
+        }
+
+        MailTask task = new MailTask(message, mailType, resolveDomains(message), 1);
+        try {
+            if (capacity.tryAcquire(config.getEnqueueTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                // 持有名额的邮件数不超过队列容量，入队不会失败
+                if (queue.offer(task)) {
+                    submittedCounter.increment();
+                    return true;
+                }
+                capacity.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        rejectedCounter.increment();
+        log.warn("邮件分发队列已满，拒绝{}邮件: domain={}", mailType, task.domainLabel());
+        return false;
+    }
+
+    /**
+     * 获取分发统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("running", running);
+        stats.put("queueSize", queue.size());
+        stats.put("queueRemainingCapacity", capacity.availablePermits());
+        stats.put("pendingRetries", getPendingRetryCount());
+        stats.put("submitted", (long) submittedCounter.count());
+        stats.put("sent", (long) sentCounter.count());
+        stats.put("failed", (long) failedCounter.count());
+        stats.put("retried", (long) retriedCounter.count());
+        stats.put("rejected", (long) rejectedCounter.count());
+        stats.put("deferred", (long) deferredCounter.count());
+        stats.put("sessions", (long) sessionCounter.count());
+        double sessions = sessionCounter.count();
+        stats.put("avgMessagesPerSession", sessions > 0 ? sentCounter.count() / sessions : 0.0);
+        stats.put("domains", domainBuckets.estimatedSize());
+        return stats;
+    }
+
+    private int getPendingRetryCount() {
+        ScheduledThreadPoolExecutor scheduler = retryScheduler;
+        return scheduler != null ? scheduler.getQueue().size() : 0;
+    }
+
+    // ==================== 工作线程 ====================
+
+    private void workerLoop() {
+        List<MailTask> batch = new ArrayList<>(config.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                MailTask first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, config.getBatchSize() - 1);
+                dispatchBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("邮件分发线程处理批次异常", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 通过一个SMTP会话发送一批邮件，超出域名限速的邮件延后重新入队
+     */
+    private void dispatchBatch(List<MailTask> batch) {
+        List<MailTask> ready = new ArrayList<>(batch.size());
+        for (MailTask task : batch) {
+            long waitNanos = tryConsumeDomainTokens(task.domains());
+            if (waitNanos == 0) {
+                ready.add(task);
+            } else {
+                deferredCounter.increment();
+                scheduleRequeue(task, Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        MimeMessage[] messages = new MimeMessage[ready.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = ready.get(i).message();
+        }
+
+        sessionCounter.increment();
+        Timer.Sample sample = Timer.start();
+        try {
+            // JavaMailSender一次发送多封邮件时复用同一个Transport连接
+            mailSender.send(messages);
+            sentCounter.increment(ready.size());
+            capacity.release(ready.size());
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (MailTask task : ready) {
+                Exception cause = failedMessages.isEmpty() ? e : failedMessages.get(task.message());
+                if (cause == null) {
+                    sentCounter.increment();
+                    capacity.release();
+                } else {
+                    handleFailure(task, cause);
+                }
+            }
+        } catch (RuntimeException e) {
+            // 包括非MailException的意外异常，保证每封邮件都进入重试或最终失败，名额得以释放
+            for (MailTask task : ready) {
+                handleFailure(task, e);
+            }
+        } finally {
+            sample.stop(sessionTimer);
+        }
+    }
+
+    private void handleFailure(MailTask task, Exception cause) {
+        if (task.attempt() >= config.getMaxAttempts() || isPermanentFailure(cause)) {
+            failedCounter.increment();
+            capacity.release();
+            log.error("❌ {}邮件最终发送失败: domain={}, attempts={}, 错误={}",
+                    task.mailType(), task.domainLabel(), task.attempt(), cause.getMessage());
+            return;
+        }
+
+        long backoff = Math.min(config.getMaxBackoffMs(), config.getInitialBackoffMs() << (task.attempt() - 1));
+        retriedCounter.increment();
+        log.warn("{}邮件发送失败，{}ms后进行第{}次尝试: domain={}, 错误={}",
+                task.mailType(), backoff, task.attempt() + 1, task.domainLabel(), cause.getMessage());
+        scheduleRequeue(task.nextAttempt(), backoff);
+    }
+
+    private boolean isPermanentFailure(Exception cause) {
+        return cause instanceof MailAuthenticationException
+            || cause instanceof MailParseException
+            || cause instanceof MailPreparationException;
+    }
+
+    /**
+     * 延后重新入队，邮件在延后期间继续占用名额，入队时队列一定有空位
+     */
+    private void scheduleRequeue(MailTask task, long delayMs) {
+        try {
+            retryScheduler.schedule(() -> {
+                if (!queue.offer(task)) {
+                    failedCounter.increment();
+                    capacity.release();
+                    log.error("邮件分发队列已满，丢弃待重发的{}邮件: domain={}", task.mailType(), task.domainLabel());
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            failedCounter.increment();
+            capacity.release();
+            log.warn("邮件分发引擎已关闭，丢弃待重发的{}邮件: domain={}", task.mailType(), task.domainLabel());
+        }
+    }
+
+    /**
+     * 从每个收件域名的令牌桶各取一个令牌
+     *
+     * @return 0表示全部取得；否则为还需等待的纳秒数，已取得的令牌退回
+     */
+    private long tryConsumeDomainTokens(List<String> domains) {
+        List<Bucket> consumed = new ArrayList<>(domains.size());
+        long waitNanos = 0;
+        for (String domain : domains) {
+            Bucket bucket = getDomainBucket(domain);
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+            if (probe.isConsumed()) {
+                consumed.add(bucket);
+            } else {
+                waitNanos = Math.max(waitNanos, probe.getNanosToWaitForRefill());
+            }
+        }
+        if (waitNanos > 0) {
+            consumed.forEach(bucket -> bucket.addTokens(1));
+        }
+        return waitNanos;
+    }
+
+    private Bucket getDomainBucket(String domain) {
+        return domainBuckets.get(domain, d -> Bucket.builder()
+            .addLimit(Bandwidth.simple(config.getDomainRatePerSecond(), Duration.ofSeconds(1)))
+            .build());
+    }
+
+    /**
+     * 全部收件人（收件人、抄送、密送）的域名，去重后按字母排序
+     */
+    private List<String> resolveDomains(MimeMessage message) {
+        Set<String> domains = new TreeSet<>();
+        try {
+            Address[] recipients = message.getAllRecipients();
+            if (recipients != null) {
+                for (Address recipient : recipients) {
+                    if (recipient instanceof InternetAddress address && address.getAddress() != null) {
+                        String email = address.getAddress();
+                        int at = email.lastIndexOf('@');
+                        if (at >= 0 && at < email.length() - 1) {
+                            domains.add(email.substring(at + 1).toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        } catch (MessagingException e) {
+            log.debug("解析收件人域名失败", e);
+        }
+        return domains.isEmpty() ? List.of("unknown") : List.copyOf(domains);
+    }
+
+    /**
+     * 分发任务
+     */
+    private record MailTask(MimeMessage message, String mailType, List<String> domains, int attempt) {
+
+        MailTask nextAttempt() {
+            return new MailTask(message, mailType, domains, attempt + 1);
+        }
+
+        String domainLabel() {
+            return String.join(",", domains);
+        }
+    }
+}
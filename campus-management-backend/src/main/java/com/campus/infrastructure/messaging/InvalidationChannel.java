@@ -0,0 +1,103 @@
+package com.campus.infrastructure.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * 节点间失效通知通道
+ *
+ * 基于Redis发布/订阅在节点之间广播本地副本的失效或重载通知，消息使用RedisTemplate的值序列化器编解码。
+ * 未配置Redis消息监听容器时为单节点模式：不订阅也不发送。发送和处理失败只记录日志，
+ * 调用方以本地过期时间或定期重建兜底。同时提供事务提交后执行的工具方法，失效操作通常需要等数据提交后再执行。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+public class InvalidationChannel {
+
+    private final String channel;
+    private final RedisTemplate<String, Object> redisTemplate;
+    @Nullable
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private MessageListener messageListener;
+
+    public InvalidationChannel(String channel, RedisTemplate<String, Object> redisTemplate,
+                               @Nullable RedisMessageListenerContainer listenerContainer) {
+        this.channel = channel;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    /**
+     * 是否为多节点模式（配置了Redis消息监听容器）
+     */
+    public boolean isDistributed() {
+        return listenerContainer != null;
+    }
+
+    /**
+     * 订阅通知，本节点发出的通知也会收到；单节点模式或已订阅时不做任何操作
+     *
+     * @param handler 处理反序列化后的消息体
+     */
+    public synchronized void subscribe(Consumer<Object> handler) {
+        if (listenerContainer == null || messageListener != null) {
+            return;
+        }
+        messageListener = (message, pattern) -> {
+            try {
+                handler.accept(redisTemplate.getValueSerializer().deserialize(message.getBody()));
+            } catch (Exception e) {
+                log.warn("处理失效通知失败: channel={}, error={}", channel, e.getMessage());
+            }
+        };
+        listenerContainer.addMessageListener(messageListener, new ChannelTopic(channel));
+    }
+
+    public synchronized void unsubscribe() {
+        if (messageListener != null) {
+            listenerContainer.removeMessageListener(messageListener);
+            messageListener = null;
+        }
+    }
+
+    /**
+     * 发送通知，单节点模式下不做任何操作
+     */
+    public void publish(Object message) {
+        if (listenerContainer == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            log.warn("失效通知发送失败: channel={}, error={}", channel, e.getMessage());
+        }
+    }
+
+    /**
+     * 存在事务时在提交后执行，否则立即执行
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
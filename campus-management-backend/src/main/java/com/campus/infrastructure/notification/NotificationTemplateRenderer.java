@@ -0,0 +1,163 @@
+package com.campus.infrastructure.notification;
+
+import com.campus.domain.entity.communication.NotificationTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 通知模板渲染器
+ *
+ * 按模板编码 + 模板来源（数据库模板按主键区分，内置模板单独一份）缓存编译后的渲染计划，
+ * 内置模板与同编码的数据库模板互不覆盖。模板更新时间变化或标题/内容被替换时重新编译，
+ * 未变化时标题/内容通常是同一个字符串实例，校验不需要逐字符比较。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class NotificationTemplateRenderer {
+
+    private final Map<PlanKey, CompiledTemplate> planCache = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong compileCount = new AtomicLong();
+    private final AtomicLong renderCount = new AtomicLong();
+
+    /**
+     * 渲染单条通知
+     */
+    public RenderedTemplate render(NotificationTemplate template, Map<String, ?> variables) {
+        CompiledTemplate compiled = getCompiled(template);
+        renderCount.incrementAndGet();
+        return new RenderedTemplate(compiled.title().render(variables), compiled.content().render(variables));
+    }
+
+    /**
+     * 批量渲染：同一模板 + 多组变量，模板只查找一次，标题和内容各复用一个缓冲区
+     */
+    public List<RenderedTemplate> renderAll(NotificationTemplate template, List<? extends Map<String, ?>> variablesList) {
+        if (variablesList == null || variablesList.isEmpty()) {
+            return List.of();
+        }
+
+        CompiledTemplate compiled = getCompiled(template);
+        List<RenderedTemplate> results = new ArrayList<>(variablesList.size());
+        StringBuilder titleBuffer = new StringBuilder(compiled.title().estimateSize());
+        StringBuilder contentBuffer = new StringBuilder(compiled.content().estimateSize());
+
+        for (Map<String, ?> variables : variablesList) {
+            titleBuffer.setLength(0);
+            contentBuffer.setLength(0);
+            compiled.title().appendTo(titleBuffer, variables);
+            compiled.content().appendTo(contentBuffer, variables);
+            results.add(new RenderedTemplate(
+                compiled.title().getSource() != null ? titleBuffer.toString() : null,
+                compiled.content().getSource() != null ? contentBuffer.toString() : null));
+        }
+
+        renderCount.addAndGet(variablesList.size());
+        return results;
+    }
+
+    /**
+     * 移除模板编码下所有来源的渲染计划
+     */
+    public void evict(String templateCode) {
+        if (templateCode != null) {
+            planCache.keySet().removeIf(key -> key.code().equals(templateCode));
+        }
+    }
+
+    /**
+     * 清空所有渲染计划
+     */
+    public void clear() {
+        planCache.clear();
+    }
+
+    /**
+     * 获取渲染缓存统计
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        long hits = hitCount.get();
+        long compiles = compileCount.get();
+        stats.put("cachedTemplates", planCache.size());
+        stats.put("hits", hits);
+        stats.put("compiles", compiles);
+        stats.put("renders", renderCount.get());
+        stats.put("hitRate", hits + compiles > 0 ? (double) hits / (hits + compiles) : 0.0);
+        return stats;
+    }
+
+    private CompiledTemplate getCompiled(NotificationTemplate template) {
+        Objects.requireNonNull(template, "通知模板不能为空");
+        String code = template.getTemplateCode();
+        long version = versionOf(template);
+
+        if (code == null) {
+            compileCount.incrementAndGet();
+            return compile(template, version);
+        }
+
+        PlanKey key = new PlanKey(code, sourceOf(template));
+        CompiledTemplate cached = planCache.get(key);
+        if (cached != null && cached.matches(template, version)) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+
+        CompiledTemplate compiled = compile(template, version);
+        planCache.put(key, compiled);
+        compileCount.incrementAndGet();
+        log.debug("编译通知模板: code={}, source={}, version={}", code, key.source(), version);
+        return compiled;
+    }
+
+    private CompiledTemplate compile(NotificationTemplate template, long version) {
+        return new CompiledTemplate(version,
+            TemplateRenderPlan.compile(template.getTitle()),
+            TemplateRenderPlan.compile(template.getContent()));
+    }
+
+    private static String sourceOf(NotificationTemplate template) {
+        return template.getId() != null ? "db:" + template.getId() : "builtin";
+    }
+
+    private static long versionOf(NotificationTemplate template) {
+        LocalDateTime updatedAt = template.getUpdatedAt();
+        return Objects.hash(updatedAt, template.getLastModifiedTime());
+    }
+
+    /**
+     * 渲染计划缓存键
+     */
+    private record PlanKey(String code, String source) {}
+
+    /**
+     * 编译后的模板
+     */
+    private record CompiledTemplate(long version, TemplateRenderPlan title, TemplateRenderPlan content) {
+
+        boolean matches(NotificationTemplate template, long templateVersion) {
+            return version == templateVersion
+                && Objects.equals(title.getSource(), template.getTitle())
+                && Objects.equals(content.getSource(), template.getContent());
+        }
+    }
+
+    /**
+     * 渲染结果
+     */
+    public record RenderedTemplate(String title, String content) {}
+}
@@ -0,0 +1,130 @@
+package com.campus.infrastructure.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 通知模板渲染计划
+ *
+ * 模板文本只解析一次，编译为"字面量片段 + 变量槽位"的不可变结构，
+ * 渲染时按顺序追加到预分配容量的缓冲区。占位符语法与
+ * {@link com.campus.domain.entity.communication.NotificationTemplate#renderContent} 一致：
+ * {@code ${name}}，变量值为null时替换为空串，变量表中不存在的占位符原样保留。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class TemplateRenderPlan {
+
+    /**
+     * 每个变量槽位的预估长度，用于预分配缓冲区
+     */
+    private static final int ESTIMATED_SLOT_LENGTH = 16;
+
+    private static final TemplateRenderPlan EMPTY = new TemplateRenderPlan(null, new String[0], new String[0]);
+
+    private final String source;
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+
+    private TemplateRenderPlan(String source, String[] literals, String[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 编译模板文本
+     */
+    public static TemplateRenderPlan compile(String source) {
+        if (source == null) {
+            return EMPTY;
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int cursor = 0;
+        int literalStart = 0;
+        while (cursor < source.length()) {
+            int open = source.indexOf("${", cursor);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf('}', open + 2);
+            if (close < 0) {
+                break;
+            }
+            literals.add(source.substring(literalStart, open));
+            slots.add(source.substring(open + 2, close));
+            cursor = close + 1;
+            literalStart = cursor;
+        }
+        literals.add(source.substring(literalStart));
+
+        return new TemplateRenderPlan(source, literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+
+    /**
+     * 渲染模板
+     */
+    public String render(Map<String, ?> variables) {
+        if (source == null || slots.length == 0 || variables == null || variables.isEmpty()) {
+            return source;
+        }
+        StringBuilder out = new StringBuilder(estimateSize());
+        appendTo(out, variables);
+        return out.toString();
+    }
+
+    /**
+     * 渲染模板并追加到指定缓冲区，供批量渲染复用同一缓冲区
+     */
+    public void appendTo(StringBuilder out, Map<String, ?> variables) {
+        if (source == null) {
+            return;
+        }
+        if (slots.length == 0 || variables == null || variables.isEmpty()) {
+            out.append(source);
+            return;
+        }
+
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String name = slots[i];
+            if (variables.containsKey(name)) {
+                Object value = variables.get(name);
+                if (value != null) {
+                    out.append(value);
+                }
+            } else {
+                out.append("${").append(name).append('}');
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * 预估渲染结果长度
+     */
+    public int estimateSize() {
+        return literalLength + slots.length * ESTIMATED_SLOT_LENGTH;
+    }
+
+    /**
+     * 模板中引用的变量名（按出现顺序，可能重复）
+     */
+    public List<String> getVariableNames() {
+        return List.of(slots);
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,315 @@
+package com.campus.infrastructure.push;
+
+import com.campus.infrastructure.config.PushConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE实时推送服务
+ *
+ * 每个节点按用户ID维护本地SSE连接表。SseEmitter基于Servlet异步请求，连接建立后请求线程
+ * 立即归还Tomcat，空闲连接不占用平台线程；事件写出和心跳在虚拟线程上执行，慢客户端只会
+ * 阻塞各自的虚拟线程。启用Redis时推送消息经发布/订阅广播到所有节点，由持有对应连接的
+ * 节点写出；未启用Redis时只投递到本节点。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class SsePushService {
+
+    public static final String PUSH_CHANNEL = "campus:push:events";
+
+    private final PushConfig config;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter publishedCounter;
+
+    private ExecutorService senderExecutor;
+    private ScheduledExecutorService heartbeatScheduler;
+    private MessageListener messageListener;
+
+    public SsePushService(PushConfig config,
+                          RedisTemplate<String, Object> redisTemplate,
+                          ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                          MeterRegistry meterRegistry) {
+        this.config = config;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+
+        this.deliveredCounter = Counter.builder("campus.push.delivered")
+            .description("SSE事件写出次数").register(meterRegistry);
+        this.failedCounter = Counter.builder("campus.push.failed")
+            .description("SSE事件写出失败次数").register(meterRegistry);
+        this.publishedCounter = Counter.builder("campus.push.published")
+            .description("推送消息发布次数").register(meterRegistry);
+        Gauge.builder("campus.push.connections", connectionCount, AtomicInteger::get)
+            .description("本节点SSE连接数").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            log.info("SSE推送未启用");
+            return;
+        }
+        senderExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+            .name("sse-heartbeat").daemon(true).factory());
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat,
+            config.getHeartbeatSeconds(), config.getHeartbeatSeconds(), TimeUnit.SECONDS);
+
+        if (listenerContainer != null) {
+            messageListener = this::onMessage;
+            listenerContainer.addMessageListener(messageListener, new ChannelTopic(PUSH_CHANNEL));
+        }
+        log.info("SSE推送已启动: mode={}, heartbeatSeconds={}",
+            listenerContainer != null ? "distributed" : "local", config.getHeartbeatSeconds());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (messageListener != null) {
+            listenerContainer.removeMessageListener(messageListener);
+        }
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdownNow();
+        }
+        connections.values().forEach(set -> set.forEach(connection -> connection.emitter().complete()));
+        connections.clear();
+        connectionCount.set(0);
+        if (senderExecutor != null) {
+            senderExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 为用户建立SSE连接
+     */
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = new SseEmitter(config.getConnectionTimeoutMs());
+        Connection connection = new Connection(UUID.randomUUID().toString(), userId, emitter, System.currentTimeMillis());
+
+        Set<Connection> userConnections = connections.compute(userId, (id, existing) -> {
+            Set<Connection> set = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            set.add(connection);
+            return set;
+        });
+        connectionCount.incrementAndGet();
+        evictOldest(userConnections);
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+
+        try {
+            emitter.send(SseEmitter.event()
+                .name("connected")
+                .id(connection.id())
+                .reconnectTime(config.getReconnectDelayMs())
+                .data(Map.of("connectionId", connection.id())));
+        } catch (IOException e) {
+            unregister(connection);
+            emitter.completeWithError(e);
+        }
+
+        log.debug("SSE连接建立: userId={}, connectionId={}", userId, connection.id());
+        return emitter;
+    }
+
+    /**
+     * 推送事件到指定用户（所有节点上的连接）
+     */
+    public void push(Collection<Long> userIds, String eventName, Object data) {
+        if (!config.isEnabled() || userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        publish(new ArrayList<>(userIds), eventName, data);
+    }
+
+    /**
+     * 推送事件到所有在线用户
+     */
+    public void broadcast(String eventName, Object data) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        publish(new ArrayList<>(), eventName, data);
+    }
+
+    /**
+     * 本节点是否持有该用户的连接
+     */
+    public boolean isConnected(Long userId) {
+        Set<Connection> userConnections = connections.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    /**
+     * 获取推送统计
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", listenerContainer != null ? "distributed" : "local");
+        stats.put("onlineUsers", connections.size());
+        stats.put("connections", connectionCount.get());
+        stats.put("published", (long) publishedCounter.count());
+        stats.put("delivered", (long) deliveredCounter.count());
+        stats.put("failed", (long) failedCounter.count());
+        return stats;
+    }
+
+    private void publish(List<Long> userIds, String eventName, Object data) {
+        publishedCounter.increment();
+        if (listenerContainer != null) {
+            Map<String, Object> message = new HashMap<>();
+            message.put("userIds", userIds);
+            message.put("event", eventName);
+            message.put("data", data);
+            try {
+                // 本节点也订阅了该频道，统一由订阅回调投递
+                redisTemplate.convertAndSend(PUSH_CHANNEL, message);
+                return;
+            } catch (Exception e) {
+                log.warn("推送消息广播失败，仅投递到本节点: event={}, error={}", eventName, e.getMessage());
+            }
+        }
+        deliverLocal(userIds, eventName, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (!(body instanceof Map<?, ?> map)) {
+                return;
+            }
+            List<Long> userIds = new ArrayList<>();
+            Object rawIds = map.get("userIds");
+            if (rawIds instanceof Collection<?> ids) {
+                for (Object id : ids) {
+                    userIds.add(((Number) id).longValue());
+                }
+            }
+            deliverLocal(userIds, (String) map.get("event"), map.get("data"));
+        } catch (Exception e) {
+            log.warn("处理推送广播失败: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 投递到本节点的连接，用户ID列表为空表示所有在线用户
+     */
+    private void deliverLocal(List<Long> userIds, String eventName, Object data) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        if (userIds.isEmpty()) {
+            connections.values().forEach(set -> set.forEach(connection -> send(connection, eventName, data)));
+            return;
+        }
+        for (Long userId : userIds) {
+            Set<Connection> userConnections = connections.get(userId);
+            if (userConnections != null) {
+                userConnections.forEach(connection -> send(connection, eventName, data));
+            }
+        }
+    }
+
+    private void send(Connection connection, String eventName, Object data) {
+        senderExecutor.execute(() -> {
+            try {
+                connection.emitter().send(SseEmitter.event().name(eventName).data(data));
+                deliveredCounter.increment();
+            } catch (Exception e) {
+                failedCounter.increment();
+                unregister(connection);
+                connection.emitter().completeWithError(e);
+            }
+        });
+    }
+
+    /**
+     * 发送心跳注释行，写出失败（客户端已断开）的连接在此被清理
+     */
+    private void heartbeat() {
+        for (Set<Connection> userConnections : connections.values()) {
+            for (Connection connection : userConnections) {
+                senderExecutor.execute(() -> {
+                    try {
+                        connection.emitter().send(SseEmitter.event().comment("heartbeat"));
+                    } catch (Exception e) {
+                        unregister(connection);
+                        connection.emitter().completeWithError(e);
+                    }
+                });
+            }
+        }
+    }
+
+    private void evictOldest(Set<Connection> userConnections) {
+        while (userConnections.size() > config.getMaxConnectionsPerUser()) {
+            userConnections.stream()
+                .min(Comparator.comparingLong(Connection::connectedAt))
+                .ifPresent(oldest -> {
+                    unregister(oldest);
+                    oldest.emitter().complete();
+                });
+        }
+    }
+
+    private void unregister(Connection connection) {
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.userId(), (id, set) -> {
+            removed[0] = set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+        if (removed[0]) {
+            connectionCount.decrementAndGet();
+            log.debug("SSE连接关闭: userId={}, connectionId={}", connection.userId(), connection.id());
+        }
+    }
+
+    /**
+     * SSE连接
+     */
+    private record Connection(String id, Long userId, SseEmitter emitter, long connectedAt) {}
+}
@@ -0,0 +1,216 @@
+package com.campus.infrastructure.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分层时间轮
+ *
+ * 第0层每格代表一个tick，第k层每格代表 wheelSize^k 个tick。定时项按距离到期的tick数
+ * 放入能容纳它的最低一层；高层格子在被指针扫到时把其中的定时项下沉到低层，
+ * 第0层格子被扫到时其中的定时项到期。插入与取消均为O(1)（格子为双向链表），
+ * 推进时间的开销与经过的tick数和到期项数量成正比，与总定时项数量无关。
+ * 超出最高层范围的定时项放入溢出链表，在最高层转满一圈时重新分配。
+ *
+ * 非线程安全的操作均已同步，调用方可在多个线程中插入/取消，由单个线程推进时间。
+ *
+ * @param <T> 定时项负载类型
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final int levels;
+    private final long[] levelSpans;
+    private final List<List<Slot<T>>> slots;
+    private final Slot<T> overflow = new Slot<>();
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levels, long startTimeMs) {
+        if (tickMs <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("时间轮参数不合法");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.levelSpans = new long[levels + 1];
+        long span = 1;
+        for (int i = 0; i <= levels; i++) {
+            levelSpans[i] = span;
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.slots = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Slot<T>> wheel = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                wheel.add(new Slot<>());
+            }
+            slots.add(wheel);
+        }
+        this.currentTick = startTimeMs / tickMs;
+    }
+
+    /**
+     * 添加定时项，到期时间早于当前时间时在下一个tick到期
+     *
+     * @return 可用于取消的句柄
+     */
+    public synchronized TimerHandle<T> schedule(T payload, long dueTimeMs) {
+        TimerHandle<T> handle = new TimerHandle<>(payload, dueTimeMs, Math.max(dueTimeMs / tickMs, currentTick + 1));
+        place(handle);
+        size++;
+        return handle;
+    }
+
+    /**
+     * 取消定时项
+     *
+     * @return 定时项是否仍在时间轮中并被成功取消
+     */
+    public synchronized boolean cancel(TimerHandle<T> handle) {
+        if (handle == null || handle.slot == null) {
+            return false;
+        }
+        handle.slot.remove(handle);
+        size--;
+        return true;
+    }
+
+    /**
+     * 推进时间轮到指定时间
+     *
+     * @return 本次推进中到期的定时项负载（按到期tick顺序）
+     */
+    public synchronized List<T> advanceTo(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<T> expired = new ArrayList<>();
+        if (size == 0) {
+            currentTick = Math.max(currentTick, targetTick);
+            return expired;
+        }
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 先把高层到点的格子下沉，再处理第0层
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % levelSpans[level] == 0) {
+                    cascade(slots.get(level).get((int) ((currentTick / levelSpans[level]) % wheelSize)));
+                }
+            }
+            if (currentTick % levelSpans[levels] == 0) {
+                cascade(overflow);
+            }
+
+            Slot<T> slot = slots.get(0).get((int) (currentTick % wheelSize));
+            TimerHandle<T> handle;
+            while ((handle = slot.poll()) != null) {
+                size--;
+                expired.add(handle.payload);
+            }
+            if (size == 0) {
+                currentTick = targetTick;
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private void cascade(Slot<T> slot) {
+        // 先整体摘下再重新分配，仍超出范围的溢出项会回到同一链表
+        List<TimerHandle<T>> handles = new ArrayList<>();
+        TimerHandle<T> handle;
+        while ((handle = slot.poll()) != null) {
+            handles.add(handle);
+        }
+        handles.forEach(this::place);
+    }
+
+    private void place(TimerHandle<T> handle) {
+        long due = Math.max(handle.dueTick, currentTick);
+        long delta = due - currentTick;
+        for (int level = 0; level < levels; level++) {
+            if (delta < levelSpans[level + 1]) {
+                slots.get(level).get((int) ((due / levelSpans[level]) % wheelSize)).add(handle);
+                return;
+            }
+        }
+        overflow.add(handle);
+    }
+
+    /**
+     * 定时项句柄
+     */
+    public static final class TimerHandle<T> {
+
+        private final T payload;
+        private final long dueTimeMs;
+        private final long dueTick;
+
+        private Slot<T> slot;
+        private TimerHandle<T> prev;
+        private TimerHandle<T> next;
+
+        private TimerHandle(T payload, long dueTimeMs, long dueTick) {
+            this.payload = payload;
+            this.dueTimeMs = dueTimeMs;
+            this.dueTick = dueTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public long getDueTimeMs() {
+            return dueTimeMs;
+        }
+    }
+
+    /**
+     * 时间格：带哨兵的双向链表
+     */
+    private static final class Slot<T> {
+
+        private final TimerHandle<T> head = new TimerHandle<>(null, 0, 0);
+
+        Slot() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(TimerHandle<T> handle) {
+            handle.slot = this;
+            handle.prev = head.prev;
+            handle.next = head;
+            head.prev.next = handle;
+            head.prev = handle;
+        }
+
+        void remove(TimerHandle<T> handle) {
+            handle.prev.next = handle.next;
+            handle.next.prev = handle.prev;
+            handle.prev = null;
+            handle.next = null;
+            handle.slot = null;
+        }
+
+        TimerHandle<T> poll() {
+            TimerHandle<T> first = head.next;
+            if (first == head) {
+                return null;
+            }
+            remove(first);
+            return first;
+        }
+    }
+}
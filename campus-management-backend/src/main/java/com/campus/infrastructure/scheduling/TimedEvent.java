@@ -0,0 +1,94 @@
+package com.campus.infrastructure.scheduling;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 定时事件
+ *
+ * 同一 type + targetId 只保留一个待触发事件，重复调度视为改期。
+ *
+ * @param type       事件类型，如 {@link #TYPE_PUBLISH}
+ * @param targetId   业务对象标识
+ * @param dueAt      触发时间（epoch毫秒）
+ * @param attributes 附加参数
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public record TimedEvent(String type, String targetId, long dueAt, Map<String, String> attributes) {
+
+    public static final String TYPE_PUBLISH = "NOTIFICATION_PUBLISH";
+    public static final String TYPE_EXPIRE = "NOTIFICATION_EXPIRE";
+    public static final String TYPE_REMINDER = "REMINDER";
+
+    /**
+     * 值为null的附加参数直接丢弃，处理器按缺省处理
+     */
+    public TimedEvent {
+        Map<String, String> copy = new HashMap<>();
+        if (attributes != null) {
+            attributes.forEach((k, v) -> {
+                if (k != null && v != null) {
+                    copy.put(k, v);
+                }
+            });
+        }
+        attributes = Map.copyOf(copy);
+    }
+
+    /**
+     * 返回附加了指定参数的副本
+     */
+    public TimedEvent withAttribute(String name, String value) {
+        Map<String, String> copy = new HashMap<>(attributes);
+        copy.put(name, value);
+        return new TimedEvent(type, targetId, dueAt, copy);
+    }
+
+    /**
+     * 返回改期后的副本
+     */
+    public TimedEvent withDueAt(long newDueAt) {
+        return new TimedEvent(type, targetId, newDueAt, attributes);
+    }
+
+    /**
+     * 事件唯一键
+     */
+    public String key() {
+        return type + ":" + targetId;
+    }
+
+    /**
+     * 转换为可持久化的结构
+     */
+    public Map<String, Object> toPayload() {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", type);
+        payload.put("targetId", targetId);
+        payload.put("dueAt", dueAt);
+        payload.put("attributes", new HashMap<>(attributes));
+        return payload;
+    }
+
+    /**
+     * 从持久化结构还原
+     */
+    @SuppressWarnings("unchecked")
+    public static TimedEvent fromPayload(Map<String, Object> payload) {
+        Map<String, String> attributes = new HashMap<>();
+        Object rawAttributes = payload.get("attributes");
+        if (rawAttributes instanceof Map<?, ?> map) {
+            ((Map<Object, Object>) map).forEach((k, v) -> {
+                if (v != null) {
+                    attributes.put(String.valueOf(k), String.valueOf(v));
+                }
+            });
+        }
+        return new TimedEvent(
+            (String) payload.get("type"),
+            (String) payload.get("targetId"),
+            ((Number) payload.get("dueAt")).longValue(),
+            attributes);
+    }
+}
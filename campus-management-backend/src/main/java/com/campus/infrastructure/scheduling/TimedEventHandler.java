@@ -0,0 +1,29 @@
+package com.campus.infrastructure.scheduling;
+
+import java.util.List;
+
+/**
+ * 定时事件处理器
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public interface TimedEventHandler {
+
+    /**
+     * 是否处理该类型的事件
+     */
+    boolean supports(String eventType);
+
+    /**
+     * 处理到期事件
+     */
+    void handle(TimedEvent event);
+
+    /**
+     * 单机模式下启动时从业务数据恢复待触发事件（分布式模式下以Redis中的持久化数据为准）
+     */
+    default List<TimedEvent> recoverEvents() {
+        return List.of();
+    }
+}
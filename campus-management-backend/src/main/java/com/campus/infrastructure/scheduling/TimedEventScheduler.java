@@ -0,0 +1,592 @@
+package com.campus.infrastructure.scheduling;
+
+import com.campus.infrastructure.config.TimerWheelConfig;
+import com.campus.infrastructure.scheduling.HierarchicalTimingWheel.TimerHandle;
+import com.campus.shared.util.DistributedLock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 定时事件调度器
+ *
+ * 通知发布、过期、提醒等定时事件按键哈希分到固定数量的桶中，每个桶在Redis中持久化为
+ * 一个有序集合（成员为事件键，分数为触发时间）和一个负载哈希。每个桶通过分布式锁租约
+ * 只由一个节点持有，持有节点把桶内事件装入本地分层时间轮，到期时用Lua脚本原子地认领
+ * （分数未被改期才删除）后再分发给处理器，保证同一事件只被触发一次。节点宕机后租约过期，
+ * 其它节点接管桶并从Redis恢复事件；非持有节点调度的事件通过发布/订阅通知持有节点重新加载。
+ * 各节点在Redis中登记心跳，每个节点最多持有 ceil(桶数 / 存活节点数) 个桶，超出部分主动释放。
+ *
+ * 认领时Redis不可用则不触发，稍后重新认领；认领成功后处理器失败的，只为失败的处理器
+ * 重新登记一次延迟重试，超过最大重试次数后放弃。
+ *
+ * 没有Redis消息监听容器时以单机模式运行：所有桶归本节点，
+ * 启动时由各处理器从业务数据恢复待触发事件。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class TimedEventScheduler {
+
+    public static final String EVENT_CHANNEL = "campus:timer:events";
+
+    private static final String BUCKET_KEY_PREFIX = "campus:timer:bucket:";
+    private static final String PAYLOAD_KEY_PREFIX = "campus:timer:payload:";
+    private static final String OWNER_LOCK_PREFIX = "timer:owner:";
+    private static final String NODES_KEY = "campus:timer:nodes";
+
+    /**
+     * 重试事件的附加参数：已重试次数、待重试的处理器
+     */
+    static final String ATTR_ATTEMPT = "_attempt";
+    static final String ATTR_HANDLERS = "_handlers";
+
+    /**
+     * 认领到期事件：分数与期望触发时间一致时删除并返回1，已被改期或已被处理时返回0
+     */
+    private static final String CLAIM_SCRIPT =
+        "local score = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+        "if score and tonumber(score) == tonumber(string.match(ARGV[2], '%d+')) then " +
+        "  redis.call('ZREM', KEYS[1], ARGV[1]) " +
+        "  redis.call('HDEL', KEYS[2], ARGV[1]) " +
+        "  return 1 " +
+        "end " +
+        "return 0";
+
+    private final TimerWheelConfig config;
+    private final DistributedLock distributedLock;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectProvider<TimedEventHandler> handlers;
+    private final String nodeId;
+    private final DefaultRedisScript<Long> claimScript;
+
+    private final Map<String, TimerHandle<TimedEvent>> localTimers = new ConcurrentHashMap<>();
+    private final Set<Integer> ownedBuckets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong scheduledCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong firedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong claimMissCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+
+    private HierarchicalTimingWheel<TimedEvent> wheel;
+    private ScheduledExecutorService ticker;
+    private ExecutorService handlerExecutor;
+    private MessageListener messageListener;
+    private volatile boolean running;
+
+    public TimedEventScheduler(TimerWheelConfig config,
+                               DistributedLock distributedLock,
+                               RedisTemplate<String, Object> redisTemplate,
+                               ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                               ObjectProvider<TimedEventHandler> handlers) {
+        this.config = config;
+        this.distributedLock = distributedLock;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer.getIfAvailable();
+        this.handlers = handlers;
+        this.nodeId = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.claimScript = new DefaultRedisScript<>(CLAIM_SCRIPT, Long.class);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!config.isEnabled()) {
+            log.info("定时事件调度器未启用");
+            return;
+        }
+        wheel = new HierarchicalTimingWheel<>(config.getTickMs(), config.getWheelSize(), config.getLevels(),
+            System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("timer-wheel"));
+        handlerExecutor = Executors.newFixedThreadPool(Math.max(1, config.getHandlerThreads()), daemonThreads("timer-event"));
+        if (!isDistributed()) {
+            for (int bucket = 0; bucket < config.getBucketCount(); bucket++) {
+                ownedBuckets.add(bucket);
+            }
+        }
+    }
+
+    /**
+     * 应用就绪后开始推进时间轮并认领桶，避免处理器在上下文未就绪时被调用
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled() || running) {
+            return;
+        }
+        running = true;
+
+        if (isDistributed()) {
+            messageListener = this::onMessage;
+            listenerContainer.addMessageListener(messageListener, new ChannelTopic(EVENT_CHANNEL));
+            long renewInterval = Math.max(1, config.getLeaseSeconds() / 3);
+            ticker.scheduleWithFixedDelay(this::rebalance, 0, renewInterval, TimeUnit.SECONDS);
+        } else {
+            recoverLocalEvents();
+        }
+
+        ticker.scheduleAtFixedRate(this::tick, config.getTickMs(), config.getTickMs(), TimeUnit.MILLISECONDS);
+        log.info("定时事件调度器已启动: nodeId={}, mode={}, buckets={}, tickMs={}",
+            nodeId, isDistributed() ? "distributed" : "local", config.getBucketCount(), config.getTickMs());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = false;
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (handlerExecutor != null) {
+            handlerExecutor.shutdown();
+            try {
+                handlerExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (isDistributed()) {
+            if (messageListener != null) {
+                listenerContainer.removeMessageListener(messageListener);
+            }
+            // 主动释放租约并注销心跳，让其它节点尽快接管
+            for (Integer bucket : ownedBuckets) {
+                distributedLock.releaseLock(OWNER_LOCK_PREFIX + bucket, nodeId);
+            }
+            try {
+                redisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+            } catch (Exception e) {
+                log.warn("注销定时事件节点失败: nodeId={}, error={}", nodeId, e.getMessage());
+            }
+        }
+        ownedBuckets.clear();
+        localTimers.clear();
+        log.info("定时事件调度器已停止: nodeId={}", nodeId);
+    }
+
+    /**
+     * 调度事件，同键事件已存在时改期
+     *
+     * @return 是否已接受，持久化失败时返回false，由业务侧的定期扫描兜底
+     */
+    public boolean schedule(TimedEvent event) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        String key = event.key();
+        int bucket = bucketOf(key);
+        scheduledCount.incrementAndGet();
+
+        if (!isDistributed()) {
+            addLocal(event);
+            return true;
+        }
+
+        try {
+            redisTemplate.opsForZSet().add(BUCKET_KEY_PREFIX + bucket, key, event.dueAt());
+            redisTemplate.opsForHash().put(PAYLOAD_KEY_PREFIX + bucket, key, event.toPayload());
+        } catch (Exception e) {
+            log.warn("定时事件持久化失败: key={}, error={}", key, e.getMessage());
+            return false;
+        }
+
+        if (ownedBuckets.contains(bucket)) {
+            addLocal(event);
+        } else {
+            publish(key);
+        }
+        return true;
+    }
+
+    /**
+     * 取消事件
+     */
+    public void cancel(String type, String targetId) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        String key = type + ":" + targetId;
+        if (cancelLocal(key)) {
+            cancelledCount.incrementAndGet();
+        }
+        if (!isDistributed()) {
+            return;
+        }
+
+        int bucket = bucketOf(key);
+        try {
+            Long removed = redisTemplate.opsForZSet().remove(BUCKET_KEY_PREFIX + bucket, key);
+            redisTemplate.opsForHash().delete(PAYLOAD_KEY_PREFIX + bucket, key);
+            if (removed != null && removed > 0 && !ownedBuckets.contains(bucket)) {
+                cancelledCount.incrementAndGet();
+                publish(key);
+            }
+        } catch (Exception e) {
+            log.warn("取消定时事件失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 获取调度统计
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("nodeId", nodeId);
+        stats.put("mode", isDistributed() ? "distributed" : "local");
+        stats.put("ownedBuckets", ownedBuckets.size());
+        stats.put("pending", wheel != null ? wheel.size() : 0);
+        stats.put("scheduled", scheduledCount.get());
+        stats.put("cancelled", cancelledCount.get());
+        stats.put("fired", firedCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("claimMisses", claimMissCount.get());
+        stats.put("retries", retryCount.get());
+        return stats;
+    }
+
+    private boolean isDistributed() {
+        return listenerContainer != null;
+    }
+
+    private int bucketOf(String key) {
+        return Math.floorMod(key.hashCode(), config.getBucketCount());
+    }
+
+    private void addLocal(TimedEvent event) {
+        localTimers.compute(event.key(), (key, existing) -> {
+            if (existing != null) {
+                wheel.cancel(existing);
+            }
+            return wheel.schedule(event, event.dueAt());
+        });
+    }
+
+    /**
+     * 延后重新触发本地事件，期间已被改期或取消的不再加入
+     */
+    private void retryLocal(TimedEvent event, long fireAt) {
+        localTimers.computeIfAbsent(event.key(), key -> wheel.schedule(event, fireAt));
+    }
+
+    private boolean cancelLocal(String key) {
+        TimerHandle<TimedEvent> handle = localTimers.remove(key);
+        return handle != null && wheel.cancel(handle);
+    }
+
+    private void tick() {
+        try {
+            List<TimedEvent> dueEvents = wheel.advanceTo(System.currentTimeMillis());
+            for (TimedEvent event : dueEvents) {
+                localTimers.computeIfPresent(event.key(), (key, handle) -> handle.getPayload() == event ? null : handle);
+                handlerExecutor.execute(() -> fire(event));
+            }
+        } catch (Exception e) {
+            log.error("推进时间轮失败", e);
+        }
+    }
+
+    private void fire(TimedEvent event) {
+        if (isDistributed()) {
+            int bucket = bucketOf(event.key());
+            if (!ownedBuckets.contains(bucket)) {
+                claimMissCount.incrementAndGet();
+                return;
+            }
+            Boolean claimed = claim(bucket, event);
+            if (claimed == null) {
+                // Redis不可用：事件仍在Redis中，稍后重新认领，避免与接管节点重复触发
+                retryLocal(event, System.currentTimeMillis() + config.getRetryDelayMs());
+                return;
+            }
+            if (!claimed) {
+                claimMissCount.incrementAndGet();
+                return;
+            }
+        }
+
+        firedCount.incrementAndGet();
+        Set<String> pending = retryHandlersOf(event);
+        List<String> failedHandlers = new ArrayList<>();
+        handlers.orderedStream()
+            .filter(handler -> handler.supports(event.type()))
+            .filter(handler -> pending.isEmpty() || pending.contains(handlerName(handler)))
+            .forEach(handler -> {
+                try {
+                    handler.handle(event);
+                } catch (Exception e) {
+                    failedCount.incrementAndGet();
+                    failedHandlers.add(handlerName(handler));
+                    log.error("处理定时事件失败: key={}, handler={}", event.key(), handler.getClass().getSimpleName(), e);
+                }
+            });
+
+        if (!failedHandlers.isEmpty()) {
+            scheduleRetry(event, failedHandlers);
+        }
+    }
+
+    /**
+     * 认领事件
+     *
+     * @return 认领成功返回true，已被改期或处理返回false，Redis不可用返回null
+     */
+    private Boolean claim(int bucket, TimedEvent event) {
+        try {
+            Long result = redisTemplate.execute(claimScript,
+                Arrays.asList(BUCKET_KEY_PREFIX + bucket, PAYLOAD_KEY_PREFIX + bucket),
+                event.key(), String.valueOf(event.dueAt()));
+            return Long.valueOf(1).equals(result);
+        } catch (Exception e) {
+            log.warn("认领定时事件失败，稍后重试: key={}, error={}", event.key(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 处理器失败后只为失败的处理器重新登记事件；同键事件已被重新调度时以新事件为准
+     */
+    private void scheduleRetry(TimedEvent event, List<String> failedHandlers) {
+        int attempt = parseAttempt(event) + 1;
+        if (attempt > config.getMaxRetries()) {
+            log.error("定时事件重试次数已用尽，放弃处理: key={}, handlers={}", event.key(), failedHandlers);
+            return;
+        }
+
+        TimedEvent retry = event
+            .withAttribute(ATTR_ATTEMPT, String.valueOf(attempt))
+            .withAttribute(ATTR_HANDLERS, String.join(",", failedHandlers))
+            .withDueAt(System.currentTimeMillis() + config.getRetryDelayMs());
+        retryCount.incrementAndGet();
+
+        if (!isDistributed()) {
+            retryLocal(retry, retry.dueAt());
+            return;
+        }
+
+        String key = retry.key();
+        int bucket = bucketOf(key);
+        try {
+            Boolean added = redisTemplate.opsForZSet().addIfAbsent(BUCKET_KEY_PREFIX + bucket, key, retry.dueAt());
+            if (!Boolean.TRUE.equals(added)) {
+                return;
+            }
+            redisTemplate.opsForHash().put(PAYLOAD_KEY_PREFIX + bucket, key, retry.toPayload());
+        } catch (Exception e) {
+            log.error("定时事件重试登记失败: key={}, attempt={}", key, attempt, e);
+            return;
+        }
+        if (ownedBuckets.contains(bucket)) {
+            retryLocal(retry, retry.dueAt());
+        } else {
+            publish(key);
+        }
+        log.warn("定时事件处理失败，已登记重试: key={}, attempt={}, handlers={}", key, attempt, failedHandlers);
+    }
+
+    private static int parseAttempt(TimedEvent event) {
+        try {
+            return Integer.parseInt(event.attributes().getOrDefault(ATTR_ATTEMPT, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Set<String> retryHandlersOf(TimedEvent event) {
+        String names = event.attributes().get(ATTR_HANDLERS);
+        return names == null || names.isEmpty() ? Set.of() : Set.of(names.split(","));
+    }
+
+    private static String handlerName(TimedEventHandler handler) {
+        return ClassUtils.getUserClass(handler).getName();
+    }
+
+    /**
+     * 续期已持有的桶，按存活节点数计算公平份额，释放超出份额的桶并认领无主的桶
+     */
+    private void rebalance() {
+        for (Integer bucket : List.copyOf(ownedBuckets)) {
+            try {
+                if (!distributedLock.renewLock(OWNER_LOCK_PREFIX + bucket, nodeId, config.getLeaseSeconds())) {
+                    releaseBucket(bucket);
+                }
+            } catch (Exception e) {
+                log.warn("定时事件桶续期失败: bucket={}, error={}", bucket, e.getMessage());
+            }
+        }
+
+        int fairShare;
+        try {
+            fairShare = fairShare(heartbeat());
+        } catch (Exception e) {
+            log.warn("定时事件节点心跳失败: nodeId={}, error={}", nodeId, e.getMessage());
+            return;
+        }
+
+        List<Integer> owned = ownedBuckets.stream().sorted(Comparator.reverseOrder()).toList();
+        for (int i = 0; i < owned.size() - fairShare; i++) {
+            yieldBucket(owned.get(i));
+        }
+
+        for (int bucket = 0; bucket < config.getBucketCount() && ownedBuckets.size() < fairShare; bucket++) {
+            if (ownedBuckets.contains(bucket)) {
+                continue;
+            }
+            try {
+                if (distributedLock.tryLock(OWNER_LOCK_PREFIX + bucket, nodeId, config.getLeaseSeconds())) {
+                    acquireBucket(bucket);
+                }
+            } catch (Exception e) {
+                log.warn("定时事件桶认领失败: bucket={}, error={}", bucket, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 登记本节点心跳并清理租约期内没有心跳的节点
+     *
+     * @return 存活节点数
+     */
+    private long heartbeat() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+        redisTemplate.opsForZSet().removeRangeByScore(NODES_KEY, 0, now - config.getLeaseSeconds() * 1000L);
+        Long nodes = redisTemplate.opsForZSet().zCard(NODES_KEY);
+        return nodes != null ? nodes : 1;
+    }
+
+    int fairShare(long liveNodes) {
+        long nodes = Math.max(1, liveNodes);
+        return (int) ((config.getBucketCount() + nodes - 1) / nodes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void acquireBucket(int bucket) {
+        ownedBuckets.add(bucket);
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(PAYLOAD_KEY_PREFIX + bucket);
+        for (Object payload : entries.values()) {
+            if (payload instanceof Map<?, ?> map) {
+                addLocal(TimedEvent.fromPayload((Map<String, Object>) map));
+            }
+        }
+        log.info("接管定时事件桶: bucket={}, events={}, nodeId={}", bucket, entries.size(), nodeId);
+    }
+
+    private void releaseBucket(int bucket) {
+        dropBucket(bucket);
+        log.warn("定时事件桶租约丢失: bucket={}, nodeId={}", bucket, nodeId);
+    }
+
+    /**
+     * 超出公平份额时主动让出桶，事件仍保存在Redis中，由接管节点恢复
+     */
+    private void yieldBucket(int bucket) {
+        dropBucket(bucket);
+        try {
+            distributedLock.releaseLock(OWNER_LOCK_PREFIX + bucket, nodeId);
+        } catch (Exception e) {
+            log.warn("释放定时事件桶失败，等待租约过期: bucket={}, error={}", bucket, e.getMessage());
+        }
+        log.info("让出定时事件桶: bucket={}, nodeId={}", bucket, nodeId);
+    }
+
+    private void dropBucket(int bucket) {
+        ownedBuckets.remove(bucket);
+        localTimers.keySet().stream()
+            .filter(key -> bucketOf(key) == bucket)
+            .toList()
+            .forEach(this::cancelLocal);
+    }
+
+    private void recoverLocalEvents() {
+        handlers.orderedStream().forEach(handler -> {
+            try {
+                List<TimedEvent> events = handler.recoverEvents();
+                events.forEach(this::addLocal);
+                if (!events.isEmpty()) {
+                    log.info("恢复定时事件: handler={}, count={}", handler.getClass().getSimpleName(), events.size());
+                }
+            } catch (Exception e) {
+                log.error("恢复定时事件失败: handler={}", handler.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private void publish(String key) {
+        try {
+            redisTemplate.convertAndSend(EVENT_CHANNEL, key);
+        } catch (Exception e) {
+            log.warn("广播定时事件变更失败: key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 其它节点调度或取消了事件：若本节点持有该桶，则以Redis中的数据为准重新加载
+     */
+    @SuppressWarnings("unchecked")
+    private void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (body == null) {
+                return;
+            }
+            String key = body.toString();
+            int bucket = bucketOf(key);
+            if (!ownedBuckets.contains(bucket)) {
+                return;
+            }
+            Object payload = redisTemplate.opsForHash().get(PAYLOAD_KEY_PREFIX + bucket, key);
+            if (payload instanceof Map<?, ?> map) {
+                addLocal(TimedEvent.fromPayload((Map<String, Object>) map));
+            } else {
+                cancelLocal(key);
+            }
+        } catch (Exception e) {
+            log.warn("处理定时事件广播失败: error={}", e.getMessage());
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -15,6 +15,11 @@ import com.campus.domain.entity.auth.User;
 import com.campus.shared.common.ApiResponse;
 import com.campus.shared.util.JwtUtil;
 import com.campus.interfaces.rest.common.BaseController;
+import com.campus.shared.exception.RateLimitException;
+import com.campus.shared.security.TokenRevocationService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,6 +45,9 @@ public class AuthApiController extends BaseController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * 用户登录
      */
@@ -84,6 +92,9 @@ public class AuthApiController extends BaseController {
 
             log.info("用户登录成功: username={}, userType={}", loginRequest.getUsername(), loginRequest.getUserType());
             return ApiResponse.success("登录成功", result);
+        } catch (RateLimitException e) {
+            // 密码校验线程池繁忙，快速失败
+            return ApiResponse.error(429, e.getMessage());
         } catch (Exception e) {
             log.error("用户登录失败: username={}, error={}", loginRequest.getUsername(), e.getMessage(), e);
             return ApiResponse.error(500, "登录失败：" + e.getMessage());
@@ -154,12 +165,20 @@ public class AuthApiController extends BaseController {
     public ApiResponse<Map<String, Object>> refreshToken(@Parameter(description = "刷新令牌") @RequestParam String refreshToken) {
         try {
             // 验证刷新令牌
-            if (!jwtUtil.validateToken(refreshToken)) {
+            Claims claims;
+            try {
+                claims = jwtUtil.verify(refreshToken);
+            } catch (JwtException | IllegalArgumentException e) {
                 return ApiResponse.error(401, "刷新令牌无效");
             }
 
+            // 已登出或用户改密、禁用后签发的令牌不能再换取新令牌
+            if (tokenRevocationService.isRevoked(claims)) {
+                return ApiResponse.error(401, "刷新令牌已失效");
+            }
+
             // 从令牌中获取用户名
-            String username = jwtUtil.getUsernameFromToken(refreshToken);
+            String username = claims.getSubject();
             
             // 生成新的访问令牌
             String newToken = jwtUtil.generateToken(username);
@@ -181,10 +200,26 @@ public class AuthApiController extends BaseController {
      */
     @PostMapping("/logout")
     @Operation(summary = "用户登出", description = "用户登出")
-    public ApiResponse<Void> logout(@Parameter(description = "访问令牌") @RequestHeader("Authorization") String token) {
+    public ApiResponse<Void> logout(@Parameter(description = "访问令牌") @RequestHeader("Authorization") String token,
+                                    @Parameter(description = "刷新令牌") @RequestParam(required = false) String refreshToken) {
         try {
-            // 这里可以将令牌加入黑名单或执行其他登出逻辑
-            // 目前JWT是无状态的，客户端删除令牌即可
+            // 吊销当前令牌，所有节点随即拒绝该令牌
+            String actualToken = token.replace("Bearer ", "");
+            Claims claims = jwtUtil.verify(actualToken);
+            tokenRevocationService.revokeToken(claims);
+
+            // 同时吊销刷新令牌，否则登出后仍可用它换取新的访问令牌；只吊销属于同一用户的令牌
+            if (refreshToken != null && !refreshToken.isBlank()) {
+                try {
+                    Claims refreshClaims = jwtUtil.verify(refreshToken);
+                    if (claims.getSubject() != null && claims.getSubject().equals(refreshClaims.getSubject())) {
+                        tokenRevocationService.revokeToken(refreshClaims);
+                    }
+                } catch (JwtException | IllegalArgumentException e) {
+                    // 已过期或无效的刷新令牌本身无法再使用，无需吊销
+                    log.debug("登出时忽略无效的刷新令牌: {}", e.getMessage());
+                }
+            }
             return ApiResponse.success("登出成功");
         } catch (Exception e) {
             return ApiResponse.error(500, "登出失败：" + e.getMessage());
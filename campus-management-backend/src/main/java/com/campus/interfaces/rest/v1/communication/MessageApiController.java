@@ -1,5 +1,6 @@
 package com.campus.interfaces.rest.v1.communication;
 
+import com.campus.application.dto.CursorPage;
 import com.campus.application.service.communication.MessageService;
 import com.campus.domain.entity.communication.Message;
 import com.campus.shared.common.ApiResponse;
@@ -115,6 +116,49 @@ public class MessageApiController extends BaseController {
         }
     }
     
+    @GetMapping("/inbox/{userId}/scroll")
+    @Operation(summary = "游标分页获取收件箱", description = "按发送时间倒序，使用上一页返回的nextCursor获取下一页")
+    public ResponseEntity<ApiResponse<CursorPage<Message>>> scrollInbox(
+            @Parameter(description = "用户ID") @PathVariable Long userId,
+            @Parameter(description = "分页游标，第一页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<Message> messages = messageService.getInbox(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(messages));
+        } catch (Exception e) {
+            logger.error("获取收件箱失败", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("获取收件箱失败: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/outbox/{userId}/scroll")
+    @Operation(summary = "游标分页获取发件箱", description = "按发送时间倒序，使用上一页返回的nextCursor获取下一页")
+    public ResponseEntity<ApiResponse<CursorPage<Message>>> scrollOutbox(
+            @Parameter(description = "用户ID") @PathVariable Long userId,
+            @Parameter(description = "分页游标，第一页不传") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小") @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<Message> messages = messageService.getOutbox(userId, cursor, size);
+            return ResponseEntity.ok(ApiResponse.success(messages));
+        } catch (Exception e) {
+            logger.error("获取发件箱失败", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("获取发件箱失败: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{id}/thread")
+    @Operation(summary = "获取会话线索", description = "一次返回消息所在会话的全部消息，按回复层级深度优先排序")
+    public ResponseEntity<ApiResponse<List<Message>>> getThread(
+            @Parameter(description = "消息ID") @PathVariable Long id) {
+        try {
+            List<Message> thread = messageService.getThread(id);
+            return ResponseEntity.ok(ApiResponse.success(thread));
+        } catch (Exception e) {
+            logger.error("获取会话线索失败", e);
+            return ResponseEntity.badRequest().body(ApiResponse.error("获取会话线索失败: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/unread/{userId}")
     @Operation(summary = "获取未读消息", description = "获取用户的未读消息")
     public ResponseEntity<ApiResponse<List<Message>>> getUnreadMessages(
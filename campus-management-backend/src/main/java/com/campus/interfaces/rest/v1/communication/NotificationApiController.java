@@ -2,6 +2,7 @@ package com.campus.interfaces.rest.v1.communication;
 
 import com.campus.application.service.communication.NotificationService;
 import com.campus.domain.entity.communication.Notification;
+import com.campus.infrastructure.push.SsePushService;
 import com.campus.interfaces.rest.common.BaseController;
 import com.campus.shared.common.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,11 +16,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -45,6 +49,9 @@ public class NotificationApiController extends BaseController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private SsePushService ssePushService;
+
     // ==================== 基础CRUD操作 ====================
 
     /**
@@ -413,6 +420,23 @@ public class NotificationApiController extends BaseController {
         }
     }
 
+    /**
+     * 订阅当前用户的实时通知
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "订阅实时通知", description = "建立SSE长连接，新通知发布时实时推送，替代轮询未读通知")
+    public ResponseEntity<SseEmitter> streamNotifications() {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        log.info("建立实时通知连接 - 用户ID: {}", userId);
+        return ResponseEntity.ok()
+            .header("X-Accel-Buffering", "no")
+            .body(ssePushService.connect(userId));
+    }
+
     /**
      * 标记通知为已读
      */
@@ -166,7 +166,7 @@ public class CacheManagementApiController {
             
             // 检查关键缓存是否存在
             String[] keyCaches = {
-                "dashboard:stats", "dashboard:chart-data", 
+                "dashboard:stats", "dashboard:service:stats", "dashboard:chart-data", 
                 "student:count", "course:count", "class:count", "payment:stats"
             };
             
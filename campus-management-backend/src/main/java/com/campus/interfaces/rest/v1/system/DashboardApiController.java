@@ -3,6 +3,7 @@ package com.campus.interfaces.rest.v1.system;
 import com.campus.application.dto.DashboardStatsDTO;
 import com.campus.application.dto.ChartDataDTO;
 import com.campus.application.service.system.DashboardService;
+import com.campus.infrastructure.cache.RefreshAhead;
 import com.campus.shared.common.ApiResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +20,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -213,7 +213,7 @@ public class DashboardApiController {
      */
     @GetMapping("/charts/{type}")
     @Operation(summary = "获取图表数据", description = "根据类型获取特定图表数据")
-    @Cacheable(value = "dashboard:charts", key = "#type", unless = "#result == null")
+    @RefreshAhead(cacheName = "dashboard:charts", key = "#type")
     public ApiResponse<List<ChartDataDTO>> getChartData(
             @Parameter(description = "图表类型") @PathVariable String type) {
         try {
@@ -251,7 +251,7 @@ public class DashboardApiController {
      */
     @GetMapping("/activities")
     @Operation(summary = "获取最近活动", description = "获取系统最近活动记录")
-    @Cacheable(value = "dashboard:activities", unless = "#result == null")
+    @RefreshAhead(cacheName = "dashboard:activities")
     public ApiResponse<List<Map<String, Object>>> getRecentActivities() {
         try {
             DashboardStatsDTO stats = dashboardService.getDashboardStats();
@@ -266,7 +266,7 @@ public class DashboardApiController {
      */
     @GetMapping("/notifications")
     @Operation(summary = "获取系统通知", description = "获取系统通知信息")
-    @Cacheable(value = "dashboard:notifications", unless = "#result == null")
+    @RefreshAhead(cacheName = "dashboard:notifications")
     public ApiResponse<List<DashboardStatsDTO.SystemNotificationDTO>> getSystemNotifications() {
         try {
             DashboardStatsDTO stats = dashboardService.getDashboardStats();
@@ -281,7 +281,7 @@ public class DashboardApiController {
      */
     @GetMapping("/quick-stats")
     @Operation(summary = "获取快速统计", description = "获取今日快速统计数据")
-    @Cacheable(value = "dashboard:quick-stats", unless = "#result == null")
+    @RefreshAhead(cacheName = "dashboard:quick-stats")
     public ApiResponse<DashboardStatsDTO.QuickStatsDTO> getQuickStats() {
         try {
             DashboardStatsDTO stats = dashboardService.getDashboardStats();
@@ -297,7 +297,7 @@ public class DashboardApiController {
     @PostMapping("/cache/clear")
     @Operation(summary = "清除仪表盘缓存", description = "清除所有仪表盘相关缓存")
     @PreAuthorize("hasAnyRole('ADMIN', 'SYSTEM_ADMIN')")
-    @CacheEvict(value = {"dashboard:stats", "dashboard:chart-data", "dashboard:charts",
+    @CacheEvict(value = {"dashboard:stats", "dashboard:service:stats", "dashboard:chart-data", "dashboard:charts",
                          "dashboard:activities", "dashboard:notifications", "dashboard:quick-stats"},
                 allEntries = true)
     public ApiResponse<Void> clearDashboardCache() {
@@ -313,7 +313,7 @@ public class DashboardApiController {
      */
     @PostMapping("/refresh")
     @Operation(summary = "刷新仪表盘数据", description = "清除缓存并重新获取数据")
-    @CacheEvict(value = {"dashboard:stats", "dashboard:chart-data", "dashboard:charts",
+    @CacheEvict(value = {"dashboard:stats", "dashboard:service:stats", "dashboard:chart-data", "dashboard:charts",
                          "dashboard:activities", "dashboard:notifications", "dashboard:quick-stats"},
                 allEntries = true)
     public ApiResponse<DashboardStatsDTO> refreshDashboardData() {
@@ -4,6 +4,8 @@ import com.campus.application.service.auth.UserService;
 import com.campus.domain.entity.auth.User;
 import com.campus.shared.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -23,15 +25,18 @@ public class AdminJwtInterceptor implements HandlerInterceptor {
     
     private static final Logger logger = LoggerFactory.getLogger(AdminJwtInterceptor.class);
     
-    // 服务器启动时间，用于检测重启前的Token
-    private static final long SERVER_START_TIME = System.currentTimeMillis();
-    
     @Autowired
     private JwtUtil jwtUtil;
     
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private PermissionMatrix permissionMatrix;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws Exception {
         String requestURI = request.getRequestURI();
@@ -62,32 +67,35 @@ public class AdminJwtInterceptor implements HandlerInterceptor {
             return false;
         }
         
+        // 验证token有效性（复用过滤器的验签结果）
+        Claims claims;
+        try {
+            claims = jwtUtil.resolveClaims(request, token);
+        } catch (Exception e) {
+            logger.warn("JWT Token已过期或无效: {}", requestURI);
+            clearSessionAndRedirect(request, response);
+            return false;
+        }
+        
         try {
-            // 验证token有效性
-            if (!jwtUtil.validateToken(token)) {
-                logger.warn("JWT Token已过期或无效: {}", requestURI);
-                clearSessionAndRedirect(request, response);
-                return false;
-            }
-            
             // 检查是否为管理后台token
-            if (!jwtUtil.isAdminToken(token)) {
+            if (!jwtUtil.isAdminToken(claims)) {
                 logger.warn("非管理后台Token尝试访问: {}", requestURI);
                 clearSessionAndRedirect(request, response);
                 return false;
             }
             
-            // 检查Token是否在服务器重启之前签发
-            if (isTokenIssuedBeforeRestart(token)) {
-                logger.warn("检测到服务器重启前的Token，强制重新登录: {}", requestURI);
+            // 检查Token是否已被吊销（登出、改密、禁用）
+            if (tokenRevocationService.isRevoked(claims)) {
+                logger.warn("检测到已吊销的Token，强制重新登录: {}", requestURI);
                 clearSessionAndRedirect(request, response);
                 return false;
             }
             
             // 从token中获取用户信息
-            String username = jwtUtil.getUsernameFromToken(token);
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
+            String username = claims.getSubject();
+            Long userId = jwtUtil.getUserId(claims);
+            String role = claims.get("role", String.class);
             
             if (username == null || userId == null) {
                 logger.warn("Token中缺少用户信息: {}", requestURI);
@@ -103,30 +111,24 @@ public class AdminJwtInterceptor implements HandlerInterceptor {
                 return false;
             }
             
-            // 检查用户权限 - 使用正确的角色键
-            boolean hasAdminRole = userService.hasRole(userId, "ROLE_SUPER_ADMIN") ||
-                                  userService.hasRole(userId, "ROLE_ADMIN") ||
-                                  userService.hasRole(userId, "ROLE_SYSTEM_ADMIN") ||
-                                  userService.hasRole(userId, "ROLE_ACADEMIC_ADMIN") ||
-                                  userService.hasRole(userId, "ROLE_FINANCE_ADMIN") ||
-                                  userService.hasRole(userId, "ROLE_TEACHER");
-            if (!hasAdminRole) {
+            // 检查用户权限（角色位图与管理后台角色掩码求交）
+            if (!permissionMatrix.isAdminConsoleUser(userId)) {
                 logger.warn("无管理权限用户尝试访问管理后台: {}", username);
                 response.sendRedirect("/admin/access-denied");
                 return false;
             }
 
             // 检查具体页面权限
-            if (!userService.hasMenuPermission(userId, requestURI)) {
+            if (!permissionMatrix.hasMenuPermission(userId, requestURI)) {
                 logger.warn("用户 {} 无权限访问页面: {}", username, requestURI);
                 response.sendRedirect("/admin/access-denied");
                 return false;
             }
             
             // 检查是否需要刷新token
-            if (jwtUtil.shouldRefreshAdminToken(token)) {
+            if (jwtUtil.shouldRefreshAdminToken(claims)) {
                 try {
-                    String newToken = jwtUtil.refreshToken(token);
+                    String newToken = jwtUtil.refreshToken(claims);
                     if (session != null) {
                         session.setAttribute("accessToken", newToken);
                     }
@@ -218,31 +220,4 @@ public class AdminJwtInterceptor implements HandlerInterceptor {
         
         response.sendRedirect(redirectUrl.toString());
     }
-    
-    /**
-     * 检查Token是否在服务器重启之前签发
-     */
-    private boolean isTokenIssuedBeforeRestart(String token) {
-        try {
-            // 从JWT Token中获取签发时间
-            java.util.Date issuedAt = jwtUtil.getClaimFromToken(token, io.jsonwebtoken.Claims::getIssuedAt);
-            if (issuedAt == null) {
-                logger.warn("无法获取Token签发时间，为安全起见拒绝访问");
-                return true; // 无法确定签发时间，为安全起见认为无效
-            }
-            
-            // 如果Token签发时间早于服务器启动时间，则认为是重启前的Token
-            boolean isBeforeRestart = issuedAt.getTime() < SERVER_START_TIME;
-            if (isBeforeRestart) {
-                logger.info("检测到重启前Token: 签发时间={}, 服务器启动时间={}",
-                    new java.util.Date(issuedAt.getTime()),
-                    new java.util.Date(SERVER_START_TIME));
-            }
-            
-            return isBeforeRestart;
-        } catch (Exception e) {
-            logger.error("检查Token签发时间时发生错误: {}", e.getMessage());
-            return true; // 异常情况下为安全起见认为Token无效
-        }
-    }
 }
@@ -1,8 +1,7 @@
 package com.campus.shared.security;
 
 import com.campus.domain.entity.system.AuditLog;
-import com.campus.domain.repository.system.AuditLogRepository;
-import com.campus.shared.util.JsonUtil;
+import com.campus.infrastructure.audit.AuditLogWriter;
 import com.campus.shared.util.SecurityUtil;
 import com.campus.shared.util.WebUtil;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +10,6 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -19,11 +17,10 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpServletRequest;
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.stream.Collectors;
 
 /**
  * 审计日志切面
+ * 请求线程只采集字段，序列化与写库由 {@link AuditLogWriter} 在后台批量完成
  * 
  * @author Campus Management System
  * @since 2025-06-20
@@ -34,7 +31,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AuditLogAspect {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
     @Around("@annotation(auditLog)")
     public Object around(ProceedingJoinPoint point, com.campus.shared.security.AuditLog auditLog) throws Throwable {
@@ -55,13 +52,13 @@ public class AuditLogAspect {
     }
 
     /**
-     * 异步保存审计日志
+     * 采集审计日志并提交到异步写入器
      */
-    @Async
     public void saveAuditLog(ProceedingJoinPoint point, com.campus.shared.security.AuditLog auditLogAnnotation,
                             Object result, Exception exception, long executionTime) {
         try {
             AuditLog auditLog = new AuditLog();
+            Object[] params = null;
             
             // 获取当前用户信息
             Long currentUserId = SecurityUtil.getCurrentUserId();
@@ -93,17 +90,17 @@ public class AuditLogAspect {
                 auditLog.setClientIp(WebUtil.getClientIp(request));
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
                 
-                // 记录请求参数
+                // 记录请求参数（方法参数由写入线程格式化）
                 if (auditLogAnnotation.includeParams()) {
-                    auditLog.setRequestParams(getRequestParams(point, request));
+                    Object[] args = point.getArgs();
+                    if (args != null && args.length > 0) {
+                        params = args;
+                    } else {
+                        auditLog.setRequestParams(request.getQueryString());
+                    }
                 }
             }
             
-            // 记录响应结果
-            if (auditLogAnnotation.includeResult() && result != null) {
-                auditLog.setResponseResult(JsonUtil.toJson(result));
-            }
-            
             // 设置操作状态和错误信息
             if (exception != null) {
                 auditLog.setOperationStatus(AuditLog.OperationStatus.FAILURE.getCode());
@@ -115,8 +112,9 @@ public class AuditLogAspect {
             auditLog.setExecutionTime(executionTime);
             auditLog.setOperationTime(LocalDateTime.now());
             
-            // 保存审计日志
-            auditLogRepository.save(auditLog);
+            // 响应结果由写入线程序列化
+            Object responseResult = auditLogAnnotation.includeResult() ? result : null;
+            auditLogWriter.submit(new AuditLogWriter.PendingAuditLog(auditLog, responseResult, params));
             
         } catch (Exception e) {
             log.error("保存审计日志失败", e);
@@ -177,38 +175,4 @@ public class AuditLogAspect {
         }
         return className;
     }
-
-    /**
-     * 获取请求参数
-     */
-    private String getRequestParams(ProceedingJoinPoint point, HttpServletRequest request) {
-        try {
-            // 获取方法参数
-            Object[] args = point.getArgs();
-            if (args != null && args.length > 0) {
-                // 过滤敏感参数
-                String params = Arrays.stream(args)
-                        .filter(arg -> arg != null)
-                        .filter(arg -> !(arg instanceof HttpServletRequest))
-                        .filter(arg -> !(arg instanceof jakarta.servlet.http.HttpServletResponse))
-                        .map(arg -> {
-                            String argStr = arg.toString();
-                            // 过滤密码等敏感信息
-                            if (argStr.toLowerCase().contains("password")) {
-                                return "[FILTERED]";
-                            }
-                            return argStr;
-                        })
-                        .collect(Collectors.joining(", "));
-                
-                return params.length() > 2000 ? params.substring(0, 2000) + "..." : params;
-            }
-            
-            // 获取请求参数
-            return request.getQueryString();
-        } catch (Exception e) {
-            log.warn("获取请求参数失败", e);
-            return "";
-        }
-    }
 }
@@ -0,0 +1,32 @@
+package com.campus.shared.security;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 授权相关缓存的统一失效入口
+ *
+ * 角色或权限定义变更会同时影响 {@link PermissionMatrix} 的角色位图和 {@link UserDetailsCache} 中的权限列表，
+ * 两者需要一起失效。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Component
+public class AuthorizationCaches {
+
+    private final PermissionMatrix permissionMatrix;
+    private final UserDetailsCache userDetailsCache;
+
+    public AuthorizationCaches(PermissionMatrix permissionMatrix, UserDetailsCache userDetailsCache) {
+        this.permissionMatrix = permissionMatrix;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    /**
+     * 角色或权限定义变更后重建权限矩阵并失效所有用户的认证缓存（事务提交后生效，并通知其他节点）
+     */
+    public void refreshAll() {
+        permissionMatrix.rebuild();
+        userDetailsCache.invalidateAll();
+    }
+}
@@ -0,0 +1,118 @@
+package com.campus.shared.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * CIDR二叉基数树
+ *
+ * IPv4与IPv6各用一棵按位展开的二叉树，网段在其前缀长度对应的节点上挂载规则。查找时沿地址的位
+ * 从根向下走，经过的每个挂载点都是一个包含该地址的网段，开销只与前缀长度（最多32或128位）有关，
+ * 与规则数量无关。构建完成后只读，可被多个线程并发查询；规则变化时整棵树重建后替换。
+ *
+ * @param <T> 挂载在网段上的规则类型
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class CidrTrie<T> {
+
+    private final Node<T> ipv4Root = new Node<>();
+    private final Node<T> ipv6Root = new Node<>();
+    private int size;
+
+    /**
+     * 插入网段
+     *
+     * @param address      网络地址（4或16字节），前缀之外的位被忽略
+     * @param prefixLength 前缀长度
+     * @param value        挂载的规则
+     */
+    public void insert(byte[] address, int prefixLength, T value) {
+        Node<T> node = rootFor(address);
+        if (node == null || prefixLength < 0 || prefixLength > address.length * 8) {
+            throw new IllegalArgumentException("无效的网段: prefixLength=" + prefixLength);
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            node = node.getOrCreateChild(bitAt(address, i));
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * 查找包含该地址且满足条件的最长前缀网段上的规则
+     *
+     * @param address 地址（4或16字节）
+     * @param accept  规则过滤条件（如是否在有效期内）
+     * @return 命中的规则，没有命中时返回null
+     */
+    public T find(byte[] address, Predicate<T> accept) {
+        Node<T> node = rootFor(address);
+        T matched = null;
+        int depth = 0;
+        int maxDepth = address == null ? 0 : address.length * 8;
+        while (node != null) {
+            if (node.values != null) {
+                for (T value : node.values) {
+                    if (accept.test(value)) {
+                        matched = value;
+                        break;
+                    }
+                }
+            }
+            if (depth == maxDepth) {
+                break;
+            }
+            node = node.child(bitAt(address, depth++));
+        }
+        return matched;
+    }
+
+    /**
+     * 网段数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private Node<T> rootFor(byte[] address) {
+        if (address == null) {
+            return null;
+        }
+        if (address.length == 4) {
+            return ipv4Root;
+        }
+        return address.length == 16 ? ipv6Root : null;
+    }
+
+    private static int bitAt(byte[] address, int index) {
+        return (address[index >>> 3] >>> (7 - (index & 7))) & 1;
+    }
+
+    private static final class Node<T> {
+        private Node<T> zero;
+        private Node<T> one;
+        private List<T> values;
+
+        Node<T> child(int bit) {
+            return bit == 0 ? zero : one;
+        }
+
+        Node<T> getOrCreateChild(int bit) {
+            Node<T> child = child(bit);
+            if (child == null) {
+                child = new Node<>();
+                if (bit == 0) {
+                    zero = child;
+                } else {
+                    one = child;
+                }
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.BusinessConfig;
+import com.campus.shared.util.IpUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 客户端IP解析
+ *
+ * 客户端IP默认取连接的对端地址；只有对端是配置的可信代理（campus.business.security.trusted-proxies）时，
+ * 才从X-Forwarded-For右端向左跳过可信代理，取第一个不可信的地址，客户端自带的转发头无法伪造来源。
+ * IP白名单和限流等按客户端IP做安全判断的组件都应使用该解析结果。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    private final CidrTrie<Boolean> trustedProxies;
+
+    public ClientIpResolver(BusinessConfig businessConfig) {
+        this.trustedProxies = buildTrustedProxies(businessConfig.getSecurity().getTrustedProxies());
+    }
+
+    /**
+     * 解析客户端IP：对端不是可信代理时直接使用对端地址，否则从转发链右端取第一个不可信的地址
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        String leftmost = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            if (!isTrustedProxy(hop)) {
+                return hop;
+            }
+            leftmost = hop;
+        }
+        return leftmost;
+    }
+
+    private boolean isTrustedProxy(String ip) {
+        if (trustedProxies.size() == 0) {
+            return false;
+        }
+        byte[] address = IpUtil.toAddressBytes(ip);
+        return address != null && trustedProxies.find(address, trusted -> true) != null;
+    }
+
+    private static CidrTrie<Boolean> buildTrustedProxies(String[] entries) {
+        CidrTrie<Boolean> trie = new CidrTrie<>();
+        if (entries != null) {
+            for (String entry : entries) {
+                IpUtil.CidrBlock block = IpUtil.parseCidr(entry);
+                if (block != null) {
+                    trie.insert(block.address(), block.prefixLength(), Boolean.TRUE);
+                } else {
+                    log.warn("忽略无效的可信代理配置: {}", entry);
+                }
+            }
+        }
+        return trie;
+    }
+}
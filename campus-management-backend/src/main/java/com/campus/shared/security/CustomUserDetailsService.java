@@ -1,25 +1,26 @@
 package com.campus.shared.security;
 
-import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.campus.domain.entity.auth.Role;
 import com.campus.domain.entity.auth.User;
 import com.campus.domain.entity.auth.UserRole;
 import com.campus.domain.repository.auth.UserRepository;
+import com.campus.shared.security.UserDetailsCache.AuthSnapshot;
 
 /**
  * 自定义用户详情服务
  * 专门用于Spring Security认证
  *
+ * 认证信息经 {@link UserDetailsCache} 近端缓存，只有未命中时才开启只读事务查询用户及角色
+ *
  * @author campus
  * @since 2025-06-07
  */
@@ -27,36 +28,47 @@ import com.campus.domain.repository.auth.UserRepository;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache,
+                                    PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameAndStatus(username, 1)
-                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getStatus() == 1,
-                true,
-                true,
-                true,
-                getAuthorities(user)
-        );
+        return userDetailsCache.get(username, this::loadSnapshot);
+    }
+
+    /**
+     * 从数据库加载认证快照
+     */
+    private AuthSnapshot loadSnapshot(String username) {
+        return readOnlyTransaction.execute(status -> {
+            User user = userRepository.findByUsernameAndStatus(username, 1)
+                    .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
+
+            return new AuthSnapshot(
+                    user.getUsername(),
+                    user.getPassword(),
+                    user.getStatus() == 1,
+                    getAuthorities(user)
+            );
+        });
     }
 
     /**
      * 获取用户权限
      */
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
+    private List<String> getAuthorities(User user) {
         return user.getUserRoles().stream()
                 .map(UserRole::getRole)
                 .map(Role::getRoleKey)
-                .map(roleKey -> new SimpleGrantedAuthority("ROLE_" + roleKey))
-                .collect(Collectors.toList());
+                .map(roleKey -> "ROLE_" + roleKey)
+                .toList();
     }
 }
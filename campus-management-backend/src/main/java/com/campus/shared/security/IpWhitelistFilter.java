@@ -0,0 +1,84 @@
+package com.campus.shared.security;
+
+import com.campus.application.service.IpWhitelistService;
+import com.campus.infrastructure.config.BusinessConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 管理端IP白名单过滤器
+ *
+ * 启用 campus.business.security.ip-whitelist-enabled 后，管理端请求的客户端IP必须命中白名单，
+ * 否则返回403。匹配走 {@link IpWhitelistService} 的内存基数树，不访问数据库。
+ * 客户端IP由 {@link ClientIpResolver} 解析，只信任可信代理添加的转发头。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class IpWhitelistFilter extends OncePerRequestFilter {
+
+    private static final String[] ADMIN_PATHS = {"/admin", "/api/admin", "/api/v1/admin"};
+
+    private final IpWhitelistService ipWhitelistService;
+    private final BusinessConfig businessConfig;
+    private final ObjectMapper objectMapper;
+    private final ClientIpResolver clientIpResolver;
+
+    public IpWhitelistFilter(IpWhitelistService ipWhitelistService, BusinessConfig businessConfig,
+                             ObjectMapper objectMapper, ClientIpResolver clientIpResolver) {
+        this.ipWhitelistService = ipWhitelistService;
+        this.businessConfig = businessConfig;
+        this.objectMapper = objectMapper;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!businessConfig.getSecurity().isIpWhitelistEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String adminPath : ADMIN_PATHS) {
+            if (path.equals(adminPath) || path.startsWith(adminPath + "/")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientIp = clientIpResolver.resolve(request);
+        if (ipWhitelistService.isIpInWhitelist(clientIp)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("IP不在白名单中，拒绝访问管理端: ip={}, uri={}", clientIp, request.getRequestURI());
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Forbidden");
+        errorResponse.put("message", "当前IP不允许访问管理端");
+        errorResponse.put("code", 403);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+}
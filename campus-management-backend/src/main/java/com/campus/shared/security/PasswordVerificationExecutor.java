@@ -0,0 +1,166 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.LoginExecutorConfig;
+import com.campus.shared.exception.RateLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 登录密码校验专用线程池
+ *
+ * BCrypt校验是刻意设计的慢计算，集中登录时若直接在Tomcat请求线程上执行，会占满全部工作线程，
+ * 拖垮其它接口。这里把校验放到线程数与CPU核数相当的独立线程池中执行，排队数量有上限：
+ * 队列满或等待超时时立即以 {@link RateLimitException} 拒绝，被登录占用的请求线程数因此不超过
+ * 线程数 + 队列容量。
+ * <p>
+ * 校验成功后，若哈希的强度与配置的目标强度不一致，会在同一线程池中用目标强度重新计算哈希，
+ * 由调用方写回，从而可以根据实测的登录吞吐量调整强度。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class PasswordVerificationExecutor {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final LoginExecutorConfig config;
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder rehashEncoder;
+
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+    private final Counter rehashCounter;
+
+    public PasswordVerificationExecutor(LoginExecutorConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "login-verify-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.rehashEncoder = config.getRehashCost() > 0 ? new BCryptPasswordEncoder(config.getRehashCost()) : null;
+
+        Gauge.builder("campus.security.login_executor.queue_depth", executor, e -> e.getQueue().size())
+            .description("等待密码校验的登录请求数").register(meterRegistry);
+        Gauge.builder("campus.security.login_executor.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("正在执行密码校验的线程数").register(meterRegistry);
+        this.verifyTimer = Timer.builder("campus.security.login_executor.verify")
+            .description("单次密码校验（含重算哈希）耗时").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("campus.security.login_executor.rejected")
+            .description("因线程池繁忙被拒绝的登录请求数").register(meterRegistry);
+        this.rehashCounter = Counter.builder("campus.security.login_executor.rehash")
+            .description("登录时重算密码哈希的次数").register(meterRegistry);
+
+        log.info("登录密码校验线程池已启动: threads={}, queueCapacity={}, rehashCost={}",
+            threads, config.getQueueCapacity(), config.getRehashCost());
+    }
+
+    /**
+     * 在专用线程池中校验密码，阻塞等待结果
+     *
+     * @param encoder         校验用的密码编码器
+     * @param rawPassword     明文密码
+     * @param encodedPassword 已保存的密码哈希
+     * @return 校验结果
+     * @throws RateLimitException 线程池繁忙或等待超时
+     */
+    public Verification verify(PasswordEncoder encoder, CharSequence rawPassword, String encodedPassword) {
+        Future<Verification> future;
+        try {
+            future = executor.submit(() -> doVerify(encoder, rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("登录密码校验线程池已满，拒绝请求: queueDepth={}", executor.getQueue().size());
+            throw new RateLimitException("登录请求过多，请稍后再试");
+        }
+
+        try {
+            return future.get(config.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("登录密码校验等待超时: timeoutMs={}", config.getWaitTimeoutMs());
+            throw new RateLimitException("登录请求过多，请稍后再试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RateLimitException("登录请求已中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("密码校验失败", cause);
+        }
+    }
+
+    private Verification doVerify(PasswordEncoder encoder, CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return matchAndRehash(encoder, rawPassword, encodedPassword);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Verification matchAndRehash(PasswordEncoder encoder, CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || !encoder.matches(rawPassword, encodedPassword)) {
+            return Verification.REJECTED;
+        }
+        if (rehashEncoder == null || !needsRehash(encodedPassword)) {
+            return Verification.MATCHED;
+        }
+        rehashCounter.increment();
+        return new Verification(true, rehashEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 哈希是BCrypt且强度与目标强度不同时需要重算（强度可调高也可调低）
+     */
+    private boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != config.getRehashCost();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 密码校验结果
+     *
+     * @param matched      密码是否正确
+     * @param upgradedHash 按目标强度重算的新哈希，无需重算时为null
+     */
+    public record Verification(boolean matched, String upgradedHash) {
+
+        static final Verification MATCHED = new Verification(true, null);
+        static final Verification REJECTED = new Verification(false, null);
+    }
+}
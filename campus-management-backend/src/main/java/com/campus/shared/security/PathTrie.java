@@ -0,0 +1,98 @@
+package com.campus.shared.security;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 路径前缀树
+ *
+ * 按字符逐级存储路径规则，与 {@link String#startsWith} 的前缀语义一致。前缀规则记录所需角色位图，
+ * 精确规则用于所有角色均可访问的页面。匹配时沿路径累积所有命中前缀的位图（任一规则允许即可访问），
+ * 查找开销只与路径长度有关，与规则数量无关。构建完成后只读，可被多个线程并发查询。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+final class PathTrie {
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * 为路径前缀授权指定角色位图，同一前缀多次授权时取并集
+     */
+    void grant(String prefix, BitSet mask) {
+        Node node = descend(prefix);
+        if (node.prefixMask == null) {
+            node.prefixMask = new BitSet();
+            size++;
+        }
+        node.prefixMask.or(mask);
+    }
+
+    /**
+     * 路径（精确匹配）对所有角色开放
+     */
+    void allowAll(String path) {
+        Node node = descend(path);
+        if (!node.exactAllowAll) {
+            node.exactAllowAll = true;
+            size++;
+        }
+    }
+
+    /**
+     * 匹配路径
+     *
+     * @return 命中的规则，没有任何规则命中时返回null
+     */
+    Match match(String path) {
+        Node node = root;
+        BitSet mask = null;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.get(path.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.prefixMask != null) {
+                if (mask == null) {
+                    mask = node.prefixMask;
+                } else {
+                    mask = (BitSet) mask.clone();
+                    mask.or(node.prefixMask);
+                }
+            }
+        }
+        if (node != null && node.exactAllowAll) {
+            return new Match(true, mask != null ? mask : new BitSet());
+        }
+        return mask != null ? new Match(false, mask) : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node descend(String path) {
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.children.computeIfAbsent(path.charAt(i), key -> new Node());
+        }
+        return node;
+    }
+
+    /**
+     * 匹配结果
+     *
+     * @param allowAll 是否对所有角色开放
+     * @param mask     允许访问的角色位图（调用方不得修改）
+     */
+    record Match(boolean allowAll, BitSet mask) {}
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private BitSet prefixMask;
+        private boolean exactAllowAll;
+    }
+}
@@ -0,0 +1,396 @@
+package com.campus.shared.security;
+
+import com.campus.domain.entity.auth.Permission;
+import com.campus.domain.entity.auth.Role;
+import com.campus.domain.entity.auth.RolePermission;
+import com.campus.domain.entity.auth.UserRole;
+import com.campus.domain.repository.auth.PermissionRepository;
+import com.campus.domain.repository.auth.RolePermissionRepository;
+import com.campus.domain.repository.auth.RoleRepository;
+import com.campus.domain.repository.auth.UserRoleRepository;
+import com.campus.infrastructure.config.PermissionMatrixConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 编译后的权限矩阵
+ *
+ * 每个启用的角色分配一个位，用户持有的角色编译为角色位图；菜单和接口路径前缀编译为前缀树，
+ * 每个节点记录访问所需的角色位图。授权检查只需一次前缀树查找和一次位图求交，
+ * 用户角色位图按用户缓存。角色或权限数据变更后整体重建（事务提交后生效，并通知其他节点）。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class PermissionMatrix {
+
+    public static final String INVALIDATION_CHANNEL = "campus:security:permission-matrix";
+
+    private static final String REBUILD = "*";
+
+    /**
+     * 拥有全部菜单权限的角色
+     */
+    private static final List<String> SUPER_ROLES = List.of(
+        "ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_PRINCIPAL", "ROLE_VICE_PRINCIPAL");
+
+    /**
+     * 允许进入管理后台的角色
+     */
+    private static final List<String> ADMIN_CONSOLE_ROLES = List.of(
+        "ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_SYSTEM_ADMIN", "ROLE_ACADEMIC_ADMIN", "ROLE_FINANCE_ADMIN", "ROLE_TEACHER");
+
+    /**
+     * 所有角色都可以访问的页面（精确匹配）
+     */
+    private static final List<String> PUBLIC_MENUS = List.of(
+        "/admin/dashboard", "/admin/profile", "/admin/test-api");
+
+    /**
+     * 内置菜单规则（路径前缀 -> 允许的角色）
+     */
+    private static final List<MenuRule> BUILTIN_RULES = List.of(
+        // 系统管理页面
+        new MenuRule(List.of("/admin/users", "/admin/roles", "/admin/permissions", "/admin/settings"),
+            List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_SYSTEM_ADMIN")),
+        // 教务管理页面
+        new MenuRule(List.of("/admin/academic/", "/admin/students", "/admin/courses", "/admin/grades"),
+            List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_PRINCIPAL", "ROLE_VICE_PRINCIPAL",
+                "ROLE_ACADEMIC_DIRECTOR", "ROLE_DEAN", "ROLE_VICE_DEAN", "ROLE_DEPARTMENT_HEAD",
+                "ROLE_TEACHING_GROUP_HEAD", "ROLE_TEACHER", "ROLE_PROFESSOR", "ROLE_ASSOCIATE_PROFESSOR",
+                "ROLE_LECTURER", "ROLE_CLASS_TEACHER", "ROLE_COUNSELOR", "ROLE_ACADEMIC_STAFF")),
+        // 财务管理页面
+        new MenuRule(List.of("/admin/fee-items", "/admin/payments", "/admin/payment-records", "/admin/finance", "/admin/reports"),
+            List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_PRINCIPAL", "ROLE_VICE_PRINCIPAL",
+                "ROLE_FINANCE_DIRECTOR", "ROLE_FINANCE_STAFF")),
+        // 学生事务管理页面
+        new MenuRule(List.of("/admin/student-affairs", "/admin/classes", "/admin/attendance"),
+            List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_PRINCIPAL", "ROLE_VICE_PRINCIPAL",
+                "ROLE_STUDENT_AFFAIRS_DIRECTOR", "ROLE_DEAN", "ROLE_DEPARTMENT_HEAD", "ROLE_CLASS_TEACHER",
+                "ROLE_COUNSELOR", "ROLE_STUDENT_AFFAIRS_STAFF")),
+        // 人事管理页面
+        new MenuRule(List.of("/admin/hr", "/admin/teachers", "/admin/staff"),
+            List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_PRINCIPAL", "ROLE_VICE_PRINCIPAL",
+                "ROLE_HR_DIRECTOR", "ROLE_HR_STAFF")),
+        // 系统运维页面
+        new MenuRule(List.of("/admin/system", "/admin/config", "/admin/logs"),
+            List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN", "ROLE_IT_DIRECTOR"))
+    );
+
+    private final PermissionMatrixConfig config;
+    private final RoleRepository roleRepository;
+    private final UserRoleRepository userRoleRepository;
+    private final PermissionRepository permissionRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final InvalidationChannel invalidationChannel;
+
+    private volatile Snapshot snapshot;
+    // 失效代数：构建期间发生过失效的矩阵不安装，避免旧数据回填
+    private final AtomicLong generation = new AtomicLong();
+    // 用户位图失效代数：加载期间有用户位图被失效时结果不写入缓存，避免旧角色回填
+    private final AtomicLong userGeneration = new AtomicLong();
+    private final AtomicLong rebuildCount = new AtomicLong();
+
+    public PermissionMatrix(PermissionMatrixConfig config,
+                            RoleRepository roleRepository,
+                            UserRoleRepository userRoleRepository,
+                            PermissionRepository permissionRepository,
+                            RolePermissionRepository rolePermissionRepository,
+                            PlatformTransactionManager transactionManager,
+                            RedisTemplate<String, Object> redisTemplate,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainer) {
+        this.config = config;
+        this.roleRepository = roleRepository;
+        this.userRoleRepository = userRoleRepository;
+        this.permissionRepository = permissionRepository;
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.invalidationChannel = new InvalidationChannel(INVALIDATION_CHANNEL, redisTemplate,
+            listenerContainer.getIfAvailable());
+    }
+
+    @PostConstruct
+    public void start() {
+        invalidationChannel.subscribe(this::onMessage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        invalidationChannel.unsubscribe();
+    }
+
+    // ================================
+    // 授权检查
+    // ================================
+
+    /**
+     * 用户是否持有指定角色（按角色键或角色名称匹配）
+     */
+    public boolean hasRole(Long userId, String role) {
+        Snapshot current = snapshot();
+        Integer bit = current.roleBits.get(role);
+        return bit != null && userMask(current, userId).get(bit);
+    }
+
+    /**
+     * 用户是否持有任意一个指定角色
+     */
+    public boolean hasAnyRole(Long userId, String... roles) {
+        Snapshot current = snapshot();
+        return userMask(current, userId).intersects(current.maskOf(List.of(roles)));
+    }
+
+    /**
+     * 用户是否允许进入管理后台
+     */
+    public boolean isAdminConsoleUser(Long userId) {
+        Snapshot current = snapshot();
+        return userMask(current, userId).intersects(current.adminConsoleMask);
+    }
+
+    /**
+     * 用户是否有菜单（路径）权限
+     */
+    public boolean hasMenuPermission(Long userId, String path) {
+        if (userId == null || path == null) {
+            return false;
+        }
+        Snapshot current = snapshot();
+        BitSet mask = userMask(current, userId);
+        if (mask.intersects(current.superMask)) {
+            return true;
+        }
+        PathTrie.Match match = current.pathTrie.match(path);
+        if (match == null) {
+            // 默认拒绝访问
+            return false;
+        }
+        return match.allowAll() || mask.intersects(match.mask());
+    }
+
+    // ================================
+    // 失效与重建
+    // ================================
+
+    /**
+     * 用户角色分配变更后失效该用户的角色位图（事务提交后生效，并通知其他节点）
+     */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            InvalidationChannel.afterCommit(() -> {
+                evictUser(userId);
+                invalidationChannel.publish(userId.toString());
+            });
+        }
+    }
+
+    /**
+     * 角色或权限数据变更后重建矩阵（事务提交后生效，并通知其他节点）
+     */
+    public void rebuild() {
+        InvalidationChannel.afterCommit(() -> {
+            invalidateLocal();
+            invalidationChannel.publish(REBUILD);
+        });
+    }
+
+    /**
+     * 获取矩阵统计
+     */
+    public Map<String, Object> getStatistics() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("built", current != null);
+        stats.put("roles", current != null ? current.roleCount : 0);
+        stats.put("pathRules", current != null ? current.pathTrie.size() : 0);
+        stats.put("cachedUsers", current != null ? current.userMasks.size() : 0);
+        stats.put("rebuilds", rebuildCount.get());
+        return stats;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            long buildGeneration = generation.get();
+            current = build();
+            if (generation.get() == buildGeneration) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private BitSet userMask(Snapshot current, Long userId) {
+        if (userId == null) {
+            return new BitSet();
+        }
+        long now = System.currentTimeMillis();
+        UserMask cached = current.userMasks.get(userId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.mask;
+        }
+
+        long loadGeneration = userGeneration.get();
+        BitSet mask = new BitSet();
+        for (UserRole userRole : userRoleRepository.findByUserId(userId)) {
+            Integer bit = current.roleIdBits.get(userRole.getRoleId());
+            if (bit != null) {
+                mask.set(bit);
+            }
+        }
+        if (userGeneration.get() == loadGeneration) {
+            ensureCapacity(current, now);
+            current.userMasks.put(userId, new UserMask(mask, now + config.getUserMaskTtlSeconds() * 1000L));
+        }
+        return mask;
+    }
+
+    private Snapshot build() {
+        Snapshot built = readOnlyTransaction.execute(status -> {
+            Snapshot result = new Snapshot();
+            for (Role role : roleRepository.findAllActiveRoles()) {
+                int bit = result.roleCount++;
+                result.roleIdBits.put(role.getId(), bit);
+                if (role.getRoleKey() != null) {
+                    result.roleBits.put(role.getRoleKey(), bit);
+                }
+                if (role.getRoleName() != null) {
+                    result.roleBits.putIfAbsent(role.getRoleName(), bit);
+                }
+            }
+            result.superMask = result.maskOf(SUPER_ROLES);
+            result.adminConsoleMask = result.maskOf(ADMIN_CONSOLE_ROLES);
+
+            PUBLIC_MENUS.forEach(result.pathTrie::allowAll);
+            for (MenuRule rule : BUILTIN_RULES) {
+                BitSet mask = result.maskOf(rule.roles());
+                rule.prefixes().forEach(prefix -> result.pathTrie.grant(prefix, mask));
+            }
+            compilePermissionGrants(result);
+            return result;
+        });
+        rebuildCount.incrementAndGet();
+        log.info("权限矩阵已构建: roles={}, pathRules={}", built.roleCount, built.pathTrie.size());
+        return built;
+    }
+
+    /**
+     * 权限表中配置了资源路径的启用权限，按角色授权叠加到前缀树
+     */
+    private void compilePermissionGrants(Snapshot result) {
+        Map<Long, String> permissionPaths = new HashMap<>();
+        for (Permission permission : permissionRepository.findAllActivePermissions()) {
+            String path = permission.getResourcePath();
+            if (path != null && path.startsWith("/")) {
+                permissionPaths.put(permission.getId(), path);
+            }
+        }
+        if (permissionPaths.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, BitSet> grants = new HashMap<>();
+        for (RolePermission grant : rolePermissionRepository.findAll()) {
+            String path = permissionPaths.get(grant.getPermissionId());
+            Integer bit = result.roleIdBits.get(grant.getRoleId());
+            if (path == null || bit == null || grant.isDeleted()
+                    || !"grant".equals(grant.getGrantType())
+                    || (grant.getExpiresAt() != null && grant.getExpiresAt().isBefore(now))) {
+                continue;
+            }
+            grants.computeIfAbsent(path, key -> new BitSet()).set(bit);
+        }
+        grants.forEach(result.pathTrie::grant);
+    }
+
+    private void ensureCapacity(Snapshot current, long now) {
+        if (current.userMasks.size() < config.getMaxUsers()) {
+            return;
+        }
+        current.userMasks.values().removeIf(mask -> mask.expiresAt <= now);
+        Iterator<Long> iterator = current.userMasks.keySet().iterator();
+        while (current.userMasks.size() >= config.getMaxUsers() && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private void evictUser(Long userId) {
+        userGeneration.incrementAndGet();
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.userMasks.remove(userId);
+        }
+    }
+
+    private void invalidateLocal() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private void onMessage(Object body) {
+        if (REBUILD.equals(body)) {
+            invalidateLocal();
+        } else if (body instanceof String userId) {
+            evictUser(Long.valueOf(userId));
+        }
+    }
+
+    /**
+     * 某一时刻编译出的矩阵，角色位分配与用户位图缓存一同替换
+     */
+    private static final class Snapshot {
+
+        private final Map<String, Integer> roleBits = new HashMap<>();
+        private final Map<Long, Integer> roleIdBits = new HashMap<>();
+        private final PathTrie pathTrie = new PathTrie();
+        private final Map<Long, UserMask> userMasks = new ConcurrentHashMap<>();
+        private int roleCount;
+        private BitSet superMask;
+        private BitSet adminConsoleMask;
+
+        BitSet maskOf(List<String> roles) {
+            BitSet mask = new BitSet();
+            for (String role : roles) {
+                Integer bit = roleBits.get(role);
+                if (bit != null) {
+                    mask.set(bit);
+                }
+            }
+            return mask;
+        }
+    }
+
+    private record UserMask(BitSet mask, long expiresAt) {}
+
+    private record MenuRule(List<String> prefixes, List<String> roles) {}
+}
@@ -1,9 +1,9 @@
 package com.campus.shared.security;
 
+import com.campus.infrastructure.config.RateLimitConfig;
 import com.campus.shared.exception.RateLimitException;
 import com.campus.shared.util.SecurityUtil;
 import com.campus.shared.util.WebUtil;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -21,6 +21,15 @@ import java.util.List;
 
 /**
  * 限流切面
+ *
+ * 基于GCRA（通用信元速率算法）实现，Redis中每个key只保存一个值：理论到达时间（TAT）。
+ * 每次检查是一次GET + SET，开销与限流次数无关；效果等价于容量为count、每time/count秒补充一个令牌的令牌桶。
+ * <p>
+ * 本地优化：
+ * <ul>
+ *   <li>预过滤：Redis判定拒绝时会返回下一次可放行的时间，TAT只增不减，在此之前本节点直接拒绝，无需访问Redis</li>
+ *   <li>热点key批量申请：调用频繁的key一次向Redis申请多个配额在本地消费，过期未用完的配额作废，只会少放行、不会超限</li>
+ * </ul>
  * 
  * @author Campus Management System
  * @since 2025-06-20
@@ -28,39 +37,57 @@ import java.util.List;
 @Slf4j
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class RateLimitAspect {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String KEY_PREFIX = "rate_limit:gcra:";
 
     /**
-     * Lua脚本：实现滑动窗口限流
+     * Lua脚本：GCRA限流，支持一次申请多个配额
+     * ARGV: 放行间隔(微秒)、时间窗口(微秒)、申请数量、当前时间(微秒)
+     * 返回: {获得的配额数, 剩余可用配额数, 被拒绝时距下次可放行的毫秒数}
      */
     private static final String RATE_LIMIT_SCRIPT = """
             local key = KEYS[1]
-            local window = tonumber(ARGV[1])
-            local limit = tonumber(ARGV[2])
-            local current = tonumber(ARGV[3])
-            
-            -- 清理过期的记录
-            redis.call('zremrangebyscore', key, '-inf', current - window * 1000)
+            local interval = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local now = tonumber(ARGV[4])
             
-            -- 获取当前窗口内的请求数量
-            local count = redis.call('zcard', key)
+            local tat = tonumber(redis.call('get', key))
+            if not tat or tat < now then
+                tat = now
+            end
             
-            if count < limit then
-                -- 添加当前请求
-                redis.call('zadd', key, current, current)
-                redis.call('expire', key, window)
-                return {1, limit - count - 1}
-            else
-                return {0, 0}
+            -- 当前可放行的请求数
+            local available = math.floor((now + period - tat) / interval)
+            if available < 1 then
+                return {0, 0, math.ceil((tat - period + interval - now) / 1000)}
             end
+            
+            local granted = math.min(requested, available)
+            local new_tat = tat + granted * interval
+            redis.call('set', key, string.format('%.0f', new_tat), 'PX', math.ceil((new_tat - now) / 1000))
+            return {granted, available - granted, 0}
             """;
 
     @SuppressWarnings("unchecked")
     private final DefaultRedisScript<List<Long>> rateLimitScript = new DefaultRedisScript<>(RATE_LIMIT_SCRIPT, (Class<List<Long>>) (Class<?>) List.class);
 
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RateLimitConfig.GcraConfig gcraConfig;
+
+    /**
+     * 本节点各限流key的状态（预过滤截止时间、批量配额）
+     */
+    private final RateLimitBucketStore<LocalState> localStates;
+
+    public RateLimitAspect(RedisTemplate<String, Object> redisTemplate, RateLimitConfig rateLimitConfig) {
+        this.redisTemplate = redisTemplate;
+        this.gcraConfig = rateLimitConfig.getGcra();
+        this.localStates = new RateLimitBucketStore<>(gcraConfig.getMaxLocalKeys(), 16);
+    }
+
     @Around("@annotation(rateLimit)")
     public Object around(ProceedingJoinPoint point, RateLimit rateLimit) throws Throwable {
         MethodSignature signature = (MethodSignature) point.getSignature();
@@ -89,7 +116,7 @@ public class RateLimitAspect {
      * 生成限流key
      */
     private String generateKey(ProceedingJoinPoint point, RateLimit rateLimit) {
-        StringBuilder keyBuilder = new StringBuilder("rate_limit:");
+        StringBuilder keyBuilder = new StringBuilder(KEY_PREFIX);
         
         switch (rateLimit.limitType()) {
             case IP:
@@ -118,29 +145,112 @@ public class RateLimitAspect {
      * 检查是否超过限流
      */
     private boolean isExceedLimit(String key, RateLimit rateLimit) {
+        long windowMs = rateLimit.time() * 1000L;
+        LocalState state = localStates.getOrCreate(key, windowMs, LocalState::new);
+
+        // 本地状态只在读写时短暂加锁，向Redis申请配额期间不持有锁，避免同一key的请求排队等待网络往返
+        long now = System.currentTimeMillis();
+        int requested;
+        synchronized (state) {
+            int recentCalls = state.recordCall(now);
+
+            if (gcraConfig.isLocalPreFilter() && now < state.deniedUntil) {
+                return true;
+            }
+            if (state.leased > 0 && now < state.leaseExpiresAt) {
+                state.leased--;
+                return false;
+            }
+            requested = recentCalls >= gcraConfig.getHotKeyThreshold() ? leaseSize(rateLimit) : 1;
+        }
+
+        List<Long> result = acquire(key, rateLimit, requested, now);
+        if (result == null || result.size() < 3) {
+            // 异常情况下不限流，保证服务可用性
+            return false;
+        }
+
+        long granted = result.get(0);
+        log.debug("限流检查: key={}, requested={}, granted={}, remaining={}", key, requested, granted, result.get(1));
+        synchronized (state) {
+            if (granted == 0) {
+                state.deniedUntil = Math.max(state.deniedUntil, now + result.get(2));
+                return true;
+            }
+            // 并发申请到的批量配额累加，已过期的剩余配额作废
+            long remaining = now < state.leaseExpiresAt ? state.leased : 0;
+            state.leased = remaining + granted - 1;
+            state.leaseExpiresAt = now + gcraConfig.getLeaseTtlMs();
+            return false;
+        }
+    }
+
+    /**
+     * 批量申请的配额数：不超过配置上限，也不超过窗口配额的1/10，避免单节点占用过多突发额度
+     */
+    private int leaseSize(RateLimit rateLimit) {
+        return Math.max(1, Math.min(gcraConfig.getMaxLease(), rateLimit.count() / 10));
+    }
+
+    /**
+     * 向Redis申请配额
+     *
+     * @return 脚本返回值，异常时返回null
+     */
+    private List<Long> acquire(String key, RateLimit rateLimit, int requested, long nowMs) {
+        long periodUs = rateLimit.time() * 1_000_000L;
+        long intervalUs = Math.max(1L, periodUs / Math.max(1, rateLimit.count()));
         try {
-            List<Long> result = redisTemplate.execute(
+            return redisTemplate.execute(
                 rateLimitScript,
                 Collections.singletonList(key),
-                rateLimit.time(),
-                rateLimit.count(),
-                System.currentTimeMillis()
+                intervalUs,
+                periodUs,
+                requested,
+                nowMs * 1000L
             );
-            
-            if (result != null && !result.isEmpty()) {
-                Long allowed = result.get(0);
-                Long remaining = result.size() > 1 ? result.get(1) : 0L;
-                
-                log.debug("限流检查: key={}, allowed={}, remaining={}", key, allowed, remaining);
-                
-                return allowed == 0;
-            }
-            
-            return false;
         } catch (Exception e) {
             log.error("限流检查异常: key={}", key, e);
-            // 异常情况下不限流，保证服务可用性
-            return false;
+            return null;
+        }
+    }
+
+    /**
+     * 限流key在本节点的状态，读写时需持有对象锁
+     */
+    private static final class LocalState {
+        /**
+         * Redis判定拒绝后，在此时间之前本地直接拒绝
+         */
+        private long deniedUntil;
+
+        /**
+         * 本地剩余的批量配额及其过期时间
+         */
+        private long leased;
+        private long leaseExpiresAt;
+
+        /**
+         * 按秒统计的调用次数，用于识别热点key
+         */
+        private long secondStart;
+        private int currentCalls;
+        private int previousCalls;
+
+        /**
+         * 记录一次调用
+         *
+         * @return 当前秒与上一秒调用次数中的较大值
+         */
+        int recordCall(long now) {
+            long elapsed = now - secondStart;
+            if (elapsed >= 1000) {
+                previousCalls = elapsed < 2000 ? currentCalls : 0;
+                currentCalls = 0;
+                secondStart = now;
+            }
+            currentCalls++;
+            return Math.max(previousCalls, currentCalls);
         }
     }
 }
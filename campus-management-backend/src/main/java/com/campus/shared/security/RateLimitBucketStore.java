@@ -0,0 +1,160 @@
+package com.campus.shared.security;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 有界、可过期的限流令牌桶存储
+ *
+ * 按键哈希分段，每段是一个按访问顺序排列的LinkedHashMap，段内加锁，段间互不阻塞。
+ * 每个条目记录空闲过期时间（通常取令牌桶的补充周期：空闲超过一个周期的桶必然已补满，
+ * 丢弃后重建与原桶等价）；插入时从最久未访问端清理过期条目，超出段容量时按LRU淘汰。
+ * 总条目数不超过配置上限，避免大量不同的键（如伪造的IP）耗尽内存。
+ *
+ * @param <V> 存储的令牌桶类型
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class RateLimitBucketStore<V> {
+
+    private final List<Segment<V>> segments;
+    private final int segmentMask;
+    private final LongAdder capacityEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public RateLimitBucketStore(int maxSize, int segmentCount) {
+        if (maxSize <= 0 || segmentCount <= 0) {
+            throw new IllegalArgumentException("令牌桶存储参数不合法");
+        }
+        // 段数取2的幂，便于按哈希取模
+        int count = Integer.highestOneBit(Math.min(segmentCount, maxSize));
+        this.segmentMask = count - 1;
+        int perSegment = Math.max(1, maxSize / count);
+        List<Segment<V>> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            created.add(new Segment<>(perSegment));
+        }
+        this.segments = List.copyOf(created);
+    }
+
+    /**
+     * 获取令牌桶，不存在或已过期时通过factory创建
+     *
+     * @param idleTtlMs 空闲多久后过期（毫秒），每次访问都会顺延
+     */
+    public V getOrCreate(String key, long idleTtlMs, Supplier<V> factory) {
+        Segment<V> segment = segmentFor(key);
+        long now = System.currentTimeMillis();
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    entry.expiresAt = now + idleTtlMs;
+                    return entry.value;
+                }
+                segment.map.remove(key);
+                expirations.increment();
+            }
+
+            purgeEldestExpired(segment, now);
+            V value = factory.get();
+            segment.map.put(key, new Entry<>(value, now + idleTtlMs));
+            while (segment.map.size() > segment.capacity) {
+                Iterator<Entry<V>> iterator = segment.map.values().iterator();
+                iterator.next();
+                iterator.remove();
+                capacityEvictions.increment();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 全量清理过期条目（供定时任务调用）
+     *
+     * @return 清理的条目数
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> iterator = segment.map.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().expiresAt <= now) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 因容量不足被淘汰的条目数
+     */
+    public long getCapacityEvictions() {
+        return capacityEvictions.sum();
+    }
+
+    /**
+     * 因空闲过期被清理的条目数
+     */
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * 从最久未访问端清理已过期的条目，遇到未过期条目即停止
+     */
+    private void purgeEldestExpired(Segment<V> segment, long now) {
+        Iterator<Entry<V>> iterator = segment.map.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt > now) {
+                return;
+            }
+            iterator.remove();
+            expirations.increment();
+        }
+    }
+
+    private Segment<V> segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & segmentMask);
+    }
+
+    private static final class Segment<V> {
+        private final int capacity;
+        private final LinkedHashMap<String, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.campus.shared.security;
 
+import com.campus.infrastructure.config.RateLimitConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Bucket4j;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,9 +17,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -22,11 +27,13 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * API限流过滤器
  * 基于令牌桶算法实现API访问频率限制
+ *
+ * 路由规则预编译为前缀树，按最长前缀匹配；令牌桶以"客户端IP + 命中的路由规则"为键，
+ * 存放在有界、空闲过期的存储中，路径中的ID等变化部分不会产生新的桶。
  * 
  * @author Campus Management Team
  * @version 1.0.0
@@ -37,34 +44,56 @@ public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    @Autowired
-    @SuppressWarnings("unused")
-    private RedisTemplate<String, Object> redisTemplate;
-
     @Autowired
     private ObjectMapper objectMapper;
 
-    // 本地缓存，用于存储令牌桶
-    private final Map<String, Bucket> bucketCache = new ConcurrentHashMap<>();
-
-    // 不同API的限流配置
-    private static final Map<String, RateLimitConfig> RATE_LIMIT_CONFIGS = new HashMap<>();
+    // 不同API的限流配置（最长前缀匹配）
+    private static final RouteTrie ROUTES = new RouteTrie();
 
     static {
         // 登录API - 严格限制
-        RATE_LIMIT_CONFIGS.put("/api/v1/auth/login", new RateLimitConfig(5, Duration.ofMinutes(1)));
+        ROUTES.add("/api/v1/auth/login", 5, Duration.ofMinutes(1));
         
         // 注册API - 严格限制
-        RATE_LIMIT_CONFIGS.put("/api/v1/auth/register", new RateLimitConfig(3, Duration.ofMinutes(5)));
+        ROUTES.add("/api/v1/auth/register", 3, Duration.ofMinutes(5));
         
         // 一般API - 中等限制
-        RATE_LIMIT_CONFIGS.put("/api/v1/", new RateLimitConfig(100, Duration.ofMinutes(1)));
+        ROUTES.add("/api/v1/", 100, Duration.ofMinutes(1));
         
         // 管理员API - 宽松限制
-        RATE_LIMIT_CONFIGS.put("/api/v1/admin/", new RateLimitConfig(200, Duration.ofMinutes(1)));
+        ROUTES.add("/api/v1/admin/", 200, Duration.ofMinutes(1));
         
         // 文件上传API - 严格限制
-        RATE_LIMIT_CONFIGS.put("/api/v1/upload", new RateLimitConfig(10, Duration.ofMinutes(1)));
+        ROUTES.add("/api/v1/upload", 10, Duration.ofMinutes(1));
+    }
+
+    private final RateLimitConfig rateLimitConfig;
+
+    // 本地令牌桶存储（有界、空闲过期）
+    private final RateLimitBucketStore<Bucket> bucketStore;
+
+    private final Counter rejectedCounter;
+
+    // 令牌桶按客户端IP区分，只信任可信代理添加的转发头，伪造的来源地址无法挤掉其他客户端的令牌桶
+    private final ClientIpResolver clientIpResolver;
+
+    public RateLimitingFilter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry,
+                              ClientIpResolver clientIpResolver) {
+        this.rateLimitConfig = rateLimitConfig;
+        this.clientIpResolver = clientIpResolver;
+        RateLimitConfig.BucketStoreConfig storeConfig = rateLimitConfig.getBucketStore();
+        this.bucketStore = new RateLimitBucketStore<>(storeConfig.getMaxBuckets(), storeConfig.getSegments());
+
+        Gauge.builder("campus.rate_limit.buckets", bucketStore, RateLimitBucketStore::size)
+            .description("限流过滤器本地令牌桶数量").register(meterRegistry);
+        FunctionCounter.builder("campus.rate_limit.evictions", bucketStore, RateLimitBucketStore::getCapacityEvictions)
+            .tag("reason", "capacity")
+            .description("令牌桶因容量不足被淘汰的次数").register(meterRegistry);
+        FunctionCounter.builder("campus.rate_limit.evictions", bucketStore, RateLimitBucketStore::getExpirations)
+            .tag("reason", "expired")
+            .description("令牌桶因空闲过期被清理的次数").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("campus.rate_limit.rejected")
+            .description("限流过滤器拒绝的请求数").register(meterRegistry);
     }
 
     @Override
@@ -73,20 +102,19 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                                   FilterChain filterChain) throws ServletException, IOException {
         
         String requestURI = request.getRequestURI();
-        String clientIp = getClientIpAddress(request);
         
         // 检查是否需要限流
-        RateLimitConfig config = getRateLimitConfig(requestURI);
-        if (config == null) {
+        Route route = rateLimitConfig.isEnabled() ? ROUTES.match(requestURI) : null;
+        if (route == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // 生成限流键
-        String rateLimitKey = generateRateLimitKey(clientIp, requestURI);
-        
-        // 获取或创建令牌桶
-        Bucket bucket = getBucket(rateLimitKey, config);
+        String clientIp = clientIpResolver.resolve(request);
+
+        // 获取或创建令牌桶（键为客户端IP + 路由规则）
+        Bucket bucket = bucketStore.getOrCreate(clientIp + "|" + route.pattern(),
+            route.refillPeriod().toMillis(), () -> createBucket(route));
         
         // 尝试消费令牌
         if (bucket.tryConsume(1)) {
@@ -95,66 +123,33 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         } else {
             // 限流触发，记录日志并返回错误
+            rejectedCounter.increment();
             logger.warn("Rate limit exceeded for IP: {} on URI: {}", clientIp, requestURI);
             handleRateLimitExceeded(response, bucket);
         }
     }
 
     /**
-     * 获取客户端IP地址
+     * 定期清理空闲过期的令牌桶
      */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+    @Scheduled(fixedDelayString = "${campus.rate-limit.bucket-store.purge-interval-ms:60000}")
+    public void purgeExpiredBuckets() {
+        int removed = bucketStore.purgeExpired();
+        if (removed > 0) {
+            logger.debug("清理过期令牌桶: {} 个", removed);
         }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
     }
 
     /**
-     * 获取请求URI对应的限流配置
-     */
-    private RateLimitConfig getRateLimitConfig(String requestURI) {
-        // 精确匹配
-        if (RATE_LIMIT_CONFIGS.containsKey(requestURI)) {
-            return RATE_LIMIT_CONFIGS.get(requestURI);
-        }
-        
-        // 前缀匹配
-        for (Map.Entry<String, RateLimitConfig> entry : RATE_LIMIT_CONFIGS.entrySet()) {
-            if (requestURI.startsWith(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        
-        return null;
-    }
-
-    /**
-     * 生成限流键
-     */
-    private String generateRateLimitKey(String clientIp, String requestURI) {
-        return "rate_limit:" + clientIp + ":" + requestURI.replaceAll("/", "_");
-    }
-
-    /**
-     * 获取或创建令牌桶
+     * 创建令牌桶
      */
     @SuppressWarnings("deprecation")
-    private Bucket getBucket(String key, RateLimitConfig config) {
-        return bucketCache.computeIfAbsent(key, k -> {
-            Bandwidth limit = Bandwidth.classic(config.getCapacity(),
-                Refill.intervally(config.getCapacity(), config.getRefillPeriod()));
-            return Bucket4j.builder()
-                .addLimit(limit)
-                .build();
-        });
+    private Bucket createBucket(Route route) {
+        Bandwidth limit = Bandwidth.classic(route.capacity(),
+            Refill.intervally(route.capacity(), route.refillPeriod()));
+        return Bucket4j.builder()
+            .addLimit(limit)
+            .build();
     }
 
     /**
@@ -183,23 +178,46 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     }
 
     /**
-     * 限流配置类
+     * 路由限流规则
+     */
+    private record Route(String pattern, long capacity, Duration refillPeriod) {}
+
+    /**
+     * 路由前缀树，启动时构建完成后只读
      */
-    private static class RateLimitConfig {
-        private final long capacity;
-        private final Duration refillPeriod;
+    private static final class RouteTrie {
 
-        public RateLimitConfig(long capacity, Duration refillPeriod) {
-            this.capacity = capacity;
-            this.refillPeriod = refillPeriod;
+        private final Node root = new Node();
+
+        void add(String pattern, long capacity, Duration refillPeriod) {
+            Node node = root;
+            for (int i = 0; i < pattern.length(); i++) {
+                node = node.children.computeIfAbsent(pattern.charAt(i), key -> new Node());
+            }
+            node.route = new Route(pattern, capacity, refillPeriod);
         }
 
-        public long getCapacity() {
-            return capacity;
+        /**
+         * 最长前缀匹配
+         */
+        Route match(String uri) {
+            Node node = root;
+            Route matched = null;
+            for (int i = 0; i < uri.length(); i++) {
+                node = node.children.get(uri.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                if (node.route != null) {
+                    matched = node.route;
+                }
+            }
+            return matched;
         }
 
-        public Duration getRefillPeriod() {
-            return refillPeriod;
+        private static final class Node {
+            private final Map<Character, Node> children = new HashMap<>();
+            private Route route;
         }
     }
 }
@@ -0,0 +1,382 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.cache.DistributedCacheService;
+import com.campus.infrastructure.config.TokenRevocationConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import com.campus.shared.util.BloomFilter;
+import com.campus.shared.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token吊销服务
+ *
+ * Redis中保存两类吊销记录，过期时间与其能影响的token寿命一致：
+ * <ul>
+ *   <li>campus:token:revoked:{jti}：单个token被吊销（登出）</li>
+ *   <li>campus:token:not-before:{username}：该用户在此时间之前签发的token全部失效（改密、禁用、删除）</li>
+ * </ul>
+ * 每个节点在本地维护一个包含全部吊销记录的布隆过滤器，并完整复制数量很少的"不早于"时间。
+ * 命中过滤器的jti查询Redis确认；新的吊销通过Redis发布/订阅复制到其它节点，并定期从Redis全量重建以剔除过期记录。
+ * 发布/订阅不保证送达，过滤器未命中时仍以一次MGET向Redis确认，"未吊销"的结果按token在本地缓存
+ * confirm-ttl-ms，同一token的后续请求无需网络访问，漏收通知的节点最多在该时长内放行已吊销的token。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    public static final String REVOCATION_CHANNEL = "campus:security:token-revocation";
+
+    private static final String REVOKED_KEY_PREFIX = "campus:token:revoked:";
+    private static final String NOT_BEFORE_KEY_PREFIX = "campus:token:not-before:";
+    private static final String JTI_MEMBER = "jti:";
+    private static final String USER_MEMBER = "user:";
+    private static final int USER_SCAN_BATCH_SIZE = 1000;
+
+    private final TokenRevocationConfig config;
+    private final JwtUtil jwtUtil;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final DistributedCacheService cacheService;
+    private final InvalidationChannel revocationChannel;
+
+    private volatile Replica replica;
+    // 全量重建期间收到的吊销同时写入新副本，避免重建覆盖掉新记录
+    private Replica rebuilding;
+
+    // 过滤器未命中且已向Redis确认未吊销的token（jti或用户名@签发时间）
+    private final Cache<String, Boolean> confirmed;
+
+    private final Counter fastPathCounter;
+    private final Counter lookupCounter;
+    private final Counter rejectedCounter;
+
+    public TokenRevocationService(TokenRevocationConfig config,
+                                  JwtUtil jwtUtil,
+                                  RedisTemplate<String, Object> redisTemplate,
+                                  DistributedCacheService cacheService,
+                                  ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                                  MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jwtUtil = jwtUtil;
+        this.redisTemplate = redisTemplate;
+        this.cacheService = cacheService;
+        this.revocationChannel = new InvalidationChannel(REVOCATION_CHANNEL, redisTemplate,
+            listenerContainer.getIfAvailable());
+        this.replica = newReplica();
+        this.confirmed = Caffeine.newBuilder()
+            .maximumSize(config.getExpectedEntries())
+            .expireAfterWrite(config.getConfirmTtlMs(), TimeUnit.MILLISECONDS)
+            .build();
+
+        this.fastPathCounter = Counter.builder("campus.security.token_revocation.check").tag("path", "bloom")
+            .description("布隆过滤器未命中且本地已确认未吊销的次数").register(meterRegistry);
+        this.lookupCounter = Counter.builder("campus.security.token_revocation.check").tag("path", "lookup")
+            .description("命中布隆过滤器后进一步确认的次数").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("campus.security.token_revocation.rejected")
+            .description("因已吊销被拒绝的token次数").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        revocationChannel.subscribe(this::onMessage);
+        rebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revocationChannel.unsubscribe();
+    }
+
+    // ================================
+    // 检查
+    // ================================
+
+    /**
+     * token是否已被吊销
+     *
+     * @param claims 已验签的声明
+     */
+    public boolean isRevoked(Claims claims) {
+        Replica current = replica;
+        String jti = claims.getId();
+        String username = claims.getSubject();
+        boolean jtiCandidate = jti != null && current.filter.mightContain(JTI_MEMBER + jti);
+        boolean userCandidate = username != null && current.filter.mightContain(USER_MEMBER + username);
+        if (!jtiCandidate && !userCandidate) {
+            return isRevokedOnMiss(claims, jti, username);
+        }
+
+        lookupCounter.increment();
+        boolean revoked = (userCandidate && isIssuedBeforeNotBefore(current, username, claims.getIssuedAt()))
+                || (jtiCandidate && isJtiRevoked(jti));
+        if (revoked) {
+            rejectedCounter.increment();
+            log.debug("拒绝已吊销的token: username={}, jti={}", username, jti);
+        }
+        return revoked;
+    }
+
+    /**
+     * 过滤器未命中：本节点可能漏收了吊销通知，以一次MGET向Redis确认并缓存"未吊销"结果
+     */
+    private boolean isRevokedOnMiss(Claims claims, String jti, String username) {
+        Date issuedAt = claims.getIssuedAt();
+        String confirmKey = jti != null ? jti : username + "@" + (issuedAt != null ? issuedAt.getTime() : 0);
+        if (confirmed.getIfPresent(confirmKey) != null) {
+            fastPathCounter.increment();
+            return false;
+        }
+
+        lookupCounter.increment();
+        String revokedKey = jti != null ? REVOKED_KEY_PREFIX + jti : null;
+        String notBeforeKey = username != null ? NOT_BEFORE_KEY_PREFIX + username : null;
+        List<String> keys = new ArrayList<>(2);
+        if (revokedKey != null) {
+            keys.add(revokedKey);
+        }
+        if (notBeforeKey != null) {
+            keys.add(notBeforeKey);
+        }
+        Map<String, Object> found;
+        try {
+            found = keys.isEmpty() ? Map.of() : cacheService.getAll(keys);
+        } catch (Exception e) {
+            // 本地副本中没有任何吊销记录，Redis不可用时不影响正常请求
+            log.debug("确认token吊销状态失败，按本地副本处理: jti={}, error={}", jti, e.getMessage());
+            confirmed.put(confirmKey, Boolean.TRUE);
+            return false;
+        }
+
+        // 补齐漏收的吊销记录，后续请求走正常的过滤器命中路径
+        boolean revoked = false;
+        if (revokedKey != null && found.containsKey(revokedKey)) {
+            apply(JTI_MEMBER + jti);
+            revoked = true;
+        }
+        if (notBeforeKey != null && found.get(notBeforeKey) instanceof Number notBefore) {
+            apply(USER_MEMBER + username + "@" + notBefore.longValue());
+            revoked |= issuedAt == null || issuedAt.getTime() < notBefore.longValue();
+        }
+        if (revoked) {
+            rejectedCounter.increment();
+            log.debug("拒绝本节点漏收通知的已吊销token: username={}, jti={}", username, jti);
+        } else {
+            confirmed.put(confirmKey, Boolean.TRUE);
+        }
+        return revoked;
+    }
+
+    private boolean isIssuedBeforeNotBefore(Replica current, String username, Date issuedAt) {
+        Long notBefore = current.notBefore.get(username);
+        if (notBefore == null) {
+            return false;
+        }
+        // 无签发时间的token无法判断，按已吊销处理
+        return issuedAt == null || issuedAt.getTime() < notBefore;
+    }
+
+    private boolean isJtiRevoked(String jti) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_KEY_PREFIX + jti));
+        } catch (Exception e) {
+            // 过滤器命中且无法确认时按已吊销处理
+            log.warn("查询token吊销状态失败，按已吊销处理: jti={}, error={}", jti, e.getMessage());
+            return true;
+        }
+    }
+
+    // ================================
+    // 吊销
+    // ================================
+
+    /**
+     * 吊销单个token（登出）
+     *
+     * 没有jti的旧token无法单独吊销，改为使该用户此前签发的全部token失效。
+     *
+     * @param claims 已验签的声明
+     */
+    public void revokeToken(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            revokeAllForUser(claims.getSubject());
+            return;
+        }
+        long ttlMs = claims.getExpiration() != null
+                ? claims.getExpiration().getTime() - System.currentTimeMillis()
+                : jwtUtil.getMaxTokenLifetime();
+        if (ttlMs <= 0) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REVOKED_KEY_PREFIX + jti, 1, ttlMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入token吊销记录失败，仅本节点生效: jti={}, error={}", jti, e.getMessage());
+        }
+        String member = JTI_MEMBER + jti;
+        apply(member);
+        revocationChannel.publish(member);
+        log.info("token已吊销: username={}, jti={}", claims.getSubject(), jti);
+    }
+
+    /**
+     * 使用户在当前时刻之前签发的全部token失效（事务提交后生效）
+     *
+     * token签发时间精确到秒，"不早于"时间向下取整到秒。
+     */
+    public void revokeAllForUser(String username) {
+        if (username == null) {
+            return;
+        }
+        InvalidationChannel.afterCommit(() -> {
+            long notBefore = System.currentTimeMillis() / 1000 * 1000;
+            try {
+                redisTemplate.opsForValue().set(NOT_BEFORE_KEY_PREFIX + username, notBefore,
+                        jwtUtil.getMaxTokenLifetime(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                log.warn("写入用户token失效时间失败，仅本节点生效: username={}, error={}", username, e.getMessage());
+            }
+            String member = USER_MEMBER + username + "@" + notBefore;
+            apply(member);
+            revocationChannel.publish(member);
+            log.info("用户此前签发的token已全部失效: username={}", username);
+        });
+    }
+
+    // ================================
+    // 本地副本
+    // ================================
+
+    /**
+     * 定期从Redis全量重建本地副本
+     */
+    @Scheduled(fixedDelayString = "${campus.security.token-revocation.rebuild-interval-ms:600000}",
+               initialDelayString = "${campus.security.token-revocation.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        Replica fresh = newReplica();
+        synchronized (this) {
+            rebuilding = fresh;
+        }
+        try {
+            try (Cursor<String> cursor = redisTemplate.scan(
+                    ScanOptions.scanOptions().match(REVOKED_KEY_PREFIX + "*").count(1000).build())) {
+                while (cursor.hasNext()) {
+                    fresh.filter.put(JTI_MEMBER + cursor.next().substring(REVOKED_KEY_PREFIX.length()));
+                }
+            }
+
+            // 每凑满一批SCAN结果即批量读取，大量用户被吊销时内存占用和单次MGET大小都有上限
+            List<String> userKeys = new ArrayList<>(USER_SCAN_BATCH_SIZE);
+            try (Cursor<String> cursor = redisTemplate.scan(
+                    ScanOptions.scanOptions().match(NOT_BEFORE_KEY_PREFIX + "*").count(USER_SCAN_BATCH_SIZE).build())) {
+                while (cursor.hasNext()) {
+                    userKeys.add(cursor.next());
+                    if (userKeys.size() >= USER_SCAN_BATCH_SIZE || !cursor.hasNext()) {
+                        loadNotBefore(fresh, userKeys);
+                        userKeys.clear();
+                    }
+                }
+            }
+
+            synchronized (this) {
+                replica = fresh;
+                rebuilding = null;
+            }
+            log.debug("token吊销副本已重建: 用户数={}", fresh.notBefore.size());
+        } catch (Exception e) {
+            synchronized (this) {
+                rebuilding = null;
+            }
+            // 保留现有副本，新的吊销仍会通过通知写入
+            log.warn("从Redis重建token吊销副本失败: {}", e.getMessage());
+        }
+    }
+
+    private void loadNotBefore(Replica target, List<String> userKeys) {
+        cacheService.getAll(userKeys).forEach((key, value) -> {
+            if (value instanceof Number notBefore) {
+                target.addNotBefore(key.substring(NOT_BEFORE_KEY_PREFIX.length()), notBefore.longValue());
+            }
+        });
+    }
+
+    /**
+     * 将吊销记录写入本地副本
+     *
+     * @param member jti:{jti} 或 user:{username}@{notBefore}
+     */
+    private synchronized void apply(String member) {
+        if (member.startsWith(JTI_MEMBER)) {
+            confirmed.invalidate(member.substring(JTI_MEMBER.length()));
+        } else {
+            // 用户级吊销很少发生，直接清空已确认的结果
+            confirmed.invalidateAll();
+        }
+        replica.add(member);
+        if (rebuilding != null) {
+            rebuilding.add(member);
+        }
+    }
+
+    private Replica newReplica() {
+        return new Replica(BloomFilter.create(config.getExpectedEntries(), config.getFalsePositiveRate()));
+    }
+
+    private void onMessage(Object body) {
+        if (body instanceof String member) {
+            apply(member);
+        }
+    }
+
+    /**
+     * 本地副本：布隆过滤器（全部吊销记录）+ 用户"不早于"时间
+     */
+    private static final class Replica {
+
+        private final BloomFilter filter;
+        private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+        Replica(BloomFilter filter) {
+            this.filter = filter;
+        }
+
+        void add(String member) {
+            if (member.startsWith(USER_MEMBER)) {
+                int at = member.lastIndexOf('@');
+                if (at > USER_MEMBER.length()) {
+                    addNotBefore(member.substring(USER_MEMBER.length(), at), Long.parseLong(member.substring(at + 1)));
+                }
+            } else {
+                filter.put(member);
+            }
+        }
+
+        void addNotBefore(String username, long time) {
+            notBefore.merge(username, time, Math::max);
+            filter.put(USER_MEMBER + username);
+        }
+    }
+}
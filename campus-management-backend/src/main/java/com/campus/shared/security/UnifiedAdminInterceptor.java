@@ -12,6 +12,8 @@ import com.campus.application.service.auth.UserService;
 import com.campus.domain.entity.auth.User;
 import com.campus.shared.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -28,9 +30,6 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
     
     private static final Logger logger = LoggerFactory.getLogger(UnifiedAdminInterceptor.class);
     
-    // 服务器启动时间，用于检测重启前的Token
-    private static final long SERVER_START_TIME = System.currentTimeMillis();
-    
     @Autowired
     private JwtUtil jwtUtil;
     
@@ -38,6 +37,12 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
     @Lazy
     private UserService userService;
     
+    @Autowired
+    private PermissionMatrix permissionMatrix;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws Exception {
         String requestURI = request.getRequestURI();
@@ -55,22 +60,25 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
             return false;
         }
         
+        // 验证Token有效性（复用过滤器的验签结果，同一请求内只解析一次）
+        Claims claims;
         try {
-            // 验证Token有效性
-            if (!jwtUtil.validateToken(token)) {
-                logger.warn("Token已过期或无效: {}", requestURI);
-                clearSessionAndRedirect(request, response);
-                return false;
-            }
-            
-            // 检查Token类型和重启状态
-            if (!isValidAdminToken(token, requestURI)) {
+            claims = jwtUtil.resolveClaims(request, token);
+        } catch (Exception e) {
+            logger.warn("Token已过期或无效: {}", requestURI);
+            clearSessionAndRedirect(request, response);
+            return false;
+        }
+        
+        try {
+            // 检查Token类型和吊销状态
+            if (!isValidAdminToken(claims, requestURI)) {
                 clearSessionAndRedirect(request, response);
                 return false;
             }
             
             // 获取用户信息并验证
-            UserInfo userInfo = extractUserInfo(token);
+            UserInfo userInfo = extractUserInfo(claims);
             if (userInfo == null) {
                 logger.warn("Token中缺少用户信息: {}", requestURI);
                 clearSessionAndRedirect(request, response);
@@ -83,7 +91,7 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
             }
             
             // 处理Token自动刷新
-            handleTokenRefresh(token, request, response, userInfo.username);
+            handleTokenRefresh(claims, request, response, userInfo.username);
             
             // 设置用户上下文
             setUserContext(request, userInfo);
@@ -119,16 +127,16 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
     /**
      * 验证是否为有效的管理后台Token
      */
-    private boolean isValidAdminToken(String token, String requestURI) {
+    private boolean isValidAdminToken(Claims claims, String requestURI) {
         // 检查是否为管理后台token
-        if (!jwtUtil.isAdminToken(token)) {
+        if (!jwtUtil.isAdminToken(claims)) {
             logger.warn("非管理后台Token尝试访问: {}", requestURI);
             return false;
         }
         
-        // 检查Token是否在服务器重启之前签发
-        if (isTokenIssuedBeforeRestart(token)) {
-            logger.warn("检测到服务器重启前的Token，强制重新登录: {}", requestURI);
+        // 检查Token是否已被吊销（登出、改密、禁用）
+        if (tokenRevocationService.isRevoked(claims)) {
+            logger.warn("检测到已吊销的Token，强制重新登录: {}", requestURI);
             return false;
         }
         
@@ -138,11 +146,11 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
     /**
      * 提取用户信息
      */
-    private UserInfo extractUserInfo(String token) {
+    private UserInfo extractUserInfo(Claims claims) {
         try {
-            String username = jwtUtil.getUsernameFromToken(token);
-            Long userId = jwtUtil.getUserIdFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
+            String username = claims.getSubject();
+            Long userId = jwtUtil.getUserId(claims);
+            String role = claims.get("role", String.class);
             
             if (username == null || userId == null) {
                 return null;
@@ -166,15 +174,15 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
             return false;
         }
         
-        // 检查管理权限
-        if (!hasAdminRole(userInfo.userId)) {
+        // 检查管理权限（角色位图与管理后台角色掩码求交）
+        if (!permissionMatrix.isAdminConsoleUser(userInfo.userId)) {
             logger.warn("无管理权限用户尝试访问管理后台: {}", userInfo.username);
             response.sendRedirect("/admin/access-denied");
             return false;
         }
         
         // 检查具体页面权限
-        if (!userService.hasMenuPermission(userInfo.userId, requestURI)) {
+        if (!permissionMatrix.hasMenuPermission(userInfo.userId, requestURI)) {
             logger.warn("用户 {} 无权限访问页面: {}", userInfo.username, requestURI);
             response.sendRedirect("/admin/access-denied");
             return false;
@@ -185,25 +193,13 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
         return true;
     }
     
-    /**
-     * 检查是否具有管理权限
-     */
-    private boolean hasAdminRole(Long userId) {
-        return userService.hasRole(userId, "ROLE_SUPER_ADMIN") ||
-               userService.hasRole(userId, "ROLE_ADMIN") ||
-               userService.hasRole(userId, "ROLE_SYSTEM_ADMIN") ||
-               userService.hasRole(userId, "ROLE_ACADEMIC_ADMIN") ||
-               userService.hasRole(userId, "ROLE_FINANCE_ADMIN") ||
-               userService.hasRole(userId, "ROLE_TEACHER");
-    }
-    
     /**
      * 处理Token自动刷新
      */
-    private void handleTokenRefresh(String token, HttpServletRequest request, HttpServletResponse response, String username) {
-        if (jwtUtil.shouldRefreshAdminToken(token)) {
+    private void handleTokenRefresh(Claims claims, HttpServletRequest request, HttpServletResponse response, String username) {
+        if (jwtUtil.shouldRefreshAdminToken(claims)) {
             try {
-                String newToken = jwtUtil.refreshToken(token);
+                String newToken = jwtUtil.refreshToken(claims);
                 
                 // 更新Session中的token
                 HttpSession session = request.getSession(false);
@@ -297,31 +293,6 @@ public class UnifiedAdminInterceptor implements HandlerInterceptor {
         response.sendRedirect(redirectUrl.toString());
     }
     
-    /**
-     * 检查Token是否在服务器重启之前签发
-     */
-    private boolean isTokenIssuedBeforeRestart(String token) {
-        try {
-            java.util.Date issuedAt = jwtUtil.getClaimFromToken(token, io.jsonwebtoken.Claims::getIssuedAt);
-            if (issuedAt == null) {
-                logger.warn("无法获取Token签发时间，为安全起见拒绝访问");
-                return true;
-            }
-            
-            boolean isBeforeRestart = issuedAt.getTime() < SERVER_START_TIME;
-            if (isBeforeRestart) {
-                logger.info("检测到重启前Token: 签发时间={}, 服务器启动时间={}",
-                    new java.util.Date(issuedAt.getTime()),
-                    new java.util.Date(SERVER_START_TIME));
-            }
-            
-            return isBeforeRestart;
-        } catch (Exception e) {
-            logger.error("检查Token签发时间时发生错误: {}", e.getMessage());
-            return true;
-        }
-    }
-    
     /**
      * 用户信息内部类
      */
@@ -0,0 +1,194 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.UserDetailsCacheConfig;
+import com.campus.infrastructure.messaging.InvalidationChannel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 认证用户信息近端缓存
+ *
+ * 每个节点在本地缓存用户认证快照（用户名、密码哈希、启用状态、权限列表），避免每个API请求都查询
+ * 用户表并遍历角色关联。快照不可变，每次返回新的UserDetails实例，认证流程擦除凭证不会影响缓存。
+ * 用户角色、状态或密码变更后在事务提交时失效本地条目，并通过Redis发布/订阅通知其他节点；
+ * 未启用Redis时仅失效本节点，短TTL作为兜底。超出容量时由Caffeine按访问频率淘汰不常用的用户。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    public static final String INVALIDATION_CHANNEL = "campus:security:user-invalidation";
+
+    private static final String ALL_USERS = "*";
+
+    private final UserDetailsCacheConfig config;
+    private final InvalidationChannel invalidationChannel;
+
+    private final Cache<String, AuthSnapshot> entries;
+    // 失效代数：加载期间发生过失效的结果不写入缓存，避免旧数据回填
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    public UserDetailsCache(UserDetailsCacheConfig config,
+                            RedisTemplate<String, Object> redisTemplate,
+                            ObjectProvider<RedisMessageListenerContainer> listenerContainer,
+                            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+            .build();
+        this.invalidationChannel = new InvalidationChannel(INVALIDATION_CHANNEL, redisTemplate,
+            listenerContainer.getIfAvailable());
+
+        this.hitCounter = Counter.builder("campus.security.user_details_cache.hit")
+            .description("用户认证信息缓存命中次数").register(meterRegistry);
+        this.missCounter = Counter.builder("campus.security.user_details_cache.miss")
+            .description("用户认证信息缓存未命中次数").register(meterRegistry);
+        this.invalidationCounter = Counter.builder("campus.security.user_details_cache.invalidation")
+            .description("用户认证信息缓存失效次数").register(meterRegistry);
+        Gauge.builder("campus.security.user_details_cache.size", entries, Cache::estimatedSize)
+            .description("用户认证信息缓存条目数").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (config.isEnabled()) {
+            invalidationChannel.subscribe(this::onMessage);
+        }
+        log.info("用户认证信息缓存: enabled={}, ttlSeconds={}, mode={}", config.isEnabled(), config.getTtlSeconds(),
+            invalidationChannel.isDistributed() ? "distributed" : "local");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        invalidationChannel.unsubscribe();
+    }
+
+    /**
+     * 获取用户认证信息，未命中时通过loader加载快照并缓存
+     *
+     * @param loader 从数据库加载快照，用户不存在时应抛出异常而不是返回null
+     */
+    public UserDetails get(String username, Function<String, AuthSnapshot> loader) {
+        if (!config.isEnabled()) {
+            return loader.apply(username).toUserDetails();
+        }
+
+        AuthSnapshot cached = entries.getIfPresent(username);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached.toUserDetails();
+        }
+
+        missCounter.increment();
+        long loadGeneration = generation.get();
+        AuthSnapshot snapshot = loader.apply(username);
+        if (generation.get() == loadGeneration) {
+            entries.put(username, snapshot);
+        }
+        return snapshot.toUserDetails();
+    }
+
+    /**
+     * 失效指定用户（当前事务提交后生效，并通知其他节点）
+     */
+    public void invalidate(String username) {
+        if (username != null) {
+            InvalidationChannel.afterCommit(() -> {
+                evictLocal(username);
+                invalidationChannel.publish(username);
+            });
+        }
+    }
+
+    /**
+     * 失效所有用户（例如角色定义变更）
+     */
+    public void invalidateAll() {
+        InvalidationChannel.afterCommit(() -> {
+            evictLocal(ALL_USERS);
+            invalidationChannel.publish(ALL_USERS);
+        });
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("size", entries.estimatedSize());
+        stats.put("hits", (long) hitCounter.count());
+        stats.put("misses", (long) missCounter.count());
+        stats.put("invalidations", (long) invalidationCounter.count());
+        return stats;
+    }
+
+    private void evictLocal(String username) {
+        generation.incrementAndGet();
+        invalidationCounter.increment();
+        if (ALL_USERS.equals(username)) {
+            entries.invalidateAll();
+        } else {
+            entries.invalidate(username);
+        }
+    }
+
+    private void onMessage(Object body) {
+        if (body instanceof String username) {
+            evictLocal(username);
+        }
+    }
+
+    /**
+     * 用户认证快照（不可变）
+     */
+    public record AuthSnapshot(String username, String passwordHash, boolean enabled, List<String> authorities) {
+
+        public AuthSnapshot {
+            authorities = List.copyOf(authorities);
+        }
+
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(
+                username,
+                passwordHash,
+                enabled,
+                true,
+                true,
+                true,
+                authorities.stream().map(SimpleGrantedAuthority::new).toList()
+            );
+        }
+    }
+}
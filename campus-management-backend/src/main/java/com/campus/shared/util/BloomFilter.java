@@ -0,0 +1,124 @@
+package com.campus.shared.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 布隆过滤器
+ *
+ * 位数组基于 {@link AtomicLongArray}，可被多个线程并发写入和查询，不支持删除。
+ * 采用双重哈希（h1 + i * h2）生成多个位置，哈希值来自对字符串UTF-8字节的64位MurmurHash3混合。
+ * mightContain返回false时元素一定不存在；返回true时元素可能存在，误判率由创建参数决定。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        int words = (int) Math.max(1, (bitCount + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * 按预期元素数与目标误判率创建
+     *
+     * @param expectedInsertions 预期元素数
+     * @param falsePositiveRate  目标误判率（0-1之间）
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("布隆过滤器参数不合法");
+        }
+        double ln2 = Math.log(2);
+        long bitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        return new BloomFilter(Math.min(bitCount, Integer.MAX_VALUE), hashCount);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 位数组长度（位）
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private long index(int combined) {
+        // 取非负值后对位数组长度取模
+        return (combined & 0x7fffffffL) % bitCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    static long hash(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h = 0x9e3779b97f4a7c15L ^ bytes.length;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long k = 0;
+            for (int j = 7; j >= 0; j--) {
+                k = (k << 8) | (bytes[i + j] & 0xffL);
+            }
+            h = (h ^ mix(k)) * 0xff51afd7ed558ccdL;
+        }
+        long tail = 0;
+        for (int j = bytes.length - 1; j >= i; j--) {
+            tail = (tail << 8) | (bytes[j] & 0xffL);
+        }
+        return mix(h ^ mix(tail));
+    }
+
+    /**
+     * MurmurHash3 fmix64
+     */
+    private static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb3b99e8a7c15L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -5,27 +5,142 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import com.campus.infrastructure.config.CaptchaPoolConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 /**
  * 验证码工具类
+ *
+ * 验证码渲染（绘制文字、干扰线、PNG编码）是CPU密集操作。启用预渲染池时，由一个低优先级后台线程
+ * 持续把渲染好的（验证码, PNG字节）放入有界队列，请求时直接取出；每个验证码只会被取出一次，
+ * 不会重复下发。池被取空时退回现场渲染。
  */
 @Component
 public class CaptchaUtil {
     
+    private static final Logger log = LoggerFactory.getLogger(CaptchaUtil.class);
+
     private static final int WIDTH = 150;
     private static final int HEIGHT = 40;
     private static final int CODE_LENGTH = 6;
     private static final String CHARS = "123456789ABCDEFGHJKLMNPQRSTUVWXYZ";
+    private static final Font[] FONTS = {
+        new Font("Arial", Font.BOLD, 24),
+        new Font("Times New Roman", Font.BOLD, 24),
+        new Font("Courier New", Font.BOLD, 24)
+    };
     
     private Random random = new Random();
+
+    private final CaptchaPoolConfig poolConfig;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<CaptchaResult> pool;
+    private final Counter poolHitCounter;
+    private final Counter poolMissCounter;
+    private volatile Thread refillThread;
+
+    public CaptchaUtil(CaptchaPoolConfig poolConfig, MeterRegistry meterRegistry) {
+        this.poolConfig = poolConfig;
+        this.meterRegistry = meterRegistry;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, poolConfig.getSize()));
+        this.poolHitCounter = Counter.builder("campus.captcha.pool.requests").tag("result", "hit")
+            .description("验证码请求命中预渲染池的次数").register(meterRegistry);
+        this.poolMissCounter = Counter.builder("campus.captcha.pool.requests").tag("result", "miss")
+            .description("预渲染池为空、现场渲染验证码的次数").register(meterRegistry);
+    }
+
+    /**
+     * 注册预渲染池指标并启动补充线程，引用自身的仪表在构造完成后注册
+     */
+    @PostConstruct
+    public void startRefill() {
+        Gauge.builder("campus.captcha.pool.size", pool, BlockingQueue::size)
+            .description("预渲染池中可用的验证码数量").register(meterRegistry);
+        Gauge.builder("campus.captcha.pool.hit_ratio", this, CaptchaUtil::getPoolHitRatio)
+            .description("验证码预渲染池命中率").register(meterRegistry);
+        if (!poolConfig.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::refillLoop, "captcha-pool-refill");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        refillThread = thread;
+        thread.start();
+        log.info("验证码预渲染池已启动: size={}", poolConfig.getSize());
+    }
+
+    @PreDestroy
+    public void stopRefill() {
+        Thread thread = refillThread;
+        refillThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 补充线程：队列满时阻塞在put上，有验证码被取走后立即补上
+     */
+    private void refillLoop() {
+        while (refillThread == Thread.currentThread()) {
+            try {
+                pool.put(renderCaptcha());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("预渲染验证码失败: {}", e.getMessage());
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
     
     /**
      * 生成验证码图片
+     * 优先从预渲染池取出，池为空时现场渲染
      * @return CaptchaResult 包含验证码文本和图片字节数组
      */
     public CaptchaResult generateCaptcha() {
+        CaptchaResult pooled = poolConfig.isEnabled() ? pool.poll() : null;
+        if (pooled != null) {
+            poolHitCounter.increment();
+            return pooled;
+        }
+        poolMissCounter.increment();
+        return renderCaptcha();
+    }
+
+    /**
+     * 预渲染池命中率
+     */
+    public double getPoolHitRatio() {
+        double hits = poolHitCounter.count();
+        double total = hits + poolMissCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+
+    /**
+     * 渲染一张新的验证码图片
+     */
+    private CaptchaResult renderCaptcha() {
         BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
         Graphics2D g = image.createGraphics();
         
@@ -68,16 +183,10 @@ public class CaptchaUtil {
      * 绘制验证码文本
      */
     private void drawCode(Graphics2D g, String code) {
-        Font[] fonts = {
-            new Font("Arial", Font.BOLD, 24),
-            new Font("Times New Roman", Font.BOLD, 24),
-            new Font("Courier New", Font.BOLD, 24)
-        };
-        
         int x = 10;
         for (int i = 0; i < code.length(); i++) {
             // 随机字体
-            g.setFont(fonts[random.nextInt(fonts.length)]);
+            g.setFont(FONTS[random.nextInt(FONTS.length)]);
 
             // 随机颜色
             g.setColor(new Color(random.nextInt(150), random.nextInt(150), random.nextInt(150)));
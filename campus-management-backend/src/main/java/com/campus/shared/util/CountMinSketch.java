@@ -0,0 +1,84 @@
+package com.campus.shared.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch 频率估计
+ *
+ * 计数器基于 {@link AtomicLongArray}，可被多个线程并发累加和查询。每行用双重哈希（h1 + i * h2）选取一个计数器，
+ * 估计值取各行计数器的最小值：不会低估，高估幅度约为总计数 × e / 宽度，概率不低于 1 - e^(-深度)。
+ * 哈希值与 {@link BloomFilter} 相同，来自对字符串UTF-8字节的64位MurmurHash3混合。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class CountMinSketch {
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int depth;
+
+    /**
+     * @param width 每行计数器数，向上取整为2的幂
+     * @param depth 行数（哈希函数个数）
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0 || width > (1 << 24)) {
+            throw new IllegalArgumentException("Count-Min Sketch参数不合法");
+        }
+        this.width = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * 累加计数
+     *
+     * @return 累加后的估计值
+     */
+    public long add(String value, long count) {
+        long hash = BloomFilter.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, h1 + (row + 1) * h2), count));
+        }
+        return estimate;
+    }
+
+    /**
+     * 估计值（不低于真实计数）
+     */
+    public long estimate(String value) {
+        long hash = BloomFilter.hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1 + (row + 1) * h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * 清零全部计数器，与并发累加之间不保证原子性
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private int index(int row, int combined) {
+        return row * width + (combined & (width - 1));
+    }
+}
@@ -15,7 +15,13 @@ import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * 数据加密工具类
@@ -35,11 +41,32 @@ public class DataEncryptionUtil {
     private static final int GCM_IV_LENGTH = 12;
     private static final int GCM_TAG_LENGTH = 16;
 
+    /**
+     * 批量加解密时每个并行分片的字段数，小于该数量的集合直接在调用线程处理
+     */
+    static final int BULK_CHUNK_SIZE = 256;
+
+    /**
+     * 每个线程复用的Cipher实例（GCM每次加解密都会用新的IV重新init，实例本身可以安全复用）
+     */
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (Exception e) {
+            throw new IllegalStateException("初始化Cipher失败", e);
+        }
+    });
+
     @Value("${campus.security.encryption.key:Y2FtcHVzLWVuY3J5cHRpb24ta2V5LTIwMjQ=}")
     private String encryptionKey;
 
     private final SecureRandom secureRandom;
 
+    /**
+     * 由encryptionKey解析出的密钥，首次使用时创建
+     */
+    private volatile CachedKey cachedKey;
+
     public DataEncryptionUtil() {
         // 添加BouncyCastle提供者
         if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
@@ -61,7 +88,7 @@ public class DataEncryptionUtil {
 
         try {
             SecretKey secretKey = getSecretKey();
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            Cipher cipher = CIPHERS.get();
 
             // 生成随机IV
             byte[] iv = new byte[GCM_IV_LENGTH];
@@ -70,12 +97,11 @@ public class DataEncryptionUtil {
             GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, gcmParameterSpec);
 
-            byte[] encryptedData = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-
-            // 将IV和加密数据合并
-            byte[] encryptedWithIv = new byte[GCM_IV_LENGTH + encryptedData.length];
+            // IV与密文写入同一个数组，省去合并拷贝
+            byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+            byte[] encryptedWithIv = new byte[GCM_IV_LENGTH + cipher.getOutputSize(plainBytes.length)];
             System.arraycopy(iv, 0, encryptedWithIv, 0, GCM_IV_LENGTH);
-            System.arraycopy(encryptedData, 0, encryptedWithIv, GCM_IV_LENGTH, encryptedData.length);
+            cipher.doFinal(plainBytes, 0, plainBytes.length, encryptedWithIv, GCM_IV_LENGTH);
 
             return Base64.getEncoder().encodeToString(encryptedWithIv);
 
@@ -98,21 +124,15 @@ public class DataEncryptionUtil {
 
         try {
             SecretKey secretKey = getSecretKey();
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            Cipher cipher = CIPHERS.get();
 
             byte[] encryptedWithIv = Base64.getDecoder().decode(encryptedText);
 
-            // 提取IV和加密数据
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            byte[] encryptedData = new byte[encryptedWithIv.length - GCM_IV_LENGTH];
-
-            System.arraycopy(encryptedWithIv, 0, iv, 0, GCM_IV_LENGTH);
-            System.arraycopy(encryptedWithIv, GCM_IV_LENGTH, encryptedData, 0, encryptedData.length);
-
-            GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
+            // IV位于密文头部，直接按偏移读取，无需拷贝
+            GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, encryptedWithIv, 0, GCM_IV_LENGTH);
             cipher.init(Cipher.DECRYPT_MODE, secretKey, gcmParameterSpec);
 
-            byte[] decryptedData = cipher.doFinal(encryptedData);
+            byte[] decryptedData = cipher.doFinal(encryptedWithIv, GCM_IV_LENGTH, encryptedWithIv.length - GCM_IV_LENGTH);
             return new String(decryptedData, StandardCharsets.UTF_8);
 
         } catch (Exception e) {
@@ -121,6 +141,27 @@ public class DataEncryptionUtil {
         }
     }
 
+    /**
+     * 批量加密
+     * 大集合按分片并行处理（如导出大量学生时的身份证号、手机号），结果顺序与输入一致
+     *
+     * @param plainTexts 明文集合，null或空串原样返回
+     * @return 加密后的Base64编码字符串列表
+     */
+    public List<String> encryptAll(Collection<String> plainTexts) {
+        return applyAll(plainTexts, this::encrypt);
+    }
+
+    /**
+     * 批量解密
+     *
+     * @param encryptedTexts 加密的Base64编码字符串集合
+     * @return 解密后的明文列表，顺序与输入一致
+     */
+    public List<String> decryptAll(Collection<String> encryptedTexts) {
+        return applyAll(encryptedTexts, this::decrypt);
+    }
+
     /**
      * 加密敏感字段（如身份证号、手机号等）
      * 
@@ -155,14 +196,43 @@ public class DataEncryptionUtil {
         return parts.length > 0 ? parts[0] : decryptedWithSalt;
     }
 
+    private List<String> applyAll(Collection<String> values, UnaryOperator<String> operation) {
+        if (values == null || values.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String[] input = values.toArray(new String[0]);
+        String[] output = new String[input.length];
+        int chunks = (input.length + BULK_CHUNK_SIZE - 1) / BULK_CHUNK_SIZE;
+        IntStream chunkStream = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            chunkStream = chunkStream.parallel();
+        }
+        chunkStream.forEach(chunk -> {
+            int end = Math.min(input.length, (chunk + 1) * BULK_CHUNK_SIZE);
+            for (int i = chunk * BULK_CHUNK_SIZE; i < end; i++) {
+                output[i] = operation.apply(input[i]);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(output));
+    }
+
     /**
-     * 生成密钥
+     * 获取密钥，解析结果按密钥配置缓存
      */
     private SecretKey getSecretKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(encryptionKey);
-        return new SecretKeySpec(keyBytes, ALGORITHM);
+        String source = encryptionKey;
+        CachedKey cached = cachedKey;
+        if (cached == null || !cached.source().equals(source)) {
+            byte[] keyBytes = Base64.getDecoder().decode(source);
+            cached = new CachedKey(source, new SecretKeySpec(keyBytes, ALGORITHM));
+            cachedKey = cached;
+        }
+        return cached.key();
     }
 
+    private record CachedKey(String source, SecretKey key) {}
+
     /**
      * 生成随机盐
      */
@@ -3,8 +3,11 @@ package com.campus.shared.util;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
+import java.math.BigInteger;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -187,6 +190,119 @@ public class IpUtil {
         }
     }
 
+    /**
+     * 将IP地址字面量转换为字节数组（IPv4为4字节，IPv6为16字节，IPv4映射的IPv6地址按IPv4处理）
+     * 只解析字面量，不做域名解析
+     *
+     * @param ip IP地址
+     * @return 地址字节，格式无效时返回null
+     */
+    public static byte[] toAddressBytes(String ip) {
+        if (!StringUtils.hasText(ip)) {
+            return null;
+        }
+        String value = ip.trim();
+        if (isValidIpv4(value)) {
+            long ipLong = ipToLong(value);
+            return new byte[] {(byte) (ipLong >> 24), (byte) (ipLong >> 16), (byte) (ipLong >> 8), (byte) ipLong};
+        }
+        if (value.indexOf(':') < 0) {
+            return null;
+        }
+        // 含冒号的字符串按IPv6字面量解析，不会触发DNS查询
+        int zone = value.indexOf('%');
+        if (zone > 0) {
+            value = value.substring(0, zone);
+        }
+        if (value.startsWith("[") && value.endsWith("]")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            InetAddress address = InetAddress.getByName(value);
+            return address.getAddress();
+        } catch (UnknownHostException | SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 将地址范围拆分为最少数量的CIDR网段
+     *
+     * @param startIp 起始IP
+     * @param endIp 结束IP
+     * @return CIDR网段列表，参数无效或地址族不一致时返回空列表
+     */
+    public static List<CidrBlock> rangeToCidrs(String startIp, String endIp) {
+        byte[] startBytes = toAddressBytes(startIp);
+        byte[] endBytes = toAddressBytes(endIp);
+        List<CidrBlock> blocks = new ArrayList<>();
+        if (startBytes == null || endBytes == null || startBytes.length != endBytes.length) {
+            return blocks;
+        }
+
+        int bits = startBytes.length * 8;
+        BigInteger start = new BigInteger(1, startBytes);
+        BigInteger end = new BigInteger(1, endBytes);
+        while (start.compareTo(end) <= 0) {
+            // 起始地址的对齐位数与剩余地址数共同决定本段大小
+            int alignment = start.signum() == 0 ? bits : start.getLowestSetBit();
+            int remaining = end.subtract(start).add(BigInteger.ONE).bitLength() - 1;
+            int hostBits = Math.min(alignment, remaining);
+            blocks.add(new CidrBlock(toFixedBytes(start, startBytes.length), bits - hostBits));
+            start = start.add(BigInteger.ONE.shiftLeft(hostBits));
+        }
+        return blocks;
+    }
+
+    /**
+     * 解析CIDR表示法（如 192.168.1.0/24、2001:db8::/32），不带前缀长度时视为单个地址
+     *
+     * @param cidr CIDR字符串
+     * @return CIDR网段，格式无效时返回null
+     */
+    public static CidrBlock parseCidr(String cidr) {
+        if (!StringUtils.hasText(cidr)) {
+            return null;
+        }
+        String value = cidr.trim();
+        int slash = value.indexOf('/');
+        byte[] address = toAddressBytes(slash < 0 ? value : value.substring(0, slash));
+        if (address == null) {
+            return null;
+        }
+        int maxLength = address.length * 8;
+        if (slash < 0) {
+            return new CidrBlock(address, maxLength);
+        }
+        try {
+            int prefixLength = Integer.parseInt(value.substring(slash + 1).trim());
+            return prefixLength >= 0 && prefixLength <= maxLength ? new CidrBlock(address, prefixLength) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static byte[] toFixedBytes(BigInteger value, int length) {
+        byte[] raw = value.toByteArray();
+        byte[] result = new byte[length];
+        int copy = Math.min(raw.length, length);
+        System.arraycopy(raw, raw.length - copy, result, length - copy, copy);
+        return result;
+    }
+
+    /**
+     * CIDR网段
+     *
+     * @param address 网络地址字节（4或16字节）
+     * @param prefixLength 前缀长度
+     */
+    public record CidrBlock(byte[] address, int prefixLength) {
+
+        public boolean isIpv4() {
+            return address.length == 4;
+        }
+    }
+
     /**
      * 获取子网掩码对应的CIDR前缀长度
      * 
@@ -4,6 +4,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
@@ -12,9 +13,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * JWT工具类
@@ -26,6 +29,12 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
+    /**
+     * 请求属性：本次请求已验签的token及其声明，供后续拦截器复用
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtUtil.class.getName() + ".VERIFIED_TOKEN";
+    public static final String VERIFIED_CLAIMS_ATTRIBUTE = JwtUtil.class.getName() + ".VERIFIED_CLAIMS";
+
     @Value("${jwt.secret:CampusManagement2024SecretKeyForJWTTokenGeneration!@#$%^&*()}")
     private String jwtSecret;
 
@@ -51,12 +60,84 @@ public class JwtUtil {
     @Value("${jwt.admin.refresh-threshold:1800000}")
     private Long adminRefreshThreshold;
 
+    // 已验签声明缓存容量
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+    private volatile VerifiedTokenCache verifiedTokenCache;
+
     /**
-     * 获取签名密钥
+     * 获取签名密钥（首次使用时构建，之后复用）
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getJwtParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder().setSigningKey(getSigningKey()).build();
+            jwtParser = parser;
+        }
+        return parser;
+    }
+
+    private VerifiedTokenCache getVerifiedTokenCache() {
+        VerifiedTokenCache cache = verifiedTokenCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedTokenCache;
+                if (cache == null) {
+                    cache = new VerifiedTokenCache(verifiedCacheSize);
+                    verifiedTokenCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * 验签并解析token
+     *
+     * 同一token只完整解析一次，验签通过的声明按token摘要缓存至token过期。
+     * 返回的声明对象在请求间共享，调用方不得修改。
+     *
+     * @throws io.jsonwebtoken.JwtException token格式错误、签名无效或已过期
+     */
+    public Claims verify(String token) {
+        String key = VerifiedTokenCache.key(token);
+        VerifiedTokenCache cache = getVerifiedTokenCache();
+        Claims claims = cache.get(key, System.currentTimeMillis());
+        if (claims == null) {
+            claims = getJwtParser().parseClaimsJws(token).getBody();
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * 获取本次请求中token的已验签声明
+     *
+     * 过滤器或前序拦截器已验签过同一token时直接复用请求属性中的结果，否则验签后写入请求属性。
+     *
+     * @throws io.jsonwebtoken.JwtException token无效
+     */
+    public Claims resolveClaims(HttpServletRequest request, String token) {
+        if (token.equals(request.getAttribute(VERIFIED_TOKEN_ATTRIBUTE))
+                && request.getAttribute(VERIFIED_CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return claims;
+        }
+        Claims claims = verify(token);
+        request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
+        request.setAttribute(VERIFIED_CLAIMS_ATTRIBUTE, claims);
+        return claims;
     }
 
     /**
@@ -87,11 +168,7 @@ public class JwtUtil {
      * 从token中获取所有claims
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token);
     }
 
     /**
@@ -147,6 +224,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -160,6 +238,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + adminExpiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -173,6 +252,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtRefreshExpiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -228,8 +308,20 @@ public class JwtUtil {
      * 刷新token
      */
     public String refreshToken(String token) {
+        final Claims claims;
+        try {
+            claims = getAllClaimsFromToken(token);
+        } catch (Exception e) {
+            throw new RuntimeException("无法刷新token", e);
+        }
+        return refreshToken(claims);
+    }
+
+    /**
+     * 根据已验签的声明刷新token
+     */
+    public String refreshToken(Claims claims) {
         try {
-            final Claims claims = getAllClaimsFromToken(token);
             String username = claims.getSubject();
             Long userId = Long.valueOf(claims.get("userId").toString());
             String role = claims.get("role", String.class);
@@ -250,17 +342,22 @@ public class JwtUtil {
      * 检查管理后台token是否需要刷新
      */
     public boolean shouldRefreshAdminToken(String token) {
-        if (!adminAutoRefresh) {
+        try {
+            return shouldRefreshAdminToken(getAllClaimsFromToken(token));
+        } catch (Exception e) {
             return false;
         }
+    }
 
-        try {
-            Date expiration = getExpirationDateFromToken(token);
-            long timeUntilExpiration = expiration.getTime() - System.currentTimeMillis();
-            return timeUntilExpiration <= adminRefreshThreshold;
-        } catch (Exception e) {
+    /**
+     * 根据已验签的声明检查管理后台token是否需要刷新
+     */
+    public boolean shouldRefreshAdminToken(Claims claims) {
+        if (!adminAutoRefresh || claims.getExpiration() == null) {
             return false;
         }
+        long timeUntilExpiration = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return timeUntilExpiration <= adminRefreshThreshold;
     }
 
     /**
@@ -268,25 +365,45 @@ public class JwtUtil {
      */
     public boolean isAdminToken(String token) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            return "admin".equals(claims.get("type", String.class));
+            return isAdminToken(getAllClaimsFromToken(token));
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * 根据已验签的声明检查是否为管理后台token
+     */
+    public boolean isAdminToken(Claims claims) {
+        return "admin".equals(claims.get("type", String.class));
+    }
+
     /**
      * 从token中获取用户ID
      */
     public Long getUserIdFromToken(String token) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            return Long.valueOf(claims.get("userId").toString());
+            return getUserId(getAllClaimsFromToken(token));
         } catch (Exception e) {
             return null;
         }
     }
 
+    /**
+     * 从已验签的声明中获取用户ID
+     */
+    public Long getUserId(Claims claims) {
+        Object userId = claims.get("userId");
+        if (userId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     /**
      * 从token中获取用户角色
      */
@@ -338,4 +455,11 @@ public class JwtUtil {
     public Long getExpirationTime() {
         return jwtExpiration;
     }
+
+    /**
+     * 各类token中最长的有效期（毫秒）
+     */
+    public long getMaxTokenLifetime() {
+        return Math.max(jwtExpiration, Math.max(adminExpiration, jwtRefreshExpiration));
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.campus.application.service.auth.UserService;
 import com.campus.domain.entity.auth.User;
+import com.campus.shared.security.PermissionMatrix;
 
 import jakarta.servlet.http.HttpSession;
 
@@ -26,6 +27,9 @@ public class PermissionUtil {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PermissionMatrix permissionMatrix;
+
     /**
      * 检查当前用户是否有指定角色
      */
@@ -38,7 +42,7 @@ public class PermissionUtil {
         if ("admin".equals(currentUser.getUsername())) {
             return true;
         }
-        return userService.hasRole(currentUser.getId(), roleName);
+        return permissionMatrix.hasRole(currentUser.getId(), roleName);
     }
 
     /**
@@ -49,13 +53,7 @@ public class PermissionUtil {
         if (currentUser == null) {
             return false;
         }
-        
-        for (String roleName : roleNames) {
-            if (userService.hasRole(currentUser.getId(), roleName)) {
-                return true;
-            }
-        }
-        return false;
+        return permissionMatrix.hasAnyRole(currentUser.getId(), roleNames);
     }
 
     /**
@@ -70,7 +68,7 @@ public class PermissionUtil {
         if ("admin".equals(currentUser.getUsername())) {
             return true;
         }
-        return userService.hasMenuPermission(currentUser.getId(), menuPath);
+        return permissionMatrix.hasMenuPermission(currentUser.getId(), menuPath);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.campus.shared.util;
 
+import com.campus.infrastructure.cache.DistributedCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,10 +8,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Redis工具类
@@ -29,6 +33,9 @@ public class RedisUtil {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private DistributedCacheService distributedCacheService;
+
     // =============================common============================
 
     /**
@@ -85,6 +92,24 @@ public class RedisUtil {
         }
     }
 
+    /**
+     * 批量删除缓存，按批执行UNLINK
+     * @param keys 键集合
+     * @return 删除的个数
+     */
+    public long delAll(Collection<String> keys) {
+        return keys == null || keys.isEmpty() ? 0L : distributedCacheService.delete(keys);
+    }
+
+    /**
+     * 通过管道批量执行操作，超过单批上限时自动拆分
+     * @param ops 操作列表
+     * @return 各操作的结果，与操作顺序一致
+     */
+    public List<Object> executePipelined(List<DistributedCacheService.Op> ops) {
+        return ops == null || ops.isEmpty() ? List.of() : distributedCacheService.executePipelined(ops);
+    }
+
     // ============================String=============================
 
     /**
@@ -133,6 +158,52 @@ public class RedisUtil {
         }
     }
 
+    /**
+     * 批量获取缓存
+     * @param keys 键集合
+     * @return 存在的键及其值
+     */
+    public Map<String, Object> mget(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return distributedCacheService.getAll(keys);
+        } catch (Exception e) {
+            logger.error("批量获取缓存失败", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 批量放入缓存并设置时间
+     * @param entries 键值对
+     * @param time 时间(秒) time小于等于0 将设置无限期
+     * @return true成功 false失败
+     */
+    public boolean mset(Map<String, ?> entries, long time) {
+        return mset(entries, key -> time > 0 ? Duration.ofSeconds(time) : null);
+    }
+
+    /**
+     * 批量放入缓存并按键设置时间
+     * @param entries 键值对
+     * @param ttl 按键计算过期时间，返回null将设置无限期
+     * @return true成功 false失败
+     */
+    public boolean mset(Map<String, ?> entries, Function<String, Duration> ttl) {
+        if (entries == null || entries.isEmpty()) {
+            return true;
+        }
+        try {
+            distributedCacheService.setAll(entries, ttl);
+            return true;
+        } catch (Exception e) {
+            logger.error("批量设置缓存失败", e);
+            return false;
+        }
+    }
+
     /**
      * 递增
      * @param key 键
@@ -214,6 +285,42 @@ public class RedisUtil {
         }
     }
 
+    /**
+     * 批量获取多张hash表的所有键值
+     * @param keys 键集合
+     * @return 存在的键及其对应的多个键值
+     */
+    public Map<String, Map<Object, Object>> hmgetAll(Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            return distributedCacheService.hGetAll(keys);
+        } catch (Exception e) {
+            logger.error("批量获取hash表失败", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 批量写入多张hash表并设置时间
+     * @param hashes 键到对应多个键值的映射
+     * @param time 时间(秒) time小于等于0 将设置无限期
+     * @return true成功 false失败
+     */
+    public boolean hmsetAll(Map<String, ? extends Map<String, ?>> hashes, long time) {
+        if (hashes == null || hashes.isEmpty()) {
+            return true;
+        }
+        try {
+            distributedCacheService.hSetAll(hashes, time > 0 ? Duration.ofSeconds(time) : null);
+            return true;
+        } catch (Exception e) {
+            logger.error("批量HashSet失败", e);
+            return false;
+        }
+    }
+
     /**
      * 向一张hash表中放入数据,如果不存在将创建
      * @param key 键
@@ -0,0 +1,100 @@
+package com.campus.shared.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 已验签JWT声明缓存
+ *
+ * 以token的SHA-256摘要为键（内存中不保留原始token），缓存签名校验通过的声明直到token过期。
+ * 基于Caffeine实现，读写不争用全局锁；容量有界，超出时按访问频率淘汰，每个条目在token过期时失效。
+ * 只有验签成功的token才会进入缓存，伪造的token无法命中。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+final class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Cache<String, Entry> entries;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, maxSize))
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                    return remainingNanos(entry);
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                    return remainingNanos(entry);
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+    }
+
+    /**
+     * 计算token摘要作为缓存键
+     */
+    static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * 获取未过期的缓存声明，已过期的条目在此移除
+     */
+    Claims get(String key, long nowMs) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMs <= nowMs) {
+            entries.asMap().remove(key, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    /**
+     * 缓存已验签的声明，没有过期时间的token不缓存
+     */
+    void put(String key, Claims claims) {
+        if (maxSize <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        entries.put(key, new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private static long remainingNanos(Entry entry) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.expiresAtMs - System.currentTimeMillis()));
+    }
+
+    private record Entry(Claims claims, long expiresAtMs) {}
+}
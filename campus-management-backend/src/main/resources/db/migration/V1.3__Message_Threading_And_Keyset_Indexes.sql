@@ -0,0 +1,45 @@
+-- 智慧校园管理系统 - 消息会话线索与游标分页索引
+-- 创建时间: 2025-06-20
+-- 版本: V1.3
+-- 说明: 为消息表增加会话ID和物化线索路径，添加收件箱/发件箱游标分页复合索引
+
+-- ================================
+-- 会话线索字段
+-- ================================
+
+ALTER TABLE tb_message ADD COLUMN IF NOT EXISTS conversation_id BIGINT COMMENT '会话ID（线索根消息ID）';
+ALTER TABLE tb_message ADD COLUMN IF NOT EXISTS thread_path VARCHAR(500) COMMENT '线索路径（各级消息ID定长拼接）';
+
+-- ================================
+-- 历史数据回填：从根消息向下递归计算会话ID和线索路径
+-- ================================
+
+UPDATE tb_message m
+JOIN (
+    WITH RECURSIVE thread AS (
+        SELECT id, id AS conversation_id, CAST(LPAD(id, 12, '0') AS CHAR(500)) AS thread_path
+        FROM tb_message
+        WHERE parent_id IS NULL
+        UNION ALL
+        SELECT c.id, t.conversation_id, CONCAT(t.thread_path, '/', LPAD(c.id, 12, '0'))
+        FROM tb_message c
+        JOIN thread t ON c.parent_id = t.id
+    )
+    SELECT id, conversation_id, thread_path FROM thread
+) t ON m.id = t.id
+SET m.conversation_id = t.conversation_id,
+    m.thread_path = t.thread_path
+WHERE m.conversation_id IS NULL;
+
+-- ================================
+-- 索引
+-- ================================
+
+-- 收件箱游标分页：receiver_id + deleted 等值过滤，(send_time, id) 作为游标
+CREATE INDEX IF NOT EXISTS idx_receiver_deleted_send_time ON tb_message(receiver_id, deleted, send_time, id);
+
+-- 发件箱游标分页
+CREATE INDEX IF NOT EXISTS idx_sender_deleted_send_time ON tb_message(sender_id, deleted, send_time, id);
+
+-- 单次查询整条线索，按路径排序即为深度优先顺序
+CREATE INDEX IF NOT EXISTS idx_conversation_thread_path ON tb_message(conversation_id, thread_path);
@@ -0,0 +1,103 @@
+package com.campus.application.service;
+
+import com.campus.application.Implement.communication.NotificationServiceImpl;
+import com.campus.domain.entity.communication.Notification;
+import com.campus.domain.entity.organization.SchoolClass;
+import com.campus.domain.entity.organization.Student;
+import com.campus.domain.repository.academic.CourseRepository;
+import com.campus.domain.repository.academic.CourseScheduleRepository;
+import com.campus.domain.repository.academic.CourseSelectionRepository;
+import com.campus.domain.repository.communication.NotificationRepository;
+import com.campus.domain.repository.communication.NotificationTemplateRepository;
+import com.campus.domain.repository.organization.SchoolClassRepository;
+import com.campus.domain.repository.organization.StudentRepository;
+import com.campus.infrastructure.config.TimerWheelConfig;
+import com.campus.infrastructure.notification.NotificationTemplateRenderer;
+import com.campus.infrastructure.push.SsePushService;
+import com.campus.infrastructure.scheduling.TimedEventScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 通知实时推送目标解析测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class NotificationPushTargetTest {
+
+    private StudentRepository studentRepository;
+    private SchoolClassRepository schoolClassRepository;
+    private SsePushService ssePushService;
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void setUp() {
+        NotificationRepository notificationRepository = mock(NotificationRepository.class);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            notification.setId(100L);
+            return notification;
+        });
+        studentRepository = mock(StudentRepository.class);
+        schoolClassRepository = mock(SchoolClassRepository.class);
+        ssePushService = mock(SsePushService.class);
+        notificationService = new NotificationServiceImpl(notificationRepository,
+            mock(NotificationTemplateRepository.class), mock(CourseRepository.class),
+            mock(CourseScheduleRepository.class), mock(CourseSelectionRepository.class),
+            studentRepository, schoolClassRepository, new NotificationTemplateRenderer(),
+            mock(TimedEventScheduler.class), new TimerWheelConfig(), ssePushService);
+    }
+
+    @Test
+    void shouldPushStudentNotificationToTheStudentsUserAccount() {
+        // Given
+        when(studentRepository.findAllById(List.of(5L))).thenReturn(List.of(student(5L, 42L)));
+
+        // When
+        notificationService.sendSystemNotification("成绩发布", "您的成绩已发布", "STUDENT", List.of(5L));
+
+        // Then
+        verify(ssePushService).push(eq(List.of(42L)), eq("notification"), any());
+        verify(ssePushService, never()).broadcast(anyString(), any());
+    }
+
+    @Test
+    void shouldPushDepartmentNotificationToStudentsOfItsClasses() {
+        // Given
+        SchoolClass schoolClass = new SchoolClass();
+        schoolClass.setId(7L);
+        when(schoolClassRepository.findByDepartmentId(3L)).thenReturn(List.of(schoolClass));
+        when(studentRepository.findByClassId(7L)).thenReturn(List.of(student(1L, 11L), student(2L, null)));
+
+        // When
+        notificationService.sendSystemNotification("院系通知", "下周院系大会", "DEPARTMENT", List.of(3L));
+
+        // Then
+        verify(ssePushService).push(eq(List.of(11L)), eq("notification"), any());
+    }
+
+    @Test
+    void shouldNotPushWhenTargetsCannotBeResolvedToUsers() {
+        // When
+        notificationService.sendSystemNotification("教师通知", "请提交教学计划", "TEACHER", List.of(5L));
+
+        // Then
+        verify(ssePushService, never()).push(anyCollection(), anyString(), any());
+        verify(ssePushService, never()).broadcast(anyString(), any());
+    }
+
+    private static Student student(Long id, Long userId) {
+        Student student = new Student();
+        student.setId(id);
+        student.setUserId(userId);
+        return student;
+    }
+}
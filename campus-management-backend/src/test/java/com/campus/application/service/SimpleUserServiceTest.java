@@ -3,13 +3,20 @@ package com.campus.application.service;
 import com.campus.application.Implement.auth.UserServiceImpl;
 import com.campus.domain.entity.auth.User;
 import com.campus.domain.repository.auth.UserRepository;
+import com.campus.infrastructure.cache.KeyExistenceGuard;
+import com.campus.infrastructure.config.KeyExistenceConfig;
+import com.campus.infrastructure.config.LoginExecutorConfig;
+import com.campus.shared.security.PasswordVerificationExecutor;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -18,7 +25,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 /**
@@ -50,6 +57,19 @@ class SimpleUserServiceTest {
             java.lang.reflect.Field field = UserServiceImpl.class.getDeclaredField("passwordEncoder");
             field.setAccessible(true);
             field.set(userService, passwordEncoder);
+
+            java.lang.reflect.Field executorField = UserServiceImpl.class.getDeclaredField("passwordVerificationExecutor");
+            executorField.setAccessible(true);
+            executorField.set(userService, new PasswordVerificationExecutor(new LoginExecutorConfig(), new SimpleMeterRegistry()));
+
+            // 关闭穿透防护，查询直接访问仓储
+            KeyExistenceConfig existenceConfig = new KeyExistenceConfig();
+            existenceConfig.setEnabled(false);
+            java.lang.reflect.Field guardField = UserServiceImpl.class.getDeclaredField("keyExistenceGuard");
+            guardField.setAccessible(true);
+            guardField.set(userService, new KeyExistenceGuard(existenceConfig, null,
+                    new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class),
+                    userRepository, null, null, null, new SimpleMeterRegistry()));
         } catch (Exception e) {
             // 忽略反射异常
         }
@@ -0,0 +1,113 @@
+package com.campus.infrastructure.audit;
+
+import com.campus.domain.entity.system.AuditLog;
+import com.campus.infrastructure.config.AuditLogConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 审计日志异步写入器单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class AuditLogWriterTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogConfig config;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        config = new AuditLogConfig();
+        config.setBatchSize(3);
+        config.setFlushIntervalMs(50);
+        config.setSpillDirectory(spillDirectory.toString());
+    }
+
+    private static AuditLogWriter.PendingAuditLog pending(int index) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setOperationType("UPDATE");
+        auditLog.setMethod("UserController.update" + index);
+        auditLog.setOperationTime(LocalDateTime.now());
+        return new AuditLogWriter.PendingAuditLog(auditLog, List.of("ok", index), new Object[]{index, "password=secret"});
+    }
+
+    private static int rows(String sql) {
+        return sql.split("\\), \\(").length;
+    }
+
+    @Test
+    void shouldWriteMultiRowBatchesAndDrainOnShutdown() {
+        // Given
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, config, new SimpleMeterRegistry());
+        writer.start();
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            writer.submit(pending(i));
+        }
+        writer.shutdown();
+
+        // Then
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, atLeast(3)).update(sql.capture(), args.capture());
+        assertEquals(7, sql.getAllValues().stream().mapToInt(AuditLogWriterTest::rows).sum());
+        assertTrue(sql.getAllValues().stream().allMatch(statement -> rows(statement) <= 3));
+        Object[] firstRow = args.getAllValues().get(0);
+        assertEquals("[\"ok\",0]", firstRow[12]);
+        assertEquals("0, [FILTERED]", firstRow[11]);
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.jsonl")));
+    }
+
+    @Test
+    void shouldSpillFailedBatchesAndReplayThem() throws Exception {
+        // Given
+        AtomicBoolean databaseAvailable = new AtomicBoolean(false);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            if (!databaseAvailable.get()) {
+                throw new DataAccessResourceFailureException("数据库不可用");
+            }
+            return 2;
+        });
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, config, new SimpleMeterRegistry());
+        writer.start();
+
+        // When
+        writer.submit(pending(1));
+        writer.submit(pending(2));
+        writer.shutdown();
+        long spilled = Files.readAllLines(spillDirectory.resolve("audit-spill.jsonl")).size();
+        databaseAvailable.set(true);
+        writer.replaySpilled();
+
+        // Then
+        assertEquals(2, spilled);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(2)).update(sql.capture(), any(Object[].class));
+        assertEquals(2, rows(sql.getValue()));
+        try (var files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
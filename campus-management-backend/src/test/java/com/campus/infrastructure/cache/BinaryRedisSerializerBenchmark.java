@@ -0,0 +1,86 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.domain.entity.academic.Course;
+import com.campus.domain.entity.organization.Student;
+import com.campus.shared.util.Benchmarks;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis值编码基准
+ *
+ * 对比带类型信息的JSON与二进制编码在学生、课程数据上的体积和序列化/反序列化耗时，默认不执行，需显式开启：
+ * mvn test -Dtest=BinaryRedisSerializerBenchmark -Dbenchmark=true
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BinaryRedisSerializerBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    void compareJsonAndBinaryCodecs() {
+        // 与Spring Boot默认ObjectMapper及shared.config.CacheConfig中的JSON序列化配置保持一致
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectMapper typedMapper = objectMapper.copy();
+        typedMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        typedMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL,
+            JsonTypeInfo.As.PROPERTY);
+        RedisSerializer<Object> json = new Jackson2JsonRedisSerializer<>(typedMapper, Object.class);
+        RedisSerializer<Object> binary = new BinaryRedisSerializer(objectMapper,
+            new RedisTypeRegistry().register(2, 1, Student.class).register(3, 1, Course.class), json);
+
+        List<Student> students = new ArrayList<>(ITEMS);
+        List<Course> courses = new ArrayList<>(ITEMS);
+        for (long i = 1; i <= ITEMS; i++) {
+            students.add(BinaryRedisSerializerTest.student(i));
+            courses.add(BinaryRedisSerializerTest.course(i));
+        }
+
+        compare("学生", students.get(0), json, binary);
+        compare("学生列表", students, json, binary);
+        compare("课程", courses.get(0), json, binary);
+        compare("课程列表", courses, json, binary);
+    }
+
+    private static void compare(String name, Object value, RedisSerializer<Object> json, RedisSerializer<Object> binary) {
+        report(name + " JSON", value, json);
+        report(name + " 二进制", value, binary);
+    }
+
+    private static void report(String name, Object value, RedisSerializer<Object> serializer) {
+        byte[] bytes = serializer.serialize(value);
+        long serializeNanos = Benchmarks.bestNanos(() -> {
+            long size = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                size += serializer.serialize(value).length;
+            }
+            return size;
+        });
+        long deserializeNanos = Benchmarks.bestNanos(() -> {
+            long count = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                count += serializer.deserialize(bytes) != null ? 1 : 0;
+            }
+            return count;
+        });
+        System.out.printf("%s: %d 字节, 序列化 %.2f µs/次, 反序列化 %.2f µs/次%n",
+                name, bytes.length, serializeNanos / 1e3 / ITERATIONS, deserializeNanos / 1e3 / ITERATIONS);
+    }
+}
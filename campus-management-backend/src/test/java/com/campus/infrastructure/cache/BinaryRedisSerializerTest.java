@@ -0,0 +1,131 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.domain.entity.academic.Course;
+import com.campus.domain.entity.organization.Student;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Redis二进制序列化器单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class BinaryRedisSerializerTest {
+
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer jsonSerializer;
+    private BinaryRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        serializer = new BinaryRedisSerializer(objectMapper,
+            new RedisTypeRegistry().register(2, 1, Student.class).register(3, 1, Course.class), jsonSerializer);
+    }
+
+    static Student student(long id) {
+        Student student = new Student(1000L + id, "2025" + String.format("%06d", id), "2025级");
+        student.setId(id);
+        student.setMajor("计算机科学与技术");
+        student.setEnrollmentDate(LocalDate.of(2025, 9, 1));
+        student.setGpa(new BigDecimal("3.75"));
+        return student;
+    }
+
+    static Course course(long id) {
+        Course course = new Course();
+        course.setId(id);
+        course.setCourseName("数据结构" + id);
+        course.setCourseCode("CS" + id);
+        course.setCredits(new BigDecimal("3.5"));
+        course.setHours(64);
+        return course;
+    }
+
+    @Test
+    void shouldRoundTripRegisteredEntity() {
+        // Given
+        Student student = student(42);
+
+        // When
+        byte[] bytes = serializer.serialize(student);
+        Object restored = serializer.deserialize(bytes);
+
+        // Then
+        assertEquals(BinaryRedisSerializer.MAGIC, bytes[0]);
+        Student copy = assertInstanceOf(Student.class, restored);
+        assertEquals(42L, copy.getId());
+        assertEquals(student.getStudentNo(), copy.getStudentNo());
+        assertEquals(LocalDate.of(2025, 9, 1), copy.getEnrollmentDate());
+        assertEquals(0, new BigDecimal("3.75").compareTo(copy.getGpa()));
+    }
+
+    @Test
+    void shouldRoundTripListOfRegisteredEntities() {
+        // Given
+        List<Course> courses = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            courses.add(course(i));
+        }
+
+        // When
+        byte[] bytes = serializer.serialize(courses);
+        Object restored = serializer.deserialize(bytes);
+
+        // Then
+        List<?> list = assertInstanceOf(List.class, restored);
+        assertEquals(20, list.size());
+        Course last = assertInstanceOf(Course.class, list.get(19));
+        assertEquals("数据结构20", last.getCourseName());
+        assertEquals(0, new BigDecimal("3.5").compareTo(last.getCredits()));
+        assertTrue(bytes.length < jsonSerializer.serialize(courses).length, "二进制编码应小于JSON");
+    }
+
+    @Test
+    void shouldFallBackToJsonForUnregisteredTypes() {
+        // Given
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("total", 12L);
+
+        // When
+        byte[] bytes = serializer.serialize(stats);
+
+        // Then
+        assertNotEquals(BinaryRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(stats, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void shouldReadValuesWrittenByJsonSerializer() {
+        // Given
+        byte[] legacy = jsonSerializer.serialize(new ArrayList<>(List.of("a", "b")));
+
+        // When & Then
+        assertEquals(List.of("a", "b"), serializer.deserialize(legacy));
+    }
+
+    @Test
+    void shouldTreatVersionMismatchAsMiss() {
+        // Given
+        byte[] bytes = serializer.serialize(course(1));
+        BinaryRedisSerializer upgraded = new BinaryRedisSerializer(objectMapper,
+            new RedisTypeRegistry().register(2, 1, Student.class).register(3, 2, Course.class), jsonSerializer);
+
+        // When & Then
+        assertNull(upgraded.deserialize(bytes));
+    }
+}
@@ -0,0 +1,108 @@
+package com.campus.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 缓存标签索引单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class CacheTagIndexTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private SetOperations<String, Object> setOperations;
+    private RedisOperations<String, Object> pipeline;
+    private SetOperations<String, Object> pipelineSetOperations;
+    private CacheTagIndex tagIndex;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        pipeline = mock(RedisOperations.class);
+        pipelineSetOperations = mock(SetOperations.class);
+        when(pipeline.opsForSet()).thenReturn(pipelineSetOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            return new ArrayList<>();
+        });
+        tagIndex = new CacheTagIndex(redisTemplate, new DistributedCacheService(redisTemplate), Duration.ofHours(1), 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRegisterEntriesOnlyUnderBoundTagsInOnePipeline() {
+        // Given
+        tagIndex.register("course:count", "SimpleKey []");
+        List<String> previous = CacheTagIndex.bindTags(List.of("course", "course:42"));
+
+        // When
+        try {
+            tagIndex.register("course:count", "SimpleKey []");
+        } finally {
+            CacheTagIndex.restoreTags(previous);
+        }
+        tagIndex.register("course:count", "SimpleKey []");
+
+        // Then
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(pipelineSetOperations).add("campus:cache:tag:course", "course:count::SimpleKey []");
+        verify(pipelineSetOperations).add("campus:cache:tag:course:42", "course:count::SimpleKey []");
+        verify(pipeline).expire("campus:cache:tag:course", Duration.ofHours(1));
+        verify(pipeline).expire("campus:cache:tag:course:42", Duration.ofHours(1));
+        verifyNoMoreInteractions(pipelineSetOperations);
+        verifyNoInteractions(setOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDrainRenamedTagSetAndEvictMembersInBatches() {
+        // Given
+        when(redisTemplate.hasKey("campus:cache:tag:course:42")).thenReturn(true);
+        Iterator<Object> members = List.<Object>of("dashboard:charts::course", "schedules::42", "invalid",
+                "courses::42").iterator();
+        Cursor<Object> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> members.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> members.next());
+        when(setOperations.scan(anyString(), any(ScanOptions.class))).thenReturn(cursor);
+        List<List<String>> batches = new ArrayList<>();
+
+        // When
+        int count = tagIndex.invalidate("course:42", batches::add);
+        int missing = tagIndex.invalidate("course:43", batches::add);
+
+        // Then
+        ArgumentCaptor<String> drainingKey = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).rename(eq("campus:cache:tag:course:42"), drainingKey.capture());
+        verify(setOperations).scan(eq(drainingKey.getValue()), any(ScanOptions.class));
+        verify(redisTemplate).delete(drainingKey.getValue());
+        assertEquals(3, count);
+        assertEquals(0, missing);
+        assertEquals(List.of(List.of("dashboard:charts::course", "schedules::42"), List.of("courses::42")), batches);
+        assertEquals("dashboard:charts", CacheTagIndex.cacheNameOf("dashboard:charts::course"));
+        assertEquals("course", CacheTagIndex.keyOf("dashboard:charts::course"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.shared.util.Benchmarks;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis批量操作基准
+ *
+ * 使用进程内的Redis替身（内存Map + 每次网络往返固定延迟）对比逐键读写与MGET、分批管道写入的耗时，
+ * 结果反映的是往返次数的差异，不包含真实Redis的命令执行开销。默认不执行，需显式开启：
+ * mvn test -Dtest=DistributedCacheServiceBenchmark -Dbenchmark=true
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DistributedCacheServiceBenchmark {
+
+    private static final int KEYS = 2000;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Test
+    void compareSingleKeyAndBulkOperations() {
+        Map<String, Object> store = new ConcurrentHashMap<>();
+        DistributedCacheService cacheService = new DistributedCacheService(standIn(store));
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            entries.put("campus:bench:" + i, "value-" + i);
+        }
+        List<String> keys = new ArrayList<>(entries.keySet());
+
+        report("逐键写入", Benchmarks.bestNanos(() -> {
+            entries.forEach((key, value) -> cacheService.set(key, value, 60, TimeUnit.SECONDS));
+            return store.size();
+        }));
+        report("管道写入", Benchmarks.bestNanos(() -> {
+            cacheService.setAll(entries, key -> Duration.ofSeconds(60));
+            return store.size();
+        }));
+        report("逐键读取", Benchmarks.bestNanos(() -> {
+            long found = 0;
+            for (String key : keys) {
+                found += cacheService.get(key) != null ? 1 : 0;
+            }
+            return found;
+        }));
+        report("MGET读取", Benchmarks.bestNanos(() -> cacheService.getAll(keys).size()));
+    }
+
+    /**
+     * 进程内Redis替身：普通命令和MGET各计一次往返，管道按批计一次往返
+     */
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, Object> standIn(Map<String, Object> store) {
+        RedisTemplate<String, Object> template = mock(RedisTemplate.class);
+        ValueOperations<String, Object> direct = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(direct);
+        when(direct.get(anyString())).thenAnswer(invocation -> {
+            roundTrip();
+            return store.get(invocation.<String>getArgument(0));
+        });
+        when(direct.multiGet(anyCollection())).thenAnswer(invocation -> {
+            roundTrip();
+            List<Object> values = new ArrayList<>();
+            for (String key : invocation.<Collection<String>>getArgument(0)) {
+                values.add(store.get(key));
+            }
+            return values;
+        });
+        doAnswer(invocation -> {
+            roundTrip();
+            store.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(direct).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+
+        RedisOperations<String, Object> pipeline = mock(RedisOperations.class);
+        ValueOperations<String, Object> queued = mock(ValueOperations.class);
+        when(pipeline.opsForValue()).thenReturn(queued);
+        doAnswer(invocation -> {
+            store.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(queued).set(anyString(), any(), any(Duration.class));
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            roundTrip();
+            return List.of();
+        });
+        return template;
+    }
+
+    private static void roundTrip() {
+        long deadline = System.nanoTime() + ROUND_TRIP_NANOS;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS / 4);
+        }
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.printf("%s %d 个键: %.2f ms, %.2f µs/键%n", name, KEYS, nanos / 1e6, nanos / 1e3 / KEYS);
+    }
+}
@@ -0,0 +1,118 @@
+package com.campus.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分布式缓存服务批量操作单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class DistributedCacheServiceTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private ValueOperations<String, Object> pipelineValueOperations;
+    private DistributedCacheService cacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        RedisOperations<String, Object> pipeline = mock(RedisOperations.class);
+        pipelineValueOperations = mock(ValueOperations.class);
+        when(pipeline.opsForValue()).thenReturn(pipelineValueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            return new ArrayList<>();
+        });
+        cacheService = new DistributedCacheService(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSplitPipelinedWritesIntoBoundedBatchesWithPerKeyTtl() {
+        // Given
+        int total = DistributedCacheService.PIPELINE_BATCH_SIZE * 2 + 1;
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (int i = 0; i < total; i++) {
+            entries.put("course:" + i, i);
+        }
+
+        // When
+        cacheService.setAll(entries, key -> key.equals("course:0") ? null : Duration.ofSeconds(30));
+
+        // Then
+        verify(redisTemplate, times(3)).executePipelined(any(SessionCallback.class));
+        verify(pipelineValueOperations).set("course:0", 0);
+        verify(pipelineValueOperations).set("course:1", 1, Duration.ofSeconds(30));
+        verify(pipelineValueOperations, times(total - 1)).set(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadKeysInBoundedMultiGetBatches() {
+        // Given
+        int total = DistributedCacheService.PIPELINE_BATCH_SIZE + 2;
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            keys.add("student:" + i);
+        }
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation -> {
+            List<Object> values = new ArrayList<>();
+            for (String key : invocation.<Collection<String>>getArgument(0)) {
+                values.add(key.equals("student:1") ? null : key.toUpperCase());
+            }
+            return values;
+        });
+
+        // When
+        Map<String, Object> result = cacheService.getAll(keys);
+
+        // Then
+        verify(valueOperations, times(2)).multiGet(anyCollection());
+        assertEquals("STUDENT:0", result.get("student:0"));
+        assertFalse(result.containsKey("student:1"));
+        assertEquals("STUDENT:" + (total - 1), result.get("student:" + (total - 1)));
+        assertEquals(List.copyOf(result.keySet()), keys.stream().filter(result::containsKey).toList());
+    }
+
+    @Test
+    void shouldUnlinkKeysInBoundedBatches() {
+        // Given
+        int total = DistributedCacheService.PIPELINE_BATCH_SIZE * 2;
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            keys.add("user:" + i);
+        }
+        when(redisTemplate.unlink(anyList())).thenAnswer(invocation -> (long) invocation.<List<?>>getArgument(0).size());
+
+        // When
+        long deleted = cacheService.delete(keys);
+
+        // Then
+        assertEquals(total, deleted);
+        verify(redisTemplate, times(2)).unlink(anyList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.infrastructure.config.HotKeyConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 热点键检测与本地副本单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class HotKeyDetectorTest {
+
+    private HotKeyConfig config;
+    private AtomicLong clock;
+    private List<String> announced;
+    private HotKeyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        config = new HotKeyConfig();
+        config.setSampleRate(1);
+        config.setThreshold(100);
+        config.setWindowMs(1000);
+        config.setWindowSlices(5);
+        clock = new AtomicLong(1_000_000);
+        announced = new ArrayList<>();
+        detector = new HotKeyDetector(config, new SimpleMeterRegistry(), announced::add, clock::get);
+    }
+
+    @Test
+    void shouldDetectKeysAboveThresholdAndCoolDownAfterWindow() {
+        // Given
+        for (int i = 0; i < 99; i++) {
+            assertFalse(detector.record("grades::2025"));
+            detector.record("grades::" + i);
+        }
+
+        // When
+        boolean hot = detector.record("grades::2025");
+
+        // Then
+        assertTrue(hot);
+        assertEquals(List.of("grades::2025"), announced);
+        assertEquals("local", detector.snapshot().get(0).source());
+        assertEquals(1, detector.snapshot().size());
+
+        clock.addAndGet(1200);
+        assertTrue(detector.snapshot().isEmpty());
+        assertFalse(detector.record("grades::2025"));
+    }
+
+    @Test
+    void shouldServeHotKeysFromReplicaUntilInvalidated() {
+        // Given
+        AtomicInteger remoteReads = new AtomicInteger();
+        Cache redis = new ConcurrentMapCache("courses") {
+            @Override
+            public ValueWrapper get(Object key) {
+                remoteReads.incrementAndGet();
+                return super.get(key);
+            }
+        };
+        HotKeyReplicatingCache cache = new HotKeyReplicatingCache(redis, detector, new DefaultConversionService());
+        cache.put(42L, "数据结构");
+        detector.markRemote("courses::42");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertEquals("数据结构", cache.get(42L).get());
+        }
+        cache.put(42L, "算法设计");
+
+        // Then
+        assertEquals(1, remoteReads.get());
+        assertEquals(9, detector.getReplicaHits());
+        assertEquals("算法设计", cache.get(42L).get());
+        assertEquals(2, remoteReads.get());
+        assertTrue(announced.isEmpty());
+        assertEquals("remote", detector.snapshot().get(0).source());
+    }
+
+    @Test
+    void shouldReturnIndependentCopiesFromReplica() {
+        // Given
+        RedisSerializationContext.SerializationPair<Object> pair =
+                RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.java());
+        HotKeyReplicatingCache cache = new HotKeyReplicatingCache(new ConcurrentMapCache("roles"), detector,
+                new DefaultConversionService(),
+                new TwoLevelCache.LocalValueCodec(value -> ByteUtils.getBytes(pair.write(value)),
+                        bytes -> pair.read(ByteBuffer.wrap(bytes))));
+        cache.put("activeRoles", new ArrayList<>(List.of("ADMIN", "TEACHER")));
+        detector.markRemote("roles::activeRoles");
+        cache.get("activeRoles");
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<String> first = cache.get("activeRoles", List.class);
+        first.add("STUDENT");
+        List<?> second = cache.get("activeRoles", List.class);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(List.of("ADMIN", "TEACHER"), second);
+        assertEquals(2, detector.getReplicaHits(), "两次读取均命中副本");
+    }
+}
@@ -0,0 +1,71 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.domain.entity.organization.Student;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 键存在性实体监听器单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class KeyExistenceEntityListenerTest {
+
+    private KeyExistenceGuard guard;
+    private KeyExistenceEntityListener listener;
+
+    @BeforeEach
+    void setUp() {
+        guard = mock(KeyExistenceGuard.class);
+        listener = new KeyExistenceEntityListener();
+        listener.setGuard(guard);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.setGuard(null);
+    }
+
+    @Test
+    void shouldNotRegisterUnchangedKeysOnUpdate() {
+        // Given
+        Student student = student("2025000001");
+        new KeyExistenceEntityListener.Snapshot().afterLoad(student);
+
+        // When
+        student.setRemarks("仅修改备注");
+        listener.beforeUpdate(student);
+
+        // Then
+        verify(guard, never()).recordExisting(any(), any());
+    }
+
+    @Test
+    void shouldRegisterChangedBusinessKeyOnUpdate() {
+        // Given
+        Student student = student("2025000001");
+        new KeyExistenceEntityListener.Snapshot().afterLoad(student);
+
+        // When
+        student.setStudentNo("2025000002");
+        listener.beforeUpdate(student);
+        listener.beforeUpdate(student);
+
+        // Then
+        verify(guard, times(1)).recordExisting(KeySpace.STUDENT_NO, "2025000002");
+        verifyNoMoreInteractions(guard);
+    }
+
+    private static Student student(String studentNo) {
+        Student student = new Student();
+        student.setId(1L);
+        student.setStudentNo(studentNo);
+        return student;
+    }
+}
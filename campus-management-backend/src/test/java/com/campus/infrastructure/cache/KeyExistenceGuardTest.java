@@ -0,0 +1,193 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.domain.repository.academic.CourseRepository;
+import com.campus.domain.repository.auth.UserRepository;
+import com.campus.domain.repository.organization.DepartmentRepository;
+import com.campus.domain.repository.organization.StudentRepository;
+import com.campus.infrastructure.cache.KeyExistenceGuard.KeySpace;
+import com.campus.infrastructure.config.KeyExistenceConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 缓存穿透防护单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class KeyExistenceGuardTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private ZSetOperations<String, Object> zSetOperations;
+    private StudentRepository studentRepository;
+    private KeyExistenceGuard guard;
+    private AtomicInteger queries;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.score(anyString(), any(Object.class))).thenReturn(null);
+        when(redisTemplate.hasKey(anyString())).thenReturn(false);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        studentRepository = mock(StudentRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+        List<Object[]> students = new ArrayList<>();
+        students.add(new Object[]{1L, "2025000001"});
+        students.add(new Object[]{2L, "CS2025A"});
+        students.add(new Object[]{3L, "Jos\u00e9"});
+        when(studentRepository.findAllExistenceKeys()).thenReturn(students);
+
+        guard = new KeyExistenceGuard(new KeyExistenceConfig(), redisTemplate,
+                new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class),
+                userRepository, studentRepository, courseRepository, departmentRepository, new SimpleMeterRegistry());
+        queries = new AtomicInteger();
+    }
+
+    private Optional<String> findStudent(String studentNo) {
+        return guard.find(KeySpace.STUDENT_NO, studentNo, () -> {
+            queries.incrementAndGet();
+            return Optional.empty();
+        });
+    }
+
+    @Test
+    void shouldPassThroughUntilFirstRebuild() {
+        // When
+        findStudent("2025999999");
+
+        // Then
+        assertEquals(1, queries.get(), "过滤器未就绪时不拦截");
+    }
+
+    @Test
+    void shouldRejectKeysMissingFromFilterWithoutQuerying() {
+        // Given
+        guard.rebuild();
+
+        // When
+        Optional<String> missing = findStudent("2025999999");
+        findStudent("2025000001");
+
+        // Then
+        assertTrue(missing.isEmpty());
+        assertEquals(1, queries.get(), "只有过滤器中存在的学号访问数据库");
+        verify(valueOperations).set("campus:cache:negative:student:no:2025000001", 1, 60L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldSkipQueryWhenMissIsCached() {
+        // Given
+        guard.rebuild();
+        when(redisTemplate.hasKey("campus:cache:negative:student:no:2025000001")).thenReturn(true);
+
+        // When
+        Optional<String> result = findStudent("2025000001");
+
+        // Then
+        assertTrue(result.isEmpty());
+        assertEquals(0, queries.get());
+    }
+
+    @Test
+    void shouldKeepRecordedKeysAcrossRebuildFromStaleSnapshot() {
+        // Given
+        guard.rebuild();
+
+        // When
+        guard.recordExisting(KeySpace.STUDENT_NO, "2025000002");
+        guard.rebuild();
+
+        // Then
+        assertTrue(guard.mightExist(KeySpace.STUDENT_NO, "2025000002"), "重建时查询还看不到的新记录不能丢失");
+        verify(redisTemplate).delete("campus:cache:negative:student:no:2025000002");
+        verify(zSetOperations).add(eq("campus:cache:existence:recent"), eq("student:no:2025000002"), anyDouble());
+    }
+
+    @Test
+    void shouldQueryKeysRecordedOnOtherNodesDespiteMissedNotification() {
+        // Given：其它节点新增了学号，本节点未收到通知
+        guard.rebuild();
+        when(zSetOperations.score("campus:cache:existence:recent", "student:no:2025000003")).thenReturn(1.0);
+
+        // When
+        findStudent("2025000003");
+
+        // Then
+        assertEquals(1, queries.get(), "过滤器未命中但近期登记过的键必须查询数据库");
+        assertTrue(guard.mightExist(KeySpace.STUDENT_NO, "2025000003"));
+        verify(zSetOperations, times(1)).score("campus:cache:existence:recent", "student:no:2025000003");
+    }
+
+    @Test
+    void shouldQueryDatabaseWhenRecentKeysCannotBeChecked() {
+        // Given
+        guard.rebuild();
+        when(zSetOperations.score(anyString(), any(Object.class))).thenThrow(new IllegalStateException("redis unavailable"));
+
+        // When
+        findStudent("2025999999");
+
+        // Then
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    void shouldMatchKeysTheWayTheDatabaseCollationDoes() {
+        // Given：数据库按utf8mb4_unicode_ci比较，忽略大小写和末尾空格
+        guard.rebuild();
+
+        // When
+        findStudent("cs2025a  ");
+        findStudent("JOSE");
+
+        // Then
+        assertEquals(2, queries.get(), "排序规则下相等的键不能被判定为不存在");
+        verify(valueOperations).set("campus:cache:negative:student:no:cs2025a", 1, 60L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldPassNonAsciiLookupsStraightToTheDatabase() {
+        // Given
+        guard.rebuild();
+
+        // When
+        findStudent("Ｘ2025");
+
+        // Then
+        assertEquals(1, queries.get());
+        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    void shouldFoldAccentsWidthAndExpansions() {
+        assertEquals("jose", KeyExistenceGuard.fold("Jos\u00e9 "));
+        assertEquals("jose", KeyExistenceGuard.fold("JOSE\u0301"));
+        assertEquals("ab12", KeyExistenceGuard.fold("\uff21\uff22\uff11\uff12"));
+        assertEquals("strasse", KeyExistenceGuard.fold("Stra\u00dfe"));
+        assertEquals("张三", KeyExistenceGuard.fold("张三"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.campus.infrastructure.cache;
+
+import com.campus.infrastructure.config.RefreshAheadConfig;
+import com.campus.shared.common.ApiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 合并加载与提前刷新缓存加载器单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class RefreshAheadLoaderTest {
+
+    private DistributedCacheService cacheService;
+    private ConcurrentMapCache cache;
+    private RefreshAheadConfig config;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = mock(DistributedCacheService.class);
+        when(cacheService.tryLock(anyString(), anyString(), anyLong())).thenReturn(true);
+        cache = new ConcurrentMapCache("dashboard:service:stats");
+        config = new RefreshAheadConfig();
+    }
+
+    private Object read(RefreshAheadLoader loader, RefreshAheadLoader.Loader source) throws Exception {
+        try {
+            return loader.get(cache, "all", Duration.ofMinutes(5), source);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void shouldLoadOnceForConcurrentMisses() throws Exception {
+        // Given
+        RefreshAheadLoader loader = new RefreshAheadLoader(cacheService, config, Runnable::run, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<Object>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(readers.submit(() -> read(loader, () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "stats";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            // Then
+            for (Future<Object> result : results) {
+                assertEquals("stats", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertInstanceOf(RefreshAheadLoader.Entry.class, cache.get("all").get());
+    }
+
+    @Test
+    void shouldServeStaleValueAndRefreshInBackground() throws Throwable {
+        // Given
+        List<Runnable> scheduled = new ArrayList<>();
+        RefreshAheadLoader loader = new RefreshAheadLoader(cacheService, config, scheduled::add, new SimpleMeterRegistry());
+        cache.put("all", new RefreshAheadLoader.Entry("old", 10, System.currentTimeMillis() - 1));
+
+        // When
+        Object value = loader.get(cache, "all", Duration.ofMinutes(5), () -> "new");
+        Object again = loader.get(cache, "all", Duration.ofMinutes(5), () -> "newer");
+
+        // Then
+        assertEquals("old", value);
+        assertEquals("old", again);
+        assertEquals(1, scheduled.size(), "同一个键同时只提交一次刷新");
+        scheduled.get(0).run();
+        assertEquals("new", loader.get(cache, "all", Duration.ofMinutes(5), () -> "unused"));
+    }
+
+    @Test
+    void shouldKeepLastGoodValueWhenRefreshReturnsErrorResponse() throws Throwable {
+        // Given
+        List<Runnable> scheduled = new ArrayList<>();
+        RefreshAheadLoader loader = new RefreshAheadLoader(cacheService, config, scheduled::add, new SimpleMeterRegistry());
+        ApiResponse<String> good = ApiResponse.success("stats");
+        cache.put("all", new RefreshAheadLoader.Entry(good, 10, System.currentTimeMillis() - 1));
+
+        // When：控制器方法捕获异常后返回错误响应
+        loader.get(cache, "all", Duration.ofMinutes(5), () -> ApiResponse.error(500, "数据库不可用"));
+        scheduled.get(0).run();
+
+        // Then
+        assertSame(good, ((RefreshAheadLoader.Entry) cache.get("all").get()).value());
+    }
+
+    @Test
+    void shouldNotRefreshFreshEntryWithoutLoadCost() {
+        // Given
+        RefreshAheadLoader loader = new RefreshAheadLoader(cacheService, config, Runnable::run, new SimpleMeterRegistry());
+        long now = System.currentTimeMillis();
+
+        // When & Then
+        assertFalse(loader.shouldRefresh(new RefreshAheadLoader.Entry("v", 0, now + 60_000), now));
+        assertTrue(loader.shouldRefresh(new RefreshAheadLoader.Entry("v", 0, now), now));
+    }
+
+    @Test
+    void shouldRoundTripEntryThroughRedisSerializer() {
+        // Given
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        RefreshAheadLoader.Entry entry = new RefreshAheadLoader.Entry(new ArrayList<>(List.of("a", "b")), 120, 1000);
+
+        // When
+        Object restored = serializer.deserialize(serializer.serialize(entry));
+
+        // Then
+        assertEquals(entry, restored);
+    }
+}
@@ -0,0 +1,160 @@
+package com.campus.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 二级缓存单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class TwoLevelCacheTest {
+
+    private ConcurrentMapCache remote;
+    private List<String> invalidations;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("departments", false);
+        invalidations = new ArrayList<>();
+        cache = new TwoLevelCache("departments", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                RedisCacheConfiguration.defaultCacheConfig().getConversionService(),
+                (cacheName, key) -> invalidations.add(cacheName + "/" + key), (cacheName, key) -> { },
+                new CacheMetrics("departments", new SimpleMeterRegistry(), value -> value.toString().length(), 1));
+    }
+
+    @Test
+    void shouldFillLocalFromRemoteAndCountBothLevels() {
+        // Given
+        remote.put(1L, "计算机学院");
+
+        // When
+        String first = cache.get(1L, String.class);
+        remote.evict(1L);
+        String second = cache.get(1L, String.class);
+
+        // Then
+        assertEquals("计算机学院", first);
+        assertEquals("计算机学院", second);
+        assertEquals(1, cache.getLocalHits());
+        assertEquals(1, cache.getLocalMisses());
+        assertEquals(1, cache.getRemoteHits());
+        assertEquals(0.5, cache.getLocalHitRatio());
+        assertNull(cache.get(2L));
+        assertEquals(1, cache.getRemoteMisses());
+    }
+
+    @Test
+    void shouldLoadThroughBothLevelsOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        SimpleKey key = new SimpleKey("tree", 3);
+
+        // When
+        String first = cache.get(key, () -> "loaded-" + loads.incrementAndGet());
+        String second = cache.get(key, () -> "loaded-" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("loaded-1", first);
+        assertEquals("loaded-1", second);
+        assertEquals(1, loads.get());
+        assertEquals("loaded-1", remote.get(key, String.class));
+        assertTrue(invalidations.isEmpty());
+    }
+
+    @Test
+    void shouldPublishInvalidationsAndApplyRemoteOnes() {
+        // Given
+        cache.put(1L, "v1");
+        cache.evict(2L);
+        cache.clear();
+        cache.put(3L, "v3");
+
+        // When
+        remote.put(3L, "v3-from-other-node");
+        String beforeInvalidation = cache.get(3L, String.class);
+        cache.evictLocal("3");
+        String afterInvalidation = cache.get(3L, String.class);
+
+        // Then
+        assertEquals(List.of("departments/1", "departments/2", "departments/null", "departments/3"), invalidations);
+        assertEquals("v3", beforeInvalidation);
+        assertEquals("v3-from-other-node", afterInvalidation);
+    }
+
+    @Test
+    void shouldRecordLoadsPutsAndEvictionsPerCache() {
+        // Given
+        cache.get(1L, () -> "计算机学院");
+
+        // When
+        assertNull(cache.get(2L));
+        cache.put(2L, "数学学院");
+        cache.evict(1L);
+        CacheReport report = CacheReport.of(cache);
+
+        // Then
+        assertEquals(2, report.loads(), "get(key, loader)与未命中后写入同一个键各计一次加载");
+        assertEquals(2, cache.getMetrics().getPuts());
+        assertEquals(1, report.evictions());
+        assertEquals(4.5, report.averagePayloadBytes());
+        assertEquals(2, report.misses());
+        assertEquals(9, report.wastedBytes(), "两次写入均未被读取");
+    }
+
+    @Test
+    void shouldNotCountPutAfterAnotherLookupAsLoad() {
+        // Given：键1未命中后没有写入（结果为null被排除）
+        cache.put(2L, "数学学院");
+        assertNull(cache.get(1L));
+
+        // When：本地命中其他键后，同一线程再显式写入键1
+        assertEquals("数学学院", cache.get(2L, String.class));
+        cache.put(1L, "计算机学院");
+
+        // Then
+        assertEquals(0, cache.getMetrics().getLoadCount());
+    }
+
+    @Test
+    void shouldReturnIndependentCopiesFromLocalCache() {
+        // Given
+        RedisSerializationContext.SerializationPair<Object> pair =
+                RedisSerializationContext.SerializationPair.fromSerializer(RedisSerializer.java());
+        TwoLevelCache byValue = new TwoLevelCache("roles", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                RedisCacheConfiguration.defaultCacheConfig().getConversionService(), (cacheName, key) -> { },
+                (cacheName, key) -> { },
+                new CacheMetrics("roles", new SimpleMeterRegistry(), value -> value.toString().length(), 1),
+                new TwoLevelCache.LocalValueCodec(value -> ByteUtils.getBytes(pair.write(value)),
+                        bytes -> pair.read(ByteBuffer.wrap(bytes))));
+        byValue.put("activeRoles", new ArrayList<>(List.of("ADMIN", "TEACHER")));
+
+        // When
+        @SuppressWarnings("unchecked")
+        List<String> first = byValue.get("activeRoles", List.class);
+        first.add("STUDENT");
+        List<?> second = byValue.get("activeRoles", List.class);
+
+        // Then
+        assertNotSame(first, second);
+        assertEquals(List.of("ADMIN", "TEACHER"), second);
+        assertEquals(2, byValue.getLocalHits(), "两次读取均命中本地");
+    }
+}
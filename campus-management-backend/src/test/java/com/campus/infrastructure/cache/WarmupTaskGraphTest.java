@@ -0,0 +1,77 @@
+package com.campus.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 缓存预热任务图单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class WarmupTaskGraphTest {
+
+    @Test
+    void shouldStartHottestTasksFirstAndRespectDependencies() {
+        // Given
+        List<String> order = new CopyOnWriteArrayList<>();
+        WarmupTaskGraph graph = new WarmupTaskGraph("test")
+            .add("departments", 3, () -> order.add("departments"))
+            .add("activeUsers", 0, () -> order.add("activeUsers"))
+            .add("userPermissions", 2, () -> order.add("userPermissions"), "activeUsers")
+            .add("config", 1, () -> order.add("config"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        try {
+            graph.execute(executor).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        // 无依赖的任务按优先级提交；依赖任务在依赖完成后才提交，与其余任务的先后取决于执行时机
+        assertEquals(List.of("activeUsers", "config", "departments"),
+            order.stream().filter(task -> !task.equals("userPermissions")).toList());
+        assertTrue(order.indexOf("userPermissions") > order.indexOf("activeUsers"));
+        WarmupTaskGraph.Progress progress = graph.getProgress();
+        assertEquals(WarmupTaskGraph.State.COMPLETED, progress.state());
+        assertEquals(4, progress.completed());
+        assertEquals(100, progress.percent());
+    }
+
+    @Test
+    void shouldSkipDependentsOfFailedTask() {
+        // Given
+        List<String> executed = new CopyOnWriteArrayList<>();
+        WarmupTaskGraph graph = new WarmupTaskGraph("test")
+            .add("activeUsers", 0, () -> {
+                throw new IllegalStateException("数据库不可用");
+            })
+            .add("userPermissions", 1, () -> executed.add("userPermissions"), "activeUsers")
+            .add("courses", 1, () -> executed.add("courses"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            graph.execute(executor).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(List.of("courses"), executed);
+        WarmupTaskGraph.Progress progress = graph.getProgress();
+        assertEquals(WarmupTaskGraph.State.FAILED, progress.state());
+        assertEquals(1, progress.completed());
+        assertEquals(1, progress.failed());
+        assertEquals(1, progress.skipped());
+        assertThrows(IllegalStateException.class, () -> graph.execute(executor));
+    }
+}
@@ -0,0 +1,274 @@
+package com.campus.infrastructure.mail;
+
+import com.campus.infrastructure.config.MailDispatchConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 邮件分发引擎测试，使用本地SMTP桩服务器
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class MailDispatchEngineTest {
+
+    private SmtpStub smtpStub;
+    private MailDispatchEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpStub = new SmtpStub();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (engine != null) {
+            engine.shutdown();
+        }
+        smtpStub.close();
+    }
+
+    @Test
+    void shouldSendBatchOverSharedSmtpSession() throws Exception {
+        // Given
+        MailDispatchConfig config = newConfig();
+        config.setWorkerCount(1);
+        config.setBatchSize(50);
+        JavaMailSenderImpl sender = newSender();
+        engine = new MailDispatchEngine(sender, config, new SimpleMeterRegistry());
+
+        // When
+        engine.start();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(engine.submit(newMessage(sender, "student" + i + "@campus.edu"), "测试"));
+        }
+
+        // Then
+        awaitTrue(() -> smtpStub.messages.get() == 20);
+        awaitTrue(() -> (long) engine.getStatistics().get("sent") == 20L);
+        assertTrue(smtpStub.connections.get() < 20, "多封邮件应复用SMTP会话");
+        Map<String, Object> stats = engine.getStatistics();
+        assertEquals(20L, stats.get("submitted"));
+        assertEquals(0L, stats.get("failed"));
+    }
+
+    @Test
+    void shouldRetryTransientFailureWithBackoff() throws Exception {
+        // Given
+        smtpStub.transientFailures.set(1);
+        MailDispatchConfig config = newConfig();
+        JavaMailSenderImpl sender = newSender();
+        engine = new MailDispatchEngine(sender, config, new SimpleMeterRegistry());
+        engine.start();
+
+        // When
+        assertTrue(engine.submit(newMessage(sender, "teacher@campus.edu"), "测试"));
+
+        // Then
+        awaitTrue(() -> smtpStub.messages.get() == 1);
+        awaitTrue(() -> (long) engine.getStatistics().get("sent") == 1L);
+        assertEquals(1L, engine.getStatistics().get("retried"));
+        assertEquals(0L, engine.getStatistics().get("failed"));
+    }
+
+    @Test
+    void shouldRejectWhenEngineStopped() throws Exception {
+        // Given
+        MailDispatchConfig config = newConfig();
+        JavaMailSenderImpl sender = newSender();
+        engine = new MailDispatchEngine(sender, config, new SimpleMeterRegistry());
+        engine.start();
+        engine.shutdown();
+
+        // When
+        boolean accepted = engine.submit(newMessage(sender, "a@campus.edu"), "测试");
+
+        // Then
+        assertFalse(accepted);
+        assertEquals(1L, engine.getStatistics().get("rejected"));
+    }
+
+    @Test
+    void shouldDeferMessagesOverDomainRateLimit() throws Exception {
+        // Given
+        MailDispatchConfig config = newConfig();
+        config.setWorkerCount(1);
+        config.setDomainRatePerSecond(2);
+        JavaMailSenderImpl sender = newSender();
+        engine = new MailDispatchEngine(sender, config, new SimpleMeterRegistry());
+        engine.start();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertTrue(engine.submit(newMessage(sender, "s" + i + "@slow.edu"), "测试"));
+        }
+
+        // Then
+        awaitTrue(() -> smtpStub.messages.get() == 4);
+        assertTrue((long) engine.getStatistics().get("deferred") > 0);
+    }
+
+    @Test
+    void shouldApplyBackpressureInsteadOfDroppingDeferredMessages() throws Exception {
+        // Given
+        MailDispatchConfig config = newConfig();
+        config.setWorkerCount(1);
+        config.setQueueCapacity(5);
+        config.setDomainRatePerSecond(20);
+        config.setEnqueueTimeoutMs(5000);
+        JavaMailSenderImpl sender = newSender();
+        engine = new MailDispatchEngine(sender, config, new SimpleMeterRegistry());
+        engine.start();
+
+        // When
+        for (int i = 0; i < 40; i++) {
+            assertTrue(engine.submit(newMessage(sender, "p" + i + "@bulk.edu"), "测试"));
+        }
+
+        // Then
+        awaitTrue(() -> smtpStub.messages.get() == 40);
+        Map<String, Object> stats = engine.getStatistics();
+        assertEquals(0L, stats.get("failed"));
+        assertEquals(0L, stats.get("rejected"));
+        assertTrue((long) stats.get("deferred") > 0);
+    }
+
+    private MailDispatchConfig newConfig() {
+        MailDispatchConfig config = new MailDispatchConfig();
+        config.setWorkerCount(2);
+        config.setQueueCapacity(100);
+        config.setInitialBackoffMs(50);
+        config.setMaxBackoffMs(200);
+        config.setShutdownTimeoutMs(2000);
+        return config;
+    }
+
+    private JavaMailSenderImpl newSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtpStub.getPort());
+        sender.setDefaultEncoding("UTF-8");
+        return sender;
+    }
+
+    private MimeMessage newMessage(JavaMailSenderImpl sender, String to) throws Exception {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom("noreply@campus.edu");
+        helper.setTo(to);
+        helper.setSubject("测试邮件");
+        helper.setText("<p>hello</p>", true);
+        return message;
+    }
+
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("等待条件超时");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * 最小SMTP桩服务器：统计连接数和收到的邮件数，可模拟临时失败（451）
+     */
+    private static class SmtpStub implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+        private final AtomicInteger transientFailures = new AtomicInteger();
+
+        SmtpStub() throws IOException {
+            serverSocket = new ServerSocket(0);
+            Thread acceptor = new Thread(this::acceptLoop, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread handler = new Thread(() -> handle(socket), "smtp-stub-session");
+                    handler.setDaemon(true);
+                    handler.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+                reply(out, "220 stub ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO", "HELO" -> reply(out, "250 stub");
+                        case "MAIL" -> {
+                            if (transientFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                                reply(out, "451 try again later");
+                            } else {
+                                reply(out, "250 OK");
+                            }
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                            while ((line = in.readLine()) != null && !line.equals(".")) {
+                                // 丢弃邮件正文
+                            }
+                            messages.incrementAndGet();
+                            reply(out, "250 OK");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException ignored) {
+                // 连接被客户端关闭
+            }
+        }
+
+        private void reply(PrintWriter out, String response) {
+            out.print(response + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.campus.infrastructure.messaging;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 节点间失效通知通道单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class InvalidationChannelTest {
+
+    private static final String CHANNEL = "campus:test:invalidation";
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStayLocalWithoutListenerContainer() {
+        // Given
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        InvalidationChannel channel = new InvalidationChannel(CHANNEL, redisTemplate, null);
+
+        // When
+        channel.subscribe(body -> fail("单节点模式不应收到通知"));
+        channel.publish("user:1");
+        channel.unsubscribe();
+
+        // Then
+        assertFalse(channel.isDistributed());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void shouldDeliverDeserializedBodiesAndSurviveHandlerFailures() {
+        // Given
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        RedisSerializer serializer = RedisSerializer.java();
+        when(redisTemplate.getValueSerializer()).thenReturn(serializer);
+        doThrow(new IllegalStateException("redis unavailable")).when(redisTemplate).convertAndSend(anyString(), any());
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        InvalidationChannel channel = new InvalidationChannel(CHANNEL, redisTemplate, container);
+        List<Object> received = new ArrayList<>();
+        channel.subscribe(body -> {
+            received.add(body);
+            if ("bad".equals(body)) {
+                throw new IllegalArgumentException("bad message");
+            }
+        });
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(container).addMessageListener(listener.capture(), eq(new ChannelTopic(CHANNEL)));
+
+        // When
+        listener.getValue().onMessage(new DefaultMessage(CHANNEL.getBytes(), serializer.serialize("bad")), null);
+        listener.getValue().onMessage(new DefaultMessage(CHANNEL.getBytes(), serializer.serialize("user:1")), null);
+        channel.publish("user:2");
+        channel.unsubscribe();
+
+        // Then
+        assertTrue(channel.isDistributed());
+        assertEquals(List.of("bad", "user:1"), received);
+        verify(redisTemplate).convertAndSend(CHANNEL, "user:2");
+        verify(container).removeMessageListener(listener.getValue());
+    }
+}
@@ -0,0 +1,108 @@
+package com.campus.infrastructure.notification;
+
+import com.campus.domain.entity.communication.NotificationTemplate;
+import com.campus.infrastructure.notification.NotificationTemplateRenderer.RenderedTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 通知模板渲染器单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class NotificationTemplateRendererTest {
+
+    private final NotificationTemplateRenderer renderer = new NotificationTemplateRenderer();
+
+    @Test
+    void shouldRenderSameAsEntityReplacement() {
+        // Given
+        NotificationTemplate template = newTemplate("EXAM", "${name}的考试提醒",
+            "您有考试：${exam}，时间：${time}，缺失：${unknown}，空值：${empty}。未闭合${exam");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "张三");
+        variables.put("exam", "高等数学");
+        variables.put("time", "2025-06-20 09:00");
+        variables.put("empty", null);
+
+        // When
+        RenderedTemplate rendered = renderer.render(template, variables);
+
+        // Then
+        assertEquals(template.renderTitle(variables), rendered.title());
+        assertEquals(template.renderContent(variables), rendered.content());
+    }
+
+    @Test
+    void shouldReuseCompiledPlanUntilTemplateChanges() {
+        // Given
+        NotificationTemplate template = newTemplate("PAY", "缴费提醒", "请缴纳${item}");
+
+        // When
+        renderer.render(template, Map.of("item", "学费"));
+        renderer.render(template, Map.of("item", "住宿费"));
+        template.setContent("请尽快缴纳${item}");
+        RenderedTemplate rendered = renderer.render(template, Map.of("item", "教材费"));
+
+        // Then
+        assertEquals("请尽快缴纳教材费", rendered.content());
+        Map<String, Object> stats = renderer.getStatistics();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(2L, stats.get("compiles"));
+        assertEquals(1, stats.get("cachedTemplates"));
+    }
+
+    @Test
+    void shouldRenderBatchWithSharedBuffers() {
+        // Given
+        NotificationTemplate template = newTemplate("HW", null, "作业${title}截止于${due}");
+        List<Map<String, Object>> variablesList = List.of(
+            Map.of("title", "A", "due", "周一"),
+            Map.of("title", "BB", "due", "周二"),
+            Map.of());
+
+        // When
+        List<RenderedTemplate> results = renderer.renderAll(template, variablesList);
+
+        // Then
+        assertEquals(3, results.size());
+        assertNull(results.get(0).title());
+        assertEquals("作业A截止于周一", results.get(0).content());
+        assertEquals("作业BB截止于周二", results.get(1).content());
+        assertEquals("作业${title}截止于${due}", results.get(2).content());
+    }
+
+    @Test
+    void shouldKeepBuiltInAndDatabasePlansForSameCodeApart() {
+        // Given
+        NotificationTemplate builtIn = newTemplate("EXAM_REMINDER", "考试提醒", "考试：${exam}");
+        NotificationTemplate stored = newTemplate("EXAM_REMINDER", "考试提醒", "请准备考试：${exam}");
+        stored.setId(7L);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            renderer.render(builtIn, Map.of("exam", "线性代数"));
+            renderer.render(stored, Map.of("exam", "线性代数"));
+        }
+
+        // Then
+        Map<String, Object> stats = renderer.getStatistics();
+        assertEquals(2L, stats.get("compiles"));
+        assertEquals(4L, stats.get("hits"));
+        assertEquals(2, stats.get("cachedTemplates"));
+        renderer.evict("EXAM_REMINDER");
+        assertEquals(0, renderer.getStatistics().get("cachedTemplates"));
+    }
+
+    private NotificationTemplate newTemplate(String code, String title, String content) {
+        NotificationTemplate template = new NotificationTemplate(code, code, "system", "system", content);
+        template.setTitle(title);
+        return template;
+    }
+}
@@ -0,0 +1,93 @@
+package com.campus.infrastructure.scheduling;
+
+import com.campus.infrastructure.scheduling.HierarchicalTimingWheel.TimerHandle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分层时间轮单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void shouldExpireEntriesAcrossLevelsInDueOrder() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, START);
+        wheel.schedule("far", START + 500);      // 50 ticks，位于第1层
+        wheel.schedule("near", START + 30);      // 3 ticks，位于第0层
+        wheel.schedule("overflow", START + 2000); // 200 ticks，超出两层范围
+
+        // When
+        List<String> expired = new ArrayList<>();
+        List<Long> expiredAt = new ArrayList<>();
+        for (long now = START; now <= START + 2100; now += 10) {
+            for (String item : wheel.advanceTo(now)) {
+                expired.add(item);
+                expiredAt.add(now);
+            }
+        }
+
+        // Then
+        assertEquals(List.of("near", "far", "overflow"), expired);
+        assertEquals(List.of(START + 30, START + 500, START + 2000), expiredAt);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldNotFireCancelledEntries() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 3, START);
+        TimerHandle<String> cancelled = wheel.schedule("cancelled", START + 100);
+        wheel.schedule("kept", START + 100);
+
+        // When
+        boolean firstCancel = wheel.cancel(cancelled);
+        boolean secondCancel = wheel.cancel(cancelled);
+        List<String> expired = wheel.advanceTo(START + 1000);
+
+        // Then
+        assertTrue(firstCancel);
+        assertFalse(secondCancel);
+        assertEquals(List.of("kept"), expired);
+    }
+
+    @Test
+    void shouldFirePastDueEntriesOnNextTick() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 2, START);
+
+        // When
+        wheel.schedule("late", START - 5000);
+
+        // Then
+        assertTrue(wheel.advanceTo(START).isEmpty());
+        assertEquals(List.of("late"), wheel.advanceTo(START + 10));
+    }
+
+    @Test
+    void shouldCatchUpAfterLargeTimeJump() {
+        // Given
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 16, 3, START);
+        for (int i = 1; i <= 1000; i++) {
+            wheel.schedule(i, START + i * 7L);
+        }
+
+        // When
+        List<Integer> expired = wheel.advanceTo(START + 7000);
+
+        // Then
+        assertEquals(1000, expired.size());
+        for (int i = 0; i < expired.size(); i++) {
+            assertEquals(i + 1, expired.get(i));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.campus.infrastructure.scheduling;
+
+import com.campus.infrastructure.config.TimerWheelConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 定时事件调度器单元测试（单机模式）
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class TimedEventSchedulerTest {
+
+    private TimedEventScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRetryOnlyTheHandlerThatFailed() throws InterruptedException {
+        // Given
+        AtomicInteger flakyCalls = new AtomicInteger();
+        List<TimedEvent> stableEvents = new CopyOnWriteArrayList<>();
+        CountDownLatch flakySucceeded = new CountDownLatch(1);
+        scheduler = newScheduler(
+            new RecordingHandler(event -> stableEvents.add(event)),
+            new FlakyHandler(event -> {
+                if (flakyCalls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("下游暂不可用");
+                }
+                flakySucceeded.countDown();
+            }));
+
+        // When
+        scheduler.schedule(new TimedEvent(TimedEvent.TYPE_REMINDER, "EXAM:1:高等数学",
+            System.currentTimeMillis(), Map.of("studentId", "1")));
+
+        // Then
+        assertTrue(flakySucceeded.await(5, TimeUnit.SECONDS));
+        assertEquals(2, flakyCalls.get());
+        assertEquals(1, stableEvents.size());
+        assertEquals(1L, scheduler.getStatistics().get("retries"));
+    }
+
+    @Test
+    void shouldDropNullAttributesInsteadOfFailing() {
+        // Given
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("subject", null);
+        attributes.put("studentId", "1");
+
+        // When
+        TimedEvent event = new TimedEvent(TimedEvent.TYPE_REMINDER, "EXAM:1:null", 0, attributes);
+
+        // Then
+        assertEquals(Map.of("studentId", "1"), event.attributes());
+    }
+
+    @Test
+    void shouldSplitBucketsFairlyAcrossLiveNodes() {
+        // Given
+        scheduler = newScheduler();
+
+        // Then
+        assertEquals(16, scheduler.fairShare(0));
+        assertEquals(16, scheduler.fairShare(1));
+        assertEquals(8, scheduler.fairShare(2));
+        assertEquals(6, scheduler.fairShare(3));
+    }
+
+    private TimedEventScheduler newScheduler(TimedEventHandler... handlers) {
+        TimerWheelConfig config = new TimerWheelConfig();
+        config.setTickMs(10);
+        config.setRetryDelayMs(50);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (int i = 0; i < handlers.length; i++) {
+            beanFactory.addBean("handler" + i, handlers[i]);
+        }
+        TimedEventScheduler timedEventScheduler = new TimedEventScheduler(config, null, null,
+            beanFactory.getBeanProvider(RedisMessageListenerContainer.class),
+            beanFactory.getBeanProvider(TimedEventHandler.class));
+        timedEventScheduler.init();
+        timedEventScheduler.start();
+        return timedEventScheduler;
+    }
+
+    private static class RecordingHandler implements TimedEventHandler {
+
+        private final Consumer<TimedEvent> action;
+
+        RecordingHandler(Consumer<TimedEvent> action) {
+            this.action = action;
+        }
+
+        @Override
+        public boolean supports(String eventType) {
+            return TimedEvent.TYPE_REMINDER.equals(eventType);
+        }
+
+        @Override
+        public void handle(TimedEvent event) {
+            action.accept(event);
+        }
+    }
+
+    private static class FlakyHandler extends RecordingHandler {
+
+        FlakyHandler(Consumer<TimedEvent> action) {
+            super(action);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.campus.shared.security;
+
+import com.campus.shared.util.IpUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CIDR基数树单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class CidrTrieTest {
+
+    private static void insert(CidrTrie<String> trie, String cidr, String value) {
+        IpUtil.CidrBlock block = IpUtil.parseCidr(cidr);
+        trie.insert(block.address(), block.prefixLength(), value);
+    }
+
+    private static String find(CidrTrie<String> trie, String ip) {
+        return trie.find(IpUtil.toAddressBytes(ip), value -> !value.startsWith("expired"));
+    }
+
+    @Test
+    void shouldReturnLongestActivePrefixForIpv4AndIpv6() {
+        // Given
+        CidrTrie<String> trie = new CidrTrie<>();
+        insert(trie, "10.0.0.0/8", "office");
+        insert(trie, "10.1.2.0/24", "lab");
+        insert(trie, "10.1.2.3", "expired-host");
+        insert(trie, "2001:db8::/32", "v6");
+        insert(trie, "0.0.0.0/0", "any-v4");
+
+        // When & Then
+        assertEquals("lab", find(trie, "10.1.2.3"));
+        assertEquals("office", find(trie, "10.9.9.9"));
+        assertEquals("any-v4", find(trie, "192.168.1.1"));
+        assertEquals("v6", find(trie, "2001:db8:0:1::5"));
+        assertNull(find(trie, "2001:db9::1"));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void shouldSplitRangeIntoMinimalCidrs() {
+        // When
+        List<IpUtil.CidrBlock> blocks = IpUtil.rangeToCidrs("192.168.1.10", "192.168.1.20");
+        CidrTrie<String> trie = new CidrTrie<>();
+        for (IpUtil.CidrBlock block : blocks) {
+            trie.insert(block.address(), block.prefixLength(), "range");
+        }
+
+        // Then: .10/31 .12/30 .16/30 .20/32
+        assertEquals(4, blocks.size());
+        assertNull(find(trie, "192.168.1.9"));
+        for (int i = 10; i <= 20; i++) {
+            assertEquals("range", find(trie, "192.168.1." + i));
+        }
+        assertNull(find(trie, "192.168.1.21"));
+        assertEquals(1, IpUtil.rangeToCidrs("0.0.0.0", "255.255.255.255").size());
+        assertTrue(IpUtil.rangeToCidrs("10.0.0.1", "::1").isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.BusinessConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 客户端IP解析测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class ClientIpResolverTest {
+
+    @Test
+    void shouldIgnoreForwardedHeadersFromUntrustedPeers() {
+        // Given
+        ClientIpResolver resolver = newResolver("10.0.0.0/8");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "192.168.1.10");
+        request.addHeader("Proxy-Client-IP", "192.168.1.10");
+
+        // When
+        String clientIp = resolver.resolve(request);
+
+        // Then
+        assertEquals("203.0.113.7", clientIp);
+    }
+
+    @Test
+    void shouldTakeFirstUntrustedHopBehindTrustedProxies() {
+        // Given
+        ClientIpResolver resolver = newResolver("10.0.0.0/8");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "192.168.1.10, 198.51.100.4, 10.0.0.1");
+
+        // When
+        String clientIp = resolver.resolve(request);
+
+        // Then：最左端的地址由客户端自行填写，不可信
+        assertEquals("198.51.100.4", clientIp);
+    }
+
+    @Test
+    void shouldUsePeerAddressWhenNoProxyIsTrusted() {
+        // Given
+        ClientIpResolver resolver = newResolver();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.2");
+        request.addHeader("X-Forwarded-For", "192.168.1.10");
+
+        // When / Then
+        assertEquals("10.0.0.2", resolver.resolve(request));
+    }
+
+    private ClientIpResolver newResolver(String... trustedProxies) {
+        BusinessConfig businessConfig = new BusinessConfig();
+        businessConfig.getSecurity().setTrustedProxies(trustedProxies);
+        return new ClientIpResolver(businessConfig);
+    }
+}
@@ -0,0 +1,89 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.LoginExecutorConfig;
+import com.campus.shared.exception.RateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 登录密码校验线程池单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class PasswordVerificationExecutorTest {
+
+    @Test
+    void shouldRehashToConfiguredCostOnSuccessfulMatch() {
+        // Given
+        LoginExecutorConfig config = new LoginExecutorConfig();
+        config.setRehashCost(5);
+        PasswordVerificationExecutor executor = new PasswordVerificationExecutor(config, new SimpleMeterRegistry());
+        PasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        String hash = encoder.encode("secret");
+
+        // When
+        PasswordVerificationExecutor.Verification matched = executor.verify(encoder, "secret", hash);
+        PasswordVerificationExecutor.Verification wrong = executor.verify(encoder, "wrong", hash);
+        PasswordVerificationExecutor.Verification upToDate = executor.verify(encoder, "secret", matched.upgradedHash());
+
+        // Then
+        assertTrue(matched.matched());
+        assertTrue(matched.upgradedHash().startsWith("$2a$05$"));
+        assertTrue(encoder.matches("secret", matched.upgradedHash()));
+        assertFalse(wrong.matched());
+        assertNull(wrong.upgradedHash());
+        assertTrue(upToDate.matched());
+        assertNull(upToDate.upgradedHash());
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenSaturated() throws InterruptedException {
+        // Given: 1个线程、队列容量1，校验被阻塞
+        LoginExecutorConfig config = new LoginExecutorConfig();
+        config.setThreads(1);
+        config.setQueueCapacity(1);
+        config.setWaitTimeoutMs(5000);
+        PasswordVerificationExecutor executor = new PasswordVerificationExecutor(config, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        Thread running = new Thread(() -> executor.verify(blocking, "a", "a"));
+        Thread queued = new Thread(() -> executor.verify(blocking, "b", "b"));
+        running.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queued.start();
+        Thread.sleep(100);
+
+        // When & Then
+        assertThrows(RateLimitException.class, () -> executor.verify(blocking, "c", "c"));
+        release.countDown();
+        running.join(5000);
+        queued.join(5000);
+        executor.shutdown();
+    }
+}
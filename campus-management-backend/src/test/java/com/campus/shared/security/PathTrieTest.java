@@ -0,0 +1,60 @@
+package com.campus.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 路径前缀树单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class PathTrieTest {
+
+    private static BitSet bits(int... indexes) {
+        BitSet mask = new BitSet();
+        for (int index : indexes) {
+            mask.set(index);
+        }
+        return mask;
+    }
+
+    @Test
+    void shouldMatchPrefixesWithStartsWithSemantics() {
+        // Given
+        PathTrie trie = new PathTrie();
+        trie.grant("/admin/users", bits(0, 1));
+        trie.grant("/admin/academic/", bits(2));
+
+        // When & Then
+        assertEquals(bits(0, 1), trie.match("/admin/users").mask());
+        assertEquals(bits(0, 1), trie.match("/admin/users/edit/1").mask());
+        assertEquals(bits(2), trie.match("/admin/academic/plan").mask());
+        assertNull(trie.match("/admin/academic"));
+        assertNull(trie.match("/admin/unknown"));
+    }
+
+    @Test
+    void shouldUnionNestedGrantsAndHonourExactPublicPaths() {
+        // Given
+        PathTrie trie = new PathTrie();
+        trie.grant("/admin/users", bits(0));
+        trie.grant("/admin/users/export", bits(3));
+        trie.grant("/admin/users", bits(1));
+        trie.allowAll("/admin/dashboard");
+
+        // When
+        PathTrie.Match nested = trie.match("/admin/users/export");
+        PathTrie.Match dashboard = trie.match("/admin/dashboard");
+
+        // Then
+        assertEquals(bits(0, 1, 3), nested.mask());
+        assertFalse(nested.allowAll());
+        assertTrue(dashboard.allowAll());
+        assertNull(trie.match("/admin/dashboard/extra"));
+        assertEquals(3, trie.size());
+    }
+}
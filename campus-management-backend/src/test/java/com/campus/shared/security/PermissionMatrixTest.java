@@ -0,0 +1,84 @@
+package com.campus.shared.security;
+
+import com.campus.domain.entity.auth.Role;
+import com.campus.domain.entity.auth.UserRole;
+import com.campus.domain.repository.auth.PermissionRepository;
+import com.campus.domain.repository.auth.RolePermissionRepository;
+import com.campus.domain.repository.auth.RoleRepository;
+import com.campus.domain.repository.auth.UserRoleRepository;
+import com.campus.infrastructure.config.PermissionMatrixConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * 权限矩阵单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class PermissionMatrixTest {
+
+    private static final Long USER_ID = 1L;
+
+    private UserRoleRepository userRoleRepository;
+    private PermissionMatrix matrix;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Role admin = new Role("管理员", "ROLE_ADMIN");
+        admin.setId(10L);
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAllActiveRoles()).thenReturn(List.of(admin));
+        userRoleRepository = mock(UserRoleRepository.class);
+
+        matrix = new PermissionMatrix(new PermissionMatrixConfig(), roleRepository, userRoleRepository,
+            mock(PermissionRepository.class), mock(RolePermissionRepository.class),
+            mock(PlatformTransactionManager.class), mock(RedisTemplate.class),
+            new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class));
+    }
+
+    @Test
+    void shouldNotCacheUserMaskLoadedBeforeConcurrentInvalidation() {
+        // Given: 加载用户角色期间该用户的角色被撤销并失效
+        when(userRoleRepository.findByUserId(USER_ID))
+            .thenAnswer(invocation -> {
+                matrix.invalidateUser(USER_ID);
+                return List.of(new UserRole(USER_ID, 10L));
+            })
+            .thenReturn(List.of());
+
+        // When
+        boolean first = matrix.hasRole(USER_ID, "ROLE_ADMIN");
+        boolean second = matrix.hasRole(USER_ID, "ROLE_ADMIN");
+
+        // Then: 失效前读到的旧位图不回填缓存，下一次检查重新加载
+        assertTrue(first);
+        assertFalse(second);
+        verify(userRoleRepository, times(2)).findByUserId(USER_ID);
+    }
+
+    @Test
+    void shouldCacheUserMaskWithoutInvalidation() {
+        // Given
+        when(userRoleRepository.findByUserId(USER_ID)).thenReturn(List.of(new UserRole(USER_ID, 10L)));
+
+        // When
+        matrix.hasRole(USER_ID, "ROLE_ADMIN");
+        boolean cached = matrix.hasRole(USER_ID, "ROLE_ADMIN");
+
+        // Then
+        assertTrue(cached);
+        verify(userRoleRepository, times(1)).findByUserId(USER_ID);
+    }
+}
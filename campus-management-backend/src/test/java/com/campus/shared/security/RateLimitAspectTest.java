@@ -0,0 +1,89 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.RateLimitConfig;
+import com.campus.shared.exception.RateLimitException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * GCRA限流切面本地预过滤与批量申请单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class RateLimitAspectTest {
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private RateLimitConfig config;
+    private ProceedingJoinPoint point;
+    private RateLimit rateLimit;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Throwable {
+        redisTemplate = mock(RedisTemplate.class);
+        config = new RateLimitConfig();
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(signature.toShortString()).thenReturn("Api.call()");
+        point = mock(ProceedingJoinPoint.class);
+        when(point.getSignature()).thenReturn(signature);
+        when(point.proceed()).thenReturn("ok");
+
+        rateLimit = mock(RateLimit.class);
+        when(rateLimit.limitType()).thenReturn(RateLimit.LimitType.DEFAULT);
+        when(rateLimit.count()).thenReturn(100);
+        when(rateLimit.time()).thenReturn(60);
+        when(rateLimit.message()).thenReturn("限流");
+    }
+
+    private void stubRedis(Long... result) {
+        when(redisTemplate.execute(any(), anyList(), any(), any(), any(), any()))
+            .thenReturn(new ArrayList<>(Arrays.asList(result)));
+    }
+
+    @Test
+    void shouldRejectLocallyUntilRetryTimeAfterRedisDenial() throws Throwable {
+        // Given
+        stubRedis(0L, 0L, 60_000L);
+        RateLimitAspect aspect = new RateLimitAspect(redisTemplate, config);
+
+        // When & Then
+        assertThrows(RateLimitException.class, () -> aspect.around(point, rateLimit));
+        assertThrows(RateLimitException.class, () -> aspect.around(point, rateLimit));
+        verify(redisTemplate, times(1)).execute(any(), anyList(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldLeasePermitsForHotKeys() throws Throwable {
+        // Given
+        config.getGcra().setHotKeyThreshold(2);
+        config.getGcra().setLeaseTtlMs(60_000L);
+        stubRedis(10L, 80L, 0L);
+        RateLimitAspect aspect = new RateLimitAspect(redisTemplate, config);
+
+        // When
+        for (int i = 0; i < 11; i++) {
+            assertEquals("ok", aspect.around(point, rateLimit));
+        }
+
+        // Then: 第一次单独申请，第二次起按批申请10个配额（1个立即使用，9个本地消费）
+        ArgumentCaptor<Object> requested = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate, times(2)).execute(any(), anyList(), any(), any(), requested.capture(), any());
+        assertEquals(List.of(1, 10), requested.getAllValues());
+    }
+}
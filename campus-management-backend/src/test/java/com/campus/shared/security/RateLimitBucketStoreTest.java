@@ -0,0 +1,55 @@
+package com.campus.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 限流令牌桶存储单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class RateLimitBucketStoreTest {
+
+    @Test
+    void shouldReuseBucketAndEvictLeastRecentlyUsedWhenFull() {
+        // Given
+        RateLimitBucketStore<Integer> store = new RateLimitBucketStore<>(2, 1);
+        AtomicInteger created = new AtomicInteger();
+
+        // When
+        Integer first = store.getOrCreate("a", 60_000, created::incrementAndGet);
+        store.getOrCreate("b", 60_000, created::incrementAndGet);
+        Integer again = store.getOrCreate("a", 60_000, created::incrementAndGet);
+        store.getOrCreate("c", 60_000, created::incrementAndGet);
+
+        // Then
+        assertEquals(first, again);
+        assertEquals(3, created.get());
+        assertEquals(2, store.size());
+        assertEquals(1, store.getCapacityEvictions());
+        // "b" 最久未访问，已被淘汰
+        assertEquals(4, store.getOrCreate("b", 60_000, created::incrementAndGet));
+    }
+
+    @Test
+    void shouldExpireIdleBuckets() {
+        // Given
+        RateLimitBucketStore<Integer> store = new RateLimitBucketStore<>(16, 4);
+        AtomicInteger created = new AtomicInteger();
+        store.getOrCreate("a", 0, created::incrementAndGet);
+        store.getOrCreate("b", 60_000, created::incrementAndGet);
+
+        // When
+        int removed = store.purgeExpired();
+
+        // Then
+        assertEquals(1, removed);
+        assertEquals(1, store.size());
+        assertEquals(1, store.getExpirations());
+        assertEquals(0, store.getCapacityEvictions());
+    }
+}
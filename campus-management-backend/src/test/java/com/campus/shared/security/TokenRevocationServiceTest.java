@@ -0,0 +1,122 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.cache.DistributedCacheService;
+import com.campus.infrastructure.config.TokenRevocationConfig;
+import com.campus.shared.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Token吊销服务单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class TokenRevocationServiceTest {
+
+    private JwtUtil jwtUtil;
+    private RedisTemplate<String, Object> redisTemplate;
+    private ValueOperations<String, Object> valueOperations;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "unit-test-secret-key-for-jwt-signing-must-be-long-enough");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "jwtRefreshExpiration", 7_200_000L);
+        ReflectionTestUtils.setField(jwtUtil, "adminExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 16);
+
+        redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.scan(any())).thenThrow(new IllegalStateException("redis unavailable"));
+        ObjectProvider<RedisMessageListenerContainer> provider = mock(ObjectProvider.class);
+
+        service = new TokenRevocationService(new TokenRevocationConfig(), jwtUtil, redisTemplate,
+            new DistributedCacheService(redisTemplate), provider,
+            new SimpleMeterRegistry());
+        service.start();
+    }
+
+    @Test
+    void shouldConfirmUnknownTokensWithRedisOnlyOnce() {
+        // Given
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(1L, "alice", "ROLE_STUDENT"));
+
+        // When
+        boolean first = service.isRevoked(claims);
+        boolean second = service.isRevoked(claims);
+
+        // Then
+        assertNotNull(claims.getId());
+        assertFalse(first);
+        assertFalse(second);
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void shouldRejectTokenRevokedOnAnotherNodeWhenNotificationWasMissed() {
+        // Given：其它节点已写入吊销记录，本节点未收到通知
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(1L, "alice", "ROLE_STUDENT"));
+        String revokedKey = "campus:token:revoked:" + claims.getId();
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation ->
+            invocation.<Collection<String>>getArgument(0).stream()
+                .map(key -> revokedKey.equals(key) ? (Object) 1 : null)
+                .collect(Collectors.toList()));
+        when(redisTemplate.hasKey(revokedKey)).thenReturn(true);
+
+        // When & Then
+        assertTrue(service.isRevoked(claims));
+        assertTrue(service.isRevoked(claims));
+    }
+
+    @Test
+    void shouldRejectRevokedJtiAfterRedisConfirmation() {
+        // Given
+        Claims revoked = jwtUtil.verify(jwtUtil.generateToken(1L, "alice", "ROLE_STUDENT"));
+        Claims other = jwtUtil.verify(jwtUtil.generateToken(1L, "alice", "ROLE_STUDENT"));
+        when(redisTemplate.hasKey("campus:token:revoked:" + revoked.getId())).thenReturn(true);
+
+        // When
+        service.revokeToken(revoked);
+
+        // Then
+        assertTrue(service.isRevoked(revoked));
+        assertFalse(service.isRevoked(other));
+    }
+
+    @Test
+    void shouldRejectTokensIssuedBeforeUserNotBefore() throws InterruptedException {
+        // Given
+        Claims before = jwtUtil.verify(jwtUtil.generateToken(2L, "bob", "ROLE_TEACHER"));
+        Thread.sleep(1100);
+
+        // When
+        service.revokeAllForUser("bob");
+        Thread.sleep(1100);
+        Claims after = jwtUtil.verify(jwtUtil.generateToken(2L, "bob", "ROLE_TEACHER"));
+
+        // Then
+        assertTrue(service.isRevoked(before));
+        assertFalse(service.isRevoked(after));
+    }
+}
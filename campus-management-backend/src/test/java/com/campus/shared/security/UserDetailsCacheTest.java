@@ -0,0 +1,78 @@
+package com.campus.shared.security;
+
+import com.campus.infrastructure.config.UserDetailsCacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 认证用户信息近端缓存单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class UserDetailsCacheTest {
+
+    private UserDetailsCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cache = new UserDetailsCache(new UserDetailsCacheConfig(), mock(RedisTemplate.class),
+            new StaticListableBeanFactory().getBeanProvider(RedisMessageListenerContainer.class),
+            new SimpleMeterRegistry());
+        cache.start();
+    }
+
+    @Test
+    void shouldServeCachedSnapshotUntilInvalidated() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetailsCache.AuthSnapshot> loader = username -> {
+            loads.incrementAndGet();
+            return new UserDetailsCache.AuthSnapshot(username, "{noop}secret", true, List.of("ROLE_TEACHER"));
+        };
+
+        // When
+        UserDetails first = cache.get("teacher01", loader);
+        UserDetails second = cache.get("teacher01", loader);
+        cache.invalidate("teacher01");
+        cache.get("teacher01", loader);
+
+        // Then: 每次返回新的实例，失效后重新加载
+        assertNotSame(first, second);
+        assertEquals("teacher01", second.getUsername());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheSnapshotLoadedAcrossInvalidation() {
+        // Given: 加载期间该用户被失效（如角色变更的事务已提交）
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, UserDetailsCache.AuthSnapshot> loader = username -> {
+            if (loads.incrementAndGet() == 1) {
+                cache.invalidate(username);
+            }
+            return new UserDetailsCache.AuthSnapshot(username, "{noop}secret", true, List.of());
+        };
+
+        // When
+        cache.get("student01", loader);
+        cache.get("student01", loader);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+}
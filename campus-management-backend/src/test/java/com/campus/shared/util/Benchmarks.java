@@ -0,0 +1,43 @@
+package com.campus.shared.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 基准测试计时工具
+ *
+ * 每个场景先预热若干轮，再取多轮中的最短耗时，减少JIT编译和GC对结果的干扰。
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+public final class Benchmarks {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * 测量一轮操作的最短耗时
+     *
+     * @param round 执行一轮操作，返回值会被累加，避免操作被JIT当作无用代码消除
+     * @return 最短一轮的耗时（纳秒）
+     */
+    public static long bestNanos(LongSupplier round) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += round.getAsLong();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += round.getAsLong();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink == 0) {
+            throw new IllegalStateException("基准操作没有产生结果");
+        }
+        return best;
+    }
+}
@@ -0,0 +1,37 @@
+package com.campus.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 布隆过滤器单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverMissInsertedValuesAndKeepFalsePositivesNearTarget() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("member-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("member-" + i));
+        }
+        assertTrue(falsePositives < 2_000, "误判数过高: " + falsePositives);
+    }
+}
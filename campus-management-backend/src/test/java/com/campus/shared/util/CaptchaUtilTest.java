@@ -0,0 +1,57 @@
+package com.campus.shared.util;
+
+import com.campus.infrastructure.config.CaptchaPoolConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 验证码预渲染池单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class CaptchaUtilTest {
+
+    @Test
+    void shouldRenderOnDemandWhenPoolDisabled() {
+        // Given
+        CaptchaPoolConfig config = new CaptchaPoolConfig();
+        config.setEnabled(false);
+        CaptchaUtil captchaUtil = new CaptchaUtil(config, new SimpleMeterRegistry());
+        captchaUtil.startRefill();
+
+        // When
+        CaptchaUtil.CaptchaResult result = captchaUtil.generateCaptcha();
+
+        // Then
+        assertEquals(6, result.getCode().length());
+        assertTrue(result.getImageBytes().length > 0);
+        assertEquals(0.0, captchaUtil.getPoolHitRatio());
+    }
+
+    @Test
+    void shouldServePooledCaptchasExactlyOnce() throws InterruptedException {
+        // Given
+        CaptchaPoolConfig config = new CaptchaPoolConfig();
+        config.setSize(2);
+        CaptchaUtil captchaUtil = new CaptchaUtil(config, new SimpleMeterRegistry());
+        captchaUtil.startRefill();
+        Thread.sleep(1000);
+
+        // When
+        Map<CaptchaUtil.CaptchaResult, Boolean> served = new IdentityHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            served.put(captchaUtil.generateCaptcha(), Boolean.TRUE);
+        }
+        captchaUtil.stopRefill();
+
+        // Then
+        assertEquals(10, served.size());
+        assertTrue(captchaUtil.getPoolHitRatio() > 0.0);
+    }
+}
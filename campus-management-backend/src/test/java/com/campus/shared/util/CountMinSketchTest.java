@@ -0,0 +1,44 @@
+package com.campus.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Count-Min Sketch 单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class CountMinSketchTest {
+
+    @Test
+    void shouldNeverUnderestimateAndKeepOverestimateWithinBound() {
+        // Given
+        CountMinSketch sketch = new CountMinSketch(2048, 4);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("cold-" + i, 1);
+        }
+        sketch.add("course:selection::42", 5_000);
+
+        // When
+        long hot = sketch.estimate("course:selection::42");
+        int overestimated = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long estimate = sketch.estimate("cold-" + i);
+            assertTrue(estimate >= 1);
+            // 误差上限约为 总计数 × e / 宽度 ≈ 20
+            if (estimate > 21) {
+                overestimated++;
+            }
+        }
+
+        // Then
+        assertTrue(hot >= 5_000 && hot <= 5_021, "热点键估计值偏差过大: " + hot);
+        assertTrue(overestimated < 200, "高估次数过多: " + overestimated);
+        assertTrue(sketch.estimate("absent") <= 21);
+
+        sketch.clear();
+        assertEquals(0, sketch.estimate("course:selection::42"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.campus.shared.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据加密吞吐量基准
+ *
+ * 对比逐字段加密与批量加密的吞吐量，默认不执行，需显式开启：
+ * mvn test -Dtest=DataEncryptionUtilBenchmark -Dbenchmark=true
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DataEncryptionUtilBenchmark {
+
+    private static final int FIELDS = 100_000;
+
+    @Test
+    void compareSingleFieldAndBulkThroughput() {
+        DataEncryptionUtil util = new DataEncryptionUtil();
+        ReflectionTestUtils.setField(util, "encryptionKey", DataEncryptionUtil.generateNewEncryptionKey());
+        List<String> fields = new ArrayList<>(FIELDS);
+        for (int i = 0; i < FIELDS; i++) {
+            fields.add(String.format("1101011990%08d", i));
+        }
+
+        report("逐字段加密", Benchmarks.bestNanos(() -> {
+            List<String> result = new ArrayList<>(fields.size());
+            for (String field : fields) {
+                result.add(util.encrypt(field));
+            }
+            return result.size();
+        }));
+        report("批量加密", Benchmarks.bestNanos(() -> util.encryptAll(fields).size()));
+
+        List<String> encrypted = util.encryptAll(fields);
+        report("逐字段解密", Benchmarks.bestNanos(() -> {
+            List<String> result = new ArrayList<>(encrypted.size());
+            for (String field : encrypted) {
+                result.add(util.decrypt(field));
+            }
+            return result.size();
+        }));
+        report("批量解密", Benchmarks.bestNanos(() -> util.decryptAll(encrypted).size()));
+    }
+
+    private static void report(String name, long bestNanos) {
+        System.out.printf("%s: %d 字段, 最佳 %.1f ms, %.0f 字段/秒%n",
+                name, FIELDS, bestNanos / 1e6, FIELDS / (bestNanos / 1e9));
+    }
+}
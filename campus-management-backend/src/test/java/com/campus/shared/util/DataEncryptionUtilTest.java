@@ -0,0 +1,65 @@
+package com.campus.shared.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据加密工具单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class DataEncryptionUtilTest {
+
+    private DataEncryptionUtil dataEncryptionUtil;
+
+    @BeforeEach
+    void setUp() {
+        dataEncryptionUtil = new DataEncryptionUtil();
+        ReflectionTestUtils.setField(dataEncryptionUtil, "encryptionKey", DataEncryptionUtil.generateNewEncryptionKey());
+    }
+
+    @Test
+    void shouldRoundTripWithReusedCipher() {
+        // Given
+        String first = dataEncryptionUtil.encrypt("110101199001011234");
+        String second = dataEncryptionUtil.encrypt("110101199001011234");
+
+        // Then
+        assertNotEquals(first, second);
+        assertEquals("110101199001011234", dataEncryptionUtil.decrypt(first));
+        assertEquals("110101199001011234", dataEncryptionUtil.decrypt(second));
+        assertThrows(RuntimeException.class, () -> dataEncryptionUtil.decrypt(first.substring(0, first.length() - 4) + "AAAA"));
+        assertEquals("13800138000", dataEncryptionUtil.decrypt(dataEncryptionUtil.encrypt("13800138000")));
+    }
+
+    @Test
+    void shouldProcessBulkFieldsInInputOrder() {
+        // Given
+        List<String> phones = new ArrayList<>();
+        for (int i = 0; i < DataEncryptionUtil.BULK_CHUNK_SIZE * 3 + 7; i++) {
+            phones.add("1380000" + String.format("%04d", i));
+        }
+        phones.set(5, null);
+        phones.set(6, "");
+
+        // When
+        List<String> encrypted = dataEncryptionUtil.encryptAll(phones);
+        List<String> decrypted = dataEncryptionUtil.decryptAll(encrypted);
+
+        // Then
+        assertEquals(phones.size(), encrypted.size());
+        assertNull(encrypted.get(5));
+        assertEquals("", encrypted.get(6));
+        assertEquals(phones, decrypted);
+        assertEquals(Arrays.asList("13800000000"), dataEncryptionUtil.decryptAll(dataEncryptionUtil.encryptAll(List.of("13800000000"))));
+        assertTrue(dataEncryptionUtil.encryptAll(null).isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.campus.shared.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JWT验签缓存单元测试
+ *
+ * @author Campus Management Team
+ * @since 2025-06-20
+ */
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "unit-test-secret-key-for-jwt-signing-must-be-long-enough");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "adminExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "adminAutoRefresh", true);
+        ReflectionTestUtils.setField(jwtUtil, "adminRefreshThreshold", 1_800_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 2);
+    }
+
+    @Test
+    void shouldReuseVerifiedClaimsForSameToken() {
+        // Given
+        String token = jwtUtil.generateAdminToken(7L, "admin", "ROLE_ADMIN");
+
+        // When
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        // Then
+        assertSame(first, second);
+        assertEquals("admin", first.getSubject());
+        assertEquals(7L, jwtUtil.getUserId(first));
+        assertTrue(jwtUtil.isAdminToken(first));
+        assertFalse(jwtUtil.shouldRefreshAdminToken(first));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        // Given
+        String token = jwtUtil.generateToken(1L, "student", "ROLE_STUDENT");
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2)
+            + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertFalse(jwtUtil.validateToken(tampered));
+    }
+
+    @Test
+    void shouldResolveClaimsFromRequestAttribute() {
+        // Given
+        String token = jwtUtil.generateToken(1L, "teacher", "ROLE_TEACHER");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        // When
+        Claims resolved = jwtUtil.resolveClaims(request, token);
+
+        // Then
+        assertSame(resolved, request.getAttribute(JwtUtil.VERIFIED_CLAIMS_ATTRIBUTE));
+        assertSame(resolved, jwtUtil.resolveClaims(request, token));
+
+        String otherToken = jwtUtil.generateToken(2L, "other", "ROLE_TEACHER");
+        assertEquals("other", jwtUtil.resolveClaims(request, otherToken).getSubject());
+    }
+}